@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.TrackingLogger;
+import com.jkoolcloud.tnt4j.config.DefaultConfigFactory;
+import com.jkoolcloud.tnt4j.config.TrackerConfig;
+import com.jkoolcloud.tnt4j.core.Trackable;
+import com.jkoolcloud.tnt4j.source.SourceType;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+
+/**
+ * Measures {@link ActivityInfo#buildTrackable(com.jkoolcloud.tnt4j.tracker.Tracker)} throughput building TNT4J
+ * trackables from activity entities produced by {@code single-log} sample parser. Built trackables are not sent to
+ * tracker sink.
+ * <p>
+ * TNT4J tracker is configured using {@code tnt4j.config} system property defined configuration file, or TNT4J default
+ * one.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ActivityInfoBenchmark {
+
+	private TrackingLogger tracker;
+	private ActivityInfo[] activities;
+	private int activityIdx;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		StreamsConfigLoader cfg = BenchmarkSamples.loadConfig("single-log/tnt-data-source.xml"); // NON-NLS
+		ActivityParser parser = BenchmarkSamples.getParser(cfg, "TokenParser"); // NON-NLS
+		TNTInputStream<?, ?> stream = BenchmarkSamples.getStream(cfg);
+
+		List<ActivityInfo> aiList = new ArrayList<>();
+		for (String line : BenchmarkSamples.readLines("single-log/orders.log")) { // NON-NLS
+			aiList.add(parser.parse(stream, line));
+		}
+		activities = aiList.toArray(new ActivityInfo[aiList.size()]);
+
+		TrackerConfig trackerConfig = DefaultConfigFactory.getInstance()
+				.getConfig(ActivityInfoBenchmark.class, SourceType.APPL, (String) null).build();
+		tracker = TrackingLogger.getInstance(trackerConfig);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		TrackingLogger.shutdown(tracker);
+	}
+
+	@Benchmark
+	public Trackable buildTrackable() {
+		ActivityInfo ai = activities[activityIdx];
+		if (++activityIdx == activities.length) {
+			activityIdx = 0;
+		}
+		return ai.buildTrackable(tracker);
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+
+/**
+ * Loads TNT4J-Streams {@code core} module samples (parser configurations and data files) used to drive benchmarks.
+ * <p>
+ * Samples directory is resolved from system property {@value #SAMPLES_DIR_PROP} and defaults to
+ * {@value #DEFAULT_SAMPLES_DIR}, so benchmarks shall be run from project root directory the same way samples
+ * {@code run} scripts are.
+ *
+ * @version $Revision: 1 $
+ */
+final class BenchmarkSamples {
+	/**
+	 * System property name to define samples directory path.
+	 */
+	static final String SAMPLES_DIR_PROP = "tnt4j.streams.samples.dir"; // NON-NLS
+	/**
+	 * Default samples directory path.
+	 */
+	static final String DEFAULT_SAMPLES_DIR = "./tnt4j-streams-core/samples"; // NON-NLS
+
+	private BenchmarkSamples() {
+	}
+
+	/**
+	 * Returns sample file for provided samples directory relative path.
+	 *
+	 * @param path
+	 *            samples directory relative file path
+	 * @return sample file
+	 */
+	static File getFile(String path) {
+		return new File(System.getProperty(SAMPLES_DIR_PROP, DEFAULT_SAMPLES_DIR), path);
+	}
+
+	/**
+	 * Loads streams configuration from sample configuration file.
+	 *
+	 * @param cfgPath
+	 *            samples directory relative configuration file path
+	 * @return loaded streams configuration
+	 * @throws Exception
+	 *             if configuration can't be loaded or is erroneous
+	 */
+	static StreamsConfigLoader loadConfig(String cfgPath) throws Exception {
+		File cfgFile = getFile(cfgPath);
+		StreamsConfigLoader cfg = new StreamsConfigLoader(cfgFile);
+		if (cfg.isErroneous()) {
+			throw new IllegalStateException("Erroneous streams configuration: " + cfgFile.getAbsolutePath()); // NON-NLS
+		}
+		return cfg;
+	}
+
+	/**
+	 * Returns sample configuration defined parser.
+	 *
+	 * @param cfg
+	 *            streams configuration
+	 * @param parserName
+	 *            parser name
+	 * @return configuration defined parser
+	 */
+	static ActivityParser getParser(StreamsConfigLoader cfg, String parserName) {
+		ActivityParser parser = cfg.getParser(parserName);
+		if (parser == null) {
+			throw new IllegalArgumentException("No parser found: " + parserName); // NON-NLS
+		}
+		return parser;
+	}
+
+	/**
+	 * Returns first sample configuration defined stream. Stream is not started and is used only as parsing context.
+	 *
+	 * @param cfg
+	 *            streams configuration
+	 * @return configuration defined stream, or {@code null} if configuration defines no streams
+	 */
+	static TNTInputStream<?, ?> getStream(StreamsConfigLoader cfg) {
+		return cfg.getStreams() == null || cfg.getStreams().isEmpty() ? null : cfg.getStreams().iterator().next();
+	}
+
+	/**
+	 * Reads non empty lines of sample data file.
+	 *
+	 * @param path
+	 *            samples directory relative data file path
+	 * @return list of sample data file lines
+	 * @throws IOException
+	 *             if data file can't be read
+	 */
+	static List<String> readLines(String path) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (String line : Files.readAllLines(getFile(path).toPath(), StandardCharsets.UTF_8)) {
+			if (StringUtils.isNotEmpty(line)) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Reads whole sample data file contents.
+	 *
+	 * @param path
+	 *            samples directory relative data file path
+	 * @return sample data file contents
+	 * @throws IOException
+	 *             if data file can't be read
+	 */
+	static String readText(String path) throws IOException {
+		return new String(Files.readAllBytes(getFile(path).toPath()), StandardCharsets.UTF_8);
+	}
+}
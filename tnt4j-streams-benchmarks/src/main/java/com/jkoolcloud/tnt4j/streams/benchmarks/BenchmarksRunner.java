@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of benchmarks jar. Runs JMH benchmarks selected by command line arguments (same as
+ * {@link org.openjdk.jmh.Main} does) and always adds {@link GCProfiler}, so every benchmark result reports both
+ * operations per second and allocations per operation ({@code gc.alloc.rate.norm}).
+ *
+ * @version $Revision: 1 $
+ */
+public class BenchmarksRunner {
+
+	/**
+	 * Main entry point for running benchmarks.
+	 *
+	 * @param args
+	 *            JMH command line arguments
+	 * @throws Exception
+	 *             if benchmarks run fails
+	 */
+	public static void main(String... args) throws Exception {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers()
+				|| cmdOptions.shouldListResultFormats()) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		Options options = new OptionsBuilder().parent(cmdOptions).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.core.UsecTimestamp;
+import com.jkoolcloud.tnt4j.streams.utils.NumericFormatter;
+import com.jkoolcloud.tnt4j.streams.utils.TimestampFormatter;
+
+/**
+ * Measures {@link TimestampFormatter#parse(Object)} and {@link NumericFormatter#parse(Object)} throughput for value
+ * formats used by {@code core} module samples: pattern defined date/time strings, numeric timestamps, pattern defined
+ * decimals and radix defined integers.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattersBenchmark {
+
+	private TimestampFormatter patternTsFormatter;
+	private TimestampFormatter zonedTsFormatter;
+	private TimestampFormatter unitsTsFormatter;
+	private NumericFormatter patternNumFormatter;
+	private NumericFormatter defaultNumFormatter;
+	private NumericFormatter hexNumFormatter;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		patternTsFormatter = new TimestampFormatter("dd MMM yyyy HH:mm:ss", null, "en-US"); // NON-NLS
+		zonedTsFormatter = new TimestampFormatter("dd/MMM/yyyy:HH:mm:ss z", null, "en-US"); // NON-NLS
+		unitsTsFormatter = new TimestampFormatter(TimeUnit.SECONDS);
+		patternNumFormatter = new NumericFormatter("#,##0.00", "en-US"); // NON-NLS
+		defaultNumFormatter = new NumericFormatter();
+		hexNumFormatter = new NumericFormatter(16);
+	}
+
+	@Benchmark
+	public UsecTimestamp parsePatternTimestamp() throws Exception {
+		return patternTsFormatter.parse("12 Jul 2011 12:34:52"); // NON-NLS
+	}
+
+	@Benchmark
+	public UsecTimestamp parseZonedTimestamp() throws Exception {
+		return zonedTsFormatter.parse("07/Mar/2004:16:05:49 -0800"); // NON-NLS
+	}
+
+	@Benchmark
+	public UsecTimestamp parseUnitsTimestamp() throws Exception {
+		return unitsTsFormatter.parse("1469715537.366"); // NON-NLS
+	}
+
+	@Benchmark
+	public Number parsePatternNumber() throws Exception {
+		return patternNumFormatter.parse("1,295.32"); // NON-NLS
+	}
+
+	@Benchmark
+	public Number parseDefaultNumber() throws Exception {
+		return defaultNumFormatter.parse("3814011275"); // NON-NLS
+	}
+
+	@Benchmark
+	public Number parseHexNumber() throws Exception {
+		return hexNumFormatter.parse("7FFA3C1B"); // NON-NLS
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jkoolcloud.tnt4j.streams.utils.RingBufferQueue;
+
+/**
+ * Compares buffered stream input buffer implementations: fair {@link ArrayBlockingQueue} used by default and
+ * lock-free {@link RingBufferQueue} with different wait strategies. Buffer is filled by 1, 4 and 16 producer threads
+ * and drained by single consumer thread, the same way {@code AbstractBufferedStream} input buffer is used by stream
+ * input processor threads and stream itself.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class InputBufferBenchmark {
+	private static final Object ITEM = new Object();
+
+	@Param({ "ARRAY_QUEUE", "RING_BUFFER_BLOCKING", "RING_BUFFER_YIELDING", "RING_BUFFER_SPINNING" })
+	public String bufferType;
+
+	@Param({ "1024" })
+	public int bufferSize;
+
+	private BlockingQueue<Object> buffer;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		switch (bufferType) {
+		case "RING_BUFFER_BLOCKING":
+			buffer = new RingBufferQueue<>(bufferSize, RingBufferQueue.WaitStrategy.BLOCKING);
+			break;
+		case "RING_BUFFER_YIELDING":
+			buffer = new RingBufferQueue<>(bufferSize, RingBufferQueue.WaitStrategy.YIELDING);
+			break;
+		case "RING_BUFFER_SPINNING":
+			buffer = new RingBufferQueue<>(bufferSize, RingBufferQueue.WaitStrategy.SPINNING);
+			break;
+		case "ARRAY_QUEUE":
+		default:
+			buffer = new ArrayBlockingQueue<>(bufferSize, true);
+			break;
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		// release producers blocked on full buffer when measurement ends
+		buffer.clear();
+	}
+
+	private boolean produce() throws InterruptedException {
+		return buffer.offer(ITEM, 10, TimeUnit.MILLISECONDS);
+	}
+
+	private void consume(Blackhole bh) throws InterruptedException {
+		bh.consume(buffer.poll(10, TimeUnit.MILLISECONDS));
+	}
+
+	@Benchmark
+	@Group("producers1")
+	@GroupThreads(1)
+	public boolean put1(Blackhole bh) throws InterruptedException {
+		return produce();
+	}
+
+	@Benchmark
+	@Group("producers1")
+	@GroupThreads(1)
+	public void take1(Blackhole bh) throws InterruptedException {
+		consume(bh);
+	}
+
+	@Benchmark
+	@Group("producers4")
+	@GroupThreads(4)
+	public boolean put4(Blackhole bh) throws InterruptedException {
+		return produce();
+	}
+
+	@Benchmark
+	@Group("producers4")
+	@GroupThreads(1)
+	public void take4(Blackhole bh) throws InterruptedException {
+		consume(bh);
+	}
+
+	@Benchmark
+	@Group("producers16")
+	@GroupThreads(16)
+	public boolean put16(Blackhole bh) throws InterruptedException {
+		return produce();
+	}
+
+	@Benchmark
+	@Group("producers16")
+	@GroupThreads(1)
+	public void take16(Blackhole bh) throws InterruptedException {
+		consume(bh);
+	}
+}
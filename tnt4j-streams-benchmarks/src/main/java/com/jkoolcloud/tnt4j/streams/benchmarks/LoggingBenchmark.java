@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Measures cost of per activity field {@code TRACE} level logging, when {@code TRACE} level is disabled (as it is for
+ * streams loggers in default {@code config/log4j.properties}): unguarded {@link EventSink} call, {@link LoggerUtils}
+ * facade call having lazily evaluated argument, and {@link EventSink#isSet(OpLevel)} guarded call. Compare
+ * {@code gc.alloc.rate.norm} values to see allocations per logging call.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+	private static final String KEY = "ActivityParser.applying.field"; // NON-NLS
+
+	private EventSink logger;
+	private String parserName;
+	private String fieldName;
+	private Map<String, Object> value;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		logger = LoggerUtils.getLoggerSink(LoggingBenchmark.class);
+		if (logger.isSet(OpLevel.TRACE)) {
+			throw new IllegalStateException("TRACE level shall be disabled for logger " + logger.getName()); // NON-NLS
+		}
+
+		parserName = "TokenParser"; // NON-NLS
+		fieldName = "MsgValue"; // NON-NLS
+		value = new LinkedHashMap<>();
+		for (int i = 0; i < 10; i++) {
+			value.put("key" + i, i * 100.5); // NON-NLS
+		}
+	}
+
+	@Benchmark
+	public void unguarded() {
+		logger.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), KEY, parserName,
+				fieldName, Utils.toString(value));
+	}
+
+	@Benchmark
+	public void facadeLazy() {
+		LoggerUtils.log(logger, OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME, KEY, parserName, fieldName,
+				LoggerUtils.lazyToString(value));
+	}
+
+	@Benchmark
+	public void guarded() {
+		if (logger.isSet(OpLevel.TRACE)) {
+			logger.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), KEY,
+					parserName, fieldName, Utils.toString(value));
+		}
+	}
+}
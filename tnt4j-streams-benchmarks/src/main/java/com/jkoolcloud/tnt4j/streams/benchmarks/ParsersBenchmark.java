@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.google.gson.Gson;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+
+/**
+ * Measures core parsers throughput parsing {@code core} module samples data using parsers defined by samples
+ * configurations:
+ * <ul>
+ * <li>{@code TOKEN} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityTokenParser} of {@code single-log}
+ * sample</li>
+ * <li>{@code REGEX} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityRegExParser} based Apache access log
+ * parser of {@code apache-access-single-log} sample</li>
+ * <li>{@code JSON} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityJsonParser} of {@code collectd-json}
+ * sample</li>
+ * <li>{@code XML} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityXmlParser} of {@code swift} sample</li>
+ * <li>{@code NAME_VALUE} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityNameValueParser} of {@code swift}
+ * sample</li>
+ * <li>{@code MAP} - {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityMapParser} of {@code collectd-json}
+ * sample</li>
+ * </ul>
+ * Every benchmark operation parses one sample data item, cycling over all data items of sample data file.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParsersBenchmark {
+
+	@Param({ "TOKEN", "REGEX", "JSON", "XML", "NAME_VALUE", "MAP" })
+	public String parserType;
+
+	private ActivityParser parser;
+	private TNTInputStream<?, ?> stream;
+	private Object[] data;
+	private int dataIdx;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		StreamsConfigLoader cfg;
+		List<?> items;
+		switch (parserType) {
+		case "REGEX":
+			cfg = BenchmarkSamples.loadConfig("apache-access-single-log/tnt-data-source.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "AccessLogParserCommon"); // NON-NLS
+			items = BenchmarkSamples.readLines("apache-access-single-log/access.log"); // NON-NLS
+			break;
+		case "JSON":
+			cfg = BenchmarkSamples.loadConfig("collectd-json/tnt-data-source.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "CollectdReqBodyParser"); // NON-NLS
+			items = Collections.singletonList(BenchmarkSamples.readText("collectd-json/stats.json")); // NON-NLS
+			break;
+		case "XML":
+			cfg = BenchmarkSamples.loadConfig("swift/tnt-data-source_xml.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "MYBANK_XML_Msg_Data_parser_nonamespace"); // NON-NLS
+			items = Collections.singletonList(BenchmarkSamples.readText("swift/msg.xml")); // NON-NLS
+			break;
+		case "NAME_VALUE":
+			cfg = BenchmarkSamples.loadConfig("swift/tnt-data-source.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "SWIFT_NV_Msg_Data_parser"); // NON-NLS
+			items = Collections.singletonList(BenchmarkSamples.readText("swift/transaction.swift")); // NON-NLS
+			break;
+		case "MAP":
+			cfg = BenchmarkSamples.loadConfig("collectd-json/tnt-data-source.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "CollectdStatsDataParser"); // NON-NLS
+			items = new Gson().fromJson(BenchmarkSamples.readText("collectd-json/stats.json"), List.class); // NON-NLS
+			break;
+		case "TOKEN":
+		default:
+			cfg = BenchmarkSamples.loadConfig("single-log/tnt-data-source.xml"); // NON-NLS
+			parser = BenchmarkSamples.getParser(cfg, "TokenParser"); // NON-NLS
+			items = BenchmarkSamples.readLines("single-log/orders.log"); // NON-NLS
+			break;
+		}
+
+		stream = BenchmarkSamples.getStream(cfg);
+		data = items.toArray();
+
+		for (Object item : data) {
+			if (parser.parse(stream, item) == null) {
+				throw new IllegalStateException(
+						"Parser " + parser.getName() + " could not parse sample data item: " + item); // NON-NLS
+			}
+		}
+	}
+
+	@Benchmark
+	public ActivityInfo parse() throws Exception {
+		Object item = data[dataIdx];
+		if (++dataIdx == data.length) {
+			dataIdx = 0;
+		}
+		return parser.parse(stream, item);
+	}
+}
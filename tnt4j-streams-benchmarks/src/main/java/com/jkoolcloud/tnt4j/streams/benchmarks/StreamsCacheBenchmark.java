@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jkoolcloud.tnt4j.streams.configure.CacheProperties;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsCache;
+
+/**
+ * Measures {@link StreamsCache} lookups and puts throughput for activity entities produced by {@code single-log}
+ * sample parser. Cache entry key is filled in from activity entity {@code Correlator} field, and cached value is
+ * activity entity {@code EventName} field value.
+ * <p>
+ * Lookups are measured for single and multiple concurrent threads, since cache is shared by all streams running in
+ * same JVM.
+ *
+ * @version $Revision: 1 $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamsCacheBenchmark {
+	private static final String ENTRY_ID = "EventNameEntry"; // NON-NLS
+	private static final String PARSER_NAME = "TokenParser"; // NON-NLS
+
+	private ActivityInfo[] activities;
+	private String[] cacheKeys;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		StreamsConfigLoader cfg = BenchmarkSamples.loadConfig("single-log/tnt-data-source.xml"); // NON-NLS
+		ActivityParser parser = BenchmarkSamples.getParser(cfg, PARSER_NAME);
+		TNTInputStream<?, ?> stream = BenchmarkSamples.getStream(cfg);
+
+		Map<String, String> cacheProps = new HashMap<>(1);
+		cacheProps.put(CacheProperties.PROP_MAX_SIZE, "1000"); // NON-NLS
+		StreamsCache.setProperties(cacheProps.entrySet());
+		StreamsCache.addEntry(ENTRY_ID, "${Correlator}", "${EventName}", "Unknown"); // NON-NLS
+
+		List<ActivityInfo> aiList = new ArrayList<>();
+		Set<String> keys = new LinkedHashSet<>();
+		for (String line : BenchmarkSamples.readLines("single-log/orders.log")) { // NON-NLS
+			ActivityInfo ai = parser.parse(stream, line);
+			aiList.add(ai);
+			StreamsCache.cacheValues(ai, PARSER_NAME);
+			keys.add(StreamsCache.fillInKeyPattern("${Correlator}", ai, PARSER_NAME)); // NON-NLS
+		}
+		activities = aiList.toArray(new ActivityInfo[aiList.size()]);
+		cacheKeys = keys.toArray(new String[keys.size()]);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		StreamsCache.cleanup();
+	}
+
+	/**
+	 * Per thread benchmark data cursor.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int idx;
+
+		int next(int length) {
+			int i = idx;
+			if (++idx >= length) {
+				idx = 0;
+			}
+			return i;
+		}
+	}
+
+	@Benchmark
+	public Object getValueByEntry(Cursor cursor) {
+		return StreamsCache.getValue(activities[cursor.next(activities.length)], ENTRY_ID, PARSER_NAME);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object getValueByEntryConcurrent(Cursor cursor) {
+		return getValueByEntry(cursor);
+	}
+
+	@Benchmark
+	public Object getValueByKey(Cursor cursor) {
+		return StreamsCache.getValue(cacheKeys[cursor.next(cacheKeys.length)]);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object getValueByKeyConcurrent(Cursor cursor) {
+		return getValueByKey(cursor);
+	}
+
+	@Benchmark
+	public void cacheValues(Cursor cursor) {
+		StreamsCache.cacheValues(activities[cursor.next(activities.length)], PARSER_NAME);
+	}
+}
@@ -42,5 +42,9 @@ public interface CacheProperties {
 	 * Constant for name of built-in {@value} property.
 	 */
 	String PROP_PERSISTING_PERIOD = "PersistingPeriod"; // NON-NLS
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_PERSISTENCE_FORMAT = "PersistenceFormat"; // NON-NLS
 
 }
@@ -79,4 +79,44 @@ public interface OutputProperties {
 	 * Constant for name of built-in {@value} property.
 	 */
 	String PROP_SEND_STREAM_STATES = "SendStreamStates"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SENDER_THREADS_QTY = "SenderThreadsQuantity"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SENDER_QUEUE_SIZE = "SenderQueueSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SENDER_BATCH_SIZE = "SenderBatchSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SOURCE_CACHE_SIZE = "SourceCacheSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_DNS_CACHE_MAX_SIZE = "DNSCacheMaxSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_DNS_CACHE_TTL = "DNSCacheTTL"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_DNS_CACHE_NEGATIVE_TTL = "DNSCacheNegativeTTL"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_DNS_LOOKUP_ASYNC = "DNSLookupAsync"; // NON-NLS
 }
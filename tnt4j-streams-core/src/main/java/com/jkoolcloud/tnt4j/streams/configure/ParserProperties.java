@@ -90,6 +90,11 @@ public interface ParserProperties {
 	 */
 	String PROP_NAMESPACE_AWARE = "NamespaceAware"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_STREAMING_MODE = "StreamingMode"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 */
@@ -103,6 +103,16 @@ public interface StreamProperties extends OutputProperties {
 	 */
 	String PROP_EXECUTORS_BOUNDED = "ExecutorsBoundedModel"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_EXECUTOR_BATCH_SIZE = "ExecutorBatchSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property. Value in milliseconds.
+	 */
+	String PROP_EXECUTOR_BATCH_LINGER = "ExecutorBatchLingerMs"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 */
@@ -169,6 +179,16 @@ public interface StreamProperties extends OutputProperties {
 	 */
 	String PROP_FULL_BUFFER_ADD_POLICY = "FullBufferAddPolicy"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_BUFFER_TYPE = "BufferType"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_BUFFER_WAIT_STRATEGY = "BufferWaitStrategy"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 */
@@ -179,6 +199,21 @@ public interface StreamProperties extends OutputProperties {
 	 */
 	String PROP_RESTORE_STATE = "RestoreState"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_USE_WATCH_SERVICE = "UseWatchService"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_PARALLEL_FILE_READERS = "ParallelFileReaders"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_COUNT_FILE_LINES = "CountFileLines"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 */
@@ -228,4 +263,9 @@ public interface StreamProperties extends OutputProperties {
 	 * Constant for name of built-in {@value} property.
 	 */
 	String PROP_TRUNCATED_FILE_POLICY = "TruncatedFilePolicy"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_ADAPTIVE_PARSERS_ORDER = "AdaptiveParsersOrder"; // NON-NLS
 }
@@ -56,6 +56,7 @@ import javax.xml.bind.annotation.*;
  *       &lt;/sequence>
  *       &lt;attribute name="id" use="required" type="{http://www.w3.org/2001/XMLSchema}string" />
  *       &lt;attribute name="transient" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *       &lt;attribute name="shard" type="{http://www.w3.org/2001/XMLSchema}string" />
  *     &lt;/restriction>
  *   &lt;/complexContent>
  * &lt;/complexType>
@@ -83,6 +84,8 @@ public class CacheEntry {
 	@XmlAttribute(name = "transient", required = false)
 	@Generated(value = "com.sun.tools.internal.xjc.Driver", date = "2017-12-06T05:46:13+03:00", comments = "JAXB RI v2.2.4-2")
 	protected Boolean transientEntry;
+	@XmlAttribute(name = "shard", required = false)
+	protected String shard;
 
 	public CacheEntry() {
 
@@ -214,4 +217,25 @@ public class CacheEntry {
 		this.transientEntry = value;
 	}
 
+	/**
+	 * Gets the value of the shard property.
+	 *
+	 * @return possible object is {@link String }
+	 *
+	 */
+	public String getShard() {
+		return shard;
+	}
+
+	/**
+	 * Sets the value of the shard property.
+	 *
+	 * @param value
+	 *            allowed object is {@link String }
+	 *
+	 */
+	public void setShard(String value) {
+		this.shard = value;
+	}
+
 }
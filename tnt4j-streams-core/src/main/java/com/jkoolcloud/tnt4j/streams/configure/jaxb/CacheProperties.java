@@ -35,6 +35,7 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;enumeration value="MaxSize"/>
  *     &lt;enumeration value="ExpireDuration"/>
  *     &lt;enumeration value="Persisted"/>
+ *     &lt;enumeration value="PersistenceFormat"/>
  *   &lt;/restriction>
  * &lt;/simpleType>
  * </pre>
@@ -70,7 +71,16 @@ public enum CacheProperties {
 	 * 
 	 */
 	@XmlEnumValue("Persisted")
-	PERSISTED("Persisted");
+	PERSISTED("Persisted"),
+
+	/**
+	 * 
+	 * Cache contents persistence format: XML or BINARY.
+	 * 
+	 * 
+	 */
+	@XmlEnumValue("PersistenceFormat")
+	PERSISTENCE_FORMAT("PersistenceFormat");
 	private final String value;
 
 	CacheProperties(String v) {
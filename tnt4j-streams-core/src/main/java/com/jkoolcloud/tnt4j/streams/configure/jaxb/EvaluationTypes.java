@@ -33,6 +33,7 @@ import javax.xml.bind.annotation.XmlType;
  *   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
  *     &lt;enumeration value="is"/>
  *     &lt;enumeration value="contains"/>
+ *     &lt;enumeration value="starts"/>
  *     &lt;enumeration value="wildcard"/>
  *     &lt;enumeration value="regex"/>
  *   &lt;/restriction>
@@ -63,6 +64,15 @@ public enum EvaluationTypes {
 	@XmlEnumValue("contains")
 	CONTAINS("contains"),
 
+	/**
+	 * 
+	 * Value evaluation by checking if value contents starts with defined value.
+	 * 
+	 * 
+	 */
+	@XmlEnumValue("starts")
+	STARTS("starts"),
+
 	/**
 	 * 
 	 * Value evaluation by matching wildcard pattern.
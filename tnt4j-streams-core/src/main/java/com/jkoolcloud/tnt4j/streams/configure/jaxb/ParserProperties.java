@@ -46,6 +46,7 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;enumeration value="ActivityDelim"/>
  *     &lt;enumeration value="NamespaceAware"/>
  *     &lt;enumeration value="MatchStrategy"/>
+ *     &lt;enumeration value="StreamingMode"/>
  *   &lt;/restriction>
  * &lt;/simpleType>
  * </pre>
@@ -196,7 +197,17 @@ public enum ParserProperties {
 	 *
 	 */
 	@XmlEnumValue("MatchStrategy")
-	MATCH_STRATEGY("MatchStrategy");
+	MATCH_STRATEGY("MatchStrategy"),
+
+	/**
+	 *
+	 * Property indicates that XML/JSON parser shall extract field values in one pass over data, without building
+	 * complete document, when all field locators are simple paths.
+	 *
+	 *
+	 */
+	@XmlEnumValue("StreamingMode")
+	STREAMING_MODE("StreamingMode");
 	private final String value;
 
 	ParserProperties(String v) {
@@ -52,6 +52,7 @@ import javax.xml.bind.annotation.*;
  *             &lt;/complexContent>
  *           &lt;/complexType>
  *         &lt;/element>
+ *         &lt;element name="filter" type="{}Filter" minOccurs="0"/>
  *       &lt;/choice>
  *       &lt;attGroup ref="{}EntityAttributeGroup"/>
  *     &lt;/restriction>
@@ -62,7 +63,7 @@ import javax.xml.bind.annotation.*;
  * 
  */
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "Stream", propOrder = { "property", "parserRef", "reference", "tnt4JProperties" })
+@XmlType(name = "Stream", propOrder = { "property", "parserRef", "reference", "tnt4JProperties", "filter" })
 @Generated(value = "com.sun.tools.internal.xjc.Driver", date = "2017-05-09T05:46:13+03:00", comments = "JAXB RI v2.2.4-2")
 public class Stream {
 
@@ -76,6 +77,7 @@ public class Stream {
 	@XmlElement(name = "tnt4j-properties")
 	@Generated(value = "com.sun.tools.internal.xjc.Driver", date = "2017-05-09T05:46:13+03:00", comments = "JAXB RI v2.2.4-2")
 	protected Stream.Tnt4JProperties tnt4JProperties;
+	protected Filter filter;
 	@XmlAttribute(name = "name", required = true)
 	@Generated(value = "com.sun.tools.internal.xjc.Driver", date = "2017-05-09T05:46:13+03:00", comments = "JAXB RI v2.2.4-2")
 	protected String name;
@@ -225,6 +227,27 @@ public class Stream {
 		this.tnt4JProperties = value;
 	}
 
+	/**
+	 * Gets the value of the filter property.
+	 * 
+	 * @return possible object is {@link Filter }
+	 * 
+	 */
+	public Filter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Sets the value of the filter property.
+	 * 
+	 * @param value
+	 *            allowed object is {@link Filter }
+	 * 
+	 */
+	public void setFilter(Filter value) {
+		this.filter = value;
+	}
+
 	/**
 	 * Gets the value of the name property.
 	 * 
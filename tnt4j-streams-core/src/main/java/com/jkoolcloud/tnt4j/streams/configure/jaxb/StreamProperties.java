@@ -45,11 +45,14 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;enumeration value="StartFromLatest"/>
  *     &lt;enumeration value="FileReadDelay"/>
  *     &lt;enumeration value="HaltIfNoParser"/>
+ *     &lt;enumeration value="AdaptiveParsersOrder"/>
  *     &lt;enumeration value="UseExecutors"/>
  *     &lt;enumeration value="ExecutorThreadsQuantity"/>
  *     &lt;enumeration value="ExecutorRejectedTaskOfferTimeout"/>
  *     &lt;enumeration value="ExecutorsTerminationTimeout"/>
  *     &lt;enumeration value="ExecutorsBoundedModel"/>
+ *     &lt;enumeration value="ExecutorBatchSize"/>
+ *     &lt;enumeration value="ExecutorBatchLingerMs"/>
  *     &lt;enumeration value="Keystore"/>
  *     &lt;enumeration value="KeystorePass"/>
  *     &lt;enumeration value="KeyPass"/>
@@ -65,6 +68,9 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;enumeration value="BufferDropWhenFull"/>
  *     &lt;enumeration value="FilePolling"/>
  *     &lt;enumeration value="RestoreState"/>
+ *     &lt;enumeration value="UseWatchService"/>
+ *     &lt;enumeration value="ParallelFileReaders"/>
+ *     &lt;enumeration value="CountFileLines"/>
  *     &lt;enumeration value="StartServer"/>
  *     &lt;enumeration value="InputCloseable"/>
  *     &lt;enumeration value="RangeToStream"/>
@@ -207,6 +213,16 @@ public enum StreamProperties {
 	@XmlEnumValue("HaltIfNoParser")
 	HALT_IF_NO_PARSER("HaltIfNoParser"),
 
+	/**
+	 * 
+	 * Property identifies whether stream should reorder parsers applied to activity RAW data by parsers successful
+	 * parsing hits count.
+	 * 
+	 * 
+	 */
+	@XmlEnumValue("AdaptiveParsersOrder")
+	ADAPTIVE_PARSERS_ORDER("AdaptiveParsersOrder"),
+
 	/**
 	 * 
 	 * Property identifies identifies whether stream should use executor service to process activities data items
@@ -254,6 +270,25 @@ public enum StreamProperties {
 	@XmlEnumValue("ExecutorsBoundedModel")
 	EXECUTORS_BOUNDED_MODEL("ExecutorsBoundedModel"),
 
+	/**
+	 * 
+	 * Property defines maximal number of activity data items handed off to executor service as single processing task.
+	 * 
+	 * 
+	 */
+	@XmlEnumValue("ExecutorBatchSize")
+	EXECUTOR_BATCH_SIZE("ExecutorBatchSize"),
+
+	/**
+	 * 
+	 * Property defines time to wait (in milliseconds) for a items batch to fill up before handing it off to executor
+	 * service.
+	 * 
+	 * 
+	 */
+	@XmlEnumValue("ExecutorBatchLingerMs")
+	EXECUTOR_BATCH_LINGER_MS("ExecutorBatchLingerMs"),
+
 	/**
 	 * 
 	 * Property defines keystore path.
@@ -381,6 +416,25 @@ public enum StreamProperties {
 	@XmlEnumValue("FullBufferAddPolicy")
 	FULL_FUFFER_ADD_POLICY("FullBufferAddPolicy"),
 
+	/**
+	 * 
+	 * Defines buffered stream buffer queue implementation: ARRAY_QUEUE or RING_BUFFER.
+	 *
+	 *
+	 */
+	@XmlEnumValue("BufferType")
+	BUFFER_TYPE("BufferType"),
+
+	/**
+	 * 
+	 * Defines how producer/consumer threads wait for ring buffer to get available space/items: BLOCKING, SPINNING or
+	 * YIELDING.
+	 *
+	 *
+	 */
+	@XmlEnumValue("BufferWaitStrategy")
+	BUFFER_WAIT_STRATEGY("BufferWaitStrategy"),
+
 	/**
 	 *
 	 * Property indicates that stream should run in file polling mode.
@@ -400,6 +454,34 @@ public enum StreamProperties {
 	@XmlEnumValue("RestoreState")
 	RESTORE_STATE("RestoreState"),
 
+	/**
+	 *
+	 * Property indicates that stream should be notified on files changes by file system events (where available),
+	 * instead of polling files every file read delay.
+	 *
+	 *
+	 */
+	@XmlEnumValue("UseWatchService")
+	USE_WATCH_SERVICE("UseWatchService"),
+
+	/**
+	 *
+	 * Property defines number of reader threads used to tail all files matching file name pattern in parallel.
+	 *
+	 *
+	 */
+	@XmlEnumValue("ParallelFileReaders")
+	PARALLEL_FILE_READERS("ParallelFileReaders"),
+
+	/**
+	 *
+	 * Property indicates that lines of streamed files should be counted in background to report total activities count.
+	 *
+	 *
+	 */
+	@XmlEnumValue("CountFileLines")
+	COUNT_FILE_LINES("CountFileLines"),
+
 	/**
 	 *
 	 * Property indicates that stream should start as server (e.g., Kafka server) if stream supports both client and
@@ -51,6 +51,7 @@ import com.jkoolcloud.tnt4j.streams.filters.AbstractExpressionFilter;
 import com.jkoolcloud.tnt4j.streams.filters.DefaultValueFilter;
 import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTParseableInputStream;
 import com.jkoolcloud.tnt4j.streams.outputs.TNTStreamOutput;
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
 import com.jkoolcloud.tnt4j.streams.parsers.GenericActivityParser;
@@ -320,6 +321,10 @@ public class ConfigParserHandler extends DefaultHandler {
 	 * Constant for name of TNT4J-Streams XML configuration tag attribute {@value}.
 	 */
 	protected static final String TRANSIENT_ATTR = "transient"; // NON-NLS
+	/**
+	 * Constant for name of TNT4J-Streams XML configuration tag attribute {@value}.
+	 */
+	protected static final String SHARD_ATTR = "shard"; // NON-NLS
 	/**
 	 * Constant for name of TNT4J-Streams XML configuration tag attribute {@value}.
 	 */
@@ -556,6 +561,8 @@ public class ConfigParserHandler extends DefaultHandler {
 				currCacheEntry.id = attValue;
 			} else if (TRANSIENT_ATTR.equals(attName)) {
 				currCacheEntry.transientEntry = Utils.toBoolean(attValue);
+			} else if (SHARD_ATTR.equals(attName)) {
+				currCacheEntry.shard = attValue;
 			} else {
 				unknownAttribute(CACHE_ENTRY_ELMT, attName);
 			}
@@ -1766,14 +1773,19 @@ public class ConfigParserHandler extends DefaultHandler {
 					"ConfigParserHandler.malformed.configuration", FILTER_ELMT), currParseLocation);
 		}
 
-		if (currLocatorData == null && currField == null && currParser == null) {
-			throw new SAXParseException(
-					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
-							"ConfigParserHandler.malformed.configuration2", FILTER_ELMT,
-							Utils.arrayToString(FIELD_LOC_ELMT, FIELD_ELMT, EMBEDDED_ACTIVITY_ELMT, PARSER_ELMT)),
+		if (currLocatorData == null && currField == null && currParser == null && currStream == null) {
+			throw new SAXParseException(StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+					"ConfigParserHandler.malformed.configuration2", FILTER_ELMT,
+					Utils.arrayToString(FIELD_LOC_ELMT, FIELD_ELMT, EMBEDDED_ACTIVITY_ELMT, PARSER_ELMT, STREAM_ELMT)),
 					currParseLocation);
 		}
 
+		if (currStream != null && !(currStream instanceof TNTParseableInputStream)) {
+			throw new SAXParseException(StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+					"ConfigParserHandler.stream.filter.not.supported", currStream.getName(),
+					TNTParseableInputStream.class.getName()), currParseLocation);
+		}
+
 		String name = null;
 		for (int i = 0; i < attrs.getLength(); i++) {
 			String attName = attrs.getQName(i);
@@ -1792,6 +1804,8 @@ public class ConfigParserHandler extends DefaultHandler {
 			currFilter = new StreamFiltersGroup<>(name);
 		} else if (currParser != null) {
 			currFilter = new StreamFiltersGroup<>(name);
+		} else if (currStream != null) {
+			currFilter = new StreamFiltersGroup<>(name);
 		}
 
 		handleFieldLocatorCDATA();
@@ -2448,6 +2462,8 @@ public class ConfigParserHandler extends DefaultHandler {
 			currField.field.setFilter(currFilter);
 		} else if (currParser != null) {
 			((GenericActivityParser<?>) currParser).setActivityFilter(currFilter);
+		} else if (currStream != null) {
+			((TNTParseableInputStream<?>) currStream).setRawDataFilter(currFilter);
 		}
 	}
 
@@ -2477,7 +2493,7 @@ public class ConfigParserHandler extends DefaultHandler {
 
 	private void handleCacheEntry(CacheEntryData currCacheEntry) throws SAXException {
 		StreamsCache.addEntry(currCacheEntry.id, currCacheEntry.key, currCacheEntry.value, currCacheEntry.defaultValue,
-				currCacheEntry.transientEntry);
+				currCacheEntry.transientEntry, currCacheEntry.shard);
 	}
 
 	private void handleKey(CacheEntryData currCacheEntry) throws SAXException {
@@ -2717,6 +2733,7 @@ public class ConfigParserHandler extends DefaultHandler {
 		String value;
 		String defaultValue;
 		boolean transientEntry;
+		String shard;
 	}
 
 	protected static class ParserRefData {
@@ -20,7 +20,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -41,6 +46,10 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 /**
  * The class manages stream resuming from last file read line. It manages streamed files access state persisting, and
  * loading of persisted state.
+ * <p>
+ * If persisted state has last read line byte offset, file is resumed by seeking to that offset, when CRC of file bytes
+ * preceding offset matches persisted one. Otherwise file lines around persisted line number are scanned to find line
+ * matching persisted line CRC.
  *
  * @param <T>
  *            the type of streamed file descriptor
@@ -49,10 +58,13 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  */
 public abstract class AbstractFileStreamStateHandler<T> {
 	private static final String FILE_ACCESS_STATE_SUFFIX = ".xml"; // NON-NLS
+	private static final String FILE_ACCESS_STATE_TMP_SUFFIX = ".tmp"; // NON-NLS
 	private static final String FILE_ACCESS_STATE_FILENAME = ".TNT4JStreamed"; // NON-NLS
 	private static final int BYTES_TO_COUNT_CRC = 256;
 	private static final int LINE_SHIFT_TOLERANCE = 50;
 
+	private static JAXBContext jaxbContext;
+
 	/**
 	 * Enum for Error handling when line CRC is mismatched record saved, two options - halt the stream or begin from
 	 * found file first line, default - halt;
@@ -78,6 +90,7 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	private AbstractFileLineStream.Line prevLine;
 
 	private FileAccessState fileAccessState;
+	private long byteOffset = -1;
 
 	/**
 	 * Constructs a new AbstractFileStreamStateHandler.
@@ -129,11 +142,18 @@ public abstract class AbstractFileStreamStateHandler<T> {
 			if (fileAccessState != null) {
 				file = findStreamingFile(fileAccessState, activityFiles);
 				if (file != null) {
-					fileAccessState.currentLineNumber = checkLine(file, fileAccessState);
-					if (linePolicy == LinePolicy.HALT_IF_CRC_MISMATCH
-							&& Utils.isZero(fileAccessState.currentLineNumber)) {
-						throw new IllegalStateException(StreamsResources.getString(
-								StreamsResources.RESOURCE_BUNDLE_NAME, "FileStreamStateHandler.location.not.found"));
+					byteOffset = checkOffset(file, fileAccessState);
+					if (byteOffset < 0) {
+						fileAccessState.currentLineNumber = checkLine(file, fileAccessState);
+						if (linePolicy == LinePolicy.HALT_IF_CRC_MISMATCH
+								&& Utils.isZero(fileAccessState.currentLineNumber)) {
+							throw new IllegalStateException(
+									StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
+											"FileStreamStateHandler.location.not.found"));
+						}
+					} else {
+						logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"FileStreamStateHandler.offset.found", byteOffset, fileAccessState.currentLineNumber);
 					}
 				}
 			}
@@ -155,7 +175,8 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	abstract String getParent(T[] activityFiles);
 
 	/**
-	 * Finds the file to stream matching file header CRC persisted in files access state.
+	 * Finds the file to stream matching file header CRC persisted in files access state. If persisted state has file
+	 * key, file having same file key is checked first.
 	 *
 	 * @param fileAccessState
 	 *            persisted files access state
@@ -168,6 +189,17 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	 *             if file can't be opened.
 	 */
 	T findStreamingFile(FileAccessState fileAccessState, T[] streamFiles) throws IOException {
+		if (fileAccessState.currentFileKey != null) {
+			for (T file : streamFiles) {
+				if (fileAccessState.currentFileKey.equals(getFileKey(file))) {
+					if (fileAccessState.currentFileCrc != null
+							&& fileAccessState.currentFileCrc.equals(getFileCrc(file))) {
+						return file;
+					}
+					break;
+				}
+			}
+		}
 		for (T file : streamFiles) {
 			Long fileCRC = getFileCrc(file);
 			if (fileCRC != null && fileCRC.equals(fileAccessState.currentFileCrc)) {
@@ -177,6 +209,29 @@ public abstract class AbstractFileStreamStateHandler<T> {
 		return null;
 	}
 
+	/**
+	 * Checks if file bytes preceding persisted state defined byte offset match persisted CRC and returns that offset.
+	 *
+	 * @param file
+	 *            file to check byte offset
+	 * @param fileAccessState
+	 *            persisted streamed files access state
+	 *
+	 * @return byte offset in file to continue reading from, or {@code -1} if persisted state has no byte offset or
+	 *         bytes CRC does not match
+	 *
+	 * @throws IOException
+	 *             if I/O exception occurs
+	 */
+	long checkOffset(T file, FileAccessState fileAccessState) throws IOException {
+		if (fileAccessState.currentByteOffset == null || fileAccessState.currentOffsetCrc == null) {
+			return -1;
+		}
+
+		Long offsetCrc = getOffsetCrc(file, fileAccessState.currentByteOffset);
+		return fileAccessState.currentOffsetCrc.equals(offsetCrc) ? fileAccessState.currentByteOffset : -1;
+	}
+
 	/**
 	 * Check if file has persisted state defined line and returns corresponding line number in file.
 	 *
@@ -317,11 +372,18 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	 *             if state unmarshaling fails
 	 */
 	private static FileAccessState unmarshal(File stateFile) throws JAXBException {
-		JAXBContext jaxb = JAXBContext.newInstance(FileAccessState.class);
-		Unmarshaller unmarshaller = jaxb.createUnmarshaller();
+		Unmarshaller unmarshaller = getJaxbContext().createUnmarshaller();
 		return (FileAccessState) unmarshaller.unmarshal(stateFile);
 	}
 
+	private static synchronized JAXBContext getJaxbContext() throws JAXBException {
+		if (jaxbContext == null) {
+			jaxbContext = JAXBContext.newInstance(FileAccessState.class);
+		}
+
+		return jaxbContext;
+	}
+
 	/**
 	 * Calculates file header CRC.
 	 *
@@ -356,6 +418,70 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	 */
 	abstract Reader openFile(T file) throws IOException;
 
+	/**
+	 * Calculates CRC of file bytes preceding provided byte offset. Default implementation does not support byte offsets
+	 * and returns {@code null}.
+	 *
+	 * @param file
+	 *            file to calculate bytes CRC
+	 * @param offset
+	 *            byte offset in file
+	 *
+	 * @return CRC value of bytes preceding offset, or {@code null} if offset is out of file bounds or not supported
+	 *
+	 * @throws IOException
+	 *             if file fails to open
+	 */
+	Long getOffsetCrc(T file, long offset) throws IOException {
+		return null;
+	}
+
+	/**
+	 * Returns file system provided file key (e.g. inode) of file. Default implementation returns {@code null}.
+	 *
+	 * @param file
+	 *            file to get key
+	 *
+	 * @return file key string, or {@code null} if file key is not available
+	 *
+	 * @throws IOException
+	 *             if file attributes can't be read
+	 */
+	String getFileKey(T file) throws IOException {
+		return null;
+	}
+
+	/**
+	 * Calculates CRC value for channel bytes preceding provided byte offset.
+	 *
+	 * @param channel
+	 *            channel to read bytes for CRC calculation
+	 * @param offset
+	 *            byte offset in channel
+	 *
+	 * @return calculated CRC value, or {@code null} if offset is out of channel bounds
+	 *
+	 * @throws IOException
+	 *             if channel can't be read.
+	 */
+	protected static Long getChannelCrc(SeekableByteChannel channel, long offset) throws IOException {
+		if (offset < 0 || offset > channel.size()) {
+			return null;
+		}
+
+		ByteBuffer buff = ByteBuffer.allocate((int) Math.min(offset, BYTES_TO_COUNT_CRC));
+		channel.position(offset - buff.capacity());
+		while (buff.hasRemaining()) {
+			if (channel.read(buff) < 0) {
+				return null;
+			}
+		}
+
+		Checksum crc = new CRC32();
+		crc.update(buff.array(), 0, buff.position());
+		return crc.getValue();
+	}
+
 	/**
 	 * Calculates CRC value for bytes read from provided input stream.
 	 *
@@ -406,6 +532,16 @@ public abstract class AbstractFileStreamStateHandler<T> {
 		return isStreamedFileAvailable() ? getLastReadLineNumber() : 0;
 	}
 
+	/**
+	 * Gets the byte offset in file to continue streaming from.
+	 *
+	 * @return byte offset in file, or {@code -1} if persisted byte offset is not available and file shall be resumed
+	 *         from {@link #getLineNumber()} line
+	 */
+	public long getByteOffset() {
+		return isStreamedFileAvailable() ? byteOffset : -1;
+	}
+
 	private int getLastReadLineNumber() {
 		return fileAccessState == null || fileAccessState.currentLineNumber == null ? 0
 				: fileAccessState.currentLineNumber;
@@ -435,7 +571,7 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	public void writeState(File fileDir, String streamName) {
 		try {
 			writeState(fileAccessState, fileDir, streamName);
-		} catch (JAXBException exc) {
+		} catch (JAXBException | IOException exc) {
 			Utils.logThrowable(logger(), OpLevel.ERROR,
 					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"FileStreamStateHandler.file.error.save", exc);
@@ -443,7 +579,8 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	}
 
 	/**
-	 * Persists files streaming state in specified directory or system temp directory.
+	 * Persists files streaming state in specified directory or system temp directory. State is written to temporary
+	 * file first, which then atomically replaces state file, so state file is never left partially written.
 	 *
 	 * @param fileAccessState
 	 *            streamed files access state
@@ -456,14 +593,16 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	 *
 	 * @throws JAXBException
 	 *             if parsing fails
+	 * @throws IOException
+	 *             if state file can't be replaced
 	 */
-	static File writeState(FileAccessState fileAccessState, File fileDir, String streamName) throws JAXBException {
+	static File writeState(FileAccessState fileAccessState, File fileDir, String streamName)
+			throws JAXBException, IOException {
 		if (fileAccessState == null) {
 			return null;
 		}
 
-		JAXBContext jaxb = JAXBContext.newInstance(FileAccessState.class);
-		Marshaller marshaller = jaxb.createMarshaller();
+		Marshaller marshaller = getJaxbContext().createMarshaller();
 		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
 		File fasFile = null;
@@ -475,7 +614,14 @@ public abstract class AbstractFileStreamStateHandler<T> {
 		if (fileDir == null || !fasFile.canWrite()) {
 			fasFile = new File(System.getProperty("java.io.tmpdir"), fileName);
 		}
-		marshaller.marshal(fileAccessState, fasFile);
+		File tmpFile = new File(fasFile.getParentFile(), fasFile.getName() + FILE_ACCESS_STATE_TMP_SUFFIX);
+		marshaller.marshal(fileAccessState, tmpFile);
+		try {
+			Files.move(tmpFile.toPath(), fasFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException exc) {
+			Files.move(tmpFile.toPath(), fasFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
 
 		return fasFile;
 	}
@@ -495,6 +641,8 @@ public abstract class AbstractFileStreamStateHandler<T> {
 
 	/**
 	 * Save current file access state. Actually takes the current streamed file line, and calculates CRC of that line.
+	 * Byte offset CRC is taken from line, since it is calculated from bytes read by stream: file is not read again
+	 * when state is saved or written, so CRC can't describe another (e.g. rotated) file.
 	 *
 	 * @param line
 	 *            line currently streamed
@@ -510,9 +658,13 @@ public abstract class AbstractFileStreamStateHandler<T> {
 
 		String lineStr = procLine.getData();
 		int lineNr = procLine.getLineNumber();
+		long lineOffset = procLine.getByteOffset();
+		long offsetCrc = procLine.getOffsetCrc();
 
 		try {
 			fileAccessState.currentLineNumber = lineNr;
+			fileAccessState.currentByteOffset = lineOffset < 0 ? null : lineOffset;
+			fileAccessState.currentOffsetCrc = lineOffset < 0 || offsetCrc < 0 ? null : offsetCrc;
 			fileAccessState.lastReadTime = System.currentTimeMillis();
 
 			CRC32 crc = new CRC32();
@@ -542,9 +694,15 @@ public abstract class AbstractFileStreamStateHandler<T> {
 	 *            currently streamed file
 	 */
 	public void setStreamedFile(T file) {
+		if (this.file != null && !this.file.equals(file)) {
+			// byte offset of previous file line does not apply to new file
+			fileAccessState.currentByteOffset = null;
+			fileAccessState.currentOffsetCrc = null;
+		}
 		this.file = file;
 		try {
 			fileAccessState.currentFileCrc = getFileCrc(file);
+			fileAccessState.currentFileKey = getFileKey(file);
 		} catch (IOException exc) {
 			Utils.logThrowable(logger(), OpLevel.ERROR,
 					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
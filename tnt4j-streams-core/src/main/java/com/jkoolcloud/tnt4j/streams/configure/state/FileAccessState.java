@@ -24,6 +24,10 @@ import javax.xml.bind.annotation.*;
  * <p>
  * Uses file header CRC to point the file, instead of commonly used name, because name of streamed rolling log file is
  * changing. Last read line pointer has two attributes: line number and line CRC.
+ * <p>
+ * For files read by byte channel, state also has byte offset of file position right after last read line, CRC of file
+ * bytes preceding that offset and file system file key (e.g. inode). This allows to resume streaming by seeking file
+ * to persisted offset instead of scanning file lines.
  *
  * @version $Revision: 1 $
  */
@@ -51,6 +55,21 @@ public class FileAccessState {
 	 */
 	@XmlElement
 	public Long lastReadTime;
+	/**
+	 * Byte offset of file position right after line last read.
+	 */
+	@XmlElement
+	public Long currentByteOffset;
+	/**
+	 * CRC value of file bytes preceding byte offset.
+	 */
+	@XmlElement
+	public Long currentOffsetCrc;
+	/**
+	 * File system provided file key of file last read.
+	 */
+	@XmlElement
+	public String currentFileKey;
 
 	/**
 	 * Constructs a new ActivityJsonParser.
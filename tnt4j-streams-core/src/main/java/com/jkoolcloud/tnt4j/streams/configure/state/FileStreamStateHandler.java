@@ -18,10 +18,13 @@ package com.jkoolcloud.tnt4j.streams.configure.state;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import javax.xml.bind.JAXBException;
 
@@ -71,6 +74,19 @@ public class FileStreamStateHandler extends AbstractFileStreamStateHandler<Path>
 		return Files.newBufferedReader(file, Charset.defaultCharset());
 	}
 
+	@Override
+	Long getOffsetCrc(Path file, long offset) throws IOException {
+		try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+			return getChannelCrc(channel, offset);
+		}
+	}
+
+	@Override
+	String getFileKey(Path file) throws IOException {
+		BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+		return attrs.fileKey() == null ? null : String.valueOf(attrs.fileKey());
+	}
+
 	@Override
 	public boolean isStreamedFileAvailable() {
 		return file != null && Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS);
@@ -206,6 +206,7 @@ public class ApacheAccessLogParser extends ActivityRegExParser {
 			String regex = makeRegexPattern(apacheLogPattern);
 			if (regex != null) {
 				pattern = Pattern.compile(regex);
+				invalidateExtractionPlan();
 				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 						"ApacheAccessLogParser.regex.made", getName(), regex);
 			} else {
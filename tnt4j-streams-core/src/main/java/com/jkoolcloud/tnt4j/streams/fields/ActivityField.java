@@ -55,6 +55,7 @@ public class ActivityField extends AbstractFieldEntity {
 	public static final String DEFAULT_FIELD_VALUES_DELIM = ","; // NON-NLS
 
 	private String fieldTypeName;
+	private StreamFieldType fieldType;
 	private List<ActivityFieldLocator> locators = null;
 	private String separator = null;
 	private String formattingPattern = null;
@@ -82,6 +83,7 @@ public class ActivityField extends AbstractFieldEntity {
 					"ActivityField.field.type.name.empty"));
 		}
 		this.fieldTypeName = fieldTypeName;
+		this.fieldType = resolveFieldType(fieldTypeName);
 	}
 
 	/**
@@ -140,11 +142,16 @@ public class ActivityField extends AbstractFieldEntity {
 	}
 
 	/**
-	 * Gets the type of this activity field.
+	 * Gets the type of this activity field. Type is resolved once, when field type name gets set.
 	 *
-	 * @return the activity field type
+	 * @return the activity field type, or {@code null} if field type name does not match any of
+	 *         {@link com.jkoolcloud.tnt4j.streams.fields.StreamFieldType} enumerators
 	 */
 	public StreamFieldType getFieldType() {
+		return fieldType;
+	}
+
+	private static StreamFieldType resolveFieldType(String fieldTypeName) {
 		try {
 			return StreamFieldType._valueOfIgnoreCase(fieldTypeName);
 		} catch (IllegalArgumentException exc) {
@@ -171,6 +178,7 @@ public class ActivityField extends AbstractFieldEntity {
 	 */
 	public ActivityField setFieldTypeName(String fieldTypeName) {
 		this.fieldTypeName = fieldTypeName;
+		this.fieldType = resolveFieldType(fieldTypeName);
 
 		return this;
 	}
@@ -804,8 +812,10 @@ public class ActivityField extends AbstractFieldEntity {
 	 * @see #filterFieldValue(Object, ActivityInfo)
 	 */
 	public Object aggregateFieldValue(Object value, ActivityInfo ai) throws ParseException {
-		LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityField.aggregating.field", this, Utils.toString(value));
+		if (LOGGER.isSet(OpLevel.TRACE)) {
+			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityField.aggregating.field", this, Utils.toString(value));
+		}
 		Object[] values = Utils.makeArray(Utils.simplifyValue(value));
 
 		if (values != null && CollectionUtils.isNotEmpty(locators)) {
@@ -841,16 +851,20 @@ public class ActivityField extends AbstractFieldEntity {
 
 		Object fieldValue = Utils.simplifyValue(values);
 
-		LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityField.aggregating.field.value", this, Utils.toString(fieldValue));
+		if (LOGGER.isSet(OpLevel.TRACE)) {
+			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityField.aggregating.field.value", this, Utils.toString(fieldValue));
+		}
 
 		fieldValue = transform(fieldValue, ai);
 		fieldValue = filterFieldValue(fieldValue, ai);
 
 		if (fieldValue != null) {
 			if (fieldValue != null && isEmptyAsNull() && Utils.isEmptyContent(fieldValue, true)) {
-				LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-						"ActivityField.field.empty.as.null", this, Utils.toStringDump(fieldValue));
+				if (LOGGER.isSet(OpLevel.TRACE)) {
+					LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"ActivityField.field.empty.as.null", this, Utils.toStringDump(fieldValue));
+				}
 				fieldValue = null;
 			}
 		}
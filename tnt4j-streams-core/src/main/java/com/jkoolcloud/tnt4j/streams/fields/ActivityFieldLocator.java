@@ -564,16 +564,49 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 				target = valueMap.get(srcString);
 			}
 			if (target == null) {
-				LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				LoggerUtils.log(LOGGER, OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 						"ActivityFieldLocator.mapped.default", type);
 				target = mapCatchAll == null ? source : mapCatchAll;
 			}
 		}
-		LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(LOGGER, OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityFieldLocator.mapped.result", source, target, type);
 		return target;
 	}
 
+	/**
+	 * Creates value formatters used by this locator bound data type ahead of first value formatting, so activity data
+	 * parsing does not have to initialize them. Formatters initialization failures (e.g., invalid format pattern) are
+	 * logged here, and will be reported again when formatting actual value.
+	 *
+	 * @see #formatValue(Object)
+	 */
+	public void initFormatters() {
+		try {
+			switch (dataType) {
+			case Number:
+				if (numberParser == null) {
+					numberParser = new NumericFormatter(format, locale);
+				}
+				break;
+			case DateTime:
+			case Timestamp:
+				if (timeParser == null) {
+					timeParser = dataType == ActivityFieldDataType.Timestamp
+							? new TimestampFormatter(getBuiltInUnits(TimeUnit.MILLISECONDS))
+							: new TimestampFormatter(format, timeZone, locale);
+				}
+				break;
+			default:
+				break;
+			}
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityFieldLocator.formatter.init.failed", dataType, locator, format, exc);
+		}
+	}
+
 	/**
 	 * Formats the specified value based on the locator's formatting properties.
 	 *
@@ -57,9 +57,8 @@ public class ActivityInfo {
 	private static final String KV_DELIM = "\\="; // NON-NLS
 	private static final String PATH_DELIM = "\\."; // NON-NLS
 
-	private static final Map<String, String> HOST_CACHE = new ConcurrentHashMap<>();
-	private static final String LOCAL_SERVER_NAME_KEY = "LOCAL_SERVER_NAME_KEY"; // NON-NLS
-	private static final String LOCAL_SERVER_IP_KEY = "LOCAL_SERVER_IP_KEY"; // NON-NLS
+	private static final int MAX_FQN_PATTERNS = 256;
+	private static final Map<String, FQNSegment[]> FQN_PATTERNS = new ConcurrentHashMap<>();
 
 	private String serverName = null;
 	private String serverIp = null;
@@ -99,7 +98,9 @@ public class ActivityInfo {
 	private String category = null;
 
 	private boolean filteredOut = false;
+	private boolean filteredEarly = false;
 	private boolean complete = false;
+	private long outputStartTime = 0L;
 
 	private Map<String, Property> activityProperties;
 	private Map<String, List<ActivityInfo>> children;
@@ -137,11 +138,13 @@ public class ActivityInfo {
 	 *             format, etc.)
 	 */
 	public void applyFieldValue(ActivityField field, Object value) throws ParseException {
-		LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityInfo.applying.field", field, Utils.toString(value));
+		if (LOGGER.isSet(OpLevel.TRACE)) {
+			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityInfo.applying.field", field, Utils.toString(value));
+		}
 
 		if (value == null) {
-			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+			LoggerUtils.log(LOGGER, OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 					"ActivityInfo.field.value.null", field);
 			return;
 		}
@@ -295,8 +298,10 @@ public class ActivityInfo {
 						StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityInfo.unrecognized.field", field));
 			}
 
-			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-					"ActivityInfo.set.field", field, Utils.toString(fieldValue));
+			if (LOGGER.isSet(OpLevel.TRACE)) {
+				LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityInfo.set.field", field, Utils.toString(fieldValue));
+			}
 		} else {
 			addCustomActivityProperty(field, fieldValue);
 		}
@@ -610,9 +615,11 @@ public class ActivityInfo {
 		Property prevValue = activityProperties.put(propName, property);
 
 		if (prevValue == null) {
-			LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-					"ActivityInfo.set.property", propName, Utils.toString(property.getValue()),
-					property.getValueType());
+			if (LOGGER.isSet(OpLevel.TRACE)) {
+				LOGGER.log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityInfo.set.property", propName, Utils.toString(property.getValue()),
+						property.getValueType());
+			}
 		} else {
 			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityInfo.replace.property", propName, Utils.toString(property.getValue()),
@@ -668,6 +675,9 @@ public class ActivityInfo {
 
 	/**
 	 * Makes fully qualified name of activity source. Name is made from stream parsed data attributes.
+	 * <p>
+	 * Pattern is split into source type and value segments once and cached, so only field values referenced by pattern
+	 * variables are resolved for every activity entity.
 	 *
 	 * @param pattern
 	 *            fqn pattern to fill
@@ -675,14 +685,12 @@ public class ActivityInfo {
 	 *         parsed from stream.
 	 */
 	public String getSourceFQN(String pattern) {
-		Collection<String> fqnTokens = getFQNTokens(pattern);
+		FQNSegment[] fqnSegments = getFQNSegments(pattern);
 
 		StringBuilder fqnB = new StringBuilder();
 
-		for (String fqnT : fqnTokens) {
-			String[] pair = fqnT.split(KV_DELIM);
-			SourceType type = SourceType.valueOf(pair[0]);
-			addSourceValue(fqnB, type, getFQNValue(pair[1]));
+		for (FQNSegment fqnS : fqnSegments) {
+			addSourceValue(fqnB, fqnS.type, getFQNValue(fqnS));
 		}
 
 		String fqn = fqnB.toString();
@@ -690,25 +698,38 @@ public class ActivityInfo {
 		return StringUtils.isEmpty(fqn) ? null : fqn;
 	}
 
-	private static Collection<String> getFQNTokens(String fqnPattern) {
-		Collection<String> fqnTokens = new ArrayList<>();
+	private static FQNSegment[] getFQNSegments(String fqnPattern) {
+		FQNSegment[] fqnSegments = FQN_PATTERNS.get(fqnPattern);
+		if (fqnSegments == null) {
+			fqnSegments = tokenizeFQN(fqnPattern);
+			if (FQN_PATTERNS.size() < MAX_FQN_PATTERNS) {
+				FQN_PATTERNS.put(fqnPattern, fqnSegments);
+			}
+		}
+
+		return fqnSegments;
+	}
+
+	private static FQNSegment[] tokenizeFQN(String fqnPattern) {
+		List<FQNSegment> fqnSegments = new ArrayList<>();
 		StringTokenizer tk = new StringTokenizer(fqnPattern, "#");
 		while (tk.hasMoreTokens()) {
 			String sToken = tk.nextToken();
-			fqnTokens.add(sToken);
+			String[] pair = sToken.split(KV_DELIM);
+			fqnSegments.add(new FQNSegment(SourceType.valueOf(pair[0]), pair[1]));
 		}
 
-		return fqnTokens;
+		return fqnSegments.toArray(new FQNSegment[0]);
 	}
 
-	private String getFQNValue(String val) {
-		if (val.startsWith(Utils.VAR_EXP_START_TOKEN)) {
-			Object fieldValue = getFieldValue(val);
+	private String getFQNValue(FQNSegment fqnS) {
+		if (fqnS.variable) {
+			Object fieldValue = getFieldValue(fqnS.value);
 
 			return fieldValue == null ? null : Utils.toString(fieldValue);
 		}
 
-		return val;
+		return fqnS.value;
 	}
 
 	private static void addSourceValue(StringBuilder sb, SourceType type, String value) {
@@ -747,8 +768,8 @@ public class ActivityInfo {
 		resolveServer(false);
 		determineTrackingId();
 
-		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityInfo.building.trackable", tracker.getId(), eventType, trackingId);
+		LoggerUtils.log(LOGGER, OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityInfo.building.trackable",
+				tracker.getId(), eventType, trackingId);
 
 		if (eventType == OpType.ACTIVITY) {
 			return buildActivity(tracker, eventName, trackingId, chTrackables);
@@ -1312,53 +1333,35 @@ public class ActivityInfo {
 	 *
 	 * @param resolveOverDNS
 	 *            flag indicating whether to use DNS to resolve server names and IP addresses
+	 *
+	 * @see #resolveServer(com.jkoolcloud.tnt4j.streams.utils.HostResolver)
 	 */
 	public void resolveServer(boolean resolveOverDNS) {
-		if (StringUtils.isEmpty(serverName) && StringUtils.isEmpty(serverIp)) {
-			serverName = HOST_CACHE.get(LOCAL_SERVER_NAME_KEY);
-			serverIp = HOST_CACHE.get(LOCAL_SERVER_IP_KEY);
+		resolveServer(resolveOverDNS ? HostResolver.getDefault() : null);
+	}
 
-			if (serverName == null) {
-				serverName = Utils.getLocalHostName();
-				HOST_CACHE.put(LOCAL_SERVER_NAME_KEY, serverName);
-			}
-			if (serverIp == null) {
-				serverIp = Utils.getLocalHostAddress();
-				HOST_CACHE.put(LOCAL_SERVER_IP_KEY, serverIp);
-			}
+	/**
+	 * Resolves server name and/or IP Address based on values specified. If neither server name nor IP address is
+	 * defined, local host name and address are used. If server name can't be resolved from IP address, IP address is
+	 * used as server name.
+	 *
+	 * @param hostResolver
+	 *            resolver to resolve server names and IP addresses, {@code null} - to not resolve them
+	 */
+	public void resolveServer(HostResolver hostResolver) {
+		if (StringUtils.isEmpty(serverName) && StringUtils.isEmpty(serverIp)) {
+			serverName = LocalServer.NAME;
+			serverIp = LocalServer.IP;
 		} else if (StringUtils.isEmpty(serverName)) {
-			if (resolveOverDNS) {
-				try {
-					serverName = HOST_CACHE.get(serverIp);
-					if (StringUtils.isEmpty(serverName)) {
-						serverName = Utils.resolveAddressToHostName(serverIp);
-						if (StringUtils.isEmpty(serverName)) {
-							// Add entry so we don't repeatedly attempt to look up unresolvable IP Address
-							HOST_CACHE.put(serverIp, "");
-						} else {
-							HOST_CACHE.put(serverIp, serverName);
-							HOST_CACHE.put(serverName, serverIp);
-						}
-					}
-				} catch (Exception e) {
-					serverName = serverIp;
-				}
-			} else {
+			if (hostResolver != null) {
+				serverName = hostResolver.getHostName(serverIp);
+			}
+			if (StringUtils.isEmpty(serverName)) {
 				serverName = serverIp;
 			}
 		} else if (StringUtils.isEmpty(serverIp)) {
-			if (resolveOverDNS) {
-				serverIp = HOST_CACHE.get(serverName);
-				if (StringUtils.isEmpty(serverIp)) {
-					serverIp = Utils.resolveHostNameToAddress(serverName);
-					if (StringUtils.isEmpty(serverIp)) {
-						// Add entry so we don't repeatedly attempt to look up unresolvable host name
-						HOST_CACHE.put(serverName, "");
-					} else {
-						HOST_CACHE.put(serverIp, serverName);
-						HOST_CACHE.put(serverName, serverIp);
-					}
-				}
+			if (hostResolver != null) {
+				serverIp = hostResolver.getAddress(serverName);
 			}
 		}
 
@@ -1882,6 +1885,46 @@ public class ActivityInfo {
 		this.filteredOut = filteredOut;
 	}
 
+	/**
+	 * Returns flag indicating whether activity has been filtered out before all parser fields were resolved.
+	 *
+	 * @return {@code true} if activity parsing has been stopped because activity got filtered out, {@code false} -
+	 *         otherwise
+	 */
+	public boolean isFilteredEarly() {
+		return filteredEarly;
+	}
+
+	/**
+	 * Sets flag indicating whether activity has been filtered out before all parser fields were resolved.
+	 *
+	 * @param filteredEarly
+	 *            {@code true} if activity parsing has been stopped because activity got filtered out, {@code false} -
+	 *            otherwise
+	 */
+	public void setFilteredEarly(boolean filteredEarly) {
+		this.filteredEarly = filteredEarly;
+	}
+
+	/**
+	 * Returns activity output (logging) start time in nanoseconds, as returned by {@link System#nanoTime()}.
+	 *
+	 * @return activity output start time in nanoseconds, or {@code 0} if activity output has not been started
+	 */
+	public long getOutputStartTime() {
+		return outputStartTime;
+	}
+
+	/**
+	 * Sets activity output (logging) start time in nanoseconds, as returned by {@link System#nanoTime()}.
+	 *
+	 * @param outputStartTime
+	 *            activity output start time in nanoseconds, {@code 0} - to reset
+	 */
+	public void setOutputStartTime(long outputStartTime) {
+		this.outputStartTime = outputStartTime;
+	}
+
 	/**
 	 * Returns activity complete flag value.
 	 *
@@ -2148,6 +2191,7 @@ public class ActivityInfo {
 		sb.append(", threadId=").append(threadId); // NON-NLS
 		sb.append(", category=").append(Utils.sQuote(category)); // NON-NLS
 		sb.append(", filteredOut=").append(filteredOut); // NON-NLS
+		sb.append(", filteredEarly=").append(filteredEarly); // NON-NLS
 		sb.append(", complete=").append(complete); // NON-NLS
 		sb.append(", activityProperties=").append(activityProperties == null ? "NONE" : activityProperties.size());// NON-NLS
 		sb.append(", children=").append(children == null ? "NONE" : children.size()); // NON-NLS
@@ -2597,4 +2641,27 @@ public class ActivityInfo {
 
 		return valuesMap;
 	}
+
+	/**
+	 * Source FQN pattern segment: source type and value, which can be field reference variable.
+	 */
+	/**
+	 * Local server host name and address, resolved once on first use.
+	 */
+	private static class LocalServer {
+		private static final String NAME = Utils.getLocalHostName();
+		private static final String IP = Utils.getLocalHostAddress();
+	}
+
+	private static class FQNSegment {
+		private final SourceType type;
+		private final String value;
+		private final boolean variable;
+
+		private FQNSegment(SourceType type, String value) {
+			this.type = type;
+			this.value = value;
+			this.variable = value.startsWith(Utils.VAR_EXP_START_TOKEN);
+		}
+	}
 }
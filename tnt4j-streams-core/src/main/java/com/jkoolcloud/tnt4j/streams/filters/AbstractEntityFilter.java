@@ -16,6 +16,8 @@
 
 package com.jkoolcloud.tnt4j.streams.filters;
 
+import java.util.Set;
+
 /**
  * Base class for streamed entity data value filter.
  * 
@@ -57,4 +59,14 @@ public abstract class AbstractEntityFilter<T> implements StreamEntityFilter<T> {
 	 * @return filter handle type
 	 */
 	public abstract HandleType getHandleType();
+
+	/**
+	 * Returns names of activity entity fields filter evaluation depends on. Parser applies activity filter as soon as
+	 * all referenced fields are resolved, so parsing of filtered out activity can be stopped early.
+	 *
+	 * @return set of referenced activity entity fields names, or {@code null} if referenced fields can't be determined
+	 */
+	public Set<String> getReferencedFields() {
+		return null;
+	}
 }
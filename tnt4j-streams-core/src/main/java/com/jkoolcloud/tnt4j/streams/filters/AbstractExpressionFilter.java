@@ -152,6 +152,17 @@ public abstract class AbstractExpressionFilter<T> extends AbstractEntityFilter<T
 		return exprVars;
 	}
 
+	@Override
+	public Set<String> getReferencedFields() {
+		Set<String> refs = new HashSet<>();
+		if (exprVars != null) {
+			for (String expVar : exprVars) {
+				refs.add(Utils.getVarName(expVar));
+			}
+		}
+		return refs;
+	}
+
 	@Override
 	public StreamFilterType getFilterType() {
 		return StreamFilterType.EXPRESSION;
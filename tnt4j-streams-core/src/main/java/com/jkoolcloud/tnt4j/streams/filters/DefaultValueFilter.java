@@ -16,9 +16,12 @@
 
 package com.jkoolcloud.tnt4j.streams.filters;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldFormatType;
@@ -29,6 +32,13 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 /**
  * Data value filtering based on direct filtered object value evaluation. Filtered object value may be formatted before
  * evaluating, but it does not affect filtered object value itself.
+ * <p>
+ * Binary (byte array) values are evaluated for {@link com.jkoolcloud.tnt4j.streams.filters.EvaluationType#IS},
+ * {@link com.jkoolcloud.tnt4j.streams.filters.EvaluationType#CONTAINS} and
+ * {@link com.jkoolcloud.tnt4j.streams.filters.EvaluationType#STARTS} evaluation types by scanning bytes directly, without
+ * making string representation of value. Filter values are decoded to byte patterns depending on filter format:
+ * {@code hexBinary} and {@code base64Binary} values are decoded accordingly, unformatted values are encoded using
+ * system default charset if it is {@code UTF-8}.
  *
  * @version $Revision: 1 $
  */
@@ -41,6 +51,7 @@ public class DefaultValueFilter extends AbstractEntityFilter<Object> {
 
 	private Pattern matchPattern;
 	private Set<String> valuesSet;
+	private byte[][] bytePatterns;
 
 	/**
 	 * Constructs a new DefaultValueFilter. Handle type is set to
@@ -98,11 +109,42 @@ public class DefaultValueFilter extends AbstractEntityFilter<Object> {
 			valuesSet = new HashSet<>(va.length);
 
 			Collections.addAll(valuesSet, va);
+			bytePatterns = toBytePatterns(va);
 		}
 
 		// TODO: values conversions: i.e. from MQ constant names to numeric.
 	}
 
+	/**
+	 * Makes filter values byte patterns used to evaluate binary values.
+	 *
+	 * @param values
+	 *            filter values
+	 * @return filter values byte patterns, or {@code null} if some of filter values can't be decoded to bytes
+	 */
+	private byte[][] toBytePatterns(String[] values) {
+		byte[][] patterns = new byte[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			byte[] pattern;
+			if (format == ActivityFieldFormatType.hexBinary) {
+				pattern = Utils.decodeHex(values[i]);
+			} else if (format == ActivityFieldFormatType.base64Binary) {
+				pattern = Utils.base64Decode(values[i]);
+			} else if (format == null && StandardCharsets.UTF_8.equals(Charset.defaultCharset())) {
+				pattern = values[i].getBytes(StandardCharsets.UTF_8);
+			} else {
+				pattern = null;
+			}
+
+			if (ArrayUtils.isEmpty(pattern)) {
+				return null;
+			}
+			patterns[i] = pattern;
+		}
+
+		return patterns;
+	}
+
 	@Override
 	public HandleType getHandleType() {
 		return handleType;
@@ -120,8 +162,13 @@ public class DefaultValueFilter extends AbstractEntityFilter<Object> {
 		if (matchPattern != null) {
 			String fvStr = formatValue(value);
 			match = matchPattern.matcher(fvStr).matches();
+		} else if (bytePatterns != null && value instanceof byte[]) {
+			match = matchBytes((byte[]) value);
 		} else if (evalType == EvaluationType.CONTAINS) {
 			match = contains(valuesSet, value);
+		} else if (evalType == EvaluationType.STARTS) {
+			String fvStr = formatValue(value);
+			match = startsWith(valuesSet, fvStr);
 		} else {
 			String fvStr = formatValue(value);
 			match = equals(valuesSet, fvStr);
@@ -236,6 +283,53 @@ public class DefaultValueFilter extends AbstractEntityFilter<Object> {
 		return false;
 	}
 
+	/**
+	 * Evaluates whether formatted filtered object string starts with any of filter defined values.
+	 *
+	 * @param filterValues
+	 *            filter defined values set
+	 * @param fvStr
+	 *            formatted filtered object value string
+	 * @return {@code true} if filtered object starts with filter defined value, {@code false} - otherwise
+	 */
+	protected boolean startsWith(Set<String> filterValues, String fvStr) {
+		if (valuesSet != null) {
+			for (String v : filterValues) {
+				if (fvStr.startsWith(v)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Evaluates filtered binary value against filter values byte patterns.
+	 *
+	 * @param bytes
+	 *            filtered binary value
+	 * @return {@code true} if filtered value matches any of filter values byte patterns, {@code false} - otherwise
+	 */
+	protected boolean matchBytes(byte[] bytes) {
+		for (byte[] pattern : bytePatterns) {
+			boolean match;
+			if (evalType == EvaluationType.CONTAINS) {
+				match = Utils.indexOf(bytes, pattern, 0) >= 0;
+			} else if (evalType == EvaluationType.STARTS) {
+				match = Utils.startsWith(bytes, pattern);
+			} else {
+				match = Arrays.equals(bytes, pattern);
+			}
+
+			if (match) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder("DefaultValueFilter{"); // NON-NLS
@@ -32,6 +32,11 @@ public enum EvaluationType {
 	 */
 	CONTAINS,
 
+	/**
+	 * Value is prefix of filtered object.
+	 */
+	STARTS,
+
 	/**
 	 * Value matching using wildcards.
 	 */
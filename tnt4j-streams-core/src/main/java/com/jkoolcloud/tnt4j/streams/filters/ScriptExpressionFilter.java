@@ -16,19 +16,17 @@
 
 package com.jkoolcloud.tnt4j.streams.filters;
 
+import java.util.HashMap;
 import java.util.Map;
 
-import javax.script.Bindings;
-import javax.script.CompiledScript;
 import javax.script.ScriptException;
-import javax.script.SimpleBindings;
 
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
-import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.ScriptExpression;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
 
@@ -41,16 +39,18 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
  * <li>{@value StreamsScriptingUtils#JAVA_SCRIPT_LANG}</li>
  * </ul>
  * 
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  * 
- * @see com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileScript(String, String)
- * @see javax.script.CompiledScript#eval(javax.script.Bindings)
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileExpression(String, String)
+ * @see com.jkoolcloud.tnt4j.streams.utils.ScriptExpression#eval(java.util.Map)
  */
 public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ScriptExpressionFilter.class);
 
 	private final String lang;
-	private CompiledScript script;
+	private ScriptExpression script;
+	private String[] varNames;
+	private String[] varKeys;
 
 	/**
 	 * Constructs a new ScriptExpressionFilter. Handle type is set to
@@ -100,25 +100,30 @@ public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 		super.initFilter();
 
 		try {
-			script = StreamsScriptingUtils.compileScript(lang, getExpression());
+			script = StreamsScriptingUtils.compileExpression(lang, getExpression());
 		} catch (ScriptException exc) {
 			throw new IllegalArgumentException(
 					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
 							"ExpressionFilter.invalid.script", lang, filterExpression),
 					exc);
 		}
+
+		varNames = exprVars.toArray(new String[0]);
+		varKeys = new String[varNames.length];
+		for (int i = 0; i < varNames.length; i++) {
+			String varPlh = placeHoldersMap.get(varNames[i]);
+			varKeys[i] = StringUtils.isEmpty(varPlh) ? varNames[i] : varPlh;
+		}
 	}
 
 	@Override
 	public boolean doFilter(Object value, ActivityInfo ai) throws FilterException {
-		Bindings bindings = new SimpleBindings();
+		Map<String, Object> bindings = new HashMap<>();
 		bindings.put(StreamsScriptingUtils.FIELD_VALUE_VARIABLE_EXPR, value);
 
-		if (ai != null && CollectionUtils.isNotEmpty(exprVars)) {
-			for (String eVar : exprVars) {
-				Property eKV = resolveFieldKeyAndValue(eVar, ai);
-
-				bindings.put(eKV.getKey(), eKV.getValue());
+		if (ai != null) {
+			for (int i = 0; i < varNames.length; i++) {
+				bindings.put(varKeys[i], ai.getFieldValue(varNames[i]));
 			}
 		}
 
@@ -127,20 +132,18 @@ public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 
 	@Override
 	public boolean doFilter(Map<String, ?> valBindings) throws FilterException {
-		Bindings bindings = new SimpleBindings();
-
-		if (valBindings != null && CollectionUtils.isNotEmpty(exprVars)) {
-			for (String eVar : exprVars) {
-				Property eKV = resolveFieldKeyAndValue(eVar, valBindings);
+		Map<String, Object> bindings = new HashMap<>();
 
-				bindings.put(eKV.getKey(), eKV.getValue());
+		if (valBindings != null) {
+			for (int i = 0; i < varNames.length; i++) {
+				bindings.put(varKeys[i], valBindings.get(varNames[i]));
 			}
 		}
 
 		return evaluate(bindings);
 	}
 
-	private boolean evaluate(Bindings bindings) throws FilterException {
+	private boolean evaluate(Map<String, Object> bindings) throws FilterException {
 		try {
 			boolean match = (boolean) script.eval(bindings);
 
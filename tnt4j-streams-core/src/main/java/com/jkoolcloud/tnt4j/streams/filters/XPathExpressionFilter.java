@@ -20,7 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathVariableResolver;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -38,12 +38,12 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils;
  * 
  * @version $Revision: 1 $
  *
- * @see com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils#getStreamsXPath()
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils#getStreamsXPathCache()
  * @see XPathVariableResolver
  * @see javax.xml.xpath.XPathFunctionResolver
  * @see javax.xml.namespace.NamespaceContext
  * @see javax.xml.xpath.XPathFunction
- * @see XPath#evaluate(String, Object)
+ * @see XPathExpression#evaluate(Object)
  */
 public class XPathExpressionFilter extends AbstractExpressionFilter<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(XPathExpressionFilter.class);
@@ -121,11 +121,10 @@ public class XPathExpressionFilter extends AbstractExpressionFilter<Object> {
 	}
 
 	private boolean evaluate(Map<String, ?> valuesMap) throws FilterException {
-		XPath xPath = StreamsXMLUtils.getStreamsXPath();
-		xPath.setXPathVariableResolver(new StreamsVariableResolver(valuesMap));
-
 		try {
-			boolean match = "true".equals(xPath.evaluate(getExpression(), (Object) null)); // NON-NLS
+			String result = StreamsXMLUtils.getStreamsXPathCache().evaluate(getExpression(), null,
+					new StreamsVariableResolver(valuesMap));
+			boolean match = "true".equals(result); // NON-NLS
 
 			logEvaluationResult(valuesMap, match);
 
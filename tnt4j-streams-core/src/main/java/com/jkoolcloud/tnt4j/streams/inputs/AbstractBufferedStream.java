@@ -28,6 +28,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.utils.RingBufferQueue;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsThread;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -44,6 +45,11 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * Default value - {@code false}. (Optional, deprecated - use {@code FullBufferAddPolicy} instead)</li>
  * <li>FullBufferAddPolicy - defines policy how to perform adding new RAW activity data entry, when buffer queue is
  * full: {@code WAIT} or {@code DROP}. Default value - {@code WAIT}. (Optional)</li>
+ * <li>BufferType - defines buffer queue implementation: {@code ARRAY_QUEUE} - fair {@link ArrayBlockingQueue},
+ * {@code RING_BUFFER} - lock-free {@link RingBufferQueue}. Default value - {@code ARRAY_QUEUE}. (Optional)</li>
+ * <li>BufferWaitStrategy - defines how producer/consumer threads wait for ring buffer to get available space/items:
+ * {@code BLOCKING}, {@code SPINNING} or {@code YIELDING}. Default value - {@code BLOCKING}. (Optional, actual only if
+ * {@code BufferType} is set to {@code RING_BUFFER})</li>
  * </ul>
  *
  * @param <T>
@@ -52,6 +58,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @version $Revision: 3 $
  *
  * @see ArrayBlockingQueue
+ * @see RingBufferQueue
  */
 public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<T> {
 	private static final int DEFAULT_INPUT_BUFFER_SIZE = 1024;
@@ -59,6 +66,8 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 
 	private int bufferSize;
 	private FullBufferAddPolicy fullBufferAddPolicy = FullBufferAddPolicy.WAIT;
+	private BufferType bufferType = BufferType.ARRAY_QUEUE;
+	private RingBufferQueue.WaitStrategy bufferWaitStrategy = RingBufferQueue.WaitStrategy.BLOCKING;
 
 	/**
 	 * RAW activity data items buffer queue. Items in this queue are processed asynchronously by consumer thread(s).
@@ -105,6 +114,10 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 			fullBufferAddPolicy = dropDataWhenBufferFull ? FullBufferAddPolicy.DROP : FullBufferAddPolicy.WAIT;
 		} else if (StreamProperties.PROP_FULL_BUFFER_ADD_POLICY.equalsIgnoreCase(name)) {
 			fullBufferAddPolicy = FullBufferAddPolicy.valueOf(value.toUpperCase());
+		} else if (StreamProperties.PROP_BUFFER_TYPE.equalsIgnoreCase(name)) {
+			bufferType = BufferType.valueOf(value.toUpperCase());
+		} else if (StreamProperties.PROP_BUFFER_WAIT_STRATEGY.equalsIgnoreCase(name)) {
+			bufferWaitStrategy = RingBufferQueue.WaitStrategy.valueOf(value.toUpperCase());
 		}
 	}
 
@@ -119,12 +132,18 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 		if (StreamProperties.PROP_FULL_BUFFER_ADD_POLICY.equalsIgnoreCase(name)) {
 			return fullBufferAddPolicy;
 		}
+		if (StreamProperties.PROP_BUFFER_TYPE.equalsIgnoreCase(name)) {
+			return bufferType;
+		}
+		if (StreamProperties.PROP_BUFFER_WAIT_STRATEGY.equalsIgnoreCase(name)) {
+			return bufferWaitStrategy;
+		}
 		return super.getProperty(name);
 	}
 
 	@Override
 	protected void initialize() throws Exception {
-		inputBuffer = new ArrayBlockingQueue<>(bufferSize, true);
+		inputBuffer = createInputBuffer();
 
 		MetricRegistry streamMetrics = TNTInputStreamStatistics.getMetrics(this);
 
@@ -140,6 +159,21 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 		super.initialize();
 	}
 
+	/**
+	 * Creates RAW activity data items buffer queue instance of configured buffer type.
+	 *
+	 * @return RAW activity data items buffer queue
+	 */
+	protected BlockingQueue<Object> createInputBuffer() {
+		switch (bufferType) {
+		case RING_BUFFER:
+			return new RingBufferQueue<>(bufferSize, bufferWaitStrategy);
+		case ARRAY_QUEUE:
+		default:
+			return new ArrayBlockingQueue<>(bufferSize, true);
+		}
+	}
+
 	/**
 	 * Adds terminator object to input buffer.
 	 */
@@ -528,4 +562,8 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 	private enum FullBufferAddPolicy {
 		WAIT, DROP
 	}
+
+	private enum BufferType {
+		ARRAY_QUEUE, RING_BUFFER
+	}
 }
@@ -19,7 +19,13 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 import java.io.File;
 import java.io.IOException;
 import java.io.LineNumberReader;
-import java.util.concurrent.TimeUnit;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -68,6 +74,9 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * policy. Value can be: {@code "START_FROM_BEGINNING"} - read file from beginning, {@code "CONTINUE_FROM_LAST"} -
  * continue reading file from last line (skipping all available lines). Default value - '{@code START_FROM_BEGINNING}'.
  * (Optional)</li>
+ * <li>CountFileLines - flag {@code true}/{@code false} indicating whether lines of streamed files should be counted to
+ * report total activities count. Lines are counted in background, so streaming is not delayed. Total bytes count is
+ * always calculated from files sizes. Default value - {@code false}. (Optional)</li>
  * </ul>
  *
  * @version $Revision: 3 $
@@ -88,7 +97,10 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 	 */
 	protected boolean startFromLatestActivity = true;
 
-	private long fileWatcherDelay = DEFAULT_DELAY_PERIOD;
+	/**
+	 * Delay period in milliseconds between file changes checks.
+	 */
+	protected long fileWatcherDelay = DEFAULT_DELAY_PERIOD;
 
 	private FileWatcher fileWatcher;
 	private boolean pollingOn = false;
@@ -108,6 +120,7 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 	protected String activityDelimiter = ActivityDelim.EOL.name();
 	protected String truncatedFilePolicy = FileAccessPolicy.START_FROM_BEGINNING.name();
 	protected boolean keepLineSeparators = false;
+	private boolean countFileLines = false;
 
 	/**
 	 * Constructs a new AbstractFileLineStream.
@@ -138,6 +151,8 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 			keepLineSeparators = Utils.toBoolean(value);
 		} else if (StreamProperties.PROP_TRUNCATED_FILE_POLICY.equalsIgnoreCase(name)) {
 			truncatedFilePolicy = value;
+		} else if (StreamProperties.PROP_COUNT_FILE_LINES.equalsIgnoreCase(name)) {
+			countFileLines = Utils.toBoolean(value);
 		}
 	}
 
@@ -170,6 +185,9 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		if (StreamProperties.PROP_TRUNCATED_FILE_POLICY.equalsIgnoreCase(name)) {
 			return truncatedFilePolicy;
 		}
+		if (StreamProperties.PROP_COUNT_FILE_LINES.equalsIgnoreCase(name)) {
+			return countFileLines;
+		}
 		return super.getProperty(name);
 	}
 
@@ -237,7 +255,10 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * This method returns total lines count in all streamed files.
+	 * This method returns total lines count in all streamed files, or {@code -1} if lines counting is disabled or lines
+	 * are not counted yet.
+	 *
+	 * @see #getTotalBytes()
 	 */
 	@Override
 	public int getTotalActivities() {
@@ -324,11 +345,15 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		/**
 		 * Total bytes count available to stream.
 		 */
-		protected int totalBytesCount = 0;
+		protected volatile long totalBytesCount = 0;
 		/**
-		 * Total lines count available to stream.
+		 * Total lines count available to stream, {@code -1} - if lines are not counted.
 		 */
-		protected int totalLinesCount = 0;
+		protected volatile int totalLinesCount = -1;
+
+		private ExecutorService linesCounter;
+		private final AtomicInteger totalsVersion = new AtomicInteger();
+		private Map<T, FileLinesCount> filesLinesCounts = new HashMap<>();
 
 		/**
 		 * Constructs a new FileWatcher.
@@ -364,7 +389,7 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 					} else {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.waiting", TimeUnit.MILLISECONDS.toSeconds(fileWatcherDelay));
-						StreamThread.sleep(fileWatcherDelay);
+						waitForChanges(fileWatcherDelay);
 					}
 				}
 			}
@@ -375,6 +400,28 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 					: fileToRead.equals(availableFiles[availableFiles.length - 1]);
 		}
 
+		/**
+		 * Checks whether stream is tailing latest available file: files are polled for changes and latest file is
+		 * read. In this case last file line may be still written, so unterminated line shall not be streamed until it
+		 * gets terminated.
+		 *
+		 * @return {@code true} if stream is tailing latest available file, {@code false} - otherwise
+		 */
+		protected boolean isTailingLatestFile() {
+			return pollingOn && isReadingLatestFile();
+		}
+
+		/**
+		 * Waits for files changes before next file reading iteration. Default implementation sleeps for provided
+		 * delay.
+		 *
+		 * @param delay
+		 *            maximal period in milliseconds to wait for files changes
+		 */
+		protected void waitForChanges(long delay) {
+			StreamThread.sleep(delay);
+		}
+
 		/**
 		 * Performs file changes reading.
 		 */
@@ -395,25 +442,86 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 				lastReadTime = System.currentTimeMillis();
 				lineNumber = lnr.getLineNumber();
 				if (StringUtils.isNotEmpty(line) && IntRange.inRange(lineRange, lineNumber)) {
-					addActivityDataLine(line, sb, lineNumber);
+					addActivityDataLine(line, sb, lineNumber, null);
 				} else {
 					skipFilteredActivities();
 				}
 			}
 
 			if (sb.length() > 0) {
-				addLineToBuffer(sb, lineNumber);
+				addLineToBuffer(sb, lineNumber, null);
 			}
 		}
 
-		private void addActivityDataLine(String line, StringBuilder sb, int lineNumber) {
+		/**
+		 * Reads new file lines from file channel and adds them to changed lines buffer.
+		 *
+		 * @param channel
+		 *            file channel to read
+		 * @param lineReader
+		 *            channel lines reader
+		 * @param eofTerminatesLine
+		 *            flag indicating whether end of file shall terminate last unterminated file line
+		 * @throws IOException
+		 *             if exception occurs when reading file line
+		 */
+		protected void readNewFileLines(ReadableByteChannel channel, ChannelLineReader lineReader,
+				boolean eofTerminatesLine) throws IOException {
+			lineNumber = readNewFileLines(channel, lineReader, eofTerminatesLine, new StringBuilder(256), lineNumber,
+					Long.MAX_VALUE);
+		}
+
+		/**
+		 * Reads new file lines from file channel and adds them to changed lines buffer. Reading stops at the end of
+		 * file or when provided number of bytes has been read. Activity data collected from multiple lines is added to
+		 * buffer when end of file is reached, otherwise it is left in provided string builder for next read.
+		 *
+		 * @param channel
+		 *            file channel to read
+		 * @param lineReader
+		 *            channel lines reader
+		 * @param eofTerminatesLine
+		 *            flag indicating whether end of file shall terminate last unterminated file line
+		 * @param sb
+		 *            string builder to collect activity data lines
+		 * @param lineNumber
+		 *            number of last read file line
+		 * @param maxBytes
+		 *            maximal number of bytes to read
+		 * @return number of last read file line
+		 * @throws IOException
+		 *             if exception occurs when reading file line
+		 */
+		protected int readNewFileLines(ReadableByteChannel channel, ChannelLineReader lineReader,
+				boolean eofTerminatesLine, StringBuilder sb, int lineNumber, long maxBytes) throws IOException {
+			long startPosition = lineReader.getPosition();
+			String line = null;
+			while (!isInputEnded() && lineReader.getPosition() - startPosition < maxBytes
+					&& (line = lineReader.readLine(channel, eofTerminatesLine)) != null) {
+				lastReadTime = System.currentTimeMillis();
+				lineNumber++;
+				if (StringUtils.isNotEmpty(line) && IntRange.inRange(lineRange, lineNumber)) {
+					addActivityDataLine(line, sb, lineNumber, lineReader);
+				} else {
+					skipFilteredActivities();
+				}
+			}
+
+			if (sb.length() > 0 && (line == null || isInputEnded())) {
+				addLineToBuffer(sb, lineNumber, lineReader);
+			}
+
+			return lineNumber;
+		}
+
+		private void addActivityDataLine(String line, StringBuilder sb, int lineNumber, ChannelLineReader lineReader) {
 			sb.append(line);
 			if (keepLineSeparators) {
 				sb.append('\n');
 			}
 
 			if (lineHasActivityDelim(line)) {
-				addLineToBuffer(sb, lineNumber);
+				addLineToBuffer(sb, lineNumber, lineReader);
 			}
 		}
 
@@ -427,11 +535,126 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 			}
 		}
 
-		private void addLineToBuffer(StringBuilder sb, int lineNumber) {
-			addInputToBuffer(new Line(sb.toString(), lineNumber));
+		private void addLineToBuffer(StringBuilder sb, int lineNumber, ChannelLineReader lineReader) {
+			addInputToBuffer(lineReader == null ? new Line(sb.toString(), lineNumber)
+					: new Line(sb.toString(), lineNumber, lineReader.getPosition(), lineReader.getPositionCrc()));
 			sb.setLength(0);
 		}
 
+		/**
+		 * Updates streamed files data totals. Total bytes count is summed from files sizes. If lines counting is
+		 * enabled, lines of files are counted in parallel by background threads, and total lines count gets updated
+		 * when all files are counted, so reading files is not delayed. Lines counts of files are cached, and only new
+		 * files or files having changed size are counted again.
+		 *
+		 * @param activityFiles
+		 *            files available to stream
+		 */
+		protected void updateDataTotals(T[] activityFiles) {
+			long tbc = 0;
+			long[] fileSizes = new long[ArrayUtils.getLength(activityFiles)];
+			for (int i = 0; i < fileSizes.length; i++) {
+				try {
+					fileSizes[i] = getFileSize(activityFiles[i]);
+					tbc += fileSizes[i];
+				} catch (IOException exc) {
+					fileSizes[i] = -1;
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.size.failed", activityFiles[i], exc);
+				}
+			}
+			totalBytesCount = tbc;
+
+			if (countFileLines) {
+				countTotalLines(activityFiles, fileSizes);
+			}
+		}
+
+		private void countTotalLines(T[] activityFiles, long[] fileSizes) {
+			int version = totalsVersion.incrementAndGet();
+			if (ArrayUtils.isEmpty(activityFiles)) {
+				filesLinesCounts.clear();
+				totalLinesCount = 0;
+				return;
+			}
+
+			if (linesCounter == null) {
+				linesCounter = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+						new TNTInputStream.StreamsThreadFactory("FileLinesCounterThread-")); // NON-NLS
+			}
+
+			Map<T, FileLinesCount> linesCounts = new HashMap<>(activityFiles.length);
+			List<CompletableFuture<Integer>> counts = new ArrayList<>(activityFiles.length);
+			try {
+				for (int i = 0; i < activityFiles.length; i++) {
+					T f = activityFiles[i];
+					FileLinesCount flc = filesLinesCounts.get(f);
+					// file is new, changed or was not counted
+					if (flc == null || flc.size != fileSizes[i] || fileSizes[i] < 0
+							|| flc.count.isCompletedExceptionally()) {
+						flc = new FileLinesCount(fileSizes[i],
+								CompletableFuture.supplyAsync(() -> countLines(f), linesCounter));
+					}
+					linesCounts.put(f, flc);
+					counts.add(flc.count);
+				}
+			} catch (RejectedExecutionException exc) {
+				return;
+			}
+			filesLinesCounts = linesCounts;
+
+			CompletableFuture.allOf(counts.toArray(new CompletableFuture<?>[0])).handle((v, e) -> {
+				int tlc = 0;
+				for (CompletableFuture<Integer> c : counts) {
+					// failed to count lines of file, counting will be retried on next update
+					if (!c.isCompletedExceptionally()) {
+						tlc += c.join();
+					}
+				}
+				// newer counting has been started while counting these files
+				if (totalsVersion.get() == version) {
+					totalLinesCount = tlc;
+
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.lines.counted", AbstractFileLineStream.this.getName(), tlc,
+							counts.size());
+				}
+				return null;
+			});
+		}
+
+		private int countLines(T file) {
+			try {
+				return countFileLines(file);
+			} catch (IOException exc) {
+				logger().log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.lines.count.failed", file, exc);
+				throw new CompletionException(exc);
+			}
+		}
+
+		/**
+		 * Returns size of file in bytes.
+		 *
+		 * @param file
+		 *            file to get size
+		 * @return size of file in bytes
+		 * @throws IOException
+		 *             if an I/O error occurs while getting file size
+		 */
+		protected abstract long getFileSize(T file) throws IOException;
+
+		/**
+		 * Counts text lines of file. This method is called by background lines counting threads.
+		 *
+		 * @param file
+		 *            file to count lines
+		 * @return number of file lines
+		 * @throws IOException
+		 *             if an I/O error occurs while reading file
+		 */
+		protected abstract int countFileLines(T file) throws IOException;
+
 		/**
 		 * Sets currently read file.
 		 *
@@ -450,19 +673,35 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		}
 
 		/**
-		 * Persists file access state.
+		 * Stops files lines counting and persists file access state.
 		 *
 		 * @throws Exception
 		 *             if fails to close opened resources due to internal error
 		 */
 		@Override
 		void closeInternals() throws Exception {
+			if (linesCounter != null) {
+				linesCounter.shutdownNow();
+			}
 			if (stateHandler != null && fileToRead != null) {
 				stateHandler.writeState(fileToRead instanceof File ? ((File) fileToRead).getParentFile() : null,
 						AbstractFileLineStream.this.getName());
 			}
 		}
 
+		/**
+		 * Lines count of file, bound to file size lines were counted for.
+		 */
+		private class FileLinesCount {
+			private final long size;
+			private final CompletableFuture<Integer> count;
+
+			private FileLinesCount(long size, CompletableFuture<Integer> count) {
+				this.size = size;
+				this.count = count;
+			}
+		}
+
 		/**
 		 * Returns time period in seconds from last activity provided <tt>timestamp</tt> value.
 		 *
@@ -480,6 +719,8 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 	 */
 	public static class Line extends CommonActivityData<String> {
 		private int lineNr;
+		private long byteOffset;
+		private long offsetCrc;
 
 		/**
 		 * Creates a new Line.
@@ -490,8 +731,40 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		 *            line number in file
 		 */
 		public Line(String text, int lineNumber) {
+			this(text, lineNumber, -1);
+		}
+
+		/**
+		 * Creates a new Line.
+		 *
+		 * @param text
+		 *            line text string
+		 * @param lineNumber
+		 *            line number in file
+		 * @param byteOffset
+		 *            byte offset in file right after line, {@code -1} - if unknown
+		 */
+		public Line(String text, int lineNumber, long byteOffset) {
+			this(text, lineNumber, byteOffset, -1);
+		}
+
+		/**
+		 * Creates a new Line.
+		 *
+		 * @param text
+		 *            line text string
+		 * @param lineNumber
+		 *            line number in file
+		 * @param byteOffset
+		 *            byte offset in file right after line, {@code -1} - if unknown
+		 * @param offsetCrc
+		 *            CRC of file bytes preceding byte offset, {@code -1} - if unknown
+		 */
+		public Line(String text, int lineNumber, long byteOffset, long offsetCrc) {
 			super(text);
 			this.lineNr = lineNumber;
+			this.byteOffset = byteOffset;
+			this.offsetCrc = offsetCrc;
 		}
 
 		/**
@@ -503,6 +776,25 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 			return lineNr;
 		}
 
+		/**
+		 * Returns byte offset in file right after this line.
+		 *
+		 * @return byte offset in file after this line, or {@code -1} if unknown
+		 */
+		public long getByteOffset() {
+			return byteOffset;
+		}
+
+		/**
+		 * Returns CRC of file bytes preceding byte offset right after this line. CRC is calculated from bytes read by
+		 * stream, so it always describes same file bytes this line was read from.
+		 *
+		 * @return CRC of file bytes preceding byte offset, or {@code -1} if unknown
+		 */
+		public long getOffsetCrc() {
+			return offsetCrc;
+		}
+
 		@Override
 		public String toString() {
 			return getData();
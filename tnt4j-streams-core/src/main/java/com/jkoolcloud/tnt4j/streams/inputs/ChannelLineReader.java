@@ -0,0 +1,263 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reads text lines from byte channel, keeping track of byte position in channel right after last read complete line.
+ * <p>
+ * Channel bytes are read into reusable direct buffer and split into lines on {@code '\n'}, {@code '\r'} or
+ * {@code "\r\n"} line terminators, same way as {@link java.io.BufferedReader#readLine()} does. Line bytes are decoded
+ * using provided charset, which shall be ASCII compatible (e.g. {@code UTF-8} or {@code ISO-8859-1}), since line
+ * terminators are searched for in raw bytes.
+ * <p>
+ * Unterminated line bytes at the end of channel are kept by reader, so when channel gets more bytes appended, next
+ * read continues that line instead of returning line fragments.
+ * <p>
+ * Reader also keeps last {@value #TAIL_SIZE} bytes preceding read position, so CRC of those bytes can be calculated
+ * for persisted streaming state without reading file again.
+ *
+ * @version $Revision: 1 $
+ */
+class ChannelLineReader {
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	// same as number of bytes preceding byte offset used by file stream state handler to calculate offset CRC
+	private static final int TAIL_SIZE = 256;
+
+	private final ByteBuffer buffer;
+	private final Charset charset;
+
+	private byte[] lineBytes = new byte[256];
+	private int lineLength = 0;
+	private boolean skipLF = false;
+	private long position = 0;
+
+	private final byte[] tail = new byte[TAIL_SIZE];
+	private int tailEnd = 0;
+	private int tailLength = 0;
+	private final CRC32 tailCrc = new CRC32();
+
+	/**
+	 * Constructs a new ChannelLineReader using default {@code 64KB} read buffer.
+	 *
+	 * @param charset
+	 *            charset to decode line bytes
+	 */
+	ChannelLineReader(Charset charset) {
+		this(charset, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructs a new ChannelLineReader.
+	 *
+	 * @param charset
+	 *            charset to decode line bytes
+	 * @param bufferSize
+	 *            read buffer size in bytes
+	 */
+	ChannelLineReader(Charset charset, int bufferSize) {
+		this.charset = charset;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.buffer.limit(0);
+	}
+
+	/**
+	 * Resets reader state: drops buffered bytes and unterminated line bytes, and sets channel position reader is
+	 * reading from.
+	 *
+	 * @param position
+	 *            channel byte position reader is reading from
+	 */
+	void reset(long position) {
+		buffer.clear().limit(0);
+		lineLength = 0;
+		skipLF = false;
+		tailEnd = 0;
+		tailLength = 0;
+		this.position = position;
+	}
+
+	/**
+	 * Positions channel and resets reader state to read from provided position. Bytes preceding position are read
+	 * into reader kept bytes tail, so position CRC is available right after reset.
+	 *
+	 * @param channel
+	 *            channel to read bytes from
+	 * @param position
+	 *            channel byte position reader is reading from
+	 * @throws IOException
+	 *             if I/O error occurs while reading channel
+	 *
+	 * @see #getPositionCrc()
+	 */
+	void reset(SeekableByteChannel channel, long position) throws IOException {
+		reset(position);
+
+		int tailBytes = (int) Math.min(position, TAIL_SIZE);
+		if (tailBytes > 0) {
+			ByteBuffer tailBuffer = ByteBuffer.wrap(tail, 0, tailBytes);
+			channel.position(position - tailBytes);
+			while (tailBuffer.hasRemaining()) {
+				if (channel.read(tailBuffer) < 0) {
+					break;
+				}
+			}
+			tailLength = tailBuffer.position();
+			tailEnd = tailLength % TAIL_SIZE;
+		}
+		channel.position(position);
+	}
+
+	/**
+	 * Returns channel byte position right after last read complete line (including line terminator). Reading channel
+	 * from this position gives next not yet read line.
+	 *
+	 * @return channel byte position after last read line
+	 */
+	long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns CRC of (up to {@value #TAIL_SIZE}) bytes preceding channel byte position right after last read complete
+	 * line.
+	 *
+	 * @return CRC of bytes preceding read position, or {@code -1} if those bytes are not known, e.g. reader was reset
+	 *         to position without reading preceding bytes
+	 *
+	 * @see #getPosition()
+	 */
+	long getPositionCrc() {
+		if (tailLength < Math.min(position, TAIL_SIZE)) {
+			return -1;
+		}
+
+		tailCrc.reset();
+		int tailStart = tailEnd - tailLength;
+		if (tailStart < 0) {
+			tailCrc.update(tail, TAIL_SIZE + tailStart, -tailStart);
+			tailStart = 0;
+		}
+		tailCrc.update(tail, tailStart, tailEnd - tailStart);
+		return tailCrc.getValue();
+	}
+
+	/**
+	 * Returns number of bytes read from channel into reader buffer, but not yet consumed by read lines.
+	 *
+	 * @return number of buffered bytes
+	 */
+	int getBufferedCount() {
+		return buffer.remaining();
+	}
+
+	/**
+	 * Checks whether reader has unterminated line bytes pending.
+	 *
+	 * @return {@code true} if there are unterminated line bytes read, {@code false} - otherwise
+	 */
+	boolean hasPendingLine() {
+		return lineLength > 0;
+	}
+
+	/**
+	 * Reads next line from channel.
+	 *
+	 * @param channel
+	 *            channel to read bytes from
+	 * @param eofTerminatesLine
+	 *            flag indicating whether end of channel shall terminate pending line. If {@code false}, unterminated
+	 *            line is kept pending until next read
+	 * @return next line string without line terminator, or {@code null} if end of channel is reached
+	 * @throws IOException
+	 *             if I/O error occurs while reading channel
+	 */
+	String readLine(ReadableByteChannel channel, boolean eofTerminatesLine) throws IOException {
+		while (true) {
+			if (!buffer.hasRemaining()) {
+				buffer.clear();
+				int n = channel.read(buffer);
+				buffer.flip();
+				if (n <= 0) {
+					if (eofTerminatesLine && lineLength > 0) {
+						return completeLine(-1);
+					}
+					return null;
+				}
+			}
+
+			while (buffer.hasRemaining()) {
+				byte b = buffer.get();
+				if (skipLF) {
+					skipLF = false;
+					if (b == '\n') {
+						position++;
+						addTail(b);
+						continue;
+					}
+				}
+				if (b == '\n') {
+					return completeLine(b);
+				}
+				if (b == '\r') {
+					skipLF = true;
+					return completeLine(b);
+				}
+				if (lineLength == lineBytes.length) {
+					lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+				}
+				lineBytes[lineLength++] = b;
+			}
+		}
+	}
+
+	private String completeLine(int terminator) {
+		String line = new String(lineBytes, 0, lineLength, charset);
+		position += lineLength;
+		addTail(lineBytes, lineLength);
+		if (terminator >= 0) {
+			position++;
+			addTail((byte) terminator);
+		}
+		lineLength = 0;
+		return line;
+	}
+
+	private void addTail(byte b) {
+		tail[tailEnd] = b;
+		tailEnd = (tailEnd + 1) % TAIL_SIZE;
+		tailLength = Math.min(tailLength + 1, TAIL_SIZE);
+	}
+
+	private void addTail(byte[] bytes, int length) {
+		int off = Math.max(0, length - TAIL_SIZE);
+		while (off < length) {
+			int n = Math.min(length - off, TAIL_SIZE - tailEnd);
+			System.arraycopy(bytes, off, tail, tailEnd, n);
+			off += n;
+			tailEnd = (tailEnd + n) % TAIL_SIZE;
+			tailLength = Math.min(tailLength + n, TAIL_SIZE);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Watches streamed files directory for file system events using {@link WatchService}. Only events of files matching
+ * stream file name pattern are taken into account.
+ * <p>
+ * Watch also tracks whether files matching name pattern may have been created or deleted since last files listing, so
+ * stream can skip directory listing when only streamed files contents have changed, and whether files have been
+ * modified since last check, so stream can read file changes not reflected by file modification time.
+ *
+ * @version $Revision: 1 $
+ */
+class FileChangesWatch implements Closeable {
+	private final EventSink logger;
+	private final Path dir;
+	private final PathMatcher filesMatcher;
+	private volatile WatchService watchService;
+
+	private volatile boolean filesListChanged = true;
+	private final AtomicBoolean filesModified = new AtomicBoolean();
+
+	private FileChangesWatch(EventSink logger, Path dir, PathMatcher filesMatcher, WatchService watchService) {
+		this.logger = logger;
+		this.dir = dir;
+		this.filesMatcher = filesMatcher;
+		this.watchService = watchService;
+	}
+
+	/**
+	 * Registers directory of files matching provided file name pattern to file system watch service.
+	 *
+	 * @param fs
+	 *            file system to watch
+	 * @param fileName
+	 *            file name or file name pattern defined using wildcard characters
+	 * @param logger
+	 *            logger to log watch state changes
+	 * @return files changes watch instance, or {@code null} if file system does not support watching
+	 */
+	static FileChangesWatch create(FileSystem fs, String fileName, EventSink logger) {
+		WatchService ws = null;
+		try {
+			int lastSeparator = Math.max(fileName.lastIndexOf(fs.getSeparator()), fileName.lastIndexOf('/'));
+			Path dir = lastSeparator < 0 ? fs.getPath(".") // NON-NLS
+					: fs.getPath(fileName.substring(0, lastSeparator));
+			PathMatcher matcher = fs.getPathMatcher("glob:" + fileName.substring(lastSeparator + 1)); // NON-NLS
+
+			ws = fs.newWatchService();
+			dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+
+			logger.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.watch.registered", dir.toAbsolutePath());
+
+			return new FileChangesWatch(logger, dir, matcher, ws);
+		} catch (IOException | UnsupportedOperationException | IllegalArgumentException exc) {
+			Utils.close(ws);
+			logger.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.watch.unavailable", fileName, exc);
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether directory is still watched.
+	 *
+	 * @return {@code true} if directory is watched, {@code false} - if watching has been cancelled or watch is closed
+	 */
+	boolean isActive() {
+		return watchService != null;
+	}
+
+	/**
+	 * Waits for events of files matching name pattern. Waiting ends when matching file gets modified, created or
+	 * deleted, or when delay period elapses. If watch gets closed while waiting, rest of delay period is slept.
+	 *
+	 * @param delay
+	 *            maximal period in milliseconds to wait for events
+	 * @throws InterruptedException
+	 *             if current thread is interrupted while waiting
+	 */
+	void await(long delay) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + delay;
+		try {
+			long waitTime = delay;
+			while (waitTime > 0) {
+				WatchService ws = watchService;
+				if (ws == null) {
+					sleepClosed(deadline);
+					return;
+				}
+				WatchKey key = ws.poll(waitTime, TimeUnit.MILLISECONDS);
+				if (key == null) {
+					break;
+				}
+				if (handleEvents(key)) {
+					return;
+				}
+				waitTime = deadline - System.currentTimeMillis();
+			}
+			// no matching events within delay period - files are checked same way as when polling
+			filesListChanged = true;
+		} catch (ClosedWatchServiceException exc) {
+			sleepClosed(deadline);
+		}
+	}
+
+	/**
+	 * Handles events of files matching name pattern, occurred since last check, without waiting for new ones.
+	 */
+	void pollEvents() {
+		WatchService ws = watchService;
+		if (ws == null) {
+			return;
+		}
+		try {
+			WatchKey key;
+			while ((key = ws.poll()) != null) {
+				handleEvents(key);
+			}
+		} catch (ClosedWatchServiceException exc) {
+			filesListChanged = true;
+		}
+	}
+
+	private void sleepClosed(long deadline) {
+		logger.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"FileLineStream.watch.closed", dir.toAbsolutePath());
+		filesListChanged = true;
+		// closed watch can't notify about changes, so rest of delay period is slept same way as when polling
+		StreamThread.sleep(Math.max(deadline - System.currentTimeMillis(), 0));
+	}
+
+	private boolean handleEvents(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			WatchEvent.Kind<?> kind = event.kind();
+			if (kind == StandardWatchEventKinds.OVERFLOW) {
+				filesListChanged = true;
+				filesModified.set(true);
+				changed = true;
+			} else if (filesMatcher.matches((Path) event.context())) {
+				if (kind != StandardWatchEventKinds.ENTRY_MODIFY) {
+					filesListChanged = true;
+				}
+				filesModified.set(true);
+				changed = true;
+			}
+		}
+
+		if (!key.reset()) {
+			logger.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.watch.cancelled", dir.toAbsolutePath());
+			close();
+			filesListChanged = true;
+			changed = true;
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Checks whether files matching name pattern may have been created or deleted since last files listing.
+	 *
+	 * @return {@code true} if files list shall be refreshed, {@code false} - otherwise
+	 */
+	boolean isFilesListChanged() {
+		return filesListChanged || !isActive();
+	}
+
+	/**
+	 * Checks whether files matching name pattern have been modified, created or deleted since last check, and clears
+	 * modification flag.
+	 *
+	 * @return {@code true} if file system events of matching files have been received since last check, {@code false}
+	 *         - otherwise
+	 */
+	boolean checkFilesModified() {
+		return filesModified.getAndSet(false);
+	}
+
+	/**
+	 * Marks files list as refreshed.
+	 */
+	void filesListed() {
+		filesListChanged = false;
+	}
+
+	@Override
+	public void close() {
+		Utils.close(watchService);
+		watchService = null;
+	}
+}
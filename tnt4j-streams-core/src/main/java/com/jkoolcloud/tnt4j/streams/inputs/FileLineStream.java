@@ -17,20 +17,25 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.*;
-import java.util.Collections;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.commons.lang3.ArrayUtils;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.state.FileStreamStateHandler;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
@@ -41,12 +46,37 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * event which should be recorded. Stream reads changes from defined files every "FileReadDelay" property defined
  * seconds (default is 15sec.).
  * <p>
+ * Stream keeps streamed file channel opened between file reading iterations and reads only bytes appended to file
+ * since last iteration. File rotation (file name refers to another file) and truncation (file size gets smaller than
+ * read position) are detected using file key and file size. When streaming starts from latest file line, stream seeks
+ * to the end of file and file lines are numbered from that position.
+ * <p>
+ * When 'UseWatchService' property is set to {@code true}, stream registers streamed files directory to file system
+ * {@link WatchService} and, instead of sleeping between file reading iterations, waits for directory events: file
+ * reading starts as soon as streamed file gets modified or matching files get created or deleted. Directory listing to
+ * find next file is performed only when matching files get created or deleted. Files are still checked every
+ * "FileReadDelay" seconds, and if file system does not support watching, stream falls back to files polling.
+ * <p>
+ * When 'ParallelFileReaders' property is set, stream tails all files matching file name pattern concurrently instead
+ * of reading them one by one. Every file has its own read position and line numbering, and files reading is performed
+ * by bounded pool of reader threads. On every reading round, files having most bytes pending are read first and every
+ * file gets at most {@code 1MB} read, so large backlog of one file does not delay other
+ * files. Order of activities from different files is not preserved and file read state storing is not supported in
+ * this mode.
+ * <p>
  * This activity stream requires parsers that can support {@link String} data.
  * <p>
- * This activity stream supports configuration properties from {@link AbstractFileLineStream} (and higher hierarchy
- * streams).
+ * This activity stream supports the following configuration properties (in addition to those supported by
+ * {@link AbstractFileLineStream}):
+ * <ul>
+ * <li>UseWatchService - flag {@code true}/{@code false} indicating whether stream should be notified on files changes
+ * by file system events, instead of polling files every 'FileReadDelay' seconds. Actual only if 'FilePolling' property
+ * is set to {@code true}. Default value - {@code false}. (Optional)</li>
+ * <li>ParallelFileReaders - number of reader threads used to tail all files matching file name pattern in parallel.
+ * Value {@code 0} means that files are read one by one. Default value - {@code 0}. (Optional)</li>
+ * </ul>
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  * @see WildcardFileFilter#WildcardFileFilter(String)
@@ -54,6 +84,11 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 public class FileLineStream extends AbstractFileLineStream<Path> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(FileLineStream.class);
 
+	static final int PARALLEL_READ_CHUNK_SIZE = 1024 * 1024;
+
+	private boolean useWatchService = false;
+	private int parallelFileReaders = 0;
+
 	/**
 	 * Constructs a new FileLineStream.
 	 */
@@ -70,43 +105,87 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 	protected FileWatcher createFileWatcher() throws Exception {
 		try {
 			URL url = new URL(fileName);
-			return new CommonFileWatcher(url.toURI());
+			return parallelFileReaders > 0 ? new ParallelFileWatcher(url.toURI()) : new CommonFileWatcher(url.toURI());
 		} catch (MalformedURLException | URISyntaxException exc) {
-			return new CommonFileWatcher();
+			return parallelFileReaders > 0 ? new ParallelFileWatcher() : new CommonFileWatcher();
 		}
 	}
 
-	private static int[] getFilesTotals(Path[] activityFiles) throws IOException {
-		int tbc = 0;
-		int tlc = 0;
-		if (ArrayUtils.isNotEmpty(activityFiles)) {
-			for (Path f : activityFiles) {
-				tbc += Files.size(f);
-				try {
-					tlc += Utils.countLines(Files.newInputStream(f, StandardOpenOption.READ));
-				} catch (IOException exc) {
-				}
-			}
-		}
+	private static Object getFileKey(BasicFileAttributes attrs) {
+		// file key is not available on some platforms/file systems, so file creation time is used instead
+		return attrs.fileKey() == null ? attrs.creationTime() : attrs.fileKey();
+	}
+
+	@Override
+	public void setProperty(String name, String value) {
+		super.setProperty(name, value);
 
-		return new int[] { tbc, tlc };
+		if (StreamProperties.PROP_USE_WATCH_SERVICE.equalsIgnoreCase(name)) {
+			useWatchService = Utils.toBoolean(value);
+		} else if (StreamProperties.PROP_PARALLEL_FILE_READERS.equalsIgnoreCase(name)) {
+			parallelFileReaders = Integer.parseInt(value);
+		}
 	}
 
 	@Override
 	public Object getProperty(String name) {
+		if (StreamProperties.PROP_USE_WATCH_SERVICE.equalsIgnoreCase(name)) {
+			return useWatchService;
+		}
+		if (StreamProperties.PROP_PARALLEL_FILE_READERS.equalsIgnoreCase(name)) {
+			return parallelFileReaders;
+		}
 		return super.getProperty(name);
 	}
 
+	/**
+	 * Base class containing common features of file watchers accessing files over {@link java.nio.file.FileSystem}.
+	 */
+	protected abstract class PathFileWatcher extends FileWatcher {
+
+		/**
+		 * Constructs a new PathFileWatcher.
+		 *
+		 * @param name
+		 *            the name of file watcher thread
+		 */
+		PathFileWatcher(String name) {
+			super(name);
+		}
+
+		@Override
+		protected long getFileSize(Path file) throws IOException {
+			return Files.size(file);
+		}
+
+		@Override
+		protected int countFileLines(Path file) throws IOException {
+			return Utils.countLines(Files.newInputStream(file, StandardOpenOption.READ));
+		}
+	}
+
 	/**
 	 * Files changes watcher thread. It reads changes from defined files using last modification timestamp of file.
 	 */
-	protected class CommonFileWatcher extends FileWatcher {
+	protected class CommonFileWatcher extends PathFileWatcher {
 
 		/**
 		 * File system object used to access files.
 		 */
 		protected FileSystem fs;
 
+		private final ChannelLineReader lineReader = new ChannelLineReader(Charset.defaultCharset());
+		private SeekableByteChannel channel;
+		private Path openedFile;
+		private Object openedFileKey;
+		/**
+		 * Byte position in file to start reading from, {@code -1} - if position shall be found by skipping
+		 * {@link #lineNumber} lines (when restored stream state has no valid byte offset).
+		 */
+		private long filePosition = 0;
+
+		private FileChangesWatch filesWatch;
+
 		/**
 		 * Constructs a new CommonFileWatcher for default OS file system.
 		 */
@@ -147,8 +226,7 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 
 		/**
 		 * Initializes files watcher thread. Picks file matching user defined file name to monitor. If user defined to
-		 * start streaming from latest file line, then count of lines in file is calculated to mark latest activity
-		 * position.
+		 * start streaming from latest file line, then file size is used to mark latest activity position.
 		 *
 		 * @param params
 		 *            initialization parameters array
@@ -172,16 +250,18 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 				file = stateHandler.getFile();
 				lineNumber = stateHandler.getLineNumber();
 				lastReadTime = stateHandler.getReadTime();
+				filePosition = stateHandler.getByteOffset();
 			} else {
 				file = ArrayUtils.isEmpty(availableFiles) ? null
 						: startFromLatestActivity ? availableFiles[availableFiles.length - 1] : availableFiles[0];
 				lineNumber = 0;
+				filePosition = startFromLatestActivity && file != null ? Files.size(file) : 0;
 			}
 
 			setFileToRead(file);
 
-			if (startFromLatestActivity && fileToRead != null) {
-				lineNumber = Utils.countLines(Files.newInputStream(fileToRead));
+			if (useWatchService) {
+				filesWatch = FileChangesWatch.create(fs, fileName, logger());
 			}
 
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -199,6 +279,8 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		void closeInternals() throws Exception {
 			super.closeInternals();
 
+			closeChannel();
+			Utils.close(filesWatch);
 			try {
 				Utils.close(fs);
 			} catch (UnsupportedOperationException exc) {
@@ -213,13 +295,16 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		 * be done (no newer readable file) then file monitoring is interrupted.
 		 * <p>
 		 * If defined file is readable, then monitor checks modification timestamp. If it is newer than
-		 * {@link #lastModifTime} value, file gets opened for reading. If not, monitor tries to swap to next available
+		 * {@link #lastModifTime} value, or files changes watch has reported file events and file size differs from read
+		 * position, file gets opened for reading. If not, monitor tries to swap to next available
 		 * file. If swap can'e be done (no newer readable file) then file reading is skipped until next monitor
 		 * invocation.
 		 * <p>
-		 * When file gets opened for reading reader is rolled to file marked by {@link #lineNumber} attribute. If turns
-		 * out that file got smaller in lines count, then monitor tries to swap to previous file. If no previous
-		 * readable file is available, then reader is reset to first file line.
+		 * File channel is kept opened between monitor invocations, so only file bytes appended since last read are
+		 * read. If file name now refers to another file (file has been rotated), rest of previously opened file is read
+		 * and new file is read from beginning. If turns out that file got smaller than read position (file has been
+		 * truncated), then monitor tries to swap to previous file. If no previous readable file is available, then
+		 * reading position is reset according to {@code TruncatedFilePolicy}.
 		 * <p>
 		 * Reader reads all file lines until end of file and puts them to changed lines buffer.
 		 */
@@ -254,17 +339,20 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 					} catch (IOException e) {
 					}
 
-					if (flm > lastModifTime) {
+					// modification time may have coarse (e.g. second) resolution, so when watch reports file
+					// events, file size is checked to not miss changes made within same modification time unit
+					boolean watchModified = filesWatch != null && filesWatch.checkFilesModified();
+					if (flm > lastModifTime || (watchModified && isFileSizeChanged())) {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.file.updated", getPeriodInSeconds(flm),
 								getPeriodInSeconds(lastReadTime));
 
-						lastModifTime = flm;
+						lastModifTime = Math.max(flm, lastModifTime);
 					} else {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.file.not.changed");
 
-						boolean swapped = swapToNextFile();
+						boolean swapped = isFilesListChanged() && swapToNextFile();
 						if (!swapped) {
 							logger().log(OpLevel.DEBUG,
 									StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -275,28 +363,16 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 				}
 			}
 
-			LineNumberReader lnr = null;
-
+			int prevLineNumber = lineNumber;
 			try {
-				lnr = rollToCurrentLine();
+				SeekableByteChannel fChannel = openFileChannel();
+				if (fChannel != null) {
+					readNewFileLines(fChannel, lineReader, !isTailingLatestFile());
+				}
 			} catch (IOException exc) {
 				Utils.logThrowable(logger(), OpLevel.ERROR,
 						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-						"FileLineStream.error.rolling", exc);
-			}
-
-			int prevLineNumber = lnr.getLineNumber();
-
-			if (lnr != null) {
-				try {
-					readNewFileLines(lnr);
-				} catch (IOException exc) {
-					Utils.logThrowable(logger(), OpLevel.ERROR,
-							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"FileLineStream.error.reading", exc);
-				} finally {
-					Utils.close(lnr);
-				}
+						"FileLineStream.error.reading", exc);
 			}
 
 			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -304,10 +380,58 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 					lineNumber - prevLineNumber);
 		}
 
-		private LineNumberReader rollToCurrentLine() throws IOException {
-			LineNumberReader lnr;
+		/**
+		 * Checks whether streamed file size differs from file read position, meaning file has got bytes appended or
+		 * has been truncated since last read.
+		 *
+		 * @return {@code true} if file size differs from read position, {@code false} - otherwise
+		 */
+		private boolean isFileSizeChanged() {
 			try {
-				lnr = new LineNumberReader(Files.newBufferedReader(fileToRead, Charset.defaultCharset()));
+				long readPosition = channel != null && fileToRead.equals(openedFile) ? channel.position()
+						: filePosition;
+				return Files.size(fileToRead) != readPosition;
+			} catch (IOException exc) {
+				return false;
+			}
+		}
+
+		/**
+		 * Opens streamed file channel and positions it to read new file lines. Opened channel is reused while streamed
+		 * file does not change.
+		 *
+		 * @return streamed file channel, or {@code null} if file can't be opened
+		 * @throws IOException
+		 *             if I/O error occurs while positioning file channel
+		 */
+		private SeekableByteChannel openFileChannel() throws IOException {
+			BasicFileAttributes attrs = Files.readAttributes(fileToRead, BasicFileAttributes.class);
+			if (channel != null && fileToRead.equals(openedFile)) {
+				if (!getFileKey(attrs).equals(openedFileKey)) {
+					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.rotated", fileToRead.toAbsolutePath());
+					readNewFileLines(channel, lineReader, true);
+					closeChannel();
+					filePosition = 0;
+					lineNumber = 0;
+				} else if (attrs.size() < channel.position()) {
+					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.truncated", attrs.size(), channel.position());
+					filePosition = lineReader.getPosition();
+					closeChannel();
+					if (!swapToPrevFile()) {
+						resetTruncatedFilePosition(attrs.size());
+					}
+					return openFileChannel();
+				} else {
+					return channel;
+				}
+			} else if (channel != null) {
+				closeChannel();
+			}
+
+			try {
+				channel = Files.newByteChannel(fileToRead, StandardOpenOption.READ);
 			} catch (Exception exc) {
 				logger().log(OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 						"FileLineStream.reader.error");
@@ -315,41 +439,93 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 				shutdown();
 				return null;
 			}
+			openedFile = fileToRead;
+			openedFileKey = getFileKey(attrs);
+
+			if (filePosition < 0) {
+				skipOldLines(attrs.size());
+			} else {
+				if (filePosition > attrs.size()) {
+					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.truncated", attrs.size(), filePosition);
+					resetTruncatedFilePosition(attrs.size());
+				}
+				lineReader.reset(channel, filePosition);
+			}
 
-			return skipOldLines(lnr);
+			return channel;
 		}
 
-		LineNumberReader skipOldLines(LineNumberReader lnr) throws IOException {
-			boolean skipFail = false;
+		private void skipOldLines(long fileSize) throws IOException {
+			channel.position(0);
+			lineReader.reset(0);
 			for (int i = 0; i < lineNumber; i++) {
-				if (lnr.readLine() == null) {
+				if (lineReader.readLine(channel, true) == null) {
 					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"FileLineStream.file.shorter", lnr.getLineNumber(), lineNumber);
+							"FileLineStream.file.shorter", i, lineNumber);
 
-					skipFail = true;
-					break;
+					resetTruncatedFilePosition(fileSize);
+					lineReader.reset(channel, filePosition);
+					return;
 				}
 			}
+			filePosition = lineReader.getPosition();
+			lineReader.reset(channel, filePosition);
+		}
 
-			if (skipFail) {
-				boolean swapped = swapToPrevFile();
-				if (swapped) {
-					Utils.close(lnr);
+		private void resetTruncatedFilePosition(long fileSize) {
+			if (truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.CONTINUE_FROM_LAST.name())) {
+				filePosition = fileSize;
+			} else {
+				filePosition = 0;
+				lineNumber = 0;
+			}
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.resetting.reader", lineNumber);
+		}
 
-					return rollToCurrentLine();
-				} else {
-					if (truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.CONTINUE_FROM_LAST.name())) {
-						lineNumber = lnr.getLineNumber();
-					} else {
-						lineNumber = 0;
-						lnr.setLineNumber(lineNumber);
-					}
-					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"FileLineStream.resetting.reader", lineNumber);
-				}
+		/**
+		 * Waits for streamed files directory events, when files changes watch is available. Otherwise delay period is
+		 * slept.
+		 *
+		 * @param delay
+		 *            maximal period in milliseconds to wait for files changes
+		 */
+		@Override
+		protected void waitForChanges(long delay) {
+			if (filesWatch == null || !filesWatch.isActive()) {
+				super.waitForChanges(delay);
+				return;
 			}
 
-			return lnr;
+			try {
+				filesWatch.await(delay);
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Checks whether files list shall be refreshed to find next file to read. When tailing latest file and files
+		 * changes watch is available, files list is refreshed only if matching files have been created or deleted.
+		 *
+		 * @return {@code true} if files list shall be refreshed, {@code false} - otherwise
+		 */
+		private boolean isFilesListChanged() {
+			return filesWatch == null || filesWatch.isFilesListChanged() || !isTailingLatestFile();
+		}
+
+		private void filesListed() {
+			if (filesWatch != null) {
+				filesWatch.filesListed();
+			}
+		}
+
+		private void closeChannel() {
+			Utils.close(channel);
+			channel = null;
+			openedFile = null;
+			openedFileKey = null;
 		}
 
 		private boolean swapToPrevFile() {
@@ -359,6 +535,7 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			if (Utils.isWildcardString(fileName)) {
 				try {
 					availableFiles = Utils.searchFiles(fileName, fs);
+					filesListed();
 					updateDataTotals(availableFiles);
 					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 							"FileLineStream.found.files", availableFiles.length, fileName);
@@ -394,6 +571,7 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			if (Utils.isWildcardString(fileName)) {
 				try {
 					availableFiles = Utils.searchFiles(fileName, fs);
+					filesListed();
 					updateDataTotals(availableFiles);
 
 					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -407,6 +585,7 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 					} else {
 						setFileToRead(nextFile);
 						lineNumber = 0;
+						filePosition = 0;
 
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.swapping.to.next", nextFile.toAbsolutePath());
@@ -422,11 +601,417 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 
 			return false;
 		}
+	}
+	/**
+	 * Files changes watcher thread tailing all files matching stream file name pattern in parallel. Files are read by
+	 * bounded pool of reader threads, and every file is read from its own read position.
+	 */
+	protected class ParallelFileWatcher extends PathFileWatcher {
 
-		private void updateDataTotals(Path[] activityFiles) throws IOException {
-			int[] totals = getFilesTotals(activityFiles);
-			totalBytesCount = totals[0];
-			totalLinesCount = totals[1];
+		/**
+		 * File system object used to access files.
+		 */
+		protected FileSystem fs;
+
+		private final Map<Path, TailedFile> tailedFiles = new LinkedHashMap<>();
+		private ExecutorService readersPool;
+		private FileChangesWatch filesWatch;
+		private boolean filesMoved = false;
+		private long filesListTime = 0;
+
+		/**
+		 * Constructs a new ParallelFileWatcher for default OS file system.
+		 */
+		ParallelFileWatcher() {
+			this(FileSystems.getDefault());
+		}
+
+		/**
+		 * Constructs a new ParallelFileWatcher.
+		 *
+		 * @param fs
+		 *            file system to be used to access files.
+		 */
+		ParallelFileWatcher(FileSystem fs) {
+			super("FileLineStream.ParallelFileWatcher.FileSystem." + fs.getClass().getSimpleName()); // NON-NLS
+
+			this.fs = fs;
+		}
+
+		/**
+		 * Constructs a new ParallelFileWatcher.
+		 *
+		 * @param fUri
+		 *            file URI.
+		 */
+		ParallelFileWatcher(URI fUri) throws IOException {
+			this(FileSystems.newFileSystem(fUri, Collections.<String, Object> emptyMap()));
+		}
+
+		/**
+		 * Initializes files watcher thread. Picks all files matching user defined file name to monitor. If user
+		 * defined to start streaming from latest file line, then sizes of files found on initialization are used to
+		 * mark latest activity positions.
+		 *
+		 * @param params
+		 *            initialization parameters array
+		 *
+		 * @throws Exception
+		 *             indicates that stream is not configured properly and files monitoring can't initialize and
+		 *             continue
+		 */
+		@Override
+		protected void initialize(Object... params) throws Exception {
+			availableFiles = Utils.listFilesByName(fileName, fs);
+			updateDataTotals(availableFiles);
+
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.found.files", availableFiles.length, fileName);
+
+			if (storeState) {
+				logger().log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.parallel.state.unsupported", FileLineStream.this.getName());
+			}
+
+			for (Path file : availableFiles) {
+				long position = startFromLatestActivity && Files.exists(file) ? Files.size(file) : 0;
+				tailedFiles.put(file, new TailedFile(file, position));
+			}
+			lineNumber = 0;
+
+			readersPool = Executors.newFixedThreadPool(parallelFileReaders,
+					new TNTInputStream.StreamsThreadFactory("FileLineStreamReaderThread-")); // NON-NLS
+
+			if (useWatchService) {
+				filesWatch = FileChangesWatch.create(fs, fileName, logger());
+			}
+
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.parallel.watcher.initialized", FileLineStream.this.getName(), tailedFiles.size(),
+					parallelFileReaders);
+		}
+
+		/**
+		 * Closes opened files, readers pool and file system.
+		 *
+		 * @throws Exception
+		 *             if fails to close opened resources due to internal error
+		 */
+		@Override
+		void closeInternals() throws Exception {
+			super.closeInternals();
+
+			if (readersPool != null) {
+				readersPool.shutdownNow();
+			}
+			for (TailedFile tf : tailedFiles.values()) {
+				tf.closeChannel();
+			}
+			Utils.close(filesWatch);
+			try {
+				Utils.close(fs);
+			} catch (UnsupportedOperationException exc) {
+			}
+		}
+
+		/**
+		 * Reads changes of all tailed files. If matching files may have been created or deleted, files list gets
+		 * refreshed first.
+		 * <p>
+		 * Files are read in rounds: on every round, files having bytes pending are ordered by pending bytes count
+		 * (descending) and submitted to readers pool, every reader task reading limited chunk of file bytes. Rounds are
+		 * repeated until no tailed file has bytes pending. Between rounds files list gets refreshed when tailed file
+		 * has been moved, matching files may have been created or deleted, or {@link #fileWatcherDelay} period has
+		 * elapsed since last refresh, so continuously growing files do not prevent files list changes handling.
+		 */
+		@Override
+		protected void readFileChanges() {
+			if (filesWatch == null || filesWatch.isFilesListChanged()) {
+				refreshFilesList();
+			}
+
+			List<TailedFile> pendingFiles;
+			while (!isStopping() && !(pendingFiles = getPendingFiles()).isEmpty()) {
+				try {
+					readersPool.invokeAll(pendingFiles);
+				} catch (InterruptedException exc) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+
+				if (filesWatch != null) {
+					filesWatch.pollEvents();
+				}
+				if (filesMoved || (filesWatch != null && filesWatch.isFilesListChanged())
+						|| System.currentTimeMillis() - filesListTime >= fileWatcherDelay) {
+					refreshFilesList();
+				}
+			}
+
+			int linesRead = 0;
+			for (TailedFile tf : tailedFiles.values()) {
+				linesRead += tf.fileLineNumber;
+			}
+			lineNumber = linesRead;
+		}
+
+		/**
+		 * Waits for streamed files directory events, when files changes watch is available. Otherwise delay period is
+		 * slept.
+		 *
+		 * @param delay
+		 *            maximal period in milliseconds to wait for files changes
+		 */
+		@Override
+		protected void waitForChanges(long delay) {
+			if (filesWatch == null || !filesWatch.isActive()) {
+				super.waitForChanges(delay);
+				return;
+			}
+
+			try {
+				filesWatch.await(delay);
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private List<TailedFile> getPendingFiles() {
+			List<TailedFile> pendingFiles = new ArrayList<>();
+			for (TailedFile tf : tailedFiles.values()) {
+				try {
+					if (tf.checkPendingBytes() > 0) {
+						pendingFiles.add(tf);
+					}
+				} catch (IOException exc) {
+					Utils.logThrowable(logger(), OpLevel.ERROR,
+							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.error.reading", exc);
+				}
+			}
+
+			Collections.sort(pendingFiles, new Comparator<TailedFile>() {
+				@Override
+				public int compare(TailedFile f1, TailedFile f2) {
+					return Long.compare(f2.pendingBytes, f1.pendingBytes);
+				}
+			});
+
+			return pendingFiles;
+		}
+
+		/**
+		 * Refreshes tailed files list. Files renamed within file name pattern (e.g. rotated log files) continue to be
+		 * read from same position, new files are read from beginning and rest of removed files is read before they
+		 * get dropped.
+		 */
+		private void refreshFilesList() {
+			try {
+				Path[] files = Utils.listFilesByName(fileName, fs);
+				filesListTime = System.currentTimeMillis();
+				filesMoved = false;
+				if (filesWatch != null) {
+					filesWatch.filesListed();
+				}
+				Set<Path> listedFiles = new LinkedHashSet<>(Arrays.asList(files));
+				boolean changed = false;
+
+				// renamed files keep file key, so they are still read from opened channel
+				Map<Object, TailedFile> movedFiles = new HashMap<>();
+				Iterator<TailedFile> tfi = tailedFiles.values().iterator();
+				while (tfi.hasNext()) {
+					TailedFile tf = tfi.next();
+					if (tf.fileKey != null && !tf.fileKey.equals(getCurrentFileKey(tf.file))) {
+						movedFiles.put(tf.fileKey, tf);
+						tfi.remove();
+						changed = true;
+					}
+				}
+				for (Path file : listedFiles) {
+					if (!tailedFiles.containsKey(file)) {
+						TailedFile movedFile = movedFiles.remove(getCurrentFileKey(file));
+						if (movedFile != null) {
+							logger().log(OpLevel.INFO,
+									StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+									"FileLineStream.file.moved", movedFile.file.toAbsolutePath(),
+									file.toAbsolutePath());
+							movedFile.file = file;
+							movedFile.moved = false;
+							tailedFiles.put(file, movedFile);
+						}
+					}
+				}
+
+				// moved out of file name pattern files are read same way as removed ones
+				for (TailedFile movedFile : movedFiles.values()) {
+					movedFile.readRemoved();
+				}
+				Iterator<Map.Entry<Path, TailedFile>> it = tailedFiles.entrySet().iterator();
+				while (it.hasNext()) {
+					Map.Entry<Path, TailedFile> tfe = it.next();
+					if (!listedFiles.contains(tfe.getKey())) {
+						tfe.getValue().readRemoved();
+						it.remove();
+						changed = true;
+					}
+				}
+				for (Path file : listedFiles) {
+					if (!tailedFiles.containsKey(file)) {
+						tailedFiles.put(file, new TailedFile(file, 0));
+						changed = true;
+					}
+				}
+
+				availableFiles = files;
+				if (changed) {
+					updateDataTotals(availableFiles);
+
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.found.files", availableFiles.length, fileName);
+				}
+			} catch (IOException exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.error.reading.changes", exc);
+			}
+		}
+
+		private Object getCurrentFileKey(Path file) {
+			try {
+				return getFileKey(Files.readAttributes(file, BasicFileAttributes.class));
+			} catch (IOException exc) {
+				return null;
+			}
+		}
+
+		/**
+		 * Tailed file read state and reader task. Reader task reads limited chunk of file bytes. Reader tasks of same
+		 * file are never run concurrently.
+		 */
+		private class TailedFile implements Callable<Void> {
+			private Path file;
+			private final ChannelLineReader lineReader = new ChannelLineReader(Charset.defaultCharset());
+			private final StringBuilder activityData = new StringBuilder(256);
+			private SeekableByteChannel channel;
+			private Object fileKey;
+			private long position;
+			private int fileLineNumber = 0;
+			private long pendingBytes = 0;
+			private boolean moved = false;
+
+			private TailedFile(Path file, long position) {
+				this.file = file;
+				this.position = position;
+			}
+
+			/**
+			 * Opens file channel if it is not opened yet, checks whether file has been moved (e.g. rotated) or
+			 * truncated and calculates number of file bytes pending to be read.
+			 * <p>
+			 * Moved file is read further from opened channel, and gets bound to its new path (or read as removed) on
+			 * next files list refresh. This way file rotated while being read is neither read twice, nor its rest is
+			 * lost.
+			 *
+			 * @return number of file bytes pending to be read
+			 * @throws IOException
+			 *             if I/O error occurs while accessing file
+			 */
+			private long checkPendingBytes() throws IOException {
+				BasicFileAttributes attrs;
+				try {
+					attrs = Files.readAttributes(file, BasicFileAttributes.class);
+				} catch (NoSuchFileException exc) {
+					attrs = null;
+				}
+
+				if (channel != null && (attrs == null || !getFileKey(attrs).equals(fileKey))) {
+					if (!moved) {
+						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"FileLineStream.file.rotated", file.toAbsolutePath());
+						moved = true;
+						filesMoved = true;
+					}
+					pendingBytes = channel.size() - channel.position() + lineReader.getBufferedCount();
+					return pendingBytes;
+				}
+				if (attrs == null) {
+					pendingBytes = 0;
+					return pendingBytes;
+				}
+
+				if (channel == null) {
+					if (position > attrs.size()) {
+						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"FileLineStream.file.truncated", attrs.size(), position);
+						resetTruncatedPosition(attrs.size());
+					}
+					channel = Files.newByteChannel(file, StandardOpenOption.READ);
+					lineReader.reset(channel, position);
+					fileKey = getFileKey(attrs);
+				} else if (attrs.size() < channel.position()) {
+					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.truncated", attrs.size(), channel.position());
+					position = lineReader.getPosition();
+					closeChannel();
+					resetTruncatedPosition(attrs.size());
+					return checkPendingBytes();
+				}
+
+				pendingBytes = attrs.size() - channel.position() + lineReader.getBufferedCount();
+				return pendingBytes;
+			}
+
+			private void resetTruncatedPosition(long fileSize) {
+				if (truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.CONTINUE_FROM_LAST.name())) {
+					position = fileSize;
+				} else {
+					position = 0;
+					fileLineNumber = 0;
+				}
+			}
+
+			@Override
+			public Void call() {
+				try {
+					// every tailed file is latest file of its own, so unterminated lines are kept while polling
+					readLines(!isTailingLatestFile(), PARALLEL_READ_CHUNK_SIZE);
+				} catch (IOException exc) {
+					Utils.logThrowable(logger(), OpLevel.ERROR,
+							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.error.reading", exc);
+				}
+				return null;
+			}
+
+			private void readLines(boolean eofTerminatesLine, long maxBytes) throws IOException {
+				fileLineNumber = readNewFileLines(channel, lineReader, eofTerminatesLine, activityData,
+						fileLineNumber, maxBytes);
+				position = lineReader.getPosition();
+			}
+
+			/**
+			 * Reads rest of removed file lines, if file is still opened, and closes file channel.
+			 */
+			private void readRemoved() {
+				if (channel != null) {
+					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.file.removed", file.toAbsolutePath());
+					try {
+						readLines(true, Long.MAX_VALUE);
+					} catch (IOException exc) {
+						Utils.logThrowable(logger(), OpLevel.ERROR,
+								StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"FileLineStream.error.reading", exc);
+					}
+				}
+				closeChannel();
+			}
+
+			private void closeChannel() {
+				Utils.close(channel);
+				channel = null;
+				fileKey = null;
+			}
 		}
 	}
 }
\ No newline at end of file
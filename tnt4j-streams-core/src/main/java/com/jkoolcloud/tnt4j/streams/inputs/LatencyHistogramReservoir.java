@@ -0,0 +1,407 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * Lock-free log-linear histogram reservoir used to record latencies in nanoseconds.
+ * <p>
+ * Values are counted in buckets having width growing by power of two, every power of two range split into
+ * {@code 2^precisionBits} linear sub-buckets, so recorded value precision is better than {@code 1/2^precisionBits}.
+ * Default precision is {@value #DEFAULT_PRECISION_BITS} bits ({@code 1/64}, ~1.6%). Values greater than highest
+ * trackable value (default - 1 hour in nanoseconds) are counted in the highest bucket.
+ * <p>
+ * Sub-buckets counters of every power of two range (64 counters, 512 bytes by default) are allocated on first value
+ * recorded within that range, so memory is taken only for value magnitudes actually recorded: latencies of a single
+ * stage typically span just a few orders of magnitude, taking few kilobytes per time window instead of ~19KB needed to
+ * cover whole default range. Recording value is time window check and single atomic increment of bucket counter, so
+ * recording does not take any lock (except rare window rotation) and allocates only when first value of new magnitude
+ * is recorded within time window.
+ * <p>
+ * Histogram covers recent time window: counters are rotated on update or snapshot, when more than
+ * {@value #WINDOW_SEC} seconds has elapsed since last rotation, and snapshot merges current and previous window
+ * counters. Snapshot copies only non-empty buckets.
+ *
+ * @version $Revision: 1 $
+ */
+class LatencyHistogramReservoir implements Reservoir {
+	private static final int DEFAULT_PRECISION_BITS = 6;
+	private static final long DEFAULT_HIGHEST_VALUE = TimeUnit.HOURS.toNanos(1);
+	private static final long WINDOW_SEC = 60;
+
+	private final int precisionBits;
+	private final int subBuckets;
+	private final long highestValue;
+	private final int rangesCount;
+	private final long windowNanos;
+
+	private volatile AtomicReferenceArray<AtomicLongArray> current;
+	private volatile AtomicReferenceArray<AtomicLongArray> previous;
+	private volatile long windowStart = System.nanoTime();
+
+	/**
+	 * Constructs a new LatencyHistogramReservoir having default {@value #WINDOW_SEC} seconds window, default
+	 * {@value #DEFAULT_PRECISION_BITS} bits precision and 1 hour highest trackable value.
+	 */
+	LatencyHistogramReservoir() {
+		this(WINDOW_SEC, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Constructs a new LatencyHistogramReservoir having default {@value #DEFAULT_PRECISION_BITS} bits precision and 1
+	 * hour highest trackable value.
+	 *
+	 * @param window
+	 *            histogram time window duration
+	 * @param unit
+	 *            time window duration units
+	 */
+	LatencyHistogramReservoir(long window, TimeUnit unit) {
+		this(DEFAULT_PRECISION_BITS, DEFAULT_HIGHEST_VALUE, window, unit);
+	}
+
+	/**
+	 * Constructs a new LatencyHistogramReservoir.
+	 *
+	 * @param precisionBits
+	 *            number of bits defining power of two range sub-buckets count, e.g. {@code 6} means {@code 64}
+	 *            sub-buckets and {@code 1/64} precision
+	 * @param highestValue
+	 *            highest trackable value, greater values are counted in the highest bucket
+	 * @param window
+	 *            histogram time window duration
+	 * @param unit
+	 *            time window duration units
+	 */
+	LatencyHistogramReservoir(int precisionBits, long highestValue, long window, TimeUnit unit) {
+		if (precisionBits < 1 || precisionBits > 16) {
+			throw new IllegalArgumentException("Precision bits " + precisionBits + " is not in [1..16]"); // NON-NLS
+		}
+		this.precisionBits = precisionBits;
+		this.subBuckets = 1 << precisionBits;
+		this.highestValue = Math.max(highestValue, 2L * subBuckets);
+		this.rangesCount = bucketIndex(this.highestValue, precisionBits) / subBuckets + 1;
+		this.windowNanos = unit.toNanos(window);
+		this.current = new AtomicReferenceArray<>(rangesCount);
+		this.previous = new AtomicReferenceArray<>(rangesCount);
+	}
+
+	/**
+	 * Resolves bucket index for provided value using default {@value #DEFAULT_PRECISION_BITS} bits precision.
+	 *
+	 * @param value
+	 *            value to resolve bucket index for
+	 * @return bucket index
+	 */
+	static int bucketIndex(long value) {
+		return bucketIndex(value, DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 * Resolves bucket index for provided value.
+	 *
+	 * @param value
+	 *            value to resolve bucket index for
+	 * @param precisionBits
+	 *            number of bits defining power of two range sub-buckets count
+	 * @return bucket index
+	 */
+	static int bucketIndex(long value, int precisionBits) {
+		if (value < 0) {
+			return 0;
+		}
+		int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - precisionBits - 1;
+		if (shift <= 0) {
+			return (int) value;
+		}
+		return (shift << precisionBits) + (int) (value >>> shift);
+	}
+
+	/**
+	 * Resolves lowest value counted in bucket having provided index using default {@value #DEFAULT_PRECISION_BITS}
+	 * bits precision.
+	 *
+	 * @param index
+	 *            bucket index
+	 * @return lowest bucket value
+	 */
+	static long bucketLowValue(int index) {
+		return bucketLowValue(index, DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 * Resolves lowest value counted in bucket having provided index.
+	 *
+	 * @param index
+	 *            bucket index
+	 * @param precisionBits
+	 *            number of bits defining power of two range sub-buckets count
+	 * @return lowest bucket value
+	 */
+	static long bucketLowValue(int index, int precisionBits) {
+		if (index < 2 << precisionBits) {
+			return index;
+		}
+		int shift = (index >>> precisionBits) - 1;
+		return (long) (index - (shift << precisionBits)) << shift;
+	}
+
+	/**
+	 * Resolves value representing all values counted in bucket having provided index - bucket values range median.
+	 * Default {@value #DEFAULT_PRECISION_BITS} bits precision is used.
+	 *
+	 * @param index
+	 *            bucket index
+	 * @return bucket representative value
+	 */
+	static long bucketValue(int index) {
+		return bucketValue(index, DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 * Resolves value representing all values counted in bucket having provided index - bucket values range median.
+	 *
+	 * @param index
+	 *            bucket index
+	 * @param precisionBits
+	 *            number of bits defining power of two range sub-buckets count
+	 * @return bucket representative value
+	 */
+	static long bucketValue(int index, int precisionBits) {
+		if (index < 2 << precisionBits) {
+			return index;
+		}
+		int shift = (index >>> precisionBits) - 1;
+		return bucketLowValue(index, precisionBits) + ((1L << shift) >>> 1);
+	}
+
+	@Override
+	public int size() {
+		return getSnapshot().size();
+	}
+
+	@Override
+	public void update(long value) {
+		rotate();
+		int index = bucketIndex(Math.min(value, highestValue), precisionBits);
+		rangeCounters(current, index >>> precisionBits).incrementAndGet(index & (subBuckets - 1));
+	}
+
+	private AtomicLongArray rangeCounters(AtomicReferenceArray<AtomicLongArray> window, int range) {
+		AtomicLongArray counters = window.get(range);
+		if (counters == null) {
+			counters = new AtomicLongArray(subBuckets);
+			if (!window.compareAndSet(range, null, counters)) {
+				counters = window.get(range);
+			}
+		}
+		return counters;
+	}
+
+	@Override
+	public Snapshot getSnapshot() {
+		rotate();
+
+		AtomicReferenceArray<AtomicLongArray> curr = current;
+		AtomicReferenceArray<AtomicLongArray> prev = previous;
+		int bucketsCount = 0;
+		for (int r = 0; r < rangesCount; r++) {
+			bucketsCount += countNonEmpty(curr.get(r), prev.get(r));
+		}
+
+		long[] values = new long[bucketsCount];
+		long[] counts = new long[bucketsCount];
+		int n = 0;
+		for (int r = 0; r < rangesCount && n < bucketsCount; r++) {
+			AtomicLongArray cCounters = curr.get(r);
+			AtomicLongArray pCounters = prev.get(r);
+			if (cCounters == null && pCounters == null) {
+				continue;
+			}
+			for (int i = 0; i < subBuckets && n < bucketsCount; i++) {
+				long count = count(cCounters, i) + count(pCounters, i);
+				if (count > 0) {
+					values[n] = bucketValue((r << precisionBits) + i, precisionBits);
+					counts[n] = count;
+					n++;
+				}
+			}
+		}
+
+		return new HistogramSnapshot(values, counts, n);
+	}
+
+	private int countNonEmpty(AtomicLongArray cCounters, AtomicLongArray pCounters) {
+		if (cCounters == null && pCounters == null) {
+			return 0;
+		}
+		int nonEmpty = 0;
+		for (int i = 0; i < subBuckets; i++) {
+			if (count(cCounters, i) + count(pCounters, i) > 0) {
+				nonEmpty++;
+			}
+		}
+		return nonEmpty;
+	}
+
+	private static long count(AtomicLongArray counters, int idx) {
+		return counters == null ? 0 : counters.get(idx);
+	}
+
+	private void rotate() {
+		long now = System.nanoTime();
+		if (now - windowStart < windowNanos) {
+			return;
+		}
+		synchronized (this) {
+			if (now - windowStart < windowNanos) {
+				return;
+			}
+			// when no updates were made for whole window, previous window values are outdated too
+			previous = now - windowStart < 2 * windowNanos ? current : new AtomicReferenceArray<>(rangesCount);
+			current = new AtomicReferenceArray<>(rangesCount);
+			windowStart = now;
+		}
+	}
+
+	/**
+	 * Histogram non-empty buckets snapshot. Buckets values are in ascending order.
+	 */
+	static class HistogramSnapshot extends Snapshot {
+		private static final int MAX_VALUES = 1024;
+
+		private final long[] values;
+		private final long[] counts;
+		private final int size;
+		private final long total;
+
+		HistogramSnapshot(long[] values, long[] counts, int size) {
+			this.values = values;
+			this.counts = counts;
+			this.size = size;
+
+			long sum = 0;
+			for (int i = 0; i < size; i++) {
+				sum += counts[i];
+			}
+			this.total = sum;
+		}
+
+		@Override
+		public double getValue(double quantile) {
+			if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+				throw new IllegalArgumentException(quantile + " is not in [0..1]"); // NON-NLS
+			}
+			if (total == 0) {
+				return 0.0;
+			}
+
+			long rank = Math.max(1, (long) Math.ceil(quantile * total));
+			long seen = 0;
+			for (int i = 0; i < size; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					return values[i];
+				}
+			}
+			return values[size - 1];
+		}
+
+		@Override
+		public long[] getValues() {
+			if (total == 0) {
+				return new long[0];
+			}
+
+			// values are expanded from buckets counters, scaled down to keep array size bounded
+			double scale = total > MAX_VALUES ? (double) MAX_VALUES / total : 1.0;
+			long[] expanded = new long[(int) Math.min(total, MAX_VALUES) + size];
+			int n = 0;
+			for (int i = 0; i < size; i++) {
+				long c = Math.max(1, Math.round(counts[i] * scale));
+				for (long j = 0; j < c && n < expanded.length; j++) {
+					expanded[n++] = values[i];
+				}
+			}
+			long[] result = new long[n];
+			System.arraycopy(expanded, 0, result, 0, n);
+			return result;
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.min(total, Integer.MAX_VALUE);
+		}
+
+		@Override
+		public long getMax() {
+			return total == 0 ? 0 : values[size - 1];
+		}
+
+		@Override
+		public double getMean() {
+			if (total == 0) {
+				return 0.0;
+			}
+
+			double sum = 0.0;
+			for (int i = 0; i < size; i++) {
+				sum += (double) counts[i] * values[i];
+			}
+			return sum / total;
+		}
+
+		@Override
+		public long getMin() {
+			return total == 0 ? 0 : values[0];
+		}
+
+		@Override
+		public double getStdDev() {
+			if (total <= 1) {
+				return 0.0;
+			}
+
+			double mean = getMean();
+			double variance = 0.0;
+			for (int i = 0; i < size; i++) {
+				double diff = values[i] - mean;
+				variance += counts[i] * diff * diff;
+			}
+			return Math.sqrt(variance / (total - 1));
+		}
+
+		@Override
+		public void dump(OutputStream output) {
+			try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+				for (int i = 0; i < size; i++) {
+					out.printf("%d %d%n", values[i], counts[i]); // NON-NLS
+				}
+			}
+		}
+	}
+}
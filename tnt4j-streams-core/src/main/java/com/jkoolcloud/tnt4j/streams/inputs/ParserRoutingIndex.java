@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
+
+/**
+ * Stream parsers routing index used to pick parser references candidates for RAW activity data item.
+ * <p>
+ * Index is built over stream bound parser references and keeps:
+ * <ul>
+ * <li>per data class ordered candidates list - parser references supporting that data class. Candidates list is built
+ * once for every data class, so {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)}
+ * is not called for every data item. Parsers having data support not cacheable by data class (see
+ * {@link com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupportCacheable()}) are always included into
+ * candidates list and data support is checked for every data item</li>
+ * <li>tag index - mapping tag value to set of parser references having that tag bound, so data tags matching does not
+ * need to go through all parser references tags</li>
+ * </ul>
+ * By default candidates are ordered same as parser references were bound to stream. If adaptive ordering is enabled,
+ * index counts parser references hits (successful parsing) and periodically reorders data class candidates by hits
+ * count, using configuration defined order as tie-breaker. Note that adaptive ordering changes parsers precedence, so
+ * it shall be used only when stream parsers accepts disjoint sets of data items.
+ *
+ * @version $Revision: 1 $
+ */
+class ParserRoutingIndex {
+	/**
+	 * Number of data class routed items to reorder candidates after.
+	 */
+	static final int REORDER_INTERVAL = 1024;
+
+	private final ParserReference[] refs;
+	private final boolean adaptive;
+
+	private final BitSet untaggedRefs = new BitSet();
+	private final BitSet dynamicRefs = new BitSet();
+	private final Map<String, BitSet> tagRefs = new HashMap<>();
+	private final Map<Class<?>, Route> routes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new ParserRoutingIndex.
+	 *
+	 * @param parserRefs
+	 *            stream parser references in configuration defined order
+	 * @param adaptive
+	 *            flag indicating whether to reorder candidates by parser references hits count
+	 */
+	ParserRoutingIndex(Collection<ParserReference> parserRefs, boolean adaptive) {
+		this.refs = parserRefs.toArray(new ParserReference[0]);
+		this.adaptive = adaptive;
+
+		for (int i = 0; i < refs.length; i++) {
+			if (!refs[i].getParser().isDataClassSupportCacheable()) {
+				dynamicRefs.set(i);
+			}
+			String[] tags = refs[i].getTags();
+			if (ArrayUtils.isEmpty(tags)) {
+				untaggedRefs.set(i);
+			} else {
+				for (String tag : tags) {
+					tagRefs.computeIfAbsent(tag, t -> new BitSet()).set(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns parser reference for provided index.
+	 *
+	 * @param idx
+	 *            parser reference index
+	 * @return parser reference
+	 */
+	ParserReference getReference(int idx) {
+		return refs[idx];
+	}
+
+	/**
+	 * Returns number of indexed parser references.
+	 *
+	 * @return number of indexed parser references
+	 */
+	int size() {
+		return refs.length;
+	}
+
+	/**
+	 * Returns routing entry for provided data item class. Routing entry is built on first request for that data class.
+	 *
+	 * @param data
+	 *            activity data item
+	 * @return data item class routing entry
+	 */
+	Route getRoute(Object data) {
+		return routes.computeIfAbsent(data.getClass(), dc -> buildRoute(data));
+	}
+
+	private Route buildRoute(Object data) {
+		int[] candidates = new int[refs.length];
+		int count = 0;
+		for (int i = 0; i < refs.length; i++) {
+			if (dynamicRefs.get(i) || refs[i].getParser().isDataClassSupported(data)) {
+				candidates[count++] = i;
+			}
+		}
+
+		return new Route(Arrays.copyOf(candidates, count));
+	}
+
+	/**
+	 * Checks whether routing candidate parser reference supports provided data item. For parsers having data support
+	 * cacheable by data class, this check is already made while building data class route.
+	 *
+	 * @param idx
+	 *            parser reference index
+	 * @param data
+	 *            activity data item
+	 * @return {@code true} if referenced parser can process data item, {@code false} - otherwise
+	 */
+	boolean isDataClassSupported(int idx, Object data) {
+		return !dynamicRefs.get(idx) || refs[idx].getParser().isDataClassSupported(data);
+	}
+
+	/**
+	 * Resolves set of parser references indices having any of provided data tags bound.
+	 *
+	 * @param dataTags
+	 *            data tags array
+	 * @return set of parser references indices having any of data tags bound, or {@code null} if {@code dataTags} is
+	 *         {@code null} or empty
+	 */
+	BitSet matchTags(String[] dataTags) {
+		if (ArrayUtils.isEmpty(dataTags)) {
+			return null;
+		}
+
+		BitSet matched = new BitSet(refs.length);
+		for (String tag : dataTags) {
+			BitSet tRefs = tagRefs.get(tag);
+			if (tRefs != null) {
+				matched.or(tRefs);
+			}
+		}
+
+		return matched;
+	}
+
+	/**
+	 * Checks if parser reference has no tags bound.
+	 *
+	 * @param idx
+	 *            parser reference index
+	 * @return {@code true} if parser reference has no tags bound, {@code false} - otherwise
+	 */
+	boolean isUntagged(int idx) {
+		return untaggedRefs.get(idx);
+	}
+
+	/**
+	 * Data class routing entry: ordered parser references candidates supporting that data class.
+	 */
+	class Route {
+		private volatile int[] order;
+		private final AtomicLongArray hits;
+		private final AtomicLong routed = new AtomicLong();
+
+		private Route(int[] candidates) {
+			this.order = candidates;
+			this.hits = adaptive ? new AtomicLongArray(refs.length) : null;
+		}
+
+		/**
+		 * Returns ordered parser references candidates indices.
+		 *
+		 * @return parser references candidates indices
+		 */
+		int[] getCandidates() {
+			return order;
+		}
+
+		/**
+		 * Accounts parser reference hit - parser has successfully parsed data item. When adaptive ordering is enabled,
+		 * on every {@value #REORDER_INTERVAL} routed item candidates get reordered by hits count.
+		 *
+		 * @param idx
+		 *            parser reference index
+		 */
+		void hit(int idx) {
+			if (hits == null) {
+				return;
+			}
+
+			hits.incrementAndGet(idx);
+			if (routed.incrementAndGet() % REORDER_INTERVAL == 0) {
+				reorder();
+			}
+		}
+
+		private void reorder() {
+			Integer[] ordered = ArrayUtils.toObject(order);
+			Arrays.sort(ordered, (i1, i2) -> {
+				int cmp = Long.compare(hits.get(i2), hits.get(i1));
+				return cmp == 0 ? Integer.compare(i1, i2) : cmp;
+			});
+
+			order = ArrayUtils.toPrimitive(ordered);
+		}
+	}
+}
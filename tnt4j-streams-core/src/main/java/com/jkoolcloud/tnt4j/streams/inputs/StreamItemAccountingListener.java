@@ -35,6 +35,25 @@ public interface StreamItemAccountingListener {
 	 */
 	void onItemFiltered();
 
+	/**
+	 * This method gets called when streamed item gets filtered before parser has resolved all activity fields.
+	 * <p>
+	 * Filtered early item is accounted as filtered too, so this method gets called in addition to
+	 * {@link #onItemFiltered()}. Default implementation does nothing.
+	 */
+	default void onItemFilteredEarly() {
+	}
+
+	/**
+	 * This method gets called when streamed item gets filtered out by stream RAW activity data filter before any
+	 * parser gets applied.
+	 * <p>
+	 * Pre-filtered item is accounted as filtered too, so this method gets called in addition to
+	 * {@link #onItemFiltered()}. Default implementation does nothing.
+	 */
+	default void onItemPreFiltered() {
+	}
+
 	/**
 	 * This method gets called when streamed item gets skipped.
 	 */
@@ -22,7 +22,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 
 import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
@@ -49,6 +48,12 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>ExecutorsTerminationTimeout - time to wait (in seconds) for a task to be inserted into bounded queue if max.
  * queue size is reached. Default value - {@code 20}. (Optional, actual only if {@code ExecutorsBoundedModel} is set to
  * {@code true})</li>
+ * <li>ExecutorBatchSize - defines maximal number of activity data items handed off to executor service as single
+ * processing task. Value {@code 1} means every item is processed by separate task. Default value - {@code 1}.
+ * (Optional, actual only if {@code UseExecutors} is set to {@code true})</li>
+ * <li>ExecutorBatchLingerMs - time to wait (in milliseconds) for a items batch to fill up before handing it off to
+ * executor service. Value {@code <= 0} means batch is handed off only when it gets full or stream ends. Default value
+ * - {@code 100}. (Optional, actual only if {@code ExecutorBatchSize} is greater than {@code 1})</li>
  * <li>PingLogActivityCount - defines repetitive number of streamed activity entities to put "ping" log entry with
  * stream statistics. Default value - {@code -1} meaning "NEVER". (Optional, can be OR'ed with
  * {@code PingLogActivityDelay})</li>
@@ -73,6 +78,8 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	private static final int DEFAULT_EXECUTOR_THREADS_QTY = 4;
 	private static final int DEFAULT_EXECUTORS_TERMINATION_TIMEOUT = 20;
 	private static final int DEFAULT_EXECUTOR_REJECTED_TASK_TIMEOUT = 20;
+	private static final int DEFAULT_EXECUTOR_BATCH_SIZE = 1;
+	private static final long DEFAULT_EXECUTOR_BATCH_LINGER = 100;
 
 	/**
 	 * StreamThread running this stream.
@@ -91,8 +98,13 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 
 	private final List<InputStreamListener> streamListeners = new ArrayList<>(3);
 	private final List<StreamTasksListener> streamTasksListeners = new ArrayList<>(3);
-	private final Map<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> streamItemProcessingListeners = new HashMap<>();
-	private final List<StreamItemAccountingListener> streamItemAccountingListeners = new ArrayList<>(3);
+	private final List<StreamItemProcessingListener<Timer.Context>> streamItemProcessingListeners = new ArrayList<>(3);
+	private volatile StreamItemProcessingListener<?>[] itemProcessingListenersSnapshot = new StreamItemProcessingListener<?>[0];
+	private final CopyOnWriteArrayList<StreamItemAccountingListener> streamItemAccountingListeners = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<ItemProcessingContexts> nextItemContexts = ThreadLocal
+			.withInitial(ItemProcessingContexts::new);
+	private final ThreadLocal<ItemProcessingContexts> processItemContexts = ThreadLocal
+			.withInitial(ItemProcessingContexts::new);
 
 	private boolean useExecutorService = false;
 	private ExecutorService streamExecutorService = null;
@@ -102,6 +114,11 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	private int executorThreadsQty = DEFAULT_EXECUTOR_THREADS_QTY;
 	private int executorsTerminationTimeout = DEFAULT_EXECUTORS_TERMINATION_TIMEOUT;
 	private int executorRejectedTaskOfferTimeout = DEFAULT_EXECUTOR_REJECTED_TASK_TIMEOUT;
+	private int executorBatchSize = DEFAULT_EXECUTOR_BATCH_SIZE;
+	private long executorBatchLinger = DEFAULT_EXECUTOR_BATCH_LINGER;
+
+	private ScheduledExecutorService batchLingerService = null;
+	private volatile ActivityItemsBatchProcessingTask itemsBatch = null;
 
 	private int pingLogActivitiesCount = -1;
 	private int pingLogActivitiesDelay = -1;
@@ -229,6 +246,10 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			executorsTerminationTimeout = Integer.parseInt(value);
 		} else if (StreamProperties.PROP_EXECUTORS_BOUNDED.equalsIgnoreCase(name)) {
 			boundedExecutorModel = Utils.toBoolean(value);
+		} else if (StreamProperties.PROP_EXECUTOR_BATCH_SIZE.equalsIgnoreCase(name)) {
+			executorBatchSize = Integer.parseInt(value);
+		} else if (StreamProperties.PROP_EXECUTOR_BATCH_LINGER.equalsIgnoreCase(name)) {
+			executorBatchLinger = Long.parseLong(value);
 		} else if (StreamProperties.PROP_PING_LOG_ACTIVITY_COUNT.equalsIgnoreCase(name)) {
 			pingLogActivitiesCount = Integer.parseInt(value);
 		} else if (StreamProperties.PROP_PING_LOG_ACTIVITY_DELAY.equalsIgnoreCase(name)) {
@@ -279,6 +300,12 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		if (StreamProperties.PROP_EXECUTORS_BOUNDED.equals(name)) {
 			return boundedExecutorModel;
 		}
+		if (StreamProperties.PROP_EXECUTOR_BATCH_SIZE.equals(name)) {
+			return executorBatchSize;
+		}
+		if (StreamProperties.PROP_EXECUTOR_BATCH_LINGER.equals(name)) {
+			return executorBatchLinger;
+		}
 		if (StreamProperties.PROP_STREAM_NAME.equals(name)) {
 			return this.name;
 		}
@@ -321,6 +348,11 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			streamExecutorService = boundedExecutorModel
 					? getBoundedExecutorService(executorThreadsQty, executorRejectedTaskOfferTimeout)
 					: getDefaultExecutorService(executorThreadsQty);
+
+			if (executorBatchSize > 1 && executorBatchLinger > 0) {
+				batchLingerService = Executors.newSingleThreadScheduledExecutor(
+						new StreamsThreadFactory("StreamExecutorBatchLingerThread-")); // NON-NLS
+			}
 		} else {
 			out.handleConsumerThread(isOwned() ? ownerThread : Thread.currentThread());
 		}
@@ -541,10 +573,8 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Increments processing skipped activity items count.
 	 */
 	protected void incrementSkippedActivitiesCount() {
-		synchronized (streamItemAccountingListeners) {
-			for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
-				streamItemAccountingListener.onItemSkipped();
-			}
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onItemSkipped();
 		}
 	}
 
@@ -552,10 +582,27 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Increments processing filtered activity items count.
 	 */
 	protected void incrementFilteredActivitiesCount() {
-		synchronized (streamItemAccountingListeners) {
-			for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
-				streamItemAccountingListener.onItemFiltered();
-			}
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onItemFiltered();
+		}
+	}
+
+	/**
+	 * Increments processing filtered activity items count for items filtered before all activity fields were parsed.
+	 */
+	protected void incrementFilteredEarlyActivitiesCount() {
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onItemFilteredEarly();
+		}
+	}
+
+	/**
+	 * Increments processing filtered activity items count for RAW activity data items filtered before applying
+	 * parsers.
+	 */
+	protected void incrementPreFilteredActivitiesCount() {
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onItemPreFiltered();
 		}
 	}
 
@@ -563,10 +610,8 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Increments processing skipped lost activity items count.
 	 */
 	protected void incrementLostActivitiesCount() {
-		synchronized (streamItemAccountingListeners) {
-			for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
-				streamItemAccountingListener.onItemLost();
-			}
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onItemLost();
 		}
 	}
 
@@ -586,11 +631,10 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 *            number of bytes to add
 	 */
 	protected void addStreamedBytesCount(long bytesCount) {
-		synchronized (streamItemAccountingListeners) {
-			for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
-				streamItemAccountingListener.onBytesStreamed(bytesCount);
-				streamItemAccountingListener.updateTotal(getTotalBytes());
-			}
+		long totalBytes = getTotalBytes();
+		for (StreamItemAccountingListener streamItemAccountingListener : streamItemAccountingListeners) {
+			streamItemAccountingListener.onBytesStreamed(bytesCount);
+			streamItemAccountingListener.updateTotal(totalBytes);
 		}
 	}
 
@@ -714,15 +758,12 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			}
 		}
 
-		synchronized (streamItemAccountingListeners) {
-			if (CollectionUtils.isNotEmpty(streamItemAccountingListeners)) {
-				streamItemAccountingListeners.clear();
-			}
-		}
+		streamItemAccountingListeners.clear();
 
 		synchronized (streamItemProcessingListeners) {
-			if (MapUtils.isNotEmpty(streamItemProcessingListeners)) {
+			if (CollectionUtils.isNotEmpty(streamItemProcessingListeners)) {
 				streamItemProcessingListeners.clear();
+				itemProcessingListenersSnapshot = new StreamItemProcessingListener<?>[0];
 			}
 		}
 	}
@@ -732,6 +773,11 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			return;
 		}
 
+		if (batchLingerService != null) {
+			batchLingerService.shutdownNow();
+		}
+		submitItemsBatch(itemsBatch);
+
 		streamExecutorService.shutdown();
 		try {
 			streamExecutorService.awaitTermination(executorsTerminationTimeout, TimeUnit.SECONDS);
@@ -778,12 +824,15 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 					if (item == null) {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"TNTInputStream.data.stream.ended", name);
+						submitItemsBatch(itemsBatch);
 						if (!isHalted()) {
 							halt(false); // no more data items to process
 						}
 					} else {
 						if (streamExecutorService == null) {
 							processActivityItem_(item, failureFlag);
+						} else if (executorBatchSize > 1) {
+							addToItemsBatch(item, getActivityPosition());
 						} else {
 							streamExecutorService
 									.submit(new ActivityItemProcessingTask(item, failureFlag, getActivityPosition()));
@@ -822,6 +871,63 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		}
 	}
 
+	/**
+	 * Adds raw activity data item to currently filled in items batch. When batch gets full, it is handed off to
+	 * executor service. If there is no batch being filled in, new one is created and, if batch linger time is defined,
+	 * scheduled to be handed off when linger time elapses.
+	 *
+	 * @param item
+	 *            raw activity data item
+	 * @param activityPosition
+	 *            streamed activity position index
+	 */
+	private void addToItemsBatch(T item, int activityPosition) {
+		ActivityItemsBatchProcessingTask batch = itemsBatch;
+		if (batch == null || !batch.add(item, activityPosition)) {
+			batch = new ActivityItemsBatchProcessingTask(executorBatchSize, failureFlag);
+			batch.add(item, activityPosition);
+			itemsBatch = batch;
+
+			if (batchLingerService != null && !batchLingerService.isShutdown()) {
+				ActivityItemsBatchProcessingTask lingeringBatch = batch;
+				try {
+					batchLingerService.schedule(new Runnable() {
+						@Override
+						public void run() {
+							submitItemsBatch(lingeringBatch);
+						}
+					}, executorBatchLinger, TimeUnit.MILLISECONDS);
+				} catch (RejectedExecutionException exc) {
+					// batch can't linger, so it is handed off right away or reported as dropped off
+					submitItemsBatch(lingeringBatch);
+				}
+			}
+		}
+
+		if (batch.isFull()) {
+			submitItemsBatch(batch);
+		}
+	}
+
+	/**
+	 * Seals provided items batch and hands it off to executor service. If batch is already sealed (handed off), nothing
+	 * is done. If executor service rejects batch, batch task is reported as dropped off.
+	 *
+	 * @param batch
+	 *            items batch to hand off
+	 */
+	private void submitItemsBatch(ActivityItemsBatchProcessingTask batch) {
+		if (batch == null || !batch.seal()) {
+			return;
+		}
+
+		try {
+			streamExecutorService.submit(batch);
+		} catch (RejectedExecutionException exc) {
+			notifyStreamTasksDropOff(Collections.<Runnable> singletonList(batch));
+		}
+	}
+
 	/**
 	 * Checks if stream has been started shot down process.
 	 * 
@@ -1063,11 +1169,7 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			return;
 		}
 
-		synchronized (streamItemAccountingListeners) {
-			if (!streamItemAccountingListeners.contains(l)) {
-				streamItemAccountingListeners.add(l);
-			}
-		}
+		streamItemAccountingListeners.addIfAbsent(l);
 	}
 
 	/**
@@ -1077,10 +1179,8 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 *            the {@code StreamItemAccountingListener} to be removed
 	 */
 	public void removeStreamItemAccountingListener(StreamItemAccountingListener l) {
-		synchronized (streamItemAccountingListeners) {
-			if (l != null) {
-				streamItemAccountingListeners.remove(l);
-			}
+		if (l != null) {
+			streamItemAccountingListeners.remove(l);
 		}
 	}
 
@@ -1096,8 +1196,10 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		}
 
 		synchronized (streamItemProcessingListeners) {
-			if (!streamItemProcessingListeners.containsKey(l)) {
-				streamItemProcessingListeners.put(l, null);
+			if (!streamItemProcessingListeners.contains(l)) {
+				streamItemProcessingListeners.add(l);
+				itemProcessingListenersSnapshot = streamItemProcessingListeners
+						.toArray(new StreamItemProcessingListener<?>[streamItemProcessingListeners.size()]);
 			}
 		}
 	}
@@ -1110,8 +1212,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 */
 	public void removeItemProcessingListener(StreamItemProcessingListener<Timer.Context> l) {
 		synchronized (streamItemProcessingListeners) {
-			if (l != null) {
-				streamItemProcessingListeners.remove(l);
+			if (l != null && streamItemProcessingListeners.remove(l)) {
+				itemProcessingListenersSnapshot = streamItemProcessingListeners
+						.toArray(new StreamItemProcessingListener<?>[streamItemProcessingListeners.size()]);
 			}
 		}
 	}
@@ -1120,11 +1223,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Notifies stream items processing listeners that stream is going to get next item to process.
 	 */
 	protected void beforeNextItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.setValue(entry.getKey().beforeNextItem());
-			}
+		ItemProcessingContexts ipc = nextItemContexts.get().reset(itemProcessingListenersSnapshot);
+		for (int i = 0; i < ipc.listeners.length; i++) {
+			ipc.contexts[i] = ipc.listener(i).beforeNextItem();
 		}
 	}
 
@@ -1132,11 +1233,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Notifies stream items processing listeners that stream has got next item to process.
 	 */
 	protected void afterNextItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.getKey().afterNextItem(entry.getValue());
-			}
+		ItemProcessingContexts ipc = nextItemContexts.get();
+		for (int i = 0; i < ipc.listeners.length; i++) {
+			ipc.listener(i).afterNextItem(ipc.release(i));
 		}
 	}
 
@@ -1144,11 +1243,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Notifies stream items processing listeners that stream is starting activity item processing/parsing.
 	 */
 	protected void beforeProcessItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.setValue(entry.getKey().beforeProcessItem());
-			}
+		ItemProcessingContexts ipc = processItemContexts.get().reset(itemProcessingListenersSnapshot);
+		for (int i = 0; i < ipc.listeners.length; i++) {
+			ipc.contexts[i] = ipc.listener(i).beforeProcessItem();
 		}
 	}
 
@@ -1156,11 +1253,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 * Notifies stream items processing listeners that stream has completed activity item processing (parsing).
 	 */
 	protected void afterProcessItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.getKey().afterProcessItem(entry.getValue());
-			}
+		ItemProcessingContexts ipc = processItemContexts.get();
+		for (int i = 0; i < ipc.listeners.length; i++) {
+			ipc.listener(i).afterProcessItem(ipc.release(i));
 		}
 	}
 
@@ -1255,6 +1350,21 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		}
 	}
 
+	/**
+	 * Notifies that activity item recording has failed outside stream processing thread (e.g. by asynchronous stream
+	 * output sender) and accounts item as skipped, the same way as item processing failure is handled by stream.
+	 *
+	 * @param item
+	 *            activity item failed to be recorded
+	 * @param exc
+	 *            recording failure exception
+	 */
+	public void notifyItemRecordingFailure(Object item, Throwable exc) {
+		notifyStreamEvent(OpLevel.ERROR, StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+				"TNTInputStream.failed.record.activity", Utils.getExceptionMessages(exc)), item);
+		incrementSkippedActivitiesCount();
+	}
+
 	/**
 	 * Adds defined {@code StreamTasksListener} to stream tasks listeners list.
 	 *
@@ -1342,6 +1452,78 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		return passStr;
 	}
 
+	/**
+	 * Performs processing of raw activity data item running within executor service task. Any exception thrown while
+	 * processing item is logged and item is accounted as skipped.
+	 *
+	 * @param item
+	 *            raw activity data item
+	 * @param failureFlag
+	 *            item processing failure flag instance
+	 * @param activityPosition
+	 *            streamed activity position index
+	 */
+	private void processActivityItemTask(T item, AtomicBoolean failureFlag, int activityPosition) {
+		try {
+			processActivityItem_(item, failureFlag);
+		} catch (Exception e) { // TODO: better handling
+			Utils.logThrowable(logger(), OpLevel.ERROR,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"TNTInputStream.failed.record.activity.at", activityPosition, e);
+			notifyStreamEvent(OpLevel.ERROR,
+					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+							"TNTInputStream.failed.record.activity.at", activityPosition,
+							Utils.getExceptionMessages(e)),
+					item);
+			incrementSkippedActivitiesCount();
+		}
+	}
+
+	/**
+	 * Holds stream items processing listeners snapshot and listeners returned processing contexts for a single stream
+	 * item processing stage. Instance is bound to invoking thread and reused for every item processed by that thread,
+	 * thus no synchronization nor per item allocation is required to dispatch listener notifications.
+	 */
+	private static class ItemProcessingContexts {
+		private StreamItemProcessingListener<?>[] listeners = new StreamItemProcessingListener<?>[0];
+		private StreamItemProcessingListener.Context<?>[] contexts = new StreamItemProcessingListener.Context<?>[0];
+
+		/**
+		 * Binds this holder to provided listeners snapshot. Contexts array is reallocated only when listeners snapshot
+		 * changes, e.g. when listeners are added or removed.
+		 *
+		 * @param listeners
+		 *            item processing listeners snapshot
+		 * @return this contexts holder instance
+		 */
+		private ItemProcessingContexts reset(StreamItemProcessingListener<?>[] listeners) {
+			if (this.listeners != listeners) {
+				this.listeners = listeners;
+				this.contexts = new StreamItemProcessingListener.Context<?>[listeners.length];
+			}
+			return this;
+		}
+
+		@SuppressWarnings("unchecked")
+		private StreamItemProcessingListener<Timer.Context> listener(int idx) {
+			return (StreamItemProcessingListener<Timer.Context>) listeners[idx];
+		}
+
+		/**
+		 * Returns listener context and clears context reference held by this holder.
+		 *
+		 * @param idx
+		 *            listener index
+		 * @return listener returned processing context
+		 */
+		@SuppressWarnings("unchecked")
+		private StreamItemProcessingListener.Context<Timer.Context> release(int idx) {
+			Object context = contexts[idx];
+			contexts[idx] = null;
+			return (StreamItemProcessingListener.Context<Timer.Context>) context;
+		}
+	}
+
 	private class ActivityItemProcessingTask implements Runnable {
 		private T item;
 		private AtomicBoolean failureFlag;
@@ -1365,19 +1547,7 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 
 		@Override
 		public void run() {
-			try {
-				processActivityItem_(item, failureFlag);
-			} catch (Exception e) { // TODO: better handling
-				Utils.logThrowable(logger(), OpLevel.ERROR,
-						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-						"TNTInputStream.failed.record.activity.at", activityPosition, e);
-				notifyStreamEvent(OpLevel.ERROR,
-						StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
-								"TNTInputStream.failed.record.activity.at", activityPosition,
-								Utils.getExceptionMessages(e)),
-						item);
-				incrementSkippedActivitiesCount();
-			}
+			processActivityItemTask(item, failureFlag, activityPosition);
 		}
 
 		/**
@@ -1391,6 +1561,96 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		}
 	}
 
+	private class ActivityItemsBatchProcessingTask implements Runnable {
+		private final Object[] items;
+		private final int[] activityPositions;
+		private final AtomicBoolean failureFlag;
+		private int size = 0;
+		private boolean sealed = false;
+
+		/**
+		 * Constructs a new ActivityItemsBatchProcessingTask.
+		 *
+		 * @param batchSize
+		 *            maximal number of raw activity data items in batch
+		 * @param failureFlag
+		 *            failure flag to set value if item processing fails
+		 */
+		ActivityItemsBatchProcessingTask(int batchSize, AtomicBoolean failureFlag) {
+			this.items = new Object[batchSize];
+			this.activityPositions = new int[batchSize];
+			this.failureFlag = failureFlag;
+		}
+
+		/**
+		 * Adds raw activity data item to this batch.
+		 *
+		 * @param activityItem
+		 *            raw activity data item to process asynchronously
+		 * @param activityPosition
+		 *            streamed activity position index
+		 * @return {@code true} if item was added to batch, {@code false} - if batch is already sealed or full
+		 */
+		synchronized boolean add(T activityItem, int activityPosition) {
+			if (sealed || size >= items.length) {
+				return false;
+			}
+
+			items[size] = activityItem;
+			activityPositions[size] = activityPosition;
+			size++;
+
+			return true;
+		}
+
+		/**
+		 * Checks whether this batch is filled up to maximal size.
+		 *
+		 * @return {@code true} if batch is full, {@code false} - otherwise
+		 */
+		synchronized boolean isFull() {
+			return size >= items.length;
+		}
+
+		/**
+		 * Seals this batch making it unavailable to add more items.
+		 *
+		 * @return {@code true} if batch got sealed by this call, {@code false} - if batch was already sealed
+		 */
+		synchronized boolean seal() {
+			if (sealed) {
+				return false;
+			}
+
+			sealed = true;
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void run() {
+			int itemsCount;
+			synchronized (this) {
+				itemsCount = size;
+			}
+			for (int i = 0; i < itemsCount; i++) {
+				processActivityItemTask((T) items[i], failureFlag, activityPositions[i]);
+				items[i] = null;
+			}
+		}
+
+		/**
+		 * Return string representing class name of task object and wrapped activity items data.
+		 *
+		 * @return a string representing activity items batch processing task
+		 */
+		@Override
+		public synchronized String toString() {
+			return ActivityItemsBatchProcessingTask.class.getSimpleName() + " {items=" // NON-NLS
+					+ Arrays.toString(Arrays.copyOf(items, size)) + '}';
+		}
+	}
+
 	/**
 	 * TNT4J-Streams thread factory.
 	 *
@@ -16,9 +16,9 @@
 
 package com.jkoolcloud.tnt4j.streams.inputs;
 
-import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -46,8 +46,16 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
 
 /**
  * Class accounting running stream(s) statistics covering processing counts/timing and other various metrics.
+ * <p>
+ * Items accounting counters are backed by striped (per-thread cell) adders, merged when counter value is read, so
+ * accounting an item does not take any lock.
+ * <p>
+ * Items reading, processing and output latencies are recorded by timers backed by lock-free log-linear histograms (see
+ * {@link com.jkoolcloud.tnt4j.streams.inputs.LatencyHistogramReservoir}), exposing latency percentiles over JMX.
+ * Reading and processing stages start times are kept per thread, and output stage start time is carried by activity
+ * item itself, so timing an item does not allocate any timer context objects.
  * 
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  * 
  * @see com.jkoolcloud.tnt4j.streams.inputs.StreamStatisticsReporter
  */
@@ -60,16 +68,18 @@ public class TNTInputStreamStatistics
 	 */
 	static final String START_TIME_KEY = ":start time"; // NON-NLS
 
-	private static TNTInputStreamStatistics delegate;
-	private static Map<TNTInputStream<?, ?>, TNTInputStreamStatistics> streamStatistics = new HashMap<>();
+	private static volatile TNTInputStreamStatistics delegate;
+	private static Map<TNTInputStream<?, ?>, TNTInputStreamStatistics> streamStatistics = new ConcurrentHashMap<>();
 
 	private final MetricRegistry metrics = new MetricRegistry();
-	private final HashMap<Object, Timer.Context> pendingOutputs = new HashMap<>();
+	private final Map<Object, Long> pendingOutputs = new ConcurrentHashMap<>();
+	private final ThreadLocal<long[]> stagesStartTime = ThreadLocal.withInitial(() -> new long[2]);
 	private final JmxReporter jmxReporter = JmxReporter.forRegistry(metrics).inDomain("com.jkoolcloud.tnt4j.streams") // NON-NLS
 			.createsObjectNamesWith(new StreamsStatsObjectNameFactory()).build();
 	private TNTInputStream<?, ?> refStream = null;
+	private final String streamName;
 
-	private Long bytesTotalValue = 0L;
+	private volatile long bytesTotalValue = 0L;
 	private Integer reporterCount;
 
 	private Slf4jReporter sfl4jReporter;
@@ -79,6 +89,8 @@ public class TNTInputStreamStatistics
 	private Timer outputTimer;
 	private Counter skippedActivitiesCount;
 	private Counter filteredActivitiesCount;
+	private Counter filteredEarlyActivitiesCount;
+	private Counter preFilteredActivitiesCount;
 	private Counter lostActivitiesCount;
 	private Meter totalActivities;
 	private Counter processedActivitiesCount;
@@ -99,6 +111,7 @@ public class TNTInputStreamStatistics
 			streamName = stream.getName();
 			refStream = stream;
 		}
+		this.streamName = streamName;
 
 		if (stream == null) {
 			try {
@@ -116,6 +129,24 @@ public class TNTInputStreamStatistics
 						return StreamsCache.cacheSize() + "/" + StreamsCache.cacheMaxSize();
 					}
 				});
+				metrics.register(streamName + ":cache hits", new Gauge<Long>() {
+					@Override
+					public Long getValue() {
+						return StreamsCache.cacheStats().hitCount();
+					}
+				});
+				metrics.register(streamName + ":cache misses", new Gauge<Long>() {
+					@Override
+					public Long getValue() {
+						return StreamsCache.cacheStats().missCount();
+					}
+				});
+				metrics.register(streamName + ":cache evictions", new Gauge<Long>() {
+					@Override
+					public Long getValue() {
+						return StreamsCache.cacheStats().evictionCount();
+					}
+				});
 			} catch (Exception e) {
 			}
 		} else {
@@ -127,15 +158,45 @@ public class TNTInputStreamStatistics
 					return Duration.durationHMS(startTime.getCount());
 				}
 			});
+			String sName = streamName;
+			metrics.register(streamName + ":cache shards load", new Gauge<String>() { // NON-NLS
+				@Override
+				public String getValue() {
+					return StreamsCache.cacheSize(sName) + "/" + StreamsCache.cacheMaxSize(sName);
+				}
+			});
+			metrics.register(streamName + ":cache shards hits", new Gauge<Long>() { // NON-NLS
+				@Override
+				public Long getValue() {
+					return StreamsCache.cacheStats(sName).hitCount();
+				}
+			});
+			metrics.register(streamName + ":cache shards misses", new Gauge<Long>() { // NON-NLS
+				@Override
+				public Long getValue() {
+					return StreamsCache.cacheStats(sName).missCount();
+				}
+			});
+			metrics.register(streamName + ":cache shards evictions", new Gauge<Long>() { // NON-NLS
+				@Override
+				public Long getValue() {
+					return StreamsCache.cacheStats(sName).evictionCount();
+				}
+			});
 		}
 
 		jmxReporter.start();
-		streamsItemsTimer = metrics.timer(streamName + ":input timer"); // NON-NLS
-		processingTimer = metrics.timer(streamName + ":processing timer"); // NON-NLS
-		outputTimer = metrics.timer(streamName + ":output:timer"); // NON-NLS
+		streamsItemsTimer = metrics.timer(streamName + ":input timer", // NON-NLS
+				TNTInputStreamStatistics::newLatencyTimer);
+		processingTimer = metrics.timer(streamName + ":processing timer", // NON-NLS
+				TNTInputStreamStatistics::newLatencyTimer);
+		outputTimer = metrics.timer(streamName + ":output:timer", // NON-NLS
+				TNTInputStreamStatistics::newLatencyTimer);
 
 		skippedActivitiesCount = metrics.counter(streamName + ":skipped entities"); // NON-NLS
 		filteredActivitiesCount = metrics.counter(streamName + ":filtered entities"); // NON-NLS
+		filteredEarlyActivitiesCount = metrics.counter(streamName + ":filtered early entities"); // NON-NLS
+		preFilteredActivitiesCount = metrics.counter(streamName + ":pre-filtered entities"); // NON-NLS
 		lostActivitiesCount = metrics.counter(streamName + ":lost entities"); // NON-NLS
 		totalActivities = metrics.meter(streamName + ":total entities"); // NON-NLS
 		processedActivitiesCount = metrics.counter(streamName + ":processed entities"); // NON-NLS
@@ -154,18 +215,43 @@ public class TNTInputStreamStatistics
 		bytesStreamed = metrics.counter(streamName + ":bytes streamed"); // NON-NLS
 	}
 
+	private static Timer newLatencyTimer() {
+		return new Timer(new LatencyHistogramReservoir());
+	}
+
+	/**
+	 * Registers stream output provided gauge metric, e.g. output internal caches statistics. Metric name gets stream
+	 * name and {@code ":output:"} prefix. Previously registered metric having same name is replaced, so output can
+	 * register its metrics again on re-initialization.
+	 *
+	 * @param name
+	 *            metric name
+	 * @param gauge
+	 *            gauge metric to register
+	 */
+	public void registerOutputGauge(String name, Gauge<?> gauge) {
+		String metricName = streamName + ":output:" + name; // NON-NLS
+		metrics.remove(metricName);
+		metrics.register(metricName, gauge);
+	}
+
 	/**
 	 * Returns aggregated statistics accounting module for all running streams.
 	 *
 	 * @return statistics accounting module instance
 	 */
 	public static TNTInputStreamStatistics getMainStatisticsModule() {
-		synchronized (TNTInputStreamStatistics.class) {
-			if (delegate == null) {
-				TNTInputStreamStatistics.delegate = new TNTInputStreamStatistics();
+		TNTInputStreamStatistics mainModule = delegate;
+		if (mainModule == null) {
+			synchronized (TNTInputStreamStatistics.class) {
+				mainModule = delegate;
+				if (mainModule == null) {
+					mainModule = new TNTInputStreamStatistics();
+					TNTInputStreamStatistics.delegate = mainModule;
+				}
 			}
 		}
-		return TNTInputStreamStatistics.delegate;
+		return mainModule;
 	}
 
 	/**
@@ -177,13 +263,7 @@ public class TNTInputStreamStatistics
 	 * @return statistics accounting module instance
 	 */
 	public static TNTInputStreamStatistics getStreamSpecificStatisticsModule(TNTInputStream<?, ?> stream) {
-		TNTInputStreamStatistics tntInputStreamStatistics = streamStatistics.get(stream);
-		if (tntInputStreamStatistics == null) {
-			TNTInputStreamStatistics newStatisticsForStream = new TNTInputStreamStatistics(stream);
-			streamStatistics.put(stream, newStatisticsForStream);
-			return newStatisticsForStream;
-		}
-		return tntInputStreamStatistics;
+		return streamStatistics.computeIfAbsent(stream, TNTInputStreamStatistics::new);
 	}
 
 	/**
@@ -202,32 +282,48 @@ public class TNTInputStreamStatistics
 		return getStreamSpecificStatisticsModule(stream);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Stage start time is kept per thread, so no context is created and {@code null} is returned.
+	 */
 	@Override
 	public Context<Timer.Context> beforeNextItem() {
-		return new Context<>(streamsItemsTimer.time());
+		stagesStartTime.get()[0] = System.nanoTime();
+		return null;
 	}
 
 	@Override
 	public void afterNextItem(Context<Timer.Context> context) {
-		if (context != null) {
-			context.getItem().stop();
-		}
+		stopStage(streamsItemsTimer, 0);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Stage start time is kept per thread, so no context is created and {@code null} is returned.
+	 */
 	@Override
 	public Context<Timer.Context> beforeProcessItem() {
-		return new Context<>(processingTimer.time());
+		stagesStartTime.get()[1] = System.nanoTime();
+		return null;
 	}
 
 	@Override
 	public void afterProcessItem(Context<Timer.Context> context) {
-		if (context != null) {
-			context.getItem().stop();
-		}
+		stopStage(processingTimer, 1);
 
 		onItemProcessed();
 	}
 
+	private void stopStage(Timer timer, int stage) {
+		long[] startTimes = stagesStartTime.get();
+		if (startTimes[stage] != 0L) {
+			timer.update(System.nanoTime() - startTimes[stage], TimeUnit.NANOSECONDS);
+			startTimes[stage] = 0L;
+		}
+	}
+
 	@Override
 	public void onItemLost() {
 		getMainStatisticsModule().lostActivitiesCount.inc();
@@ -240,6 +336,18 @@ public class TNTInputStreamStatistics
 		filteredActivitiesCount.inc();
 	}
 
+	@Override
+	public void onItemFilteredEarly() {
+		getMainStatisticsModule().filteredEarlyActivitiesCount.inc();
+		filteredEarlyActivitiesCount.inc();
+	}
+
+	@Override
+	public void onItemPreFiltered() {
+		getMainStatisticsModule().preFilteredActivitiesCount.inc();
+		preFilteredActivitiesCount.inc();
+	}
+
 	@Override
 	public void onItemSkipped() {
 		getMainStatisticsModule().skippedActivitiesCount.inc();
@@ -371,15 +479,25 @@ public class TNTInputStreamStatistics
 
 	@Override
 	public void onItemLogStart(TNTInputStream<?, ?> stream, Object item) {
-		Timer.Context time = outputTimer.time();
-		pendingOutputs.put(item, time);
+		if (item instanceof ActivityInfo) {
+			((ActivityInfo) item).setOutputStartTime(System.nanoTime());
+		} else if (item != null) {
+			pendingOutputs.put(item, System.nanoTime());
+		}
 	}
 
 	@Override
 	public void onItemLogFinish(Object item) {
-		Timer.Context time = pendingOutputs.remove(item);
-		if (time != null) { // case of child trackable applied, the time is not measured.
-			time.stop();
+		long startTime = 0L;
+		if (item instanceof ActivityInfo) {
+			startTime = ((ActivityInfo) item).getOutputStartTime();
+			((ActivityInfo) item).setOutputStartTime(0L);
+		} else if (item != null) {
+			Long time = pendingOutputs.remove(item);
+			startTime = time == null ? 0L : time;
+		}
+		if (startTime != 0L) { // case of child trackable applied, the time is not measured.
+			outputTimer.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
 		}
 
 		if (item instanceof ActivityInfo) {
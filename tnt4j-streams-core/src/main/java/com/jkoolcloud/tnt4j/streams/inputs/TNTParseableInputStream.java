@@ -18,6 +18,7 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -31,12 +32,14 @@ import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
 import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.outputs.JKCloudActivityOutput;
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
 import com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData;
 import com.jkoolcloud.tnt4j.streams.parsers.data.CommonActivityData;
 import com.jkoolcloud.tnt4j.streams.reference.MatchingParserReference;
 import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsCache;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsConstants;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
@@ -52,7 +55,14 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <li>HaltIfNoParser - if set to {@code true}, stream will halt if none of the parsers can parse activity object RAW
  * data. If set to {@code false} - puts log entry and continues. Default value - {@code false}. (Optional)</li>
  * <li>GroupingActivityName - name of ACTIVITY entity used to group excel workbook streamed events. (Optional)</li>
+ * <li>AdaptiveParsersOrder - if set to {@code true}, stream applies parsers in order of their successful parsing hits
+ * count, using configuration defined parsers order as tie-breaker. Shall be used only when stream parsers accepts
+ * disjoint sets of RAW activity data, since parsers precedence changes at runtime. Default value - {@code false}.
+ * (Optional)</li>
  * </ul>
+ * <p>
+ * Stream can have RAW activity data filter defined. It is applied on every RAW activity data item before any parser
+ * gets matched or applied, so filtered out items are dropped without parsing.
  *
  * @param <T>
  *            the type of handled RAW activity data
@@ -69,6 +79,11 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 	private boolean haltIfNoParser = false;
 	private String groupingActivityName = null;
 
+	private boolean adaptiveParsersOrder = false;
+
+	private StreamFiltersGroup<Object> rawDataFilter;
+	private ParserRoutingIndex routingIndex;
+
 	@Override
 	protected void setDefaultStreamOutput() {
 		setOutput(new JKCloudActivityOutput("DefaultParseableInputStreamOutput")); // NON-NLS
@@ -82,6 +97,9 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 			haltIfNoParser = Utils.toBoolean(value);
 		} else if (StreamProperties.PROP_GROUPING_ACTIVITY_NAME.equalsIgnoreCase(name)) {
 			groupingActivityName = value;
+		} else if (StreamProperties.PROP_ADAPTIVE_PARSERS_ORDER.equalsIgnoreCase(name)) {
+			adaptiveParsersOrder = Utils.toBoolean(value);
+			routingIndex = null;
 		}
 	}
 
@@ -93,6 +111,9 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 		if (StreamProperties.PROP_GROUPING_ACTIVITY_NAME.equalsIgnoreCase(name)) {
 			return groupingActivityName;
 		}
+		if (StreamProperties.PROP_ADAPTIVE_PARSERS_ORDER.equalsIgnoreCase(name)) {
+			return adaptiveParsersOrder;
+		}
 
 		return super.getProperty(name);
 	}
@@ -106,6 +127,8 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 					"TNTInputStream.has.no.parsers.bound", getName()));
 		}
 
+		getRoutingIndex();
+
 		if (StringUtils.isNotEmpty(groupingActivityName)) {
 			ActivityInfo gai = new ActivityInfo(true);
 			gai.setFieldValue(new ActivityField(StreamFieldType.EventType.name()), OpType.ACTIVITY.name());
@@ -163,6 +186,26 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 		}
 
 		parsersSet.add(parserRef);
+		routingIndex = null;
+	}
+
+	/**
+	 * Returns stream parsers routing index. If index is not built yet or stream parsers set has changed, index gets
+	 * (re)built.
+	 *
+	 * @return stream parsers routing index
+	 */
+	ParserRoutingIndex getRoutingIndex() {
+		ParserRoutingIndex idx = routingIndex;
+		if (idx == null) {
+			idx = new ParserRoutingIndex(parsersSet, adaptiveParsersOrder);
+			routingIndex = idx;
+
+			LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
+					"TNTInputStream.parsers.routing.index", getName(), idx.size(), adaptiveParsersOrder);
+		}
+
+		return idx;
 	}
 
 	/**
@@ -199,6 +242,46 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 		}
 	}
 
+	/**
+	 * Sets RAW activity data filter for this stream. Filter is applied on RAW activity data items before applying
+	 * parsers.
+	 *
+	 * @param rdf
+	 *            RAW activity data filters group
+	 */
+	public void setRawDataFilter(StreamFiltersGroup<Object> rdf) {
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
+				"TNTInputStream.adding.raw.data.filter", getName(), rdf);
+
+		rawDataFilter = rdf;
+	}
+
+	/**
+	 * Checks whether provided RAW activity data item is filtered out by stream RAW activity data filter. If data item
+	 * is {@link com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData} instance, filter is applied on wrapped data.
+	 * <p>
+	 * If filter fails to evaluate data item, item is considered as not filtered out and gets passed to parsers.
+	 *
+	 * @param data
+	 *            RAW activity data item
+	 * @return {@code true} if data item is filtered out, {@code false} - otherwise
+	 */
+	protected boolean isRawDataFilteredOut(Object data) {
+		if (rawDataFilter == null || data == null) {
+			return false;
+		}
+
+		Object rawData = data instanceof ActivityData ? ((ActivityData<?>) data).getData() : data;
+		try {
+			return rawDataFilter.doFilter(rawData, null);
+		} catch (Exception exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"TNTInputStream.raw.data.filtering.failed", getName(), rawDataFilter.getName(), exc);
+			return false;
+		}
+	}
+
 	/**
 	 * Applies all defined parsers for this stream that support the format that the raw activity data is in the order
 	 * added until one successfully matches the specified activity data item.
@@ -221,6 +304,9 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 	/**
 	 * Applies all defined parsers for this stream that support the format that the raw activity data is in the order
 	 * added until one successfully matches the specified activity data item.
+	 * <p>
+	 * Parsers are picked using stream parsers routing index: only parsers supporting activity data class and having
+	 * matching tags are applied.
 	 *
 	 * @param data
 	 *            activity data item to process
@@ -244,29 +330,40 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 			pData = new CommonActivityData<>(data);
 		}
 
-		for (ParserReference pRef : parsersSet) {
-			boolean dataMatch = pRef.getParser().isDataClassSupported(pData.getData());
+		Object rawData = pData.getData();
+		if (rawData == null) {
+			return null;
+		}
+
+		ParserRoutingIndex index = getRoutingIndex();
+		ParserRoutingIndex.Route route = index.getRoute(rawData);
+		BitSet taggedRefs = index.matchTags(tags);
+
+		for (int idx : route.getCandidates()) {
+			ParserReference pRef = index.getReference(idx);
+			boolean dataMatch = index.isDataClassSupported(idx, rawData);
 			Boolean tagsMatch = null;
 			Boolean expMatch = null;
 
 			boolean parserMatch = dataMatch;
 
 			if (parserMatch) {
-				tagsMatch = pRef.matchTags(tags);
+				tagsMatch = taggedRefs == null || index.isUntagged(idx) ? null : taggedRefs.get(idx);
 				parserMatch = BooleanUtils.toBooleanDefaultIfNull(tagsMatch, true);
 
 				if (parserMatch && pRef instanceof MatchingParserReference) {
-					expMatch = ((MatchingParserReference) pRef).matchExp(this, pData.getData());
+					expMatch = ((MatchingParserReference) pRef).matchExp(this, rawData);
 					parserMatch = BooleanUtils.toBooleanDefaultIfNull(expMatch, true);
 				}
 			}
 
-			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+			LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 					"TNTInputStream.parser.match", getName(), pRef, dataMatch, tagsMatch == null ? "----" : tagsMatch, // NON-NLS
 					expMatch == null ? "----" : expMatch); // NON-NLS
 			if (parserMatch) {
 				ActivityInfo ai = pRef.getParser().parse(this, data);
 				if (ai != null) {
+					route.hit(idx);
 					return ai;
 				}
 			}
@@ -325,6 +422,14 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 	protected void processActivityItem(T item, AtomicBoolean failureFlag) throws Exception {
 		notifyProgressUpdate(incrementCurrentActivitiesCount(), getTotalActivities());
 
+		if (isRawDataFilteredOut(item)) {
+			incrementFilteredActivitiesCount();
+			incrementPreFilteredActivitiesCount();
+			LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
+					"TNTInputStream.raw.data.filtered.out", item);
+			return;
+		}
+
 		ActivityInfo ai = makeActivityInfo(item);
 		if (ai == null) {
 			logger().log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -344,7 +449,10 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 				getOutput().logItem(ai);
 			} else {
 				incrementFilteredActivitiesCount();
-				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				if (ai.isFilteredEarly()) {
+					incrementFilteredEarlyActivitiesCount();
+				}
+				LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 						"TNTInputStream.activity.filtered.out", ai);
 			}
 		}
@@ -16,6 +16,8 @@
 
 package com.jkoolcloud.tnt4j.streams.matchers;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -28,6 +30,8 @@ public class RegExMatcher implements Matcher {
 
 	private static RegExMatcher instance;
 
+	private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
 	private RegExMatcher() {
 	}
 
@@ -45,7 +49,8 @@ public class RegExMatcher implements Matcher {
 	}
 
 	/**
-	 * Evaluates match {@code expression} against provided {@code data} using RegEx.
+	 * Evaluates match {@code expression} against provided {@code data} using RegEx. Expression is compiled into
+	 * {@link java.util.regex.Pattern} once and reused for subsequent evaluations.
 	 *
 	 * @param expression
 	 *            Regex expression to check
@@ -58,7 +63,7 @@ public class RegExMatcher implements Matcher {
 	 */
 	@Override
 	public boolean evaluate(String expression, Object data) throws PatternSyntaxException {
-		Pattern pattern = Pattern.compile(expression);
+		Pattern pattern = patterns.computeIfAbsent(expression, Pattern::compile);
 		java.util.regex.Matcher matcher = pattern.matcher(String.valueOf(data));
 		return matcher.find();
 	}
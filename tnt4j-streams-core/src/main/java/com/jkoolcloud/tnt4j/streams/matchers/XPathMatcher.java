@@ -17,12 +17,10 @@
 package com.jkoolcloud.tnt4j.streams.matchers;
 
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -39,19 +37,28 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  */
 public class XPathMatcher implements Matcher {
 
-	private XPath xPath;
-	private DocumentBuilder builder;
-
-	private final Lock xPathLock = new ReentrantLock();
-	private final Lock builderLock = new ReentrantLock();
+	private final DocumentBuilderFactory domFactory;
+	private final ThreadLocal<DocumentBuilder> builders;
 
 	private static XPathMatcher instance;
 
 	private XPathMatcher() throws Exception {
-		DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+		domFactory = DocumentBuilderFactory.newInstance();
 		domFactory.setNamespaceAware(false);
-		builder = domFactory.newDocumentBuilder();
-		xPath = StreamsXMLUtils.getStreamsXPath();
+		DocumentBuilder builder = domFactory.newDocumentBuilder();
+		// document builder is not thread safe, so every thread gets own instance
+		builders = ThreadLocal.withInitial(this::newDocumentBuilder);
+		builders.set(builder);
+	}
+
+	private DocumentBuilder newDocumentBuilder() {
+		synchronized (domFactory) {
+			try {
+				return domFactory.newDocumentBuilder();
+			} catch (ParserConfigurationException exc) {
+				throw new RuntimeException(exc);
+			}
+		}
 	}
 
 	static synchronized XPathMatcher getInstance() throws Exception {
@@ -86,24 +93,14 @@ public class XPathMatcher implements Matcher {
 			if (StringUtils.isEmpty(xmlString)) {
 				return false;
 			}
-			builderLock.lock();
-			try {
-				xmlDoc = builder.parse(IOUtils.toInputStream(xmlString, StandardCharsets.UTF_8));
-			} finally {
-				builderLock.unlock();
-			}
+			xmlDoc = builders.get().parse(IOUtils.toInputStream(xmlString, StandardCharsets.UTF_8));
 		}
-		xPathLock.lock();
-		try {
-			String expressionResult = xPath.evaluate(expression, xmlDoc);
+		String expressionResult = StreamsXMLUtils.getStreamsXPathCache().evaluate(expression, xmlDoc, null);
 
-			if (StringUtils.equalsAnyIgnoreCase(expression, "true", "false")) { // NON-NLS
-				return Boolean.parseBoolean(expressionResult);
-			}
-
-			return StringUtils.isNotEmpty(expressionResult);
-		} finally {
-			xPathLock.unlock();
+		if (StringUtils.equalsAnyIgnoreCase(expression, "true", "false")) { // NON-NLS
+			return Boolean.parseBoolean(expressionResult);
 		}
+
+		return StringUtils.isNotEmpty(expressionResult);
 	}
 }
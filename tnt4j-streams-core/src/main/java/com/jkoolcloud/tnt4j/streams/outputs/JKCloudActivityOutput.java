@@ -16,15 +16,22 @@
 
 package com.jkoolcloud.tnt4j.streams.outputs;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import com.codahale.metrics.Gauge;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 import com.jkoolcloud.tnt4j.core.Activity;
+import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Snapshot;
 import com.jkoolcloud.tnt4j.core.Trackable;
 import com.jkoolcloud.tnt4j.sink.EventSink;
@@ -33,7 +40,13 @@ import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.source.SourceFactory;
 import com.jkoolcloud.tnt4j.streams.configure.OutputProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.StreamStatus;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics;
+import com.jkoolcloud.tnt4j.streams.utils.HostResolver;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsThread;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
 import com.jkoolcloud.tnt4j.tracker.Tracker;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
@@ -48,6 +61,14 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
  * <ul>
  * <li>ResolveServerFromDNS - flag indicating whether to resolve activity entity host name/IP from DNS server. Default
  * value - {@code false}. (Optional)</li>
+ * <li>DNSCacheMaxSize - maximal number of cached DNS resolution results. Default value - {@code 10000}. (Optional)</li>
+ * <li>DNSCacheTTL - successful DNS resolution result time to live in seconds. Default value - {@code 600}.
+ * (Optional)</li>
+ * <li>DNSCacheNegativeTTL - failed DNS resolution result time to live in seconds. Default value - {@code 60}.
+ * (Optional)</li>
+ * <li>DNSLookupAsync - flag indicating whether DNS resolution of not cached host names/IP addresses shall be made
+ * asynchronously: activity entity is sent without waiting for resolution and only subsequent entities get resolved
+ * value. Default value - {@code false}. (Optional)</li>
  * <li>SplitRelatives - flag indicating whether to send activity entity child entities independently merging data from
  * both parent and child entity fields into produced entity. Default value - {@code false}. (Optional)</li>
  * <li>BuildSourceFQNFromStreamedData - flag indicating whether to set streamed activity entity {@link Source} FQN build
@@ -56,6 +77,16 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
  * <li>SourceFQN - {@link Source} FQN pattern to be used when building it from streamed activity entity fields values.
  * Format is: SourceType1=${FieldName1}#SourceType2=${FieldName2}#SourceType3=${FieldName3}... . Default value -
  * 'APPL=${ApplName}#USER=${UserName}#SERVER=${ServerName}#NETADDR=${ServerIp}#GEOADDR=${Location}'. (Optional)</li>
+ * <li>SenderThreadsQuantity - number of sender threads recording activity entities to jKoolCloud asynchronously. If
+ * greater than {@code 0}, logged activity entities are put into bounded send queue and stream thread returns without
+ * waiting for jKoolCloud communication to complete. Value {@code 0} means entities are recorded synchronously by
+ * stream thread. Default value - {@code 0}. (Optional)</li>
+ * <li>SenderQueueSize - maximal number of activity entities waiting in send queue. When queue is full, stream thread
+ * waits for sender threads to make space in queue. Default value - {@code 1024}. (Optional)</li>
+ * <li>SenderBatchSize - maximal number of activity entities sender thread takes from send queue and records at once.
+ * Default value - {@code 64}. (Optional)</li>
+ * <li>SourceCacheSize - maximal number of {@link Source} instances, built from activity entities resolved source FQN,
+ * to keep in cache. Value {@code 0} disables caching. Default value - {@code 512}. (Optional)</li>
  * </ul>
  *
  * @version $Revision: 1 $
@@ -71,6 +102,27 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 	private boolean buildFQNFromData = true;
 	private String sourceFQN = null;
 
+	private static final int DEFAULT_SENDER_QUEUE_SIZE = 1024;
+	private static final int DEFAULT_SENDER_BATCH_SIZE = 64;
+	private static final long SENDER_POLL_TIMEOUT = 500L;
+	private static final int DEFAULT_SOURCE_CACHE_SIZE = 512;
+
+	private int senderThreadsQty = 0;
+	private int senderQueueSize = DEFAULT_SENDER_QUEUE_SIZE;
+	private int senderBatchSize = DEFAULT_SENDER_BATCH_SIZE;
+
+	private BlockingQueue<ActivityInfo> sendQueue;
+	private volatile List<ActivitySender> senders;
+
+	private int sourceCacheSize = DEFAULT_SOURCE_CACHE_SIZE;
+
+	private long dnsCacheMaxSize = HostResolver.DEFAULT_MAX_SIZE;
+	private long dnsCacheTTL = HostResolver.DEFAULT_TTL;
+	private long dnsCacheNegativeTTL = HostResolver.DEFAULT_NEGATIVE_TTL;
+	private boolean dnsLookupAsync = false;
+	private HostResolver hostResolver;
+	private Cache<String, Source> sourceCache;
+
 	/**
 	 * Constructs a new JKCloudActivityOutput.
 	 */
@@ -107,42 +159,217 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 			buildFQNFromData = Utils.toBoolean((String) value);
 		} else if (OutputProperties.PROP_SOURCE_FQN.equalsIgnoreCase(name)) {
 			sourceFQN = (String) value;
+		} else if (OutputProperties.PROP_SENDER_THREADS_QTY.equalsIgnoreCase(name)) {
+			senderThreadsQty = Integer.parseInt((String) value);
+		} else if (OutputProperties.PROP_SENDER_QUEUE_SIZE.equalsIgnoreCase(name)) {
+			senderQueueSize = Integer.parseInt((String) value);
+		} else if (OutputProperties.PROP_SENDER_BATCH_SIZE.equalsIgnoreCase(name)) {
+			senderBatchSize = Integer.parseInt((String) value);
+		} else if (OutputProperties.PROP_SOURCE_CACHE_SIZE.equalsIgnoreCase(name)) {
+			sourceCacheSize = Integer.parseInt((String) value);
+		} else if (OutputProperties.PROP_DNS_CACHE_MAX_SIZE.equalsIgnoreCase(name)) {
+			dnsCacheMaxSize = Long.parseLong((String) value);
+		} else if (OutputProperties.PROP_DNS_CACHE_TTL.equalsIgnoreCase(name)) {
+			dnsCacheTTL = TimeUnit.SECONDS.toMillis(Long.parseLong((String) value));
+		} else if (OutputProperties.PROP_DNS_CACHE_NEGATIVE_TTL.equalsIgnoreCase(name)) {
+			dnsCacheNegativeTTL = TimeUnit.SECONDS.toMillis(Long.parseLong((String) value));
+		} else if (OutputProperties.PROP_DNS_LOOKUP_ASYNC.equalsIgnoreCase(name)) {
+			dnsLookupAsync = Utils.toBoolean((String) value);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Builds activity entities {@link Source} cache and DNS resolver, and starts activity entities sender threads if
+	 * property 'SenderThreadsQuantity' is greater than {@code 0}.
+	 */
+	@Override
+	public void initialize() throws Exception {
+		super.initialize();
+
+		if (resolveServer) {
+			hostResolver = new HostResolver(HostResolver.DNS_RESOLVER, dnsCacheMaxSize, dnsCacheTTL,
+					dnsCacheNegativeTTL, dnsLookupAsync);
+		}
+
+		if (sourceCacheSize > 0) {
+			sourceCache = CacheBuilder.newBuilder().maximumSize(sourceCacheSize).recordStats().build();
+		}
+		registerMetrics();
+
+		if (senderThreadsQty > 0) {
+			startSenders();
+		}
+	}
+
+	private void startSenders() {
+		sendQueue = new ArrayBlockingQueue<>(Math.max(senderQueueSize, 1));
+		List<ActivitySender> sendersList = new ArrayList<>(senderThreadsQty);
+		TNTInputStream.StreamsThreadFactory tf = new TNTInputStream.StreamsThreadFactory(
+				"JKCloudActivitySender-" + getName() + "-"); // NON-NLS
+		for (int i = 0; i < senderThreadsQty; i++) {
+			ActivitySender sender = new ActivitySender();
+			sender.thread = (StreamsThread) tf.newThread(sender);
+			sendersList.add(sender);
+		}
+		senders = sendersList;
+
+		for (ActivitySender sender : sendersList) {
+			sender.thread.start();
 		}
+
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"JKCloudActivityOutput.senders.started", getName(), senderThreadsQty, sendQueue.remainingCapacity(),
+				senderBatchSize);
+	}
+
+	/**
+	 * Stops activity entities sender threads. Sender threads record all activity entities left in send queue before
+	 * terminating. Entities offered to send queue after senders termination are recorded by calling thread.
+	 */
+	protected void stopSenders() {
+		List<ActivitySender> sendersList;
+		synchronized (this) {
+			sendersList = senders;
+			senders = null;
+		}
+		if (sendersList == null) {
+			return;
+		}
+
+		for (ActivitySender sender : sendersList) {
+			sender.thread.halt(false);
+		}
+		for (ActivitySender sender : sendersList) {
+			try {
+				sender.thread.join();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		List<ActivityInfo> leftItems = new ArrayList<>();
+		sendQueue.drainTo(leftItems);
+		sendItems(leftItems);
+
+		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"JKCloudActivityOutput.senders.stopped", getName(), leftItems.size());
+	}
+
+	@Override
+	protected void sendStreamStateMessage(StreamStatus status) {
+		if (status == StreamStatus.SUCCESS || status == StreamStatus.FAILURE || status == StreamStatus.STOP) {
+			stopSenders();
+		}
+
+		super.sendStreamStateMessage(status);
+	}
+
+	@Override
+	public void cleanup() {
+		stopSenders();
+
+		if (sourceCache != null) {
+			// tracker configuration may change on output re-initialization
+			sourceCache.invalidateAll();
+		}
+
+		if (hostResolver != null) {
+			hostResolver.shutdown();
+		}
+
+		super.cleanup();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * <p>
+	 * If sender threads are running, activity entity is put into send queue and recorded by sender thread. Method
+	 * blocks while send queue is full.
 	 * 
 	 * @see ActivityInfo#buildTrackable(com.jkoolcloud.tnt4j.tracker.Tracker, java.util.Map)
 	 */
 	@Override
 	public void logItem(ActivityInfo ai) throws Exception {
 		super.logItem(ai);
-		try {
-			Tracker tracker = getTracker();
-			ai.resolveServer(resolveServer);
-			String aiFQN = buildFQNFromData ? StringUtils.isEmpty(sourceFQN) ? DEFAULT_SOURCE_FQN : sourceFQN : null;
-
-			Map<Trackable, ActivityInfo> chTrackables = new LinkedHashMap<>();
-			if (splitRelatives && ai.hasChildren()) {
-				ai.buildSplitRelatives(tracker, chTrackables);
-			} else {
-				Trackable t = ai.buildTrackable(tracker, chTrackables);
-				recordActivity(tracker, t, ai, aiFQN);
-			}
 
-			for (Map.Entry<Trackable, ActivityInfo> chTrackable : chTrackables.entrySet()) {
-				ActivityInfo cai = chTrackable.getValue();
-
-				Trackable chT = chTrackable.getKey();
-				recordActivity(tracker, chT, cai, aiFQN);
+		if (senders != null) {
+			try {
+				sendQueue.put(ai);
+			} catch (InterruptedException exc) {
+				notifyLoggingFinish(ai);
+				throw exc;
+			}
+			// senders may have been stopped while item was put into queue
+			if (senders != null || !sendQueue.remove(ai)) {
+				return;
 			}
+		}
+
+		try {
+			sendItem(getTracker(), ai);
 		} finally {
 			notifyLoggingFinish(ai);
 		}
 	}
 
+	/**
+	 * Records batch of activity entities using calling thread bound tracker. Entity recording failure is logged and
+	 * reported to bound stream, but does not prevent recording rest of batch entities.
+	 *
+	 * @param items
+	 *            activity entities to record
+	 */
+	protected void sendItems(Collection<ActivityInfo> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+
+		Tracker tracker = null;
+		for (ActivityInfo ai : items) {
+			try {
+				if (tracker == null) {
+					tracker = getTracker();
+				}
+				sendItem(tracker, ai);
+			} catch (Throwable exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"JKCloudActivityOutput.send.failed", getName(), exc);
+				if (getStream() != null) {
+					getStream().notifyItemRecordingFailure(ai, exc);
+				}
+			} finally {
+				notifyLoggingFinish(ai);
+			}
+		}
+	}
+
+	private void sendItem(Tracker tracker, ActivityInfo ai) throws Exception {
+		ai.resolveServer(resolveServer ? getHostResolver() : null);
+		String aiFQN = buildFQNFromData ? StringUtils.isEmpty(sourceFQN) ? DEFAULT_SOURCE_FQN : sourceFQN : null;
+
+		Map<Trackable, ActivityInfo> chTrackables = new LinkedHashMap<>();
+		if (splitRelatives && ai.hasChildren()) {
+			ai.buildSplitRelatives(tracker, chTrackables);
+		} else {
+			Trackable t = ai.buildTrackable(tracker, chTrackables);
+			recordActivity(tracker, t, ai, aiFQN);
+		}
+
+		for (Map.Entry<Trackable, ActivityInfo> chTrackable : chTrackables.entrySet()) {
+			ActivityInfo cai = chTrackable.getValue();
+
+			Trackable chT = chTrackable.getKey();
+			recordActivity(tracker, chT, cai, aiFQN);
+		}
+	}
+
+	private HostResolver getHostResolver() {
+		return hostResolver == null ? HostResolver.getDefault() : hostResolver;
+	}
+
 	private void recordActivity(Tracker tracker, Trackable t, ActivityInfo ai, String aiFQN) throws Exception {
 		alterTrackableSource(tracker, t, ai, aiFQN);
 		recordActivity(tracker, retryPeriod, t);
@@ -177,10 +404,56 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 		}
 	}
 
-	private static Source buildSource(Tracker tracker, String sourceFQN) {
+	private Source buildSource(Tracker tracker, String sourceFQN) {
 		if (StringUtils.isEmpty(sourceFQN)) {
 			return null;
 		}
+
+		if (sourceCache == null) {
+			return newSource(tracker, sourceFQN);
+		}
+
+		try {
+			return sourceCache.get(sourceFQN, () -> newSource(tracker, sourceFQN));
+		} catch (ExecutionException | UncheckedExecutionException exc) {
+			Throwable cause = exc.getCause();
+			throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Registers sources cache and DNS resolver statistics metrics into bound stream statistics module, so they are
+	 * reported along with other stream metrics.
+	 */
+	private void registerMetrics() {
+		TNTInputStream<?, ?> stream = getStream();
+		if (stream == null || stream.getStreamStatistics() == null) {
+			return;
+		}
+
+		TNTInputStreamStatistics stats = stream.getStreamStatistics();
+		if (sourceCache != null) {
+			Cache<String, Source> sCache = sourceCache;
+			stats.registerOutputGauge("source cache size", (Gauge<Long>) sCache::size); // NON-NLS
+			stats.registerOutputGauge("source cache hits", (Gauge<Long>) () -> sCache.stats().hitCount()); // NON-NLS
+			stats.registerOutputGauge("source cache misses", (Gauge<Long>) () -> sCache.stats().missCount()); // NON-NLS
+			stats.registerOutputGauge("source cache evictions", // NON-NLS
+					(Gauge<Long>) () -> sCache.stats().evictionCount());
+		}
+		if (hostResolver != null) {
+			HostResolver resolver = hostResolver;
+			stats.registerOutputGauge("DNS cache size", (Gauge<Long>) resolver::size); // NON-NLS
+			stats.registerOutputGauge("DNS cache hits", (Gauge<Long>) resolver::getHitsCount); // NON-NLS
+			stats.registerOutputGauge("DNS cache misses", (Gauge<Long>) resolver::getMissesCount); // NON-NLS
+			stats.registerOutputGauge("DNS lookups", (Gauge<Long>) resolver::getLookupsCount); // NON-NLS
+			stats.registerOutputGauge("DNS failed lookups", (Gauge<Long>) resolver::getFailedLookupsCount); // NON-NLS
+			stats.registerOutputGauge("DNS avg. lookup time us", // NON-NLS
+					(Gauge<Long>) resolver::getAverageLookupTime);
+			stats.registerOutputGauge("DNS max. lookup time us", (Gauge<Long>) resolver::getMaxLookupTime); // NON-NLS
+		}
+	}
+
+	private static Source newSource(Tracker tracker, String sourceFQN) {
 		SourceFactory sf = tracker == null ? DefaultSourceFactory.getInstance()
 				: tracker.getConfiguration().getSourceFactory();
 		Source source = sf.newFromFQN(sourceFQN);
@@ -216,4 +489,33 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 	public Trackable formatStreamStatusMessage(TrackingEvent statusMessage) {
 		return statusMessage;
 	}
+
+	/**
+	 * Activity entities sender taking batches of entities from send queue and recording them to jKoolCloud. Sender
+	 * runs until halted and send queue gets empty.
+	 */
+	private class ActivitySender implements Runnable {
+		private StreamsThread thread;
+
+		@Override
+		public void run() {
+			List<ActivityInfo> batch = new ArrayList<>(Math.max(senderBatchSize, 1));
+			while (!thread.isStopRunning() || !sendQueue.isEmpty()) {
+				try {
+					ActivityInfo ai = sendQueue.poll(SENDER_POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+					if (ai == null) {
+						continue;
+					}
+					batch.add(ai);
+					sendQueue.drainTo(batch, senderBatchSize - 1);
+				} catch (InterruptedException exc) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+
+				sendItems(batch);
+				batch.clear();
+			}
+		}
+	}
 }
@@ -234,23 +234,53 @@ public abstract class AbstractActivityMapParser extends GenericActivityParser<Ma
 	 * @see Utils#getMapValueByPath(String, String, java.util.Map, Set)
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) {
-		Object val = null;
-		String locStr = locator.getLocator();
+		return resolveLocatorValue(locator, compileLocator(locator), cData, formattingNeeded);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is map keys path split using
+	 * {@value com.jkoolcloud.tnt4j.streams.configure.ParserProperties#PROP_LOC_PATH_DELIM} delimiter and flag
+	 * indicating whether size of resolved value shall be returned.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) {
+		return new MapPath(locator.getLocator(), nodePathDelim);
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled map keys path.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            compiled map keys path
+	 * @param cData
+	 *            activity object data map
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 *
+	 * @see Utils#getMapValueByPath(String[], java.util.Map, Set)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) {
+		Object val;
+		MapPath mapPath = (MapPath) compiledLocator;
 		Set<String[]> accessedPaths = (Set<String[]>) cData.get(ACCESSED_PATHS_KEY);
 
-		if (locStr.endsWith(SIZE_FUNCTION) || locStr.endsWith(LENGTH_FUNCTION)) {
-			locStr = locStr.substring(0, locStr.lastIndexOf('.'));
-			val = Utils.getMapValueByPath(locStr, nodePathDelim, cData.getData(), accessedPaths);
+		val = Utils.getMapValueByPath(mapPath.path, cData.getData(), accessedPaths);
+		if (mapPath.sizeFunction) {
 			try {
 				val = CollectionUtils.size(val);
 			} catch (Throwable exc) {
 				val = 0;
 			}
-		} else {
-			val = Utils.getMapValueByPath(locStr, nodePathDelim, cData.getData(), accessedPaths);
 		}
 
 		return val;
@@ -284,4 +314,20 @@ public abstract class AbstractActivityMapParser extends GenericActivityParser<Ma
 	protected EnumSet<ActivityFieldLocatorType> getUnsupportedLocatorTypes() {
 		return UNSUPPORTED_LOCATOR_TYPES;
 	}
+
+	/**
+	 * Map keys path compiled from activity field locator string.
+	 */
+	private static class MapPath {
+		private final String[] path;
+		private final boolean sizeFunction;
+
+		private MapPath(String locStr, String pathDelim) {
+			sizeFunction = locStr.endsWith(SIZE_FUNCTION) || locStr.endsWith(LENGTH_FUNCTION);
+			if (sizeFunction) {
+				locStr = locStr.substring(0, locStr.lastIndexOf('.'));
+			}
+			path = Utils.getNodePath(locStr, pathDelim);
+		}
+	}
 }
@@ -158,9 +158,39 @@ public class ActivityJavaObjectParser extends GenericActivityParser<Object> {
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) {
+		return resolveLocatorValue(locator, compileLocator(locator), cData, formattingNeeded);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is POJO fields/methods path tokens array.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) {
+		return Utils.getNodePath(locator.getLocator(), StreamsConstants.DEFAULT_PATH_DELIM);
+	}
+
+	/**
+	 * Gets field or non-arg method raw data value resolved by locator compiled path.
+	 *
+	 * @param locator
+	 *            POJO field or non-arg method name
+	 * @param compiledLocator
+	 *            POJO fields/methods path tokens array
+	 * @param cData
+	 *            activity data carrier object
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 *
+	 * @see Utils#getFieldValue(String[], Object, int)
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) {
 		Object val = null;
-		String locStr = locator.getLocator();
-		String[] path = Utils.getNodePath(locStr, StreamsConstants.DEFAULT_PATH_DELIM);
+		String[] path = (String[]) compiledLocator;
 		try {
 			val = Utils.getFieldValue(path, cData.getData(), 0);
 		} catch (Exception exc) {
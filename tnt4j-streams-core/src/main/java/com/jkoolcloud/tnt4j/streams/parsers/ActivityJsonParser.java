@@ -16,24 +16,23 @@
 
 package com.jkoolcloud.tnt4j.streams.parsers;
 
-import java.io.BufferedReader;
-import java.io.EOFException;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
+import java.math.BigInteger;
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.gson.stream.JsonReader;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldDataType;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
@@ -54,6 +53,9 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <ul>
  * <li>ReadLines - indicates that complete JSON data package is single line. Default value - '{@code true}'. (Optional,
  * deprecated - use 'ActivityDelim' instead)</li>
+ * <li>StreamingMode - indicates that parser shall extract field values in one pass over JSON data tokens, without
+ * building complete JSON document. Applies only when all JSON data locators are simple paths like {@code $.a.b[0].c};
+ * otherwise parser falls back to {@link JsonPath} document. Default value - '{@code false}'. (Optional)</li>
  * </ul>
  * <p>
  * This activity parser supports those activity field locator types:
@@ -73,6 +75,23 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 	private static final String JSON_PATH_ROOT = "$";// NON-NLS
 	private static final String JSON_PATH_SEPARATOR = StreamsConstants.DEFAULT_PATH_DELIM;
 
+	private static final String NAME_PATTERN = "[A-Za-z_][\\w\\-]*(?:\\[\\d+])*"; // NON-NLS
+	/**
+	 * Simple JsonPath expression pattern: dot-notation property names and array indexes, e.g. {@code $.a.b[0].c}.
+	 */
+	private static final Pattern SIMPLE_PATH_PATTERN = Pattern
+			.compile("(?:\\$\\.)?" + NAME_PATTERN + "(?:\\." + NAME_PATTERN + ")*"); // NON-NLS
+	private static final String STREAMED_VALUES_KEY = "STREAMED_JSON_VALUES"; // NON-NLS
+	private static final DocumentContext STREAMED_DOCUMENT = JsonPath.parse("{}"); // NON-NLS
+
+	/**
+	 * Property indicating that parser shall extract values from JSON data in one pass over data tokens, when all
+	 * locators are simple paths.
+	 */
+	protected boolean streamingMode = false;
+
+	private volatile StreamingPaths streamingPaths;
+
 	/**
 	 * Constructs a new ActivityJsonParser.
 	 */
@@ -93,6 +112,11 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 		if (ParserProperties.PROP_READ_LINES.equalsIgnoreCase(name)) {
 			activityDelim = Utils.toBoolean(value) ? ActivityDelim.EOL.name() : ActivityDelim.EOF.name();
 
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.setting", name, value);
+		} else if (ParserProperties.PROP_STREAMING_MODE.equalsIgnoreCase(name)) {
+			streamingMode = Utils.toBoolean(value);
+
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityParser.setting", name, value);
 		}
@@ -104,6 +128,9 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 		if (ParserProperties.PROP_READ_LINES.equalsIgnoreCase(name)) {
 			return activityDelim;
 		}
+		if (ParserProperties.PROP_STREAMING_MODE.equalsIgnoreCase(name)) {
+			return streamingMode;
+		}
 
 		return super.getProperty(name);
 	}
@@ -150,6 +177,14 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 				if (StringUtils.isEmpty(jsonString)) {
 					return null;
 				}
+				StreamingPaths sPaths = getStreamingPaths();
+				if (sPaths != null) {
+					ActivityContext cData = new ActivityContext(stream, data, STREAMED_DOCUMENT);
+					cData.put(STREAMED_VALUES_KEY, sPaths.read(jsonString));
+					cData.setMessage(jsonString);
+
+					return cData;
+				}
 				jsonDoc = JsonPath.parse(jsonString);
 			}
 		} catch (Exception e) {
@@ -236,42 +271,157 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 	 * @see ActivityFieldLocator#formatValue(Object)
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
-		Object val = null;
 		String locStr = locator.getLocator();
 
 		if (StringUtils.isNotEmpty(locStr)) {
-			if (!locStr.startsWith(JSON_PATH_ROOT)) {
-				locStr = JSON_PATH_ROOT + JSON_PATH_SEPARATOR + locStr;
+			Map<String, Object> streamedValues = getStreamedValues(cData);
+			if (streamedValues != null) {
+				return formatJsonValue(locator, streamedValues.get(locStr), formattingNeeded);
 			}
 
 			Object jsonValue;
 			try {
-				jsonValue = cData.getData().read(locStr);
+				jsonValue = cData.getData().read(toJsonPath(locStr));
 			} catch (JsonPathException exc) {
 				jsonValue = null;
 			}
 
-			if (jsonValue != null) {
-				if (jsonValue instanceof List) {
-					List<Object> jsonValuesList = (List<Object>) jsonValue;
-					List<Object> valuesList = new ArrayList<>(jsonValuesList.size());
-					for (Object jsonValues : jsonValuesList) {
-						valuesList.add(locator.formatValue(jsonValues));
-					}
-					val = valuesList;
-				} else {
-					val = locator.formatValue(jsonValue);
+			return formatJsonValue(locator, jsonValue, formattingNeeded);
+		}
+
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is {@link JsonPath} instance.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) throws Exception {
+		String locStr = locator.getLocator();
+		return StringUtils.isEmpty(locStr) ? null : JsonPath.compile(toJsonPath(locStr));
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled {@link JsonPath} and formats it according locator
+	 * definition.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            compiled {@link JsonPath} locator
+	 * @param cData
+	 *            {@link JsonPath} document context to read
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return value formatted based on locator definition or {@code null} if locator is not defined
+	 *
+	 * @throws ParseException
+	 *             if exception occurs while resolving raw data value or applying locator format properties to specified
+	 *             value
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		Map<String, Object> streamedValues = getStreamedValues(cData);
+		if (streamedValues != null) {
+			return formatJsonValue(locator, streamedValues.get(locator.getLocator()), formattingNeeded);
+		}
+
+		Object jsonValue;
+		try {
+			jsonValue = cData.getData().read((JsonPath) compiledLocator);
+		} catch (JsonPathException exc) {
+			jsonValue = null;
+		}
+
+		return formatJsonValue(locator, jsonValue, formattingNeeded);
+	}
+
+	private static String toJsonPath(String locStr) {
+		return locStr.startsWith(JSON_PATH_ROOT) ? locStr : JSON_PATH_ROOT + JSON_PATH_SEPARATOR + locStr;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> getStreamedValues(ActivityContext cData) {
+		return (Map<String, Object>) cData.get(STREAMED_VALUES_KEY);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object formatJsonValue(ActivityFieldLocator locator, Object jsonValue,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		Object val = null;
+		if (jsonValue != null) {
+			if (jsonValue instanceof List) {
+				List<Object> jsonValuesList = (List<Object>) jsonValue;
+				List<Object> valuesList = new ArrayList<>(jsonValuesList.size());
+				for (Object jsonValues : jsonValuesList) {
+					valuesList.add(locator.formatValue(jsonValues));
 				}
-				formattingNeeded.set(false);
+				val = valuesList;
+			} else {
+				val = locator.formatValue(jsonValue);
 			}
+			formattingNeeded.set(false);
 		}
 
 		return val;
 	}
 
+	@Override
+	protected void invalidateExtractionPlan() {
+		super.invalidateExtractionPlan();
+		streamingPaths = null;
+	}
+
+	/**
+	 * Returns streaming mode JSON paths to extract, or {@code null} if streaming mode is disabled or can't be applied
+	 * for this parser fields.
+	 *
+	 * @return streaming mode JSON paths, or {@code null} if JsonPath document shall be used
+	 */
+	private StreamingPaths getStreamingPaths() {
+		if (!streamingMode) {
+			return null;
+		}
+
+		StreamingPaths sPaths = streamingPaths;
+		if (sPaths == null) {
+			sPaths = new StreamingPaths();
+			String rejectReason = null;
+			for (ActivityField aField : fieldList) {
+				List<ActivityFieldLocator> locators = new ArrayList<>();
+				if (aField.getLocators() != null) {
+					locators.addAll(aField.getLocators());
+				}
+				if (aField.isDynamic()) {
+					locators.addAll(aField.getDynamicLocators().values());
+				}
+				for (ActivityFieldLocator locator : locators) {
+					if (!sPaths.add(locator)) {
+						rejectReason = locator.getLocator();
+						break;
+					}
+				}
+				if (rejectReason != null) {
+					break;
+				}
+			}
+
+			if (rejectReason != null) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityJsonParser.streaming.not.applicable", getName(), rejectReason);
+				sPaths.root = null;
+			}
+			streamingPaths = sPaths;
+		}
+
+		return sPaths.root == null ? null : sPaths;
+	}
+
 	@SuppressWarnings("deprecation")
 	private static final EnumSet<ActivityFieldLocatorType> UNSUPPORTED_LOCATOR_TYPES = EnumSet
 			.of(ActivityFieldLocatorType.Index, ActivityFieldLocatorType.Range, ActivityFieldLocatorType.REMatchId);
@@ -290,4 +440,195 @@ public class ActivityJsonParser extends GenericActivityParser<DocumentContext> {
 	protected EnumSet<ActivityFieldLocatorType> getUnsupportedLocatorTypes() {
 		return UNSUPPORTED_LOCATOR_TYPES;
 	}
+
+	/**
+	 * Streaming mode JSON paths extracted from parser fields locators, arranged as path steps tree.
+	 */
+	private static class StreamingPaths {
+		private PathNode root = new PathNode();
+		private int pathsCount;
+
+		/**
+		 * Adds locator to streaming paths.
+		 *
+		 * @return {@code false} if locator can't be resolved in streaming mode, {@code true} - otherwise
+		 */
+		private boolean add(ActivityFieldLocator locator) {
+			String locStr = locator.getLocator();
+			if (StringUtils.isEmpty(locStr) || locator.getBuiltInType() == ActivityFieldLocatorType.StreamProp
+					|| locator.getBuiltInType() == ActivityFieldLocatorType.Cache
+					|| locator.getBuiltInType() == ActivityFieldLocatorType.Activity) {
+				return true;
+			}
+			if (LOC_FOR_COMPLETE_ACTIVITY_DATA.equals(locStr)) {
+				return false;
+			}
+			if (locStr.startsWith(LOC_FOR_COMPLETE_ACTIVITY_METADATA)) {
+				return true;
+			}
+			if (!SIMPLE_PATH_PATTERN.matcher(locStr).matches()) {
+				return false;
+			}
+
+			PathNode node = root;
+			for (String step : StringUtils.removeStart(locStr, JSON_PATH_ROOT + JSON_PATH_SEPARATOR)
+					.split(Pattern.quote(JSON_PATH_SEPARATOR))) {
+				int idx = step.indexOf('[');
+				node = node.child(idx < 0 ? step : step.substring(0, idx));
+				for (; idx >= 0; idx = step.indexOf('[', idx + 1)) {
+					node = node.child(Integer.valueOf(step.substring(idx + 1, step.indexOf(']', idx))));
+				}
+			}
+			if (!node.paths.contains(locStr)) {
+				node.paths.add(locStr);
+				pathsCount++;
+			}
+			return true;
+		}
+
+		/**
+		 * Reads values of streaming paths from JSON data string in one pass over JSON tokens. Reading stops as soon
+		 * as all paths values are resolved, so rest of JSON data is not tokenized.
+		 *
+		 * @param jsonString
+		 *            JSON data string
+		 * @return map of resolved JSON values keyed by locator string
+		 *
+		 * @throws IOException
+		 *             if JSON data is malformed
+		 */
+		private Map<String, Object> read(String jsonString) throws IOException {
+			Map<String, Object> values = new HashMap<>(pathsCount);
+			try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+				reader.setLenient(true);
+				read(reader, root, values);
+			}
+
+			return values;
+		}
+
+		private void read(JsonReader reader, PathNode node, Map<String, Object> values) throws IOException {
+			if (node == null) {
+				reader.skipValue();
+			} else if (!node.paths.isEmpty()) {
+				collect(node, readValue(reader), values);
+			} else {
+				switch (reader.peek()) {
+				case BEGIN_OBJECT:
+					reader.beginObject();
+					while (values.size() < pathsCount && reader.hasNext()) {
+						String name = reader.nextName();
+						read(reader, node.children.get(name), values);
+					}
+					if (values.size() < pathsCount) {
+						reader.endObject();
+					}
+					break;
+				case BEGIN_ARRAY:
+					reader.beginArray();
+					for (int i = 0; values.size() < pathsCount && reader.hasNext(); i++) {
+						read(reader, node.children.get(i), values);
+					}
+					if (values.size() < pathsCount) {
+						reader.endArray();
+					}
+					break;
+				default:
+					reader.skipValue();
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Puts already read JSON value for node paths and resolves node descendant paths values from it.
+		 */
+		private static void collect(PathNode node, Object value, Map<String, Object> values) {
+			for (String path : node.paths) {
+				values.put(path, value);
+			}
+			for (Map.Entry<Object, PathNode> child : node.children.entrySet()) {
+				Object key = child.getKey();
+				if (key instanceof String && value instanceof Map && ((Map<?, ?>) value).containsKey(key)) {
+					collect(child.getValue(), ((Map<?, ?>) value).get(key), values);
+				} else if (key instanceof Integer && value instanceof List && (Integer) key < ((List<?>) value).size()) {
+					collect(child.getValue(), ((List<?>) value).get((Integer) key), values);
+				} else {
+					collectMissing(child.getValue(), values);
+				}
+			}
+		}
+
+		/**
+		 * Marks node and descendant paths as resolved having no value.
+		 */
+		private static void collectMissing(PathNode node, Map<String, Object> values) {
+			for (String path : node.paths) {
+				values.put(path, null);
+			}
+			for (PathNode child : node.children.values()) {
+				collectMissing(child, values);
+			}
+		}
+
+		/**
+		 * Reads complete JSON value, using same Java types as default {@link JsonPath} JSON provider does.
+		 */
+		private static Object readValue(JsonReader reader) throws IOException {
+			switch (reader.peek()) {
+			case BEGIN_OBJECT:
+				Map<String, Object> map = new LinkedHashMap<>();
+				reader.beginObject();
+				while (reader.hasNext()) {
+					map.put(reader.nextName(), readValue(reader));
+				}
+				reader.endObject();
+				return map;
+			case BEGIN_ARRAY:
+				List<Object> list = new ArrayList<>();
+				reader.beginArray();
+				while (reader.hasNext()) {
+					list.add(readValue(reader));
+				}
+				reader.endArray();
+				return list;
+			case NUMBER:
+				return toNumber(reader.nextString());
+			case BOOLEAN:
+				return reader.nextBoolean();
+			case NULL:
+				reader.nextNull();
+				return null;
+			case STRING:
+			default:
+				return reader.nextString();
+			}
+		}
+
+		private static Number toNumber(String numStr) {
+			if (StringUtils.containsAny(numStr, '.', 'e', 'E')) {
+				return Double.valueOf(numStr);
+			}
+			BigInteger bi = new BigInteger(numStr);
+			if (bi.bitLength() < Integer.SIZE) {
+				return bi.intValue();
+			}
+			if (bi.bitLength() < Long.SIZE) {
+				return bi.longValue();
+			}
+			return bi;
+		}
+	}
+
+	/**
+	 * JSON path step: object property name or array index.
+	 */
+	private static class PathNode {
+		private final Map<Object, PathNode> children = new HashMap<>();
+		private final List<String> paths = new ArrayList<>(1);
+
+		private PathNode child(Object key) {
+			return children.computeIfAbsent(key, k -> new PathNode());
+		}
+	}
 }
@@ -211,7 +211,7 @@ public class ActivityNameValueParser extends AbstractActivityMapParser {
 		if (StringUtils.isEmpty(dataStr)) {
 			return null;
 		}
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityParser.splitting.string", dataStr);
 		if (pattern != null) {
 			Matcher matcher = pattern.matcher(dataStr);
@@ -236,7 +236,7 @@ public class ActivityNameValueParser extends AbstractActivityMapParser {
 					"ActivityParser.no.fields");
 			return null;
 		}
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityParser.split", fields.length);
 		Map<String, String> nameValues = new HashMap<>(fields.length);
 		for (String field : fields) {
@@ -245,7 +245,7 @@ public class ActivityNameValueParser extends AbstractActivityMapParser {
 				if (ArrayUtils.isNotEmpty(nv)) {
 					nameValues.put(nv[0], nv.length > 1 ? nv[1].trim() : "");
 				}
-				logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 						"ActivityNameValueParser.found.delim", field);
 			}
 		}
@@ -260,7 +260,7 @@ public class ActivityNameValueParser extends AbstractActivityMapParser {
 			String key = matcher.group("key"); // NON-NLS
 			String value = matcher.group("value"); // NON-NLS
 			nameValues.put(key, value == null ? "" : value.trim());
-			logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+			LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 					"ActivityNameValueParser.found.regex", key, value);
 		}
 
@@ -31,6 +31,7 @@ import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTParseableInputStream;
 import com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData;
 import com.jkoolcloud.tnt4j.streams.parsers.data.CommonActivityData;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
@@ -179,6 +180,19 @@ public abstract class ActivityParser implements NamedObject {
 	 */
 	public abstract boolean isDataClassSupported(Object data);
 
+	/**
+	 * Returns whether {@link #isDataClassSupported(Object)} result depends only on activity data class, so it can be
+	 * resolved once and reused for all activity data items of same class.
+	 * <p>
+	 * Default implementation returns {@code false}.
+	 *
+	 * @return {@code true} if data support depends only on data class, {@code false} - if it may depend on data
+	 *         contents
+	 */
+	public boolean isDataClassSupportCacheable() {
+		return false;
+	}
+
 	/**
 	 * Sets the value for the field in the specified activity.
 	 *
@@ -223,17 +237,17 @@ public abstract class ActivityParser implements NamedObject {
 		if (value != null && CollectionUtils.isNotEmpty(field.getStackedParsers())) {
 			boolean applied = false;
 			for (ActivityField.FieldParserReference parserRef : field.getStackedParsers()) {
-				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 						"ActivityParser.stacked.parser.applying", name, field, parserRef);
 				try {
 					Object valueToParse = parserRef.getApplyOn() == ParserApplyType.Activity
 							? ai.getFieldValue(field.getFieldTypeName()) : value;
-					logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 							"ActivityParser.stacked.parser.input.value.type", name, field, parserRef,
 							valueToParse == null ? null : valueToParse.getClass().getName());
 					applied = applyStackedParser(field, parserRef, valueToParse, cData);
 
-					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 							"ActivityParser.stacked.parser.applied", name, field, parserRef, applied);
 
 					if (applied) {
@@ -289,7 +303,7 @@ public abstract class ActivityParser implements NamedObject {
 			}
 		}
 
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityParser.stacked.parser.match", parserRef, dataMatch, tagsMatch == null ? "----" : tagsMatch, // NON-NLS
 				expMatch == null ? "----" : expMatch); // NON-NLS
 
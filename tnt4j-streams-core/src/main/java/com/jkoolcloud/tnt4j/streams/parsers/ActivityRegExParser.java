@@ -19,6 +19,7 @@ package com.jkoolcloud.tnt4j.streams.parsers;
 import java.lang.reflect.Method;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -64,6 +65,11 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
  * Note that match index starts from {@code 1} while group indices starts from {@code 0} (group {@code 0} usually means
  * {@code "Full match"}).
  * <p>
+ * Every thread parsing activity data reuses own {@link Matcher} instance. Field locators are bound to match group
+ * indices once, when parser fields extraction plan gets compiled, and {@code "FIND"} strategy scans input string once,
+ * recording only matched groups offsets. Group values are taken from input string only for locators referencing
+ * them.
+ * <p>
  * This activity parser supports those activity field locator types:
  * <ul>
  * <li>{@link com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType#Index}</li>
@@ -94,7 +100,9 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 	 */
 	protected Strategy matchStrategy = Strategy.MATCH;
 
-	private Map<String, Pattern> locatorPatternMap = new HashMap<>(5);
+	private final Map<String, Pattern> locatorPatternMap = new ConcurrentHashMap<>(5);
+
+	private final ThreadLocal<MatcherHolder> threadMatcher = ThreadLocal.withInitial(MatcherHolder::new);
 
 	/**
 	 * Constructs a new ActivityRegExParser.
@@ -147,7 +155,40 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 					"ActivityRegExParser.no.regex.pattern"));
 		}
 
-		return super.parse(stream, data, cData);
+		MatcherHolder mHolder = threadMatcher.get();
+		mHolder.depth++;
+		try {
+			return super.parse(stream, data, cData);
+		} finally {
+			mHolder.depth--;
+			if (mHolder.depth == 0 && mHolder.matcher != null) {
+				// do not keep reference to parsed data
+				mHolder.matcher.reset(""); // NON-NLS
+			}
+		}
+	}
+
+	/**
+	 * Returns current thread {@link Matcher} instance reset to match provided input string. When parser is invoked
+	 * recursively (e.g. as stacked parser of itself), outer invocation matcher is still in use, so new matcher instance
+	 * is created.
+	 *
+	 * @param input
+	 *            input string to match
+	 * @return matcher instance for provided input string
+	 */
+	protected Matcher getMatcher(CharSequence input) {
+		MatcherHolder mHolder = threadMatcher.get();
+		if (mHolder.depth != 1) {
+			return pattern.matcher(input);
+		}
+		if (mHolder.matcher == null || mHolder.matcher.pattern() != pattern) {
+			mHolder.matcher = pattern.matcher(input);
+		} else {
+			mHolder.matcher.reset(input);
+		}
+
+		return mHolder.matcher;
 	}
 
 	@Override
@@ -156,8 +197,16 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 		if (StringUtils.isEmpty(dataStr)) {
 			return null;
 		}
-		Matcher matcher = pattern.matcher(dataStr);
-		if (matcher == null || !isMatching(matcher)) {
+		Matcher matcher = getMatcher(dataStr);
+		RegExMatches matches = null;
+		boolean match;
+		if (matchStrategy == Strategy.FIND) {
+			matches = scanMatches(matcher, dataStr);
+			match = matches.count > 0;
+		} else {
+			match = isMatching(matcher);
+		}
+		if (!match) {
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityParser.input.not.match", getName(), pattern.pattern());
 			return null;
@@ -166,14 +215,45 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 		ActivityContext cData = new ActivityContext(stream, data, matcher);
 		cData.setMessage(dataStr);
 
-		if (matchStrategy == Strategy.FIND) {
-			Map<String, String> matches = findMatches(matcher);
+		if (matches != null) {
 			cData.put(MATCHES_KEY, matches);
 		}
 
 		return cData;
 	}
 
+	/**
+	 * Finds all RegEx matches in activity data string in single scan, recording only matched groups offsets.
+	 *
+	 * @param matcher
+	 *            regex matcher to be used to find matches
+	 * @param input
+	 *            activity data string
+	 * @return found matches groups offsets
+	 */
+	private RegExMatches scanMatches(Matcher matcher, String input) {
+		RegExMatches matches = new RegExMatches(input, matcher.groupCount());
+		while (matcher.find()) {
+			matches.add(matcher);
+		}
+
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
+				"ActivityRegExParser.found.matches", matches.count);
+		if (logger().isSet(OpLevel.TRACE)) {
+			for (int mi = 1; mi <= matches.count; mi++) {
+				for (int gi = 0; gi <= matches.groupCount; gi++) {
+					String matchStr = matches.group(mi, gi);
+					if (matchStr != null) {
+						logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"ActivityRegExParser.match", makeMatchKey(mi, gi), matchStr);
+					}
+				}
+			}
+		}
+
+		return matches;
+	}
+
 	/**
 	 * Checks if <tt>matcher</tt> matches input data string using parser defined matching strategy.
 	 *
@@ -235,7 +315,7 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 					}
 				}
 			}
-			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+			LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 					"ActivityRegExParser.found.matches", matches.size());
 
 			return matches;
@@ -262,7 +342,7 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 
 	private void addMatchEntry(Map<String, String> matches, String matchKey, String matchStr) {
 		matches.put(matchKey, matchStr);
-		logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityRegExParser.match", matchKey, matchStr);
 	}
 
@@ -284,7 +364,6 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 	 * @see java.util.regex.Matcher#group(String)
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
 		Object val = null;
@@ -294,8 +373,8 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 			if (locator.getBuiltInType() == ActivityFieldLocatorType.Expression) {
 				val = getRegExValue(locStr, cData);
 			} else if (cData.containsKey(MATCHES_KEY)) {
-				Map<String, String> matches = (Map<String, String>) cData.get(MATCHES_KEY);
-				val = getMatch(matches, locStr);
+				RegExMatches matches = (RegExMatches) cData.get(MATCHES_KEY);
+				val = getMatch(matches.asMap(), locStr);
 			} else {
 				Matcher matcher = cData.getData();
 				ActivityFieldLocatorType locType = locator.getBuiltInType();
@@ -317,6 +396,111 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 		return val;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is {@link Pattern} for {@link ActivityFieldLocatorType#Expression} type locators, or match and
+	 * group indices pair having group name resolved to group index for other locators.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) throws Exception {
+		String locStr = locator.getLocator();
+		if (StringUtils.isEmpty(locStr)) {
+			return null;
+		}
+		if (locator.getBuiltInType() == ActivityFieldLocatorType.Expression) {
+			return locatorPatternMap.computeIfAbsent(locStr, Pattern::compile);
+		}
+		if (pattern == null) {
+			return null;
+		}
+
+		int groupCount = pattern.matcher("").groupCount(); // NON-NLS
+		if (matchStrategy == Strategy.FIND) {
+			if (locStr.contains(WILDCARD)) {
+				return null;
+			}
+			int di = locStr.indexOf(StreamsConstants.DEFAULT_PATH_DELIM);
+			int mi = di < 0 ? 1 : toIndex(locStr.substring(0, di));
+			int gi = toGroupIndex(di < 0 ? locStr : locStr.substring(di + 1), groupCount);
+			return new GroupLocator(mi < 1 ? -1 : mi, gi);
+		}
+
+		ActivityFieldLocatorType locType = locator.getBuiltInType();
+		int gi;
+		if (locType != null && locType.getDataType() == Integer.class) {
+			gi = Integer.parseInt(locStr);
+		} else if (locType != null && locType.getDataType() == String.class) {
+			gi = getNamedGroupIndex(locStr);
+		} else {
+			try {
+				gi = Integer.parseInt(locStr);
+			} catch (NumberFormatException exc) {
+				gi = getNamedGroupIndex(locStr);
+			}
+		}
+		return new GroupLocator(0, gi > groupCount ? -1 : gi);
+	}
+
+	private int toGroupIndex(String gid, int groupCount) throws Exception {
+		int gi = toIndex(gid);
+		if (gi < 0) {
+			gi = getNamedGroupIndex(gid);
+		}
+		return gi > groupCount ? -1 : gi;
+	}
+
+	private int getNamedGroupIndex(String groupName) throws Exception {
+		Map<String, Integer> namedGroups = getNamedGroups(pattern);
+		Integer gi = namedGroups == null ? null : namedGroups.get(groupName);
+		return gi == null ? -1 : gi;
+	}
+
+	private static int toIndex(String str) {
+		try {
+			int idx = Integer.parseInt(str);
+			// match key is built from index, so only canonical index form can match
+			return String.valueOf(idx).equals(str) ? idx : -1;
+		} catch (NumberFormatException exc) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Gets field raw data value resolved by compiled locator.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            compiled locator: {@link Pattern} or bound group indices
+	 * @param cData
+	 *            RegEx data package - {@link Matcher} or found matches groups offsets
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 *
+	 * @throws java.text.ParseException
+	 *             if exception occurs while finding RegEx matches
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		if (compiledLocator instanceof Pattern) {
+			return getRegExValue((Pattern) compiledLocator, cData);
+		}
+
+		GroupLocator gLocator = (GroupLocator) compiledLocator;
+		if (gLocator.group < 0) {
+			return null;
+		}
+		RegExMatches matches = (RegExMatches) cData.get(MATCHES_KEY);
+		if (matches != null) {
+			return gLocator.match < 0 ? null : matches.group(gLocator.match, gLocator.group);
+		}
+
+		return cData.getData().group(gLocator.group);
+	}
+
 	/**
 	 * Finds match value in regex matches map using provided locator string.
 	 * <p>
@@ -421,6 +605,9 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 	 * Retrieves named groups map from <tt>regexPattern</tt>.
 	 * <p>
 	 * Named groups map key is group name, value is group index.
+	 * <p>
+	 * If pattern internal named groups map is not accessible (e.g. Java 16+ runtime having {@code java.util.regex}
+	 * package not opened for reflection), named groups are resolved from pattern string.
 	 * 
 	 * @param regexPattern
 	 *            pattern to get group names
@@ -430,14 +617,60 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 	 */
 	@SuppressWarnings("unchecked")
 	protected static Map<String, Integer> getNamedGroups(Pattern regexPattern) throws Exception {
-		Method namedGroupsMethod = Pattern.class.getDeclaredMethod("namedGroups");
-		namedGroupsMethod.setAccessible(true);
+		Map<String, Integer> namedGroups;
+		try {
+			Method namedGroupsMethod = Pattern.class.getDeclaredMethod("namedGroups");
+			namedGroupsMethod.setAccessible(true);
 
-		Map<String, Integer> namedGroups = (Map<String, Integer>) namedGroupsMethod.invoke(regexPattern);
+			namedGroups = (Map<String, Integer>) namedGroupsMethod.invoke(regexPattern);
+		} catch (RuntimeException exc) {
+			namedGroups = parseNamedGroups(regexPattern.pattern());
+		}
 
 		return namedGroups == null ? null : Collections.unmodifiableMap(namedGroups);
 	}
 
+	/**
+	 * Resolves named groups map from regular expression string by counting capturing groups.
+	 *
+	 * @param regex
+	 *            regular expression string
+	 * @return map of named groups
+	 */
+	static Map<String, Integer> parseNamedGroups(String regex) {
+		Map<String, Integer> namedGroups = new HashMap<>();
+		int groupIdx = 0;
+		int classDepth = 0;
+		for (int i = 0; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+					int qe = regex.indexOf("\\E", i + 2); // NON-NLS
+					i = qe < 0 ? regex.length() : qe + 1;
+				} else {
+					i++;
+				}
+			} else if (c == '[') {
+				classDepth++;
+			} else if (c == ']' && classDepth > 0) {
+				classDepth--;
+			} else if (c == '(' && classDepth == 0) {
+				if (!regex.startsWith("?", i + 1)) { // NON-NLS
+					groupIdx++;
+				} else if (regex.startsWith("?<", i + 1) && !regex.startsWith("?<=", i + 1) // NON-NLS
+						&& !regex.startsWith("?<!", i + 1)) { // NON-NLS
+					groupIdx++;
+					int ne = regex.indexOf('>', i + 3);
+					if (ne > 0) {
+						namedGroups.put(regex.substring(i + 3, ne), groupIdx);
+					}
+				}
+			}
+		}
+
+		return namedGroups;
+	}
+
 	/**
 	 * Evaluates provided regular expression {@code regEx} against parser context data {@code cData}.
 	 * <p>
@@ -453,17 +686,13 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 	 *             if exception occurs while finding RegEx matches
 	 */
 	protected Object getRegExValue(String regEx, ActivityContext cData) throws ParseException {
-		Pattern pattern = locatorPatternMap.get(regEx);
-
-		if (pattern == null) {
-			pattern = Pattern.compile(regEx);
-			locatorPatternMap.put(regEx, pattern);
-		}
-
-		Matcher matcher = pattern.matcher(cData.getMessage());
-		Map<String, String> matches = findMatches(matcher);
+		return getRegExValue(locatorPatternMap.computeIfAbsent(regEx, Pattern::compile), cData);
+	}
 
-		return getMatch(matches, "1");
+	private static Object getRegExValue(Pattern regExPattern, ActivityContext cData) {
+		// value is first match group 1, so there is no need to find all matches
+		Matcher matcher = regExPattern.matcher(cData.getMessage());
+		return matcher.find() && matcher.groupCount() >= 1 ? matcher.group(1) : null;
 	}
 
 	private static final EnumSet<ActivityFieldLocatorType> UNSUPPORTED_LOCATOR_TYPES = EnumSet
@@ -496,4 +725,115 @@ public class ActivityRegExParser extends GenericActivityParser<Matcher> {
 		 */
 		FIND
 	}
+
+	/**
+	 * Current thread reusable {@link Matcher} and parser invocations depth.
+	 */
+	private static class MatcherHolder {
+		private Matcher matcher;
+		private int depth;
+	}
+
+	/**
+	 * Field locator bound match and group indices.
+	 */
+	private static class GroupLocator {
+		private final int match;
+		private final int group;
+
+		private GroupLocator(int match, int group) {
+			this.match = match;
+			this.group = group;
+		}
+	}
+
+	/**
+	 * RegEx matches found in activity data string, having only matched groups offsets recorded. Group values are
+	 * taken from input string on demand.
+	 */
+	private class RegExMatches {
+		private final String input;
+		private final int groupCount;
+		private int[] offsets;
+		private int count;
+		private Map<String, String> matchesMap;
+
+		private RegExMatches(String input, int groupCount) {
+			this.input = input;
+			this.groupCount = groupCount;
+			this.offsets = new int[(groupCount + 1) * 2 * 4];
+		}
+
+		private void add(Matcher matcher) {
+			int mLength = (groupCount + 1) * 2;
+			int mOffset = count * mLength;
+			if (offsets.length < mOffset + mLength) {
+				offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			for (int gi = 0; gi <= groupCount; gi++) {
+				offsets[mOffset + gi * 2] = matcher.start(gi);
+				offsets[mOffset + gi * 2 + 1] = matcher.end(gi);
+			}
+			count++;
+		}
+
+		/**
+		 * Returns group value of defined match.
+		 *
+		 * @param mi
+		 *            match index, starting from {@code 1}
+		 * @param gi
+		 *            group index
+		 * @return group value, or {@code null} if there is no such match or group did not match
+		 */
+		private String group(int mi, int gi) {
+			if (mi < 1 || mi > count || gi < 0 || gi > groupCount) {
+				return null;
+			}
+			int gOffset = (mi - 1) * (groupCount + 1) * 2 + gi * 2;
+			int start = offsets[gOffset];
+			return start < 0 ? null : input.substring(start, offsets[gOffset + 1]);
+		}
+
+		/**
+		 * Returns matches map keyed by match and group identifiers, same as {@link #findMatches(Matcher)} makes.
+		 * Map is built only once, on first request.
+		 *
+		 * @return matches map
+		 * @throws ParseException
+		 *             if exception occurs while resolving pattern named groups
+		 */
+		private Map<String, String> asMap() throws ParseException {
+			if (matchesMap == null) {
+				try {
+					Map<String, Integer> namedGroupsMap = getNamedGroups(pattern);
+					Map<String, String> matches = new LinkedHashMap<>(10);
+					for (int mi = 1; mi <= count; mi++) {
+						for (int gi = 0; gi <= groupCount; gi++) {
+							String matchStr = group(mi, gi);
+							if (matchStr != null) {
+								matches.put(makeMatchKey(mi, gi), matchStr);
+
+								if (MapUtils.isNotEmpty(namedGroupsMap)) {
+									for (Map.Entry<String, Integer> namedGroup : namedGroupsMap.entrySet()) {
+										if (gi == namedGroup.getValue()) {
+											matches.put(makeMatchKey(mi, namedGroup.getKey()), matchStr);
+										}
+									}
+								}
+							}
+						}
+					}
+					matchesMap = matches;
+				} catch (Exception e) {
+					ParseException pe = new ParseException(StreamsResources.getStringFormatted(
+							StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityRegExParser.failed.parsing.matches"), 0);
+					pe.initCause(e);
+					throw pe;
+				}
+			}
+
+			return matchesMap;
+		}
+	}
 }
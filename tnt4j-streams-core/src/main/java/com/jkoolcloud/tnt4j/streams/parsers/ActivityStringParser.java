@@ -137,21 +137,58 @@ public class ActivityStringParser extends GenericActivityParser<String> {
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
-		Object val = null;
-		String locStr = locator.getLocator();
+		IntRange range;
 		try {
-			IntRange range = IntRange.getRange(locStr, true);
-
-			val = StringUtils.substring(cData.getData(), range.getFrom(), range.getTo());
+			range = IntRange.getRange(locator.getLocator(), true);
 		} catch (Exception exc) {
-			ParseException pe = new ParseException(StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
-					"ActivityStringParser.range.exception"), 0);
-			pe.initCause(exc);
+			throw rangeException(exc);
+		}
+
+		return resolveLocatorValue(locator, range, cData, formattingNeeded);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is substring characters range.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) throws Exception {
+		return IntRange.getRange(locator.getLocator(), true);
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled characters range.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            substring characters range
+	 * @param cData
+	 *            activity data carrier object
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return substring value resolved by locator, or {@code null} if value is not resolved
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		try {
+			IntRange range = (IntRange) compiledLocator;
 
-			throw pe;
+			return StringUtils.substring(cData.getData(), range.getFrom(), range.getTo());
+		} catch (Exception exc) {
+			throw rangeException(exc);
 		}
+	}
+
+	private static ParseException rangeException(Exception exc) {
+		ParseException pe = new ParseException(
+				StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityStringParser.range.exception"),
+				0);
+		pe.initCause(exc);
 
-		return val;
+		return pe;
 	}
 
 	@SuppressWarnings("deprecation")
@@ -155,7 +155,7 @@ public class ActivityTokenParser extends GenericActivityParser<String[]> {
 		if (StringUtils.isEmpty(dataStr)) {
 			return null;
 		}
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityParser.splitting.string", dataStr);
 		if (pattern != null) {
 			Matcher matcher = pattern.matcher(dataStr);
@@ -175,7 +175,7 @@ public class ActivityTokenParser extends GenericActivityParser<String[]> {
 					"ActivityParser.no.fields");
 			return null;
 		}
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME,
 				"ActivityParser.split", fields.length);
 
 		ActivityContext cData = new ActivityContext(stream, data, fields);
@@ -198,12 +198,42 @@ public class ActivityTokenParser extends GenericActivityParser<String[]> {
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) {
-		Object val = null;
+		return resolveLocatorValue(locator, compileLocator(locator), cData, formattingNeeded);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is token index.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) {
 		String locStr = locator.getLocator();
+
+		return StringUtils.isEmpty(locStr) ? null : Integer.valueOf(locStr);
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled token index.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            token index
+	 * @param cData
+	 *            activity object data fields array
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) {
+		Object val = null;
 		String[] fields = cData.getData();
 
-		if (StringUtils.isNotEmpty(locStr)) {
-			int loc = Integer.parseInt(locStr);
+		if (compiledLocator != null) {
+			int loc = (Integer) compiledLocator;
 			if (loc > 0 && loc <= fields.length) {
 				val = fields[loc - 1].trim();
 			}
@@ -21,12 +21,17 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
 
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.*;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -60,6 +65,10 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>Namespace - additional XML namespace mappings. (Optional)</li>
  * <li>NamespaceAware - indicates that parser has to provide support for XML namespaces. Default value - {@code true}.
  * (Optional)</li>
+ * <li>StreamingMode - indicates that parser shall extract field values in one pass over XML data using StAX reader,
+ * without building DOM document. Applies only when parser is namespace aware, fields have no stacked parsers and all
+ * XML data locators are simple absolute paths like {@code /a/b/c} or {@code /a/b/@attr}; otherwise parser falls back
+ * to DOM and XPath. Default value - {@code false}. (Optional)</li>
  * </ul>
  * <p>
  * This activity parser supports those activity field locator types:
@@ -93,22 +102,37 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 	 */
 	private static final String LOCALE_ATTR = "locale"; // NON-NLS
 
+	private static final String NAME_PATTERN = "[A-Za-z_][\\w.\\-]*(?::[A-Za-z_][\\w.\\-]*)?"; // NON-NLS
+	/**
+	 * Simple XPath expression pattern: {@code /a/b/c} or {@code /a/b/@attr}, steps may have namespace prefixes. Leading
+	 * {@code /} is optional, since expressions are evaluated against document node.
+	 */
+	private static final Pattern SIMPLE_PATH_PATTERN = Pattern
+			.compile("/?" + NAME_PATTERN + "(?:/" + NAME_PATTERN + ")*(?:/@" + NAME_PATTERN + ")?"); // NON-NLS
+	private static final String STREAMED_VALUES_KEY = "STREAMED_XML_VALUES"; // NON-NLS
+
 	/**
 	 * Contains the XML namespace mappings.
 	 */
 	protected NamespaceMap namespaces = null;
 
-	private XPath xPath;
-	private DocumentBuilder builder;
-
-	private final ReentrantLock xPathLock = new ReentrantLock();
-	private final ReentrantLock builderLock = new ReentrantLock();
+	private XPathExpressionCache xPathCache;
+	private ThreadLocal<DocumentBuilder> builders;
+	private ThreadLocal<XMLInputFactory> staxFactories;
+	private Document streamedDocument;
+	private volatile StreamingPaths streamingPaths;
 
 	/**
 	 * Property indicating that parser shall be namespace aware.
 	 */
 	protected boolean namespaceAware = true;
 
+	/**
+	 * Property indicating that parser shall extract values from XML data in one pass using StAX reader, when all
+	 * locators are simple absolute paths.
+	 */
+	protected boolean streamingMode = false;
+
 	/**
 	 * Constructs a new activity XML string parser.
 	 */
@@ -117,7 +141,10 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 	}
 
 	/**
-	 * Initiates DOM document builder and XPath compiler.
+	 * Initiates DOM document builders and XPath expressions cache.
+	 * <p>
+	 * {@link DocumentBuilder} is not thread safe, so every thread parsing activity data gets own builder instance
+	 * created from the same factory configuration.
 	 *
 	 * @param uNamespaces
 	 *            custom namespace prefix and URI mappings
@@ -130,17 +157,28 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 		domFactory.setNamespaceAware(namespaceAware);
 		domFactory.setValidating(false);
 
-		builder = domFactory.newDocumentBuilder();
-		builder.setEntityResolver(new EntityResolver() {
-			@Override
-			public InputSource resolveEntity(String publicId, String systemId) {
-				return new InputSource(new StringReader(""));
+		DocumentBuilder builder = newDocumentBuilder(domFactory);
+		streamedDocument = builder.newDocument();
+		builders = ThreadLocal.withInitial(() -> {
+			try {
+				return newDocumentBuilder(domFactory);
+			} catch (ParserConfigurationException exc) {
+				throw new RuntimeException(exc);
 			}
 		});
-
-		xPath = StreamsXMLUtils.getStreamsXPath();
+		builders.set(builder);
+
+		boolean nsAware = namespaceAware;
+		staxFactories = ThreadLocal.withInitial(() -> {
+			XMLInputFactory staxFactory = XMLInputFactory.newInstance();
+			staxFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, nsAware);
+			staxFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+			staxFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			return staxFactory;
+		});
 
 		if (namespaces == null) {
+			XPath xPath = StreamsXMLUtils.getStreamsXPath();
 			if (xPath.getNamespaceContext() instanceof NamespaceMap) {
 				namespaces = (NamespaceMap) xPath.getNamespaceContext();
 			} else {
@@ -153,6 +191,31 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 		namespaces.setPrefixUriMapping("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI); // NON-NLS
 
 		namespaces.addPrefixUriMappings(uNamespaces);
+
+		xPathCache = new XPathExpressionCache(namespaces);
+		invalidateExtractionPlan();
+	}
+
+	private static DocumentBuilder newDocumentBuilder(DocumentBuilderFactory domFactory)
+			throws ParserConfigurationException {
+		DocumentBuilder builder;
+		synchronized (domFactory) {
+			builder = domFactory.newDocumentBuilder();
+		}
+		builder.setEntityResolver(new EntityResolver() {
+			@Override
+			public InputSource resolveEntity(String publicId, String systemId) {
+				return new InputSource(new StringReader(""));
+			}
+		});
+
+		return builder;
+	}
+
+	@Override
+	protected void invalidateExtractionPlan() {
+		super.invalidateExtractionPlan();
+		streamingPaths = null;
 	}
 
 	@Override
@@ -187,6 +250,12 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 						logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"ActivityParser.setting", name, value);
 					}
+				} else if (ParserProperties.PROP_STREAMING_MODE.equalsIgnoreCase(name)) {
+					if (StringUtils.isNotEmpty(value)) {
+						streamingMode = Utils.toBoolean(value);
+						logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"ActivityParser.setting", name, value);
+					}
 				}
 			}
 		}
@@ -203,6 +272,9 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 		if (ParserProperties.PROP_NAMESPACE_AWARE.equalsIgnoreCase(name)) {
 			return namespaceAware;
 		}
+		if (ParserProperties.PROP_STREAMING_MODE.equalsIgnoreCase(name)) {
+			return streamingMode;
+		}
 
 		return super.getProperty(name);
 	}
@@ -258,6 +330,14 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 				if (StringUtils.isEmpty(xmlString)) {
 					return null;
 				}
+				StreamingPaths sPaths = getStreamingPaths();
+				if (sPaths != null) {
+					ActivityContext cData = new ActivityContext(stream, data, streamedDocument);
+					cData.put(STREAMED_VALUES_KEY, streamValues(xmlString, sPaths));
+					cData.setMessage(xmlString);
+
+					return cData;
+				}
 				xmlDoc = parseXmlDoc(IOUtils.toInputStream(xmlString, StandardCharsets.UTF_8));
 			}
 		} catch (Exception e) {
@@ -291,9 +371,14 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 		String[] savedFormats = null;
 		String[] savedUnits = null;
 		String[] savedLocales = null;
+		if (filterEarly(0, cData)) {
+			return;
+		}
 		// apply fields for parser
 		Object[] values;
-		for (ActivityField aField : fieldList) {
+		List<ActivityField> fields = getParseOrderFields();
+		for (int fi = 0; fi < fields.size(); fi++) {
+			ActivityField aField = fields.get(fi);
 			values = null;
 			cData.setField(aField);
 			List<ActivityFieldLocator> locators = aField.getLocators();
@@ -331,6 +416,9 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 					loc.setUnits(savedUnits[li]);
 				}
 			}
+			if (filterEarly(fi + 1, cData)) {
+				return;
+			}
 		}
 	}
 
@@ -357,72 +445,291 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
-		Object val = null;
 		String locStr = locator.getLocator();
+		boolean dynamic = ActivityField.isDynamicAttr(locStr);
 
-		if (ActivityField.isDynamicAttr(locStr)) {
+		if (dynamic) {
 			ActivityInfo ai = cData.getActivity();
 			locStr = StreamsCache.fillInKeyPattern(locStr, ai, getName());
 		}
 
 		if (StringUtils.isNotEmpty(locStr)) {
+			Map<String, List<StreamedNode>> streamedValues = getStreamedValues(cData);
+			if (streamedValues != null) {
+				return resolveStreamedValue(locator, streamedValues.get(locStr), formattingNeeded);
+			}
+
+			XPathLocator xLocator = new XPathLocator(locStr);
 			try {
-				if (locStr.startsWith(StreamsConstants.PARENT_REFERENCE_PREFIX)) {
-					XPathExpression expr = getXPathExpr(
-							locStr.substring(StreamsConstants.PARENT_REFERENCE_PREFIX.length()));
-					val = resolveValueOverXPath(cData.getParentContext(), expr);
-				} else {
-					XPathExpression expr = getXPathExpr(locStr);
-					Node nodeDocument = cData.getData();
-
-					if (nodeDocument != null) { // try expression relative to node
-						val = resolveValueOverXPath(nodeDocument, expr);
-					}
-					if (val == null) { // otherwise try on context document
-						Object rawData = cData.getRawData();
-						Node xmlDoc = rawData instanceof Node ? ((Node) rawData).getOwnerDocument() : null;
-						if (xmlDoc != null) {
-							val = resolveValueOverXPath(xmlDoc, expr);
-						}
-					}
+				// activity values filled in expressions are not cached
+				XPathExpression expr = dynamic ? xPathCache.compile(xLocator.expression)
+						: xPathCache.getExpression(xLocator.expression);
+				return resolveLocatorValue(locator, expr, xLocator.parentRef, cData, formattingNeeded);
+			} catch (XPathExpressionException exc) {
+				throw xPathException(exc);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is XPath expression string having parent reference prefix resolved. Locators having activity
+	 * values referenced (dynamic locators) are not compiled. Compiled expression is also put into parser XPath
+	 * expressions cache.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) throws Exception {
+		String locStr = locator.getLocator();
+		if (xPathCache == null || StringUtils.isEmpty(locStr) || ActivityField.isDynamicAttr(locStr)) {
+			return null;
+		}
+
+		XPathLocator xLocator = new XPathLocator(locStr);
+		xPathCache.getExpression(xLocator.expression);
+
+		return xLocator;
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled XPath expression and formats it according locator
+	 * definition.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            compiled XPath locator
+	 * @param cData
+	 *            activity object XML DOM document
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return value formatted based on locator definition or {@code null} if locator is not defined
+	 *
+	 * @throws ParseException
+	 *             if exception occurs while resolving raw data value or applying locator format properties to specified
+	 *             value
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		XPathLocator xLocator = (XPathLocator) compiledLocator;
+		Map<String, List<StreamedNode>> streamedValues = getStreamedValues(cData);
+		if (streamedValues != null) {
+			return resolveStreamedValue(locator, streamedValues.get(xLocator.expression), formattingNeeded);
+		}
+
+		try {
+			return resolveLocatorValue(locator, xPathCache.getExpression(xLocator.expression), xLocator.parentRef,
+					cData, formattingNeeded);
+		} catch (XPathExpressionException exc) {
+			throw xPathException(exc);
+		}
+	}
+
+	private Object resolveLocatorValue(ActivityFieldLocator locator, XPathExpression expr, boolean parentRef,
+			ActivityContext cData, AtomicBoolean formattingNeeded) throws XPathExpressionException, ParseException {
+		Object val = null;
+		if (parentRef) {
+			val = resolveValueOverXPath(cData.getParentContext(), expr);
+		} else {
+			Node nodeDocument = cData.getData();
+
+			if (nodeDocument != null) { // try expression relative to node
+				val = resolveValueOverXPath(nodeDocument, expr);
+			}
+			if (val == null) { // otherwise try on context document
+				Object rawData = cData.getRawData();
+				Node xmlDoc = rawData instanceof Node ? ((Node) rawData).getOwnerDocument() : null;
+				if (xmlDoc != null) {
+					val = resolveValueOverXPath(xmlDoc, expr);
 				}
+			}
+		}
 
-				if (val instanceof Node) {
-					val = getTextOnDemand((Node) val, locator, cData, formattingNeeded);
-				} else if (Utils.isCollection(val)) {
-					Object[] nodes = Utils.makeArray(val, Object.class);
-					for (int i = 0; i < nodes.length; i++) {
-						if (nodes[i] instanceof Node) {
-							nodes[i] = getTextOnDemand((Node) nodes[i], locator, cData, formattingNeeded);
-						}
-					}
-					val = Utils.makeArray(nodes);
+		if (val instanceof Node) {
+			val = getTextOnDemand((Node) val, locator, cData, formattingNeeded);
+		} else if (Utils.isCollection(val)) {
+			Object[] nodes = Utils.makeArray(val, Object.class);
+			for (int i = 0; i < nodes.length; i++) {
+				if (nodes[i] instanceof Node) {
+					nodes[i] = getTextOnDemand((Node) nodes[i], locator, cData, formattingNeeded);
 				}
-			} catch (XPathExpressionException exc) {
-				ParseException pe = new ParseException(StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
-						"ActivityXMLParser.xPath.exception"), 0);
-				pe.initCause(exc);
-				throw pe;
 			}
+			val = Utils.makeArray(nodes);
 		}
+
 		return val;
 	}
 
+	private static ParseException xPathException(XPathExpressionException exc) {
+		ParseException pe = new ParseException(
+				StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityXMLParser.xPath.exception"),
+				0);
+		pe.initCause(exc);
+
+		return pe;
+	}
+
 	private Node parseXmlDoc(InputStream ins) throws SAXException, IOException {
-		builderLock.lock();
-		try {
-			return builder.parse(ins);
-		} finally {
-			builderLock.unlock();
+		return builders.get().parse(ins);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, List<StreamedNode>> getStreamedValues(ActivityContext cData) {
+		return (Map<String, List<StreamedNode>>) cData.get(STREAMED_VALUES_KEY);
+	}
+
+	private static Object resolveStreamedValue(ActivityFieldLocator locator, List<StreamedNode> nodes,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		int length = nodes == null ? 0 : nodes.size();
+		if (length == 0) {
+			return null;
+		}
+		if (length == 1) {
+			return nodes.get(0).getTextContent(locator, formattingNeeded);
+		}
+
+		Object[] values = new Object[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = nodes.get(i).getTextContent(locator, formattingNeeded);
 		}
+
+		return Utils.makeArray(values);
 	}
 
-	private XPathExpression getXPathExpr(String locStr) throws XPathExpressionException {
-		xPathLock.lock();
+	/**
+	 * Returns streaming mode XML paths to extract, or {@code null} if streaming mode is disabled or can't be applied
+	 * for this parser fields.
+	 *
+	 * @return streaming mode XML paths, or {@code null} if DOM document shall be used
+	 */
+	private StreamingPaths getStreamingPaths() {
+		if (!streamingMode) {
+			return null;
+		}
+
+		StreamingPaths sPaths = streamingPaths;
+		if (sPaths == null) {
+			sPaths = new StreamingPaths();
+			String rejectReason = namespaceAware ? null : ParserProperties.PROP_NAMESPACE_AWARE;
+			for (ActivityField aField : fieldList) {
+				if (rejectReason != null) {
+					break;
+				}
+				if (CollectionUtils.isNotEmpty(aField.getStackedParsers())) {
+					rejectReason = aField.getFieldTypeName();
+					break;
+				}
+				List<ActivityFieldLocator> locators = new ArrayList<>();
+				if (aField.getLocators() != null) {
+					locators.addAll(aField.getLocators());
+				}
+				if (aField.isDynamic()) {
+					locators.addAll(aField.getDynamicLocators().values());
+				}
+				for (ActivityFieldLocator locator : locators) {
+					if (!sPaths.add(locator)) {
+						rejectReason = locator.getLocator();
+						break;
+					}
+				}
+			}
+
+			if (rejectReason != null) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityXmlParser.streaming.not.applicable", getName(), rejectReason);
+				sPaths.paths = null;
+			}
+			streamingPaths = sPaths;
+		}
+
+		return sPaths.paths == null ? null : sPaths;
+	}
+
+	/**
+	 * Extracts values of defined XML paths in one pass over XML data string using StAX reader.
+	 *
+	 * @param xmlString
+	 *            XML data string
+	 * @param sPaths
+	 *            XML paths to extract
+	 * @return map of extracted XML nodes lists keyed by path expression
+	 *
+	 * @throws XMLStreamException
+	 *             if XML data is malformed
+	 */
+	private Map<String, List<StreamedNode>> streamValues(String xmlString, StreamingPaths sPaths)
+			throws XMLStreamException {
+		Map<String, List<StreamedNode>> values = new HashMap<>(sPaths.paths.size());
+		List<StreamedNode> openNodes = new ArrayList<>();
+		List<QName> elementsPath = new ArrayList<>();
+
+		XMLStreamReader reader = staxFactories.get().createXMLStreamReader(new StringReader(xmlString));
 		try {
-			return xPath.compile(locStr);
+			while (reader.hasNext()) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					if (elementsPath.isEmpty()) {
+						resolveDocumentNamespaces(reader);
+					}
+					elementsPath.add(reader.getName());
+					for (SimplePath path : sPaths.paths.values()) {
+						if (!path.matches(elementsPath, namespaces)) {
+							continue;
+						}
+						StreamedNode sNode = new StreamedNode(reader, elementsPath.size());
+						if (path.attribute == null) {
+							openNodes.add(sNode);
+						} else {
+							sNode.value = path.attribute.getValue(reader, namespaces);
+							if (sNode.value == null) {
+								continue;
+							}
+						}
+						values.computeIfAbsent(path.expression, k -> new ArrayList<>(1)).add(sNode);
+					}
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					for (int i = openNodes.size() - 1; i >= 0; i--) {
+						StreamedNode sNode = openNodes.get(i);
+						if (sNode.depth == elementsPath.size()) {
+							sNode.value = sNode.text.toString();
+							sNode.text = null;
+							openNodes.remove(i);
+						}
+					}
+					elementsPath.remove(elementsPath.size() - 1);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					for (StreamedNode sNode : openNodes) {
+						sNode.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					}
+					break;
+				default:
+					break;
+				}
+			}
 		} finally {
-			xPathLock.unlock();
+			reader.close();
+		}
+
+		return values;
+	}
+
+	/**
+	 * Adds XML document root element declared namespaces to parser namespaces map, the same way
+	 * {@link StreamsXMLUtils#resolveDocumentNamespaces(org.w3c.dom.Node, com.jkoolcloud.tnt4j.streams.utils.NamespaceMap, boolean)}
+	 * does for DOM documents.
+	 */
+	private void resolveDocumentNamespaces(XMLStreamReader reader) {
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			String prefix = reader.getNamespacePrefix(i);
+			namespaces.setPrefixUriMapping(StringUtils.isEmpty(prefix) ? XMLConstants.DEFAULT_NS_PREFIX : prefix,
+					reader.getNamespaceURI(i));
 		}
 	}
 
@@ -523,36 +830,45 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 		// Get list of attributes and their values for current element
 		NamedNodeMap attrsMap = attrsNode == null ? null : attrsNode.getAttributes();
 		if (attrsMap != null && attrsMap.getLength() > 0) {
-			ActivityFieldLocator locCopy = locator.clone();
-
 			Node attr = getFormattingAttr(attrsMap, DATA_TYPE_ATTR);
-			String attrVal = attr == null ? null : attr.getTextContent();
-			if (StringUtils.isNotEmpty(attrVal)) {
-				locCopy.setDataType(ActivityFieldDataType.valueOf(attrVal));
-			}
-
+			String dataType = attr == null ? null : attr.getTextContent();
 			attr = getFormattingAttr(attrsMap, FORMAT_ATTR);
-			attrVal = attr == null ? null : attr.getTextContent();
-			if (StringUtils.isNotEmpty(attrVal)) {
-				attr = attrsMap.getNamedItem(LOCALE_ATTR);
-				String attrLVal = attr == null ? null : attr.getTextContent();
+			String format = attr == null ? null : attr.getTextContent();
+			attr = attrsMap.getNamedItem(LOCALE_ATTR);
+			String locale = attr == null ? null : attr.getTextContent();
+			attr = getFormattingAttr(attrsMap, UNITS_ATTR);
+			String units = attr == null ? null : attr.getTextContent();
 
-				locCopy.setFormat(attrVal, StringUtils.isEmpty(attrLVal) ? locator.getLocale() : attrLVal);
-			}
+			return formatTextValue(locator, strValue, dataType, format, locale, units, formattingNeeded);
+		}
 
-			attr = getFormattingAttr(attrsMap, UNITS_ATTR);
-			attrVal = attr == null ? null : attr.getTextContent();
-			if (StringUtils.isNotEmpty(attrVal)) {
-				locCopy.setUnits(attrVal);
-			}
+		return strValue.trim();
+	}
 
-			Object fValue = locCopy.formatValue(strValue.trim());
-			formattingNeeded.set(false);
+	/**
+	 * Formats XML node textual value using provided locator altered by XML node attributes defined data type, format
+	 * and units.
+	 */
+	private static Object formatTextValue(ActivityFieldLocator locator, String strValue, String dataType,
+			String format, String locale, String units, AtomicBoolean formattingNeeded) throws ParseException {
+		ActivityFieldLocator locCopy = locator.clone();
 
-			return fValue;
+		if (StringUtils.isNotEmpty(dataType)) {
+			locCopy.setDataType(ActivityFieldDataType.valueOf(dataType));
 		}
 
-		return strValue.trim();
+		if (StringUtils.isNotEmpty(format)) {
+			locCopy.setFormat(format, StringUtils.isEmpty(locale) ? locator.getLocale() : locale);
+		}
+
+		if (StringUtils.isNotEmpty(units)) {
+			locCopy.setUnits(units);
+		}
+
+		Object fValue = locCopy.formatValue(strValue.trim());
+		formattingNeeded.set(false);
+
+		return fValue;
 	}
 
 	private static Node getFormattingAttr(NamedNodeMap attrsMap, String attrName) {
@@ -643,4 +959,181 @@ public class ActivityXmlParser extends GenericActivityParser<Node> {
 	protected EnumSet<ActivityFieldLocatorType> getUnsupportedLocatorTypes() {
 		return UNSUPPORTED_LOCATOR_TYPES;
 	}
+
+	/**
+	 * XPath expression compiled from activity field locator string.
+	 */
+	private static class XPathLocator {
+		private final String expression;
+		private final boolean parentRef;
+
+		private XPathLocator(String locStr) {
+			parentRef = locStr.startsWith(StreamsConstants.PARENT_REFERENCE_PREFIX);
+			expression = parentRef ? locStr.substring(StreamsConstants.PARENT_REFERENCE_PREFIX.length()) : locStr;
+		}
+	}
+
+	/**
+	 * Streaming mode XML paths extracted from parser fields locators.
+	 */
+	private static class StreamingPaths {
+		private Map<String, SimplePath> paths = new LinkedHashMap<>();
+
+		/**
+		 * Adds locator to streaming paths.
+		 *
+		 * @return {@code false} if locator can't be resolved in streaming mode, {@code true} - otherwise
+		 */
+		private boolean add(ActivityFieldLocator locator) {
+			String locStr = locator.getLocator();
+			if (StringUtils.isEmpty(locStr) || locator.getBuiltInType() == ActivityFieldLocatorType.StreamProp
+					|| locator.getBuiltInType() == ActivityFieldLocatorType.Cache
+					|| locator.getBuiltInType() == ActivityFieldLocatorType.Activity) {
+				return true;
+			}
+			if (LOC_FOR_COMPLETE_ACTIVITY_DATA.equals(locStr)) {
+				return false;
+			}
+			if (locStr.startsWith(LOC_FOR_COMPLETE_ACTIVITY_METADATA)) {
+				return true;
+			}
+
+			SimplePath path = SimplePath.parse(locStr);
+			if (path == null) {
+				return false;
+			}
+			paths.put(locStr, path);
+			return true;
+		}
+	}
+
+	/**
+	 * Simple XPath expression, having only child element steps and optional last attribute step.
+	 */
+	private static class SimplePath {
+		private final String expression;
+		private final PathStep[] elements;
+		private PathStep attribute;
+
+		private SimplePath(String expression, PathStep[] elements) {
+			this.expression = expression;
+			this.elements = elements;
+		}
+
+		private static SimplePath parse(String locStr) {
+			if (!SIMPLE_PATH_PATTERN.matcher(locStr).matches()) {
+				return null;
+			}
+
+			String[] steps = StringUtils.removeStart(locStr, "/").split("/"); // NON-NLS
+			boolean hasAttribute = steps[steps.length - 1].startsWith("@"); // NON-NLS
+			PathStep[] elements = new PathStep[hasAttribute ? steps.length - 1 : steps.length];
+			for (int i = 0; i < elements.length; i++) {
+				elements[i] = new PathStep(steps[i]);
+			}
+			SimplePath path = new SimplePath(locStr, elements);
+			if (hasAttribute) {
+				path.attribute = new PathStep(steps[steps.length - 1].substring(1));
+			}
+
+			return path;
+		}
+
+		private boolean matches(List<QName> elementsPath, NamespaceMap namespaces) {
+			if (elementsPath.size() != elements.length) {
+				return false;
+			}
+			for (int i = 0; i < elements.length; i++) {
+				if (!elements[i].matches(elementsPath.get(i), namespaces)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Simple XPath expression element or attribute name step. Step without prefix matches only nodes having no
+	 * namespace, as XPath does.
+	 */
+	private static class PathStep {
+		private final String prefix;
+		private final String localName;
+
+		private PathStep(String step) {
+			int idx = step.indexOf(':');
+			prefix = idx < 0 ? null : step.substring(0, idx);
+			localName = idx < 0 ? step : step.substring(idx + 1);
+		}
+
+		private String getNamespaceURI(NamespaceMap namespaces) {
+			return prefix == null ? XMLConstants.NULL_NS_URI : namespaces.getNamespaceURI(prefix);
+		}
+
+		private boolean matches(QName name, NamespaceMap namespaces) {
+			return localName.equals(name.getLocalPart())
+					&& StringUtils.equals(getNamespaceURI(namespaces), name.getNamespaceURI());
+		}
+
+		private String getValue(XMLStreamReader reader, NamespaceMap namespaces) {
+			String nsURI = getNamespaceURI(namespaces);
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				if (localName.equals(reader.getAttributeLocalName(i))
+						&& StringUtils.equals(nsURI, StringUtils.defaultString(reader.getAttributeNamespace(i)))) {
+					return reader.getAttributeValue(i);
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * XML element or attribute value extracted in streaming mode, along with owner element formatting attributes.
+	 */
+	private static class StreamedNode {
+		private final int depth;
+		private final boolean hasAttributes;
+		private String dataType;
+		private String format;
+		private String locale;
+		private String units;
+		private StringBuilder text = new StringBuilder();
+		private String value;
+
+		private StreamedNode(XMLStreamReader reader, int depth) {
+			this.depth = depth;
+			int attrsCount = reader.getAttributeCount();
+			// DOM element attributes map also contains namespace declarations
+			hasAttributes = attrsCount + reader.getNamespaceCount() > 0;
+			for (int i = 0; i < attrsCount; i++) {
+				String attrName = getAttributeName(reader, i);
+				if (dataType == null && attrName.equalsIgnoreCase(DATA_TYPE_ATTR)) {
+					dataType = reader.getAttributeValue(i);
+				} else if (format == null && attrName.equalsIgnoreCase(FORMAT_ATTR)) {
+					format = reader.getAttributeValue(i);
+				} else if (units == null && attrName.equalsIgnoreCase(UNITS_ATTR)) {
+					units = reader.getAttributeValue(i);
+				}
+				if (attrName.equals(LOCALE_ATTR)) {
+					locale = reader.getAttributeValue(i);
+				}
+			}
+		}
+
+		private static String getAttributeName(XMLStreamReader reader, int idx) {
+			String prefix = reader.getAttributePrefix(idx);
+			return StringUtils.isEmpty(prefix) ? reader.getAttributeLocalName(idx)
+					: prefix + ":" + reader.getAttributeLocalName(idx); // NON-NLS
+		}
+
+		private Object getTextContent(ActivityFieldLocator locator, AtomicBoolean formattingNeeded)
+				throws ParseException {
+			String strValue = value == null ? "" : value;
+			if (hasAttributes) {
+				return formatTextValue(locator, strValue, dataType, format, locale, units, formattingNeeded);
+			}
+
+			return strValue.trim();
+		}
+	}
 }
@@ -20,6 +20,7 @@ import java.io.*;
 import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -30,6 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
 import com.jkoolcloud.tnt4j.streams.fields.*;
+import com.jkoolcloud.tnt4j.streams.filters.AbstractEntityFilter;
 import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 import com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData;
@@ -107,6 +109,13 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 */
 	protected boolean requireAll = false;
 
+	/**
+	 * Fields having values assigned by activity entity itself, e.g. when activity gets complete.
+	 */
+	private static final Set<String> AUTO_ASSIGNED_FIELDS = new HashSet<>(Arrays.asList(
+			StreamFieldType.TrackingId.name(), StreamFieldType.StartTime.name(), StreamFieldType.EndTime.name(),
+			StreamFieldType.ElapsedTime.name(), StreamFieldType.ServerName.name(), StreamFieldType.ServerIp.name()));
+
 	private StreamFiltersGroup<ActivityInfo> activityFilter;
 
 	private List<ActivityDataPreParser<Object, Object>> preParsers;
@@ -118,6 +127,8 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	private boolean autoArrangeFields = true;
 	private ActivityField parentIdField;
 
+	private volatile ExtractionPlan extractionPlan;
+
 	/**
 	 * Constructs a new GenericActivityParser.
 	 */
@@ -137,6 +148,8 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 
 	@Override
 	public void setProperty(String name, String value) {
+		invalidateExtractionPlan();
+
 		if (ParserProperties.PROP_USE_ACTIVITY_DATA_AS_MESSAGE_FOR_UNSET.equalsIgnoreCase(name)) {
 			useActivityAsMessage = Utils.toBoolean(value);
 
@@ -202,6 +215,17 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		return isDataClassSupportedByParser(data) || isDataClassSupportedByPreParser(data);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This parser and its pre-parsers determine data support by data class, so returns {@code true}. Parsers
+	 * evaluating data contents to determine data support shall override this method to return {@code false}.
+	 */
+	@Override
+	public boolean isDataClassSupportCacheable() {
+		return true;
+	}
+
 	/**
 	 * Returns whether this parser supports the given format of the activity data. This is used by activity streams to
 	 * determine if the parser can parse the data in the format that the stream has it.
@@ -276,6 +300,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 
 		fieldList.add(field);
 		field.referParser(this);
+		invalidateExtractionPlan();
 	}
 
 	private void validateDuplicateFields(ActivityField field) {
@@ -334,6 +359,276 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"ActivityParser.fields.auto.order", fieldList.toString());
 		}
+
+		extractionPlan = compileExtractionPlan();
+	}
+
+	/**
+	 * Compiles parser fields and locators configuration into immutable extraction plan. Plan has locators bound
+	 * {@link #LOC_FOR_COMPLETE_ACTIVITY_DATA}, {@link #LOC_FOR_COMPLETE_ACTIVITY_METADATA} placeholders and built-in
+	 * locator types resolved, locator strings compiled by {@link #compileLocator(ActivityFieldLocator)} and locator
+	 * value formatters initialized, so activity data parsing has only to access actual data values.
+	 * <p>
+	 * When parser has activity filter defined, activity filter referenced fields are moved to the beginning of plan
+	 * (if that does not change values resolved by other fields) and plan defines the point where activity filter
+	 * outcome is known, so parsing of filtered out activity can be stopped there.
+	 *
+	 * @return compiled fields extraction plan
+	 */
+	private ExtractionPlan compileExtractionPlan() {
+		Set<String> filterRefs = getActivityFilterReferences();
+		List<ActivityField> parseOrder = filterRefs == null ? fieldList
+				: arrangeFilterReferencedFields(fieldList, filterRefs);
+
+		Map<ActivityFieldLocator, CompiledLocator> compiledLocators = new IdentityHashMap<>();
+		List<CompiledField> compiledFields = new ArrayList<>(parseOrder.size());
+		for (ActivityField aField : parseOrder) {
+			List<ActivityFieldLocator> locators = aField.getLocators();
+			CompiledLocator[] fLocators = null;
+			if (locators != null) {
+				fLocators = new CompiledLocator[locators.size()];
+				for (int li = 0; li < locators.size(); li++) {
+					fLocators[li] = compileLocator(locators.get(li), compiledLocators);
+				}
+			}
+			Map<String, ActivityFieldLocator> dLocators = aField.getDynamicLocators();
+			if (dLocators != null) {
+				for (ActivityFieldLocator dLocator : dLocators.values()) {
+					compileLocator(dLocator, compiledLocators);
+				}
+			}
+			compiledFields.add(new CompiledField(aField, fLocators));
+		}
+
+		int filterPoint = filterRefs == null ? -1 : getActivityFilterPoint(parseOrder, filterRefs);
+		if (filterRefs != null) {
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.early.filtering", getName(), filterRefs, filterPoint);
+		}
+
+		return new ExtractionPlan(compiledFields, compiledLocators, filterPoint, getValidationPoint(compiledFields),
+				activityFilter == null);
+	}
+
+	/**
+	 * Resolves number of parsed fields after which all fields having required locators are resolved. Parsing of
+	 * filtered out activity is not stopped before required values are validated, so activity missing required value
+	 * fails parsing the same way as when all fields are parsed.
+	 *
+	 * @param fields
+	 *            compiled fields list in parsing order
+	 * @return number of fields to parse before parsing of filtered out activity can be stopped
+	 */
+	private int getValidationPoint(List<CompiledField> fields) {
+		int validationPoint = 0;
+		for (int fi = 0; fi < fields.size(); fi++) {
+			CompiledLocator[] locators = fields.get(fi).locators;
+			if (locators != null) {
+				for (CompiledLocator cLocator : locators) {
+					if (isRequired(cLocator.locator)) {
+						validationPoint = fi + 1;
+					}
+				}
+			}
+		}
+
+		return validationPoint;
+	}
+
+	/**
+	 * Collects activity filter referenced field names.
+	 *
+	 * @return set of activity filter referenced field names, or {@code null} if parser has no activity filter or
+	 *         filter references can't be determined
+	 *
+	 * @see com.jkoolcloud.tnt4j.streams.filters.AbstractEntityFilter#getReferencedFields()
+	 */
+	private Set<String> getActivityFilterReferences() {
+		if (activityFilter == null) {
+			return null;
+		}
+
+		Set<String> refs = new HashSet<>();
+		for (AbstractEntityFilter<ActivityInfo> filter : activityFilter.getFilters()) {
+			Set<String> fRefs = filter.getReferencedFields();
+			if (fRefs == null) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityParser.early.filtering.disabled", getName(), filter.getClass().getName());
+				return null;
+			}
+			refs.addAll(fRefs);
+		}
+
+		return refs;
+	}
+
+	/**
+	 * Arranges parser fields to resolve activity filter referenced fields (and fields they refer) first. Fields order
+	 * is left unchanged if moving referenced fields may alter values resolved by other fields: referenced fields are
+	 * dynamic, have stacked parsers or are not uniquely named, or preceding fields are dynamic, have stacked parsers or
+	 * refer moved fields.
+	 *
+	 * @param fields
+	 *            parser fields list
+	 * @param filterRefs
+	 *            activity filter referenced field names
+	 * @return fields list having activity filter referenced fields at the beginning, or same {@code fields} list if
+	 *         fields can't be rearranged
+	 */
+	private static List<ActivityField> arrangeFilterReferencedFields(List<ActivityField> fields,
+			Set<String> filterRefs) {
+		Set<ActivityField> moved = new HashSet<>();
+		Set<String> movedNames = new HashSet<>();
+		Deque<String> pending = new ArrayDeque<>(filterRefs);
+		while (!pending.isEmpty()) {
+			String name = pending.pop();
+			if (!movedNames.add(name)) {
+				continue;
+			}
+			ActivityField field = null;
+			for (ActivityField aField : fields) {
+				if (name.equals(aField.getFieldTypeName())) {
+					if (field != null) {
+						return fields;
+					}
+					field = aField;
+				}
+			}
+			if (field == null) {
+				continue;
+			}
+			if (field.isDynamic() || CollectionUtils.isNotEmpty(field.getStackedParsers())) {
+				return fields;
+			}
+			moved.add(field);
+			pending.addAll(field.getReferredFields());
+		}
+
+		List<ActivityField> arranged = new ArrayList<>(fields.size());
+		List<ActivityField> others = new ArrayList<>(fields.size());
+		for (ActivityField aField : fields) {
+			if (moved.contains(aField)) {
+				if (!others.isEmpty() && !canMoveAhead(others, movedNames)) {
+					return fields;
+				}
+				arranged.add(aField);
+			} else {
+				others.add(aField);
+			}
+		}
+		arranged.addAll(others);
+
+		return arranged;
+	}
+
+	private static boolean canMoveAhead(List<ActivityField> fields, Set<String> movedNames) {
+		for (ActivityField aField : fields) {
+			if (aField.isDynamic() || CollectionUtils.isNotEmpty(aField.getStackedParsers())
+					|| CollectionUtils.containsAny(aField.getReferredFields(), movedNames)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Resolves number of parsed fields after which activity filter outcome is known: all activity filter referenced
+	 * fields are resolved and further fields can't change their values.
+	 *
+	 * @param fields
+	 *            fields list in parsing order
+	 * @param filterRefs
+	 *            activity filter referenced field names
+	 * @return number of fields to parse before applying activity filter, or {@code -1} if activity filter can be
+	 *         applied only when all fields are parsed
+	 */
+	private int getActivityFilterPoint(List<ActivityField> fields, Set<String> filterRefs) {
+		if (useActivityAsMessage && filterRefs.contains(StreamFieldType.Message.name())) {
+			return -1;
+		}
+
+		int filterPoint = 0;
+		for (String ref : filterRefs) {
+			if (AUTO_ASSIGNED_FIELDS.contains(ref)) {
+				return -1;
+			}
+			int refIdx = -1;
+			for (int fi = 0; fi < fields.size(); fi++) {
+				if (ref.equals(fields.get(fi).getFieldTypeName())) {
+					refIdx = fi;
+				}
+			}
+			if (refIdx < 0) {
+				return -1;
+			}
+			filterPoint = Math.max(filterPoint, refIdx + 1);
+		}
+
+		for (int fi = filterPoint; fi < fields.size(); fi++) {
+			ActivityField aField = fields.get(fi);
+			if (aField.isDynamic() || CollectionUtils.isNotEmpty(aField.getStackedParsers())) {
+				return -1;
+			}
+		}
+
+		return filterPoint;
+	}
+
+	private CompiledLocator compileLocator(ActivityFieldLocator locator,
+			Map<ActivityFieldLocator, CompiledLocator> compiledLocators) {
+		CompiledLocator cLocator = compiledLocators.get(locator);
+		if (cLocator == null) {
+			cLocator = new CompiledLocator(locator, this);
+			locator.initFormatters();
+			compiledLocators.put(locator, cLocator);
+		}
+
+		return cLocator;
+	}
+
+	/**
+	 * Returns parser fields extraction plan. If plan is not compiled yet or parser configuration has changed since last
+	 * compilation, plan gets compiled on demand.
+	 *
+	 * @return parser fields extraction plan
+	 */
+	private ExtractionPlan getExtractionPlan() {
+		ExtractionPlan plan = extractionPlan;
+		if (plan == null) {
+			plan = compileExtractionPlan();
+			extractionPlan = plan;
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Drops compiled parser fields extraction plan, so it gets compiled again on next activity data parsing. Shall be
+	 * called by parser implementations when parser configuration affecting locators resolution changes.
+	 */
+	protected void invalidateExtractionPlan() {
+		extractionPlan = null;
+	}
+
+	/**
+	 * Compiles activity field locator string into parser specific form, e.g. pre-split path tokens array, parsed index
+	 * or range, to be used by
+	 * {@link #resolveLocatorValue(ActivityFieldLocator, Object, GenericActivityParser.ActivityContext, AtomicBoolean)}
+	 * for every parsed activity data item.
+	 * <p>
+	 * Default implementation does not compile locators and returns {@code null}, so
+	 * {@link #resolveLocatorValue(ActivityFieldLocator, GenericActivityParser.ActivityContext, AtomicBoolean)} gets
+	 * called to resolve locator value.
+	 *
+	 * @param locator
+	 *            activity field locator to compile
+	 * @return compiled locator, or {@code null} if locator is not compiled by this parser
+	 * @throws Exception
+	 *             if locator string is malformed and can't be compiled
+	 */
+	protected Object compileLocator(ActivityFieldLocator locator) throws Exception {
+		return null;
 	}
 
 	/**
@@ -520,6 +815,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 				"ActivityParser.removing.field", field); // Utils.getDebugString(field));
 		fieldList.remove(field);
 		field.referParser(null);
+		invalidateExtractionPlan();
 	}
 
 	/**
@@ -533,6 +829,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 				"ActivityParser.adding.filter", afg);
 
 		activityFilter = afg;
+		invalidateExtractionPlan();
 	}
 
 	/**
@@ -618,13 +915,17 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			return null;
 		}
 
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityParser.activity.raw.data", getLogString(data.getData()));
+		if (logger().isSet(OpLevel.DEBUG)) {
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.activity.raw.data", getLogString(data.getData()));
+		}
 
 		data.setData(preParse(stream, data.getData()));
 
-		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityParser.preparsed.data", getLogString(data.getData()));
+		if (logger().isSet(OpLevel.DEBUG)) {
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.preparsed.data", getLogString(data.getData()));
+		}
 
 		ActivityContext cData = prepareItem(stream, data.getData());
 		if (cData == null || !cData.isValid()) {
@@ -732,19 +1033,21 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		ActivityInfo ai = cData.getActivity();
 		ai.setComplete(true);
 
-		try {
-			filterActivity(ai);
-		} catch (Exception exc) {
-			Utils.logThrowable(logger(), OpLevel.WARNING,
-					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-					"ActivityParser.activity.filtering.failed", ai, exc);
+		if (cData.hasActivityFilterResult()) {
+			// activity filter has been applied while parsing fields, and filter referenced values are not changed since
+			Boolean filteredOut = cData.getActivityFilterResult();
+			if (filteredOut != null) {
+				ai.setFiltered(filteredOut);
+			}
+		} else {
+			applyActivityFilter(ai);
 		}
 
 		if (ai.isDeliverable()) {
 			if (cData.getParentActivity() == null) {
 				ai.determineTrackingId();
 			}
-			StreamsCache.cacheValues(ai, getName());
+			StreamsCache.cacheValues(ai, getName(), getStreamName(cData));
 		}
 	}
 
@@ -807,11 +1110,17 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 *      com.jkoolcloud.tnt4j.streams.parsers.GenericActivityParser.ActivityContext)
 	 */
 	protected void parseFields(ActivityContext cData) throws Exception {
+		ExtractionPlan plan = getExtractionPlan();
+		if (filterEarly(plan, 0, cData)) {
+			return;
+		}
 		// apply fields for parser
 		Object value;
-		for (ActivityField aField : fieldList) {
+		for (int fi = 0; fi < plan.fields.size(); fi++) {
+			CompiledField cField = plan.fields.get(fi);
+			ActivityField aField = cField.field;
 			cData.setField(aField);
-			value = Utils.simplifyValue(parseLocatorValues(aField, cData));
+			value = Utils.simplifyValue(parseLocatorValues(cField.locators, cData));
 
 			// if (value != null && aField.isEmptyAsNull() && Utils.isEmptyContent(value, true)) {
 			// logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -820,7 +1129,73 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			// }
 
 			applyFieldValue(aField, value, cData);
+			if (filterEarly(plan, fi + 1, cData)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns parser fields in order they shall be parsed. Fields order may differ from {@link #fieldList} order, when
+	 * activity filter referenced fields are arranged to be parsed first.
+	 *
+	 * @return parser fields list in parsing order
+	 *
+	 * @see #filterEarly(int, GenericActivityParser.ActivityContext)
+	 */
+	protected List<ActivityField> getParseOrderFields() {
+		return getExtractionPlan().parseOrder;
+	}
+
+	/**
+	 * Checks if activity parsing can be stopped after {@code parsedFields} count of fields from
+	 * {@link #getParseOrderFields()} list has been parsed, because activity is filtered out already:
+	 * <ul>
+	 * <li>when all activity filter referenced fields are parsed, activity filter gets applied. If activity gets
+	 * filtered out, there is no need to parse remaining fields</li>
+	 * <li>when parser has no activity filter, activity filtered out by field value filter can't get deliverable
+	 * again</li>
+	 * </ul>
+	 * Parsing is not stopped until all fields having required locators are parsed, so activity missing required value
+	 * still fails parsing. Values of remaining fields are not resolved, thus filtered out activity having malformed
+	 * values in remaining fields is accounted as filtered out instead of failing parsing.
+	 *
+	 * @param parsedFields
+	 *            count of already parsed fields
+	 * @param cData
+	 *            prepared activity data item context to parse
+	 * @return {@code true} if activity is filtered out and remaining fields shall not be parsed, {@code false} -
+	 *         otherwise
+	 */
+	protected boolean filterEarly(int parsedFields, ActivityContext cData) {
+		return filterEarly(getExtractionPlan(), parsedFields, cData);
+	}
+
+	private boolean filterEarly(ExtractionPlan plan, int parsedFields, ActivityContext cData) {
+		ActivityInfo ai = cData.getActivity();
+		if (ai == null || parsedFields >= plan.fields.size()) {
+			return false;
+		}
+
+		if (plan.filterPoint == parsedFields) {
+			cData.setActivityFilterResult(applyActivityFilter(ai));
+		}
+		// required values shall be validated before parsing gets stopped
+		if (parsedFields < plan.validationPoint) {
+			return false;
+		}
+
+		boolean filteredOut = plan.fieldFilterExit ? ai.isFilteredOut()
+				: plan.filterPoint >= 0 && parsedFields >= plan.filterPoint
+						&& Boolean.TRUE.equals(cData.getActivityFilterResult());
+		if (filteredOut) {
+			ai.setFilteredEarly(true);
+			LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
+					"ActivityParser.filtered.early", getName(), parsedFields, plan.fields.size());
+			return true;
 		}
+
+		return false;
 	}
 
 	/**
@@ -871,8 +1246,10 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 */
 	protected void applyFieldValue(ActivityField field, Object value, ActivityContext cData)
 			throws IllegalStateException, ParseException {
-		logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-				"ActivityParser.applying.field", getName(), field, Utils.toString(value));
+		if (logger().isSet(OpLevel.TRACE)) {
+			logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.applying.field", getName(), field, Utils.toString(value));
+		}
 
 		if (field.isDynamic() || (field.isSplitCollection() && Utils.isCollection(value))) {
 			applyDynamicValue(cData, field, value);
@@ -1020,12 +1397,21 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			for (int li = 0; li < locators.size(); li++) {
 				ActivityFieldLocator loc = locators.get(li);
 				values[li] = getLocatorValue(loc, cData);
+				checkRequired(loc, values[li], cData);
+			}
+			return values;
+		}
 
-				if (values[li] == null && isRequired(loc)) {
-					throw new MissingFieldValueException(
-							StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
-									"ActivityParser.required.locator.not.found", loc, cData.getField()));
-				}
+		return null;
+	}
+
+	private Object[] parseLocatorValues(CompiledLocator[] locators, ActivityContext cData)
+			throws ParseException, MissingFieldValueException {
+		if (locators != null) {
+			Object[] values = new Object[locators.length];
+			for (int li = 0; li < locators.length; li++) {
+				values[li] = getLocatorValue(locators[li], cData);
+				checkRequired(locators[li].locator, values[li], cData);
 			}
 			return values;
 		}
@@ -1033,6 +1419,15 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		return null;
 	}
 
+	private void checkRequired(ActivityFieldLocator loc, Object value, ActivityContext cData)
+			throws MissingFieldValueException {
+		if (value == null && isRequired(loc)) {
+			throw new MissingFieldValueException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityParser.required.locator.not.found", loc,
+					cData.getField()));
+		}
+	}
+
 	/**
 	 * Checks if activity field locator is required.
 	 *
@@ -1078,59 +1473,88 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 * @see ActivityFieldLocator#formatValue(Object)
 	 */
 	protected Object getLocatorValue(ActivityFieldLocator locator, ActivityContext cData) throws ParseException {
+		if (locator == null) {
+			return null;
+		}
+
+		ExtractionPlan plan = getExtractionPlan();
+		CompiledLocator cLocator = plan.locators.get(locator);
+		if (cLocator == null) {
+			cLocator = plan.unboundLocators.computeIfAbsent(locator, l -> new CompiledLocator(l, this));
+		}
+		return getLocatorValue(cLocator, cData);
+	}
+
+	private String getStreamName(ActivityContext cData) {
+		return cData.getStream() == null ? null : cData.getStream().getName();
+	}
+
+	private Object getLocatorValue(CompiledLocator cLocator, ActivityContext cData) throws ParseException {
 		Object val = null;
-		if (locator != null) {
-			String locStr = locator.getLocator();
-			AtomicBoolean formattingNeeded = new AtomicBoolean(true);
-			if (StringUtils.isNotEmpty(locStr)) {
-				if (locator.getBuiltInType() == ActivityFieldLocatorType.StreamProp) {
-					val = cData.getStream().getProperty(locStr);
-				} else if (locator.getBuiltInType() == ActivityFieldLocatorType.Cache) {
-					val = Utils.simplifyValue(StreamsCache.getValue(cData.getActivity(), locStr, getName()));
-				} else if (locator.getBuiltInType() == ActivityFieldLocatorType.Activity) {
-					val = resolveActivityValue(locator, cData);
-				} else if (LOC_FOR_COMPLETE_ACTIVITY_DATA.equals(locStr)) {
-					val = cData.getData();
-				} else if (LOC_FOR_COMPLETE_ACTIVITY_METADATA.equals(locStr)) {
-					val = cData.getMetadata();
-				} else if (locStr.startsWith(LOC_FOR_COMPLETE_ACTIVITY_METADATA)) {
-					val = Utils.getMapValueByPath(locStr.substring(LOC_FOR_COMPLETE_ACTIVITY_METADATA.length() + 1),
-							cData.getMetadata());
-				} else {
-					val = resolveLocatorValue(locator, cData, formattingNeeded);
-				}
+		ActivityFieldLocator locator = cLocator.locator;
+		String locStr = cLocator.locStr;
+		AtomicBoolean formattingNeeded = new AtomicBoolean(true);
+		if (cLocator.kind != LocatorKind.EMPTY) {
+			switch (cLocator.kind) {
+			case STREAM_PROP:
+				val = cData.getStream().getProperty(locStr);
+				break;
+			case CACHE:
+				val = Utils.simplifyValue(
+						StreamsCache.getValue(cData.getActivity(), locStr, getName(), getStreamName(cData)));
+				break;
+			case ACTIVITY:
+				val = resolveActivityValue(locator, cData);
+				break;
+			case COMPLETE_DATA:
+				val = cData.getData();
+				break;
+			case COMPLETE_METADATA:
+				val = cData.getMetadata();
+				break;
+			case METADATA_PATH:
+				val = Utils.getMapValueByPath(cLocator.metadataPath, cData.getMetadata(), null);
+				break;
+			case DATA:
+			default:
+				val = cLocator.compiled == null ? resolveLocatorValue(locator, cData, formattingNeeded)
+						: resolveLocatorValue(locator, cLocator.compiled, cData, formattingNeeded);
+				break;
+			}
 
-				// logger().log(val == null && !locator.isOptional() ? OpLevel.WARNING : OpLevel.TRACE,
+			// logger().log(val == null && !locator.isOptional() ? OpLevel.WARNING : OpLevel.TRACE,
+			if (logger().isSet(OpLevel.TRACE)) {
 				logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 						"ActivityParser.locator.resolved", cData.getField(), locStr, toString(val));
+			}
 
-				if (val != null && locator.isEmptyAsNull() && Utils.isEmptyContent(val, true)) {
-					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"ActivityParser.locator.empty.as.null", locStr, toString(val));
-					val = null;
-				}
+			if (val != null && locator.isEmptyAsNull() && Utils.isEmptyContent(val, true)) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ActivityParser.locator.empty.as.null", locStr, toString(val));
+				val = null;
 			}
+		}
 
-			val = transformValue(val, locator, cData, locStr, ValueTransformation.Phase.RAW);
+		val = transformValue(val, locator, cData, locStr, ValueTransformation.Phase.RAW);
 
-			if (formattingNeeded.get()) {
-				val = locator.formatValue(val);
-			}
+		if (formattingNeeded.get()) {
+			val = locator.formatValue(val);
+		}
 
-			val = transformValue(val, locator, cData, locStr, ValueTransformation.Phase.FORMATTED);
+		val = transformValue(val, locator, cData, locStr, ValueTransformation.Phase.FORMATTED);
 
-			try {
-				boolean filteredOut = locator.filterValue(val, cData.getActivity());
+		try {
+			boolean filteredOut = locator.filterValue(val, cData.getActivity());
 
-				if (filteredOut) {
-					val = null;
-				}
-			} catch (Exception exc) {
-				Utils.logThrowable(logger(), OpLevel.WARNING,
-						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-						"ActivityParser.field.filtering.failed", locStr, toString(val), exc);
+			if (filteredOut) {
+				val = null;
 			}
+		} catch (Exception exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.field.filtering.failed", locStr, toString(val), exc);
 		}
+
 		return val;
 	}
 
@@ -1224,6 +1648,30 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	protected abstract Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException;
 
+	/**
+	 * Gets field raw data value resolved by compiled locator.
+	 * <p>
+	 * Default implementation ignores compiled locator and calls
+	 * {@link #resolveLocatorValue(ActivityFieldLocator, GenericActivityParser.ActivityContext, AtomicBoolean)}.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            locator compiled by {@link #compileLocator(ActivityFieldLocator)}
+	 * @param cData
+	 *            activity object context data package
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 *
+	 * @throws ParseException
+	 *             if exception occurs while resolving raw data value
+	 */
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		return resolveLocatorValue(locator, cData, formattingNeeded);
+	}
+
 	/**
 	 * Makes string representation of data package to put into log.
 	 *
@@ -1238,6 +1686,18 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		return logger().isSet(OpLevel.TRACE) ? toString(data) : data.getClass().getName();
 	}
 
+	private Boolean applyActivityFilter(ActivityInfo ai) {
+		try {
+			filterActivity(ai);
+			return ai.isFilteredOut();
+		} catch (Exception exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ActivityParser.activity.filtering.failed", ai, exc);
+			return null;
+		}
+	}
+
 	/**
 	 * Applies stream filters group defined filters on activity information data. If activity data matches at least one
 	 * excluding filter, activity is marked as "filtered out".
@@ -1256,7 +1716,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		try {
 			boolean filteredOut = activityFilter.doFilter(null, ai);
 			ai.setFiltered(filteredOut);
-			logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+			LoggerUtils.log(logger(), OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME,
 					"ActivityParser.filtering.result", getName(), activityFilter.getName(), filteredOut);
 		} finally {
 			filterLock.unlock();
@@ -1346,6 +1806,8 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 
 		private static final String PARSER_REF_KEY = "PARSER_REF_KEY"; // NON-NLS
 
+		private static final String ACTIVITY_FILTER_RESULT_KEY = "ACTIVITY_FILTER_RESULT"; // NON-NLS
+
 		private boolean valid = true;
 
 		/**
@@ -1539,6 +2001,36 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			return (ActivityField.FieldParserReference) get(PARSER_REF_KEY);
 		}
 
+		/**
+		 * Sets activity filter application result.
+		 *
+		 * @param filteredOut
+		 *            activity filter result: {@code true} if activity is filtered out, {@code false} - if not,
+		 *            {@code null} - if filter evaluation has failed
+		 */
+		public void setActivityFilterResult(Boolean filteredOut) {
+			put(ACTIVITY_FILTER_RESULT_KEY, filteredOut);
+		}
+
+		/**
+		 * Checks whether activity filter has been already applied for this activity data context.
+		 *
+		 * @return {@code true} if activity filter has been applied, {@code false} - otherwise
+		 */
+		public boolean hasActivityFilterResult() {
+			return containsKey(ACTIVITY_FILTER_RESULT_KEY);
+		}
+
+		/**
+		 * Returns activity filter application result.
+		 *
+		 * @return activity filter result: {@code true} if activity is filtered out, {@code false} - if not,
+		 *         {@code null} - if filter evaluation has failed or filter has not been applied yet
+		 */
+		public Boolean getActivityFilterResult() {
+			return (Boolean) get(ACTIVITY_FILTER_RESULT_KEY);
+		}
+
 		@Override
 		public Object put(String key, Object value) {
 			return super.put(key, value);
@@ -1559,4 +2051,127 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		 */
 		EOF,
 	}
+
+	/**
+	 * Immutable parser fields extraction plan: parser fields in resolution order, having bound locators compiled.
+	 */
+	private static class ExtractionPlan {
+		private final List<CompiledField> fields;
+		private final List<ActivityField> parseOrder;
+		private final Map<ActivityFieldLocator, CompiledLocator> locators;
+		/**
+		 * Locators not bound to parser fields (e.g., used by parser implementation directly), compiled on first use.
+		 */
+		private final Map<ActivityFieldLocator, CompiledLocator> unboundLocators = new ConcurrentHashMap<>();
+		private final int filterPoint;
+		private final int validationPoint;
+		private final boolean fieldFilterExit;
+
+		private ExtractionPlan(List<CompiledField> fields, Map<ActivityFieldLocator, CompiledLocator> locators,
+				int filterPoint, int validationPoint, boolean fieldFilterExit) {
+			this.fields = Collections.unmodifiableList(fields);
+			this.locators = Collections.unmodifiableMap(locators);
+			this.filterPoint = filterPoint;
+			this.validationPoint = validationPoint;
+			this.fieldFilterExit = fieldFilterExit;
+
+			List<ActivityField> order = new ArrayList<>(fields.size());
+			for (CompiledField cField : fields) {
+				order.add(cField.field);
+			}
+			this.parseOrder = Collections.unmodifiableList(order);
+		}
+	}
+
+	/**
+	 * Activity field and its bound compiled locators.
+	 */
+	private static class CompiledField {
+		private final ActivityField field;
+		private final CompiledLocator[] locators;
+
+		private CompiledField(ActivityField field, CompiledLocator[] locators) {
+			this.field = field;
+			this.locators = locators;
+		}
+	}
+
+	/**
+	 * Activity field locator having resolved value source and parser compiled locator string.
+	 */
+	private static class CompiledLocator {
+		private final ActivityFieldLocator locator;
+		private final String locStr;
+		private final LocatorKind kind;
+		private String[] metadataPath;
+		private Object compiled;
+
+		private CompiledLocator(ActivityFieldLocator locator, GenericActivityParser<?> parser) {
+			this.locator = locator;
+			this.locStr = locator.getLocator();
+
+			if (StringUtils.isEmpty(locStr)) {
+				kind = LocatorKind.EMPTY;
+			} else if (locator.getBuiltInType() == ActivityFieldLocatorType.StreamProp) {
+				kind = LocatorKind.STREAM_PROP;
+			} else if (locator.getBuiltInType() == ActivityFieldLocatorType.Cache) {
+				kind = LocatorKind.CACHE;
+			} else if (locator.getBuiltInType() == ActivityFieldLocatorType.Activity) {
+				kind = LocatorKind.ACTIVITY;
+			} else if (LOC_FOR_COMPLETE_ACTIVITY_DATA.equals(locStr)) {
+				kind = LocatorKind.COMPLETE_DATA;
+			} else if (LOC_FOR_COMPLETE_ACTIVITY_METADATA.equals(locStr)) {
+				kind = LocatorKind.COMPLETE_METADATA;
+			} else if (locStr.startsWith(LOC_FOR_COMPLETE_ACTIVITY_METADATA)) {
+				kind = LocatorKind.METADATA_PATH;
+				metadataPath = Utils.getNodePath(locStr.substring(LOC_FOR_COMPLETE_ACTIVITY_METADATA.length() + 1),
+						StreamsConstants.DEFAULT_PATH_DELIM);
+			} else {
+				kind = LocatorKind.DATA;
+				try {
+					compiled = parser.compileLocator(locator);
+				} catch (Exception exc) {
+					// locator gets resolved uncompiled, reporting failure for every parsed activity data item
+				}
+			}
+		}
+	}
+
+	/**
+	 * List of activity field locator value sources.
+	 */
+	private enum LocatorKind {
+		/**
+		 * Locator string is empty, so no value is resolved.
+		 */
+		EMPTY,
+		/**
+		 * Value is stream property.
+		 */
+		STREAM_PROP,
+		/**
+		 * Value is streams cache entry.
+		 */
+		CACHE,
+		/**
+		 * Value is activity entity field value.
+		 */
+		ACTIVITY,
+		/**
+		 * Value is complete activity data package.
+		 */
+		COMPLETE_DATA,
+		/**
+		 * Value is complete activity metadata package.
+		 */
+		COMPLETE_METADATA,
+		/**
+		 * Value is activity metadata map entry.
+		 */
+		METADATA_PATH,
+		/**
+		 * Value is resolved from activity data by parser.
+		 */
+		DATA,
+	}
 }
@@ -16,17 +16,17 @@
 
 package com.jkoolcloud.tnt4j.streams.transform;
 
-import javax.script.Bindings;
-import javax.script.CompiledScript;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.script.ScriptException;
-import javax.script.SimpleBindings;
 
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
-import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.ScriptExpression;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
 
@@ -39,16 +39,18 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
  * <li>{@value StreamsScriptingUtils#JAVA_SCRIPT_LANG}</li>
  * </ul>
  * 
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  *
- * @see com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileScript(String, String)
- * @see javax.script.CompiledScript#eval(javax.script.Bindings)
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileExpression(String, String)
+ * @see com.jkoolcloud.tnt4j.streams.utils.ScriptExpression#eval(java.util.Map)
  */
 public class ScriptTransformation extends AbstractScriptTransformation<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ScriptTransformation.class);
 
 	private final String lang;
-	private CompiledScript script;
+	private ScriptExpression script;
+	private String[] varNames;
+	private String[] varKeys;
 
 	/**
 	 * Constructs a new ScriptTransformation.
@@ -101,26 +103,31 @@ public class ScriptTransformation extends AbstractScriptTransformation<Object> {
 		super.initTransformation();
 
 		try {
-			script = StreamsScriptingUtils.compileScript(lang, getExpression());
+			script = StreamsScriptingUtils.compileExpression(lang, getExpression());
 		} catch (ScriptException exc) {
 			throw new IllegalArgumentException(
 					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
 							"ScriptTransformation.invalid.script", getName(), getScriptCode()),
 					exc);
 		}
+
+		varNames = exprVars.toArray(new String[0]);
+		varKeys = new String[varNames.length];
+		for (int i = 0; i < varNames.length; i++) {
+			String varPlh = placeHoldersMap.get(varNames[i]);
+			varKeys[i] = StringUtils.isEmpty(varPlh) ? varNames[i] : varPlh;
+		}
 	}
 
 	@Override
 	public Object transform(Object value, ActivityInfo ai, String fName) throws TransformationException {
-		Bindings bindings = new SimpleBindings();
+		Map<String, Object> bindings = new HashMap<>();
 		bindings.put(StreamsScriptingUtils.FIELD_VALUE_VARIABLE_EXPR, value);
 		bindings.put(StreamsScriptingUtils.FIELD_NAME_VARIABLE_EXPR, fName);
 
-		if (ai != null && CollectionUtils.isNotEmpty(exprVars)) {
-			for (String eVar : exprVars) {
-				Property eKV = resolveFieldKeyAndValue(eVar, ai);
-
-				bindings.put(eKV.getKey(), eKV.getValue());
+		if (ai != null) {
+			for (int i = 0; i < varNames.length; i++) {
+				bindings.put(varKeys[i], ai.getFieldValue(varNames[i]));
 			}
 		}
 
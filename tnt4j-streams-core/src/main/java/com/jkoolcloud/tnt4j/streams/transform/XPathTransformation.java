@@ -20,7 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathVariableResolver;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -38,12 +38,12 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils;
  *
  * @version $Revision: 1 $
  *
- * @see com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils#getStreamsXPath()
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils#getStreamsXPathCache()
  * @see XPathVariableResolver
  * @see javax.xml.xpath.XPathFunctionResolver
  * @see javax.xml.namespace.NamespaceContext
  * @see javax.xml.xpath.XPathFunction
- * @see XPath#evaluate(String, Object)
+ * @see XPathExpression#evaluate(Object)
  */
 public class XPathTransformation extends AbstractScriptTransformation<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(XPathTransformation.class);
@@ -105,11 +105,9 @@ public class XPathTransformation extends AbstractScriptTransformation<Object> {
 			}
 		}
 
-		XPath xPath = StreamsXMLUtils.getStreamsXPath();
-		xPath.setXPathVariableResolver(new StreamsVariableResolver(valuesMap));
-
 		try {
-			Object tValue = xPath.evaluate(getExpression(), (Object) null);
+			Object tValue = StreamsXMLUtils.getStreamsXPathCache().evaluate(getExpression(), null,
+					new StreamsVariableResolver(valuesMap));
 
 			logEvaluationResult(valuesMap, tValue);
 
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Append-only binary journal used to persist {@link com.jkoolcloud.tnt4j.streams.utils.StreamsCache} entries.
+ * <p>
+ * Every journal record has header of record payload length and payload CRC32 checksum, followed by payload: record
+ * type ({@code PUT} or {@code REMOVE}), cache shard name, entry key and (for {@code PUT} records) Java serialized entry
+ * value. Only changed (dirty) cache entries are appended to journal, and journal gets compacted (rewritten to contain
+ * only live entries) when it grows {@value #COMPACTION_RATIO} times over live entries count.
+ * <p>
+ * On open, journal file is sequentially scanned to validate records checksums. Records tail torn by crash during
+ * write is detected by length or checksum mismatch and truncated. Index of persisted entries offsets is built lazily,
+ * on first journal access, and keeps only entries keys and offsets: entries values get deserialized on first cache
+ * lookup of entry key. Journal file is accessed using positional channel reads (not memory-mapped), so file can be
+ * truncated or replaced on any platform. Compacted journal is written to temporary file and atomically moved over
+ * original one, so crash during compaction leaves previous journal intact.
+ *
+ * @version $Revision: 1 $
+ */
+final class CacheJournal implements Closeable {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(CacheJournal.class);
+
+	private static final byte PUT = 1;
+	private static final byte REMOVE = 2;
+	private static final int HEADER_SIZE = 8;
+	private static final int COMPACTION_RATIO = 2;
+	private static final int COMPACTION_MIN_RECORDS = 1024;
+	private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+	private final File file;
+	private FileChannel channel;
+
+	private final Map<String, Map<String, Long>> index = new HashMap<>();
+	private boolean indexed;
+	private volatile int indexedCount;
+	private long recordsCount;
+
+	/**
+	 * Constructs a new CacheJournal.
+	 *
+	 * @param file
+	 *            journal file
+	 */
+	CacheJournal(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Opens journal file and validates persisted records. Torn records tail is truncated.
+	 *
+	 * @return number of valid persisted records
+	 * @throws IOException
+	 *             if journal file can't be opened or read
+	 */
+	synchronized long open() throws IOException {
+		File parentPath = file.getAbsoluteFile().getParentFile();
+		if (parentPath != null) {
+			parentPath.mkdirs();
+		}
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		index.clear();
+		indexed = false;
+		long size = channel.size();
+		long offset = scan(null);
+		if (offset < size) {
+			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"CacheJournal.torn.record", file.getAbsolutePath(), offset, size - offset);
+			channel.truncate(offset);
+		}
+		channel.position(offset);
+		// until index is built, all valid records are counted as not loaded entries
+		indexedCount = (int) Math.min(recordsCount, Integer.MAX_VALUE);
+
+		return recordsCount;
+	}
+
+	/**
+	 * Sequentially reads journal records from file beginning, until end of file or first torn record.
+	 *
+	 * @param recordIndex
+	 *            index to put persisted entries offsets, or {@code null} if records are only validated
+	 * @return offset of first torn record, or file size if all records are valid
+	 * @throws IOException
+	 *             if journal file can't be read
+	 */
+	private long scan(Map<String, Map<String, Long>> recordIndex) throws IOException {
+		long size = channel.size();
+		channel.position(0);
+		// stream is not closed, since it would close journal channel
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(channel), SCAN_BUFFER_SIZE));
+		CRC32 crc = new CRC32();
+		byte[] payload = new byte[256];
+		long offset = 0;
+		long count = 0;
+		while (size - offset >= HEADER_SIZE) {
+			int length = in.readInt();
+			int checksum = in.readInt();
+			if (length <= 0 || length > size - offset - HEADER_SIZE) {
+				break;
+			}
+			if (payload.length < length) {
+				payload = new byte[Math.max(length, payload.length * 2)];
+			}
+			in.readFully(payload, 0, length);
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != checksum) {
+				break;
+			}
+			if (recordIndex != null) {
+				ByteBuffer pb = ByteBuffer.wrap(payload, 0, length);
+				byte type = pb.get();
+				String shard = readString(pb);
+				String key = readString(pb);
+				if (type == PUT) {
+					recordIndex.computeIfAbsent(shard, s -> new HashMap<>()).put(key, offset);
+				} else {
+					Map<String, Long> shardIndex = recordIndex.get(shard);
+					if (shardIndex != null) {
+						shardIndex.remove(key);
+					}
+				}
+			}
+			count++;
+			offset += HEADER_SIZE + length;
+		}
+		recordsCount = count;
+
+		return offset;
+	}
+
+	/**
+	 * Builds index of persisted entries offsets, if it is not built yet. Index is built before any journal change, so
+	 * it reflects journal state on open.
+	 *
+	 * @throws IOException
+	 *             if journal file can't be read
+	 */
+	private void ensureIndexed() throws IOException {
+		if (indexed || channel == null) {
+			return;
+		}
+
+		long position = channel.position();
+		try {
+			scan(index);
+		} finally {
+			channel.position(position);
+		}
+		indexed = true;
+		updateIndexedCount();
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Checks whether journal has persisted entries not loaded yet.
+	 *
+	 * @return {@code true} if there are persisted entries not loaded yet, {@code false} - otherwise
+	 */
+	boolean hasIndexed() {
+		return indexedCount > 0;
+	}
+
+	/**
+	 * Returns set of shard names having persisted entries not loaded yet.
+	 *
+	 * @return set of shard names
+	 */
+	synchronized Set<String> getShards() {
+		try {
+			ensureIndexed();
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "CacheJournal.read.failed",
+					file.getAbsolutePath(), exc);
+		}
+		return new HashSet<>(index.keySet());
+	}
+
+	/**
+	 * Loads persisted entry value and removes entry from index of not loaded entries.
+	 *
+	 * @param shard
+	 *            cache shard name
+	 * @param key
+	 *            cache entry key
+	 * @return persisted entry value, or {@code null} if there is no such entry persisted, or it is already loaded
+	 */
+	StreamsCache.CacheValue load(String shard, String key) {
+		if (indexedCount == 0) {
+			return null;
+		}
+
+		synchronized (this) {
+			byte[] valueBytes;
+			try {
+				ensureIndexed();
+				Map<String, Long> shardIndex = index.get(shard);
+				Long offset = shardIndex == null ? null : shardIndex.remove(key);
+				if (offset == null) {
+					return null;
+				}
+				if (shardIndex.isEmpty()) {
+					index.remove(shard);
+				}
+				updateIndexedCount();
+
+				ByteBuffer payload = recordPayload(offset);
+				payload.get();
+				readString(payload);
+				readString(payload);
+				valueBytes = new byte[payload.remaining()];
+				payload.get(valueBytes);
+			} catch (IOException exc) {
+				Utils.logThrowable(LOGGER, OpLevel.WARNING,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "CacheJournal.read.failed",
+						file.getAbsolutePath(), exc);
+				return null;
+			}
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(valueBytes))) {
+				return new StreamsCache.CacheValue(ois.readObject());
+			} catch (Exception exc) {
+				Utils.logThrowable(LOGGER, OpLevel.WARNING,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"CacheJournal.value.deserialize.failed", key, exc);
+				return null;
+			}
+		}
+	}
+
+	private ByteBuffer recordPayload(long offset) throws IOException {
+		ByteBuffer record = readRecord(offset);
+		record.position(HEADER_SIZE);
+		return record.slice();
+	}
+
+	private ByteBuffer readRecord(long offset) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(header, offset);
+		ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + header.getInt(0));
+		readFully(record, offset);
+		record.flip();
+		return record;
+	}
+
+	private void readFully(ByteBuffer buffer, long offset) throws IOException {
+		long position = offset;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new EOFException();
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Appends entry change record to journal. Entry having {@code null} or transient value is appended as removed.
+	 *
+	 * @param shard
+	 *            cache shard name
+	 * @param key
+	 *            cache entry key
+	 * @param value
+	 *            cache entry value
+	 * @throws IOException
+	 *             if record can't be written to journal file
+	 */
+	synchronized void append(String shard, String key, StreamsCache.CacheValue value) throws IOException {
+		ensureIndexed();
+		Map<String, Long> shardIndex = index.get(shard);
+		if (shardIndex != null && shardIndex.remove(key) != null) {
+			updateIndexedCount();
+		}
+
+		byte[] valueBytes = value == null || value.isTransient() ? null : serialize(key, value.value());
+		channel.write(toRecord(valueBytes == null ? REMOVE : PUT, shard, key, valueBytes));
+		recordsCount++;
+	}
+
+	/**
+	 * Removes persisted entries not loaded yet, having key starting with provided key fragment, from index and
+	 * appends removal records for them, so removed entries are not loaded from journal anymore.
+	 *
+	 * @param keyPrefix
+	 *            entry key fragment, or {@code null} to remove all not loaded entries
+	 * @return number of removed entries
+	 * @throws IOException
+	 *             if record can't be written to journal file
+	 */
+	synchronized int remove(String keyPrefix) throws IOException {
+		if (indexedCount == 0) {
+			return 0;
+		}
+
+		ensureIndexed();
+		int removedCount = 0;
+		Iterator<Map.Entry<String, Map<String, Long>>> shards = index.entrySet().iterator();
+		while (shards.hasNext()) {
+			Map.Entry<String, Map<String, Long>> se = shards.next();
+			Iterator<String> keys = se.getValue().keySet().iterator();
+			while (keys.hasNext()) {
+				String key = keys.next();
+				if (keyPrefix == null || key.startsWith(keyPrefix)) {
+					keys.remove();
+					channel.write(toRecord(REMOVE, se.getKey(), key, null));
+					recordsCount++;
+					removedCount++;
+				}
+			}
+			if (se.getValue().isEmpty()) {
+				shards.remove();
+			}
+		}
+		updateIndexedCount();
+
+		return removedCount;
+	}
+
+	private static byte[] serialize(String key, Object value) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(value);
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"CacheJournal.value.serialize.failed", key, exc);
+			return null;
+		}
+		return bos.toByteArray();
+	}
+
+	private static ByteBuffer toRecord(byte type, String shard, String key, byte[] valueBytes) {
+		byte[] shardBytes = shard.getBytes(StandardCharsets.UTF_8);
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int length = 1 + 4 + shardBytes.length + 4 + keyBytes.length + (valueBytes == null ? 0 : valueBytes.length);
+
+		ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+		record.putInt(length);
+		record.putInt(0);
+		record.put(type);
+		record.putInt(shardBytes.length).put(shardBytes);
+		record.putInt(keyBytes.length).put(keyBytes);
+		if (valueBytes != null) {
+			record.put(valueBytes);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), HEADER_SIZE, length);
+		record.putInt(4, (int) crc.getValue());
+		record.flip();
+
+		return record;
+	}
+
+	/**
+	 * Forces appended records to be written to storage device.
+	 *
+	 * @throws IOException
+	 *             if journal file can't be synced
+	 */
+	synchronized void flush() throws IOException {
+		channel.force(false);
+	}
+
+	/**
+	 * Checks whether journal has grown enough over live entries count to be compacted.
+	 *
+	 * @param liveCount
+	 *            number of live cache entries
+	 * @return {@code true} if journal shall be compacted, {@code false} - otherwise
+	 */
+	synchronized boolean needsCompaction(long liveCount) {
+		return recordsCount > COMPACTION_MIN_RECORDS && recordsCount > COMPACTION_RATIO * (liveCount + indexedCount);
+	}
+
+	/**
+	 * Rewrites journal to contain only live cache entries and persisted entries not loaded yet.
+	 *
+	 * @param liveEntries
+	 *            live cache entries map, keyed by shard name
+	 * @throws IOException
+	 *             if compacted journal can't be written
+	 */
+	synchronized void compact(Map<String, Map<String, StreamsCache.CacheValue>> liveEntries) throws IOException {
+		ensureIndexed();
+		File tmpFile = new File(file.getAbsolutePath() + ".tmp"); // NON-NLS
+		Map<String, Map<String, Long>> newIndex = new HashMap<>();
+		long newCount = 0;
+		try (FileChannel tmpChannel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (Map.Entry<String, Map<String, StreamsCache.CacheValue>> se : liveEntries.entrySet()) {
+				for (Map.Entry<String, StreamsCache.CacheValue> e : se.getValue().entrySet()) {
+					if (e.getValue().isTransient()) {
+						continue;
+					}
+					byte[] valueBytes = serialize(e.getKey(), e.getValue().value());
+					if (valueBytes != null) {
+						tmpChannel.write(toRecord(PUT, se.getKey(), e.getKey(), valueBytes));
+						newCount++;
+					}
+				}
+			}
+			for (Map.Entry<String, Map<String, Long>> se : index.entrySet()) {
+				Map<String, Long> shardIndex = new HashMap<>(se.getValue().size());
+				for (Map.Entry<String, Long> e : se.getValue().entrySet()) {
+					ByteBuffer record = readRecord(e.getValue());
+					shardIndex.put(e.getKey(), tmpChannel.position());
+					tmpChannel.write(record);
+					newCount++;
+				}
+				newIndex.put(se.getKey(), shardIndex);
+			}
+			tmpChannel.force(true);
+		}
+
+		channel.close();
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		channel.position(channel.size());
+		index.clear();
+		index.putAll(newIndex);
+		recordsCount = newCount;
+		updateIndexedCount();
+
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"CacheJournal.compacted", file.getAbsolutePath(), newCount);
+	}
+
+	private void updateIndexedCount() {
+		int count = 0;
+		for (Map<String, Long> shardIndex : index.values()) {
+			count += shardIndex.size();
+		}
+		indexedCount = count;
+	}
+
+	/**
+	 * Closes journal file.
+	 */
+	@Override
+	public synchronized void close() {
+		Utils.close(channel);
+		channel = null;
+		index.clear();
+		indexed = false;
+		indexedCount = 0;
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Resolves host names to IP addresses and IP addresses to host names, caching resolution results.
+ * <p>
+ * Resolver cache is bounded by size and keeps successful resolution results for {@code ttl} and failed resolution
+ * results for {@code negativeTtl} milliseconds. When cached entry gets expired, it is still returned to caller, while
+ * resolution is repeated asynchronously to refresh it. In asynchronous mode ("emit now, enrich later") cache miss does
+ * not block caller at all: resolution is made asynchronously and {@code null} is returned, so only subsequent lookups
+ * get resolved value.
+ * <p>
+ * Actual resolution is made by {@link com.jkoolcloud.tnt4j.streams.utils.HostResolver.Resolver} instance, which by
+ * default uses DNS. Resolver also collects lookups count and latency statistics.
+ *
+ * @version $Revision: 1 $
+ */
+public class HostResolver {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(HostResolver.class);
+
+	/**
+	 * Default maximal number of cached resolution results.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 10000;
+	/**
+	 * Default successful resolution result time to live in milliseconds.
+	 */
+	public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(10);
+	/**
+	 * Default failed resolution result time to live in milliseconds.
+	 */
+	public static final long DEFAULT_NEGATIVE_TTL = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * Resolver using DNS to resolve host names and IP addresses.
+	 */
+	public static final Resolver DNS_RESOLVER = new Resolver() {
+		@Override
+		public String toHostName(String address) {
+			return Utils.resolveAddressToHostName(address);
+		}
+
+		@Override
+		public String toAddress(String hostName) {
+			return Utils.resolveHostNameToAddress(hostName);
+		}
+	};
+
+	private static final int RESOLVER_THREADS = 2;
+	private static final String ADDRESS_KEY_PREFIX = "A:"; // NON-NLS
+	private static final String HOST_KEY_PREFIX = "H:"; // NON-NLS
+
+	private static HostResolver defaultResolver;
+
+	private final Resolver resolver;
+	private final long ttl;
+	private final long negativeTtl;
+	private final boolean async;
+
+	private final Cache<String, Entry> cache;
+	private final Set<String> pendingLookups = ConcurrentHashMap.newKeySet();
+	private ExecutorService lookupExecutor;
+	private boolean shutdown = false;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder failedLookups = new LongAdder();
+	private final LongAdder lookupsTime = new LongAdder();
+	private final AtomicLong maxLookupTime = new AtomicLong();
+
+	/**
+	 * Constructs a new HostResolver using DNS resolver and default cache settings.
+	 */
+	public HostResolver() {
+		this(DNS_RESOLVER, DEFAULT_MAX_SIZE, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, false);
+	}
+
+	/**
+	 * Constructs a new HostResolver.
+	 *
+	 * @param resolver
+	 *            resolver to make actual host name/IP address resolution
+	 * @param maxSize
+	 *            maximal number of cached resolution results
+	 * @param ttl
+	 *            successful resolution result time to live in milliseconds
+	 * @param negativeTtl
+	 *            failed resolution result time to live in milliseconds
+	 * @param async
+	 *            flag indicating whether cache miss shall be resolved asynchronously without blocking caller
+	 */
+	public HostResolver(Resolver resolver, long maxSize, long ttl, long negativeTtl, boolean async) {
+		this.resolver = resolver;
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.async = async;
+
+		// expired entries are served while being refreshed, so keep them in cache for one more TTL period
+		this.cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+				.expireAfterWrite(2 * Math.max(ttl, negativeTtl), TimeUnit.MILLISECONDS).build();
+	}
+
+	/**
+	 * Returns default resolver instance, using DNS resolver and default cache settings.
+	 *
+	 * @return default resolver instance
+	 */
+	public static synchronized HostResolver getDefault() {
+		if (defaultResolver == null) {
+			defaultResolver = new HostResolver();
+		}
+
+		return defaultResolver;
+	}
+
+	/**
+	 * Resolves host name for provided IP address.
+	 *
+	 * @param address
+	 *            IP address to resolve
+	 * @return resolved host name, or {@code null} if address can't be resolved or resolution is pending
+	 */
+	public String getHostName(String address) {
+		return lookup(ADDRESS_KEY_PREFIX, address);
+	}
+
+	/**
+	 * Resolves IP address for provided host name.
+	 *
+	 * @param hostName
+	 *            host name to resolve
+	 * @return resolved IP address, or {@code null} if host name can't be resolved or resolution is pending
+	 */
+	public String getAddress(String hostName) {
+		return lookup(HOST_KEY_PREFIX, hostName);
+	}
+
+	private String lookup(String keyPrefix, String value) {
+		if (StringUtils.isEmpty(value)) {
+			return null;
+		}
+
+		String key = keyPrefix + value;
+		Entry entry = cache.getIfPresent(key);
+		if (entry != null) {
+			hits.increment();
+			if (entry.isExpired(System.currentTimeMillis())) {
+				// expired entry is served until refreshed, and is not refreshed after shutdown
+				resolveAsync(keyPrefix, value);
+			}
+			return entry.value;
+		}
+
+		misses.increment();
+		if (async && resolveAsync(keyPrefix, value)) {
+			return null;
+		}
+
+		return resolve(keyPrefix, value);
+	}
+
+	/**
+	 * Schedules asynchronous resolution of provided value.
+	 *
+	 * @param keyPrefix
+	 *            resolution type key prefix
+	 * @param value
+	 *            value to resolve
+	 * @return {@code true} if resolution is scheduled or already pending, {@code false} - if resolver is shut down and
+	 *         value shall be resolved synchronously
+	 */
+	private boolean resolveAsync(String keyPrefix, String value) {
+		String key = keyPrefix + value;
+		if (pendingLookups.add(key)) {
+			try {
+				ExecutorService executor = getLookupExecutor();
+				if (executor == null) {
+					pendingLookups.remove(key);
+					return false;
+				}
+				executor.execute(() -> {
+					try {
+						resolve(keyPrefix, value);
+					} finally {
+						pendingLookups.remove(key);
+					}
+				});
+			} catch (RejectedExecutionException exc) {
+				// resolver has been shut down while scheduling
+				pendingLookups.remove(key);
+				return false;
+			} catch (RuntimeException exc) {
+				pendingLookups.remove(key);
+				throw exc;
+			}
+		}
+		return true;
+	}
+
+	private String resolve(String keyPrefix, String value) {
+		boolean toHostName = ADDRESS_KEY_PREFIX.equals(keyPrefix);
+		String resolved = null;
+		long startTime = System.nanoTime();
+		try {
+			resolved = toHostName ? resolver.toHostName(value) : resolver.toAddress(value);
+		} catch (Throwable exc) {
+			Utils.logThrowable(LOGGER, OpLevel.DEBUG,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "HostResolver.lookup.failed",
+					value, exc);
+		} finally {
+			long lookupTime = System.nanoTime() - startTime;
+			lookups.increment();
+			lookupsTime.add(lookupTime);
+			maxLookupTime.accumulateAndGet(lookupTime, Math::max);
+		}
+
+		long now = System.currentTimeMillis();
+		if (StringUtils.isEmpty(resolved)) {
+			failedLookups.increment();
+			// cache failure, so unresolvable values are not looked up repeatedly
+			cache.put(keyPrefix + value, new Entry(null, now + negativeTtl));
+			return null;
+		}
+
+		Entry entry = new Entry(resolved, now + ttl);
+		cache.put(keyPrefix + value, entry);
+		cache.put((toHostName ? HOST_KEY_PREFIX : ADDRESS_KEY_PREFIX) + resolved, new Entry(value, entry.expiresAt));
+
+		return resolved;
+	}
+
+	private synchronized ExecutorService getLookupExecutor() {
+		if (lookupExecutor == null && !shutdown) {
+			AtomicInteger threadNumber = new AtomicInteger(1);
+			lookupExecutor = Executors.newFixedThreadPool(RESOLVER_THREADS, r -> {
+				StreamsThread t = new StreamsThread(r,
+						"HostResolverThread-" + threadNumber.getAndIncrement()); // NON-NLS
+				t.setDaemon(true);
+				return t;
+			});
+		}
+
+		return lookupExecutor;
+	}
+
+	/**
+	 * Stops asynchronous lookups executor threads. Pending asynchronous lookups are discarded, and further lookups are
+	 * resolved synchronously.
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		if (lookupExecutor != null) {
+			lookupExecutor.shutdownNow();
+			lookupExecutor = null;
+		}
+		pendingLookups.clear();
+	}
+
+	/**
+	 * Returns number of cached resolution results.
+	 *
+	 * @return number of cached resolution results
+	 */
+	public long size() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns number of lookups served from cache.
+	 *
+	 * @return number of cache hits
+	 */
+	public long getHitsCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns number of lookups not found in cache.
+	 *
+	 * @return number of cache misses
+	 */
+	public long getMissesCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns number of resolutions made by resolver.
+	 *
+	 * @return number of resolutions made
+	 */
+	public long getLookupsCount() {
+		return lookups.sum();
+	}
+
+	/**
+	 * Returns number of failed resolutions.
+	 *
+	 * @return number of failed resolutions
+	 */
+	public long getFailedLookupsCount() {
+		return failedLookups.sum();
+	}
+
+	/**
+	 * Returns average resolution latency in microseconds.
+	 *
+	 * @return average resolution latency in microseconds
+	 */
+	public long getAverageLookupTime() {
+		long count = lookups.sum();
+		return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(lookupsTime.sum() / count);
+	}
+
+	/**
+	 * Returns maximal resolution latency in microseconds.
+	 *
+	 * @return maximal resolution latency in microseconds
+	 */
+	public long getMaxLookupTime() {
+		return TimeUnit.NANOSECONDS.toMicros(maxLookupTime.get());
+	}
+
+	@Override
+	public String toString() {
+		return "HostResolver{" + "size=" + size() // NON-NLS
+				+ ", hits=" + getHitsCount() + ", misses=" + getMissesCount() // NON-NLS
+				+ ", lookups=" + getLookupsCount() + ", failedLookups=" + getFailedLookupsCount() // NON-NLS
+				+ ", avgLookupTimeUs=" + getAverageLookupTime() // NON-NLS
+				+ ", maxLookupTimeUs=" + getMaxLookupTime() + "}"; // NON-NLS
+	}
+
+	/**
+	 * Resolver making actual host name and IP address resolution.
+	 */
+	public interface Resolver {
+		/**
+		 * Resolves host name for provided IP address.
+		 *
+		 * @param address
+		 *            IP address to resolve
+		 * @return resolved host name, or {@code null} if address can't be resolved
+		 * @throws Exception
+		 *             if resolution fails
+		 */
+		String toHostName(String address) throws Exception;
+
+		/**
+		 * Resolves IP address for provided host name.
+		 *
+		 * @param hostName
+		 *            host name to resolve
+		 * @return resolved IP address, or {@code null} if host name can't be resolved
+		 * @throws Exception
+		 *             if resolution fails
+		 */
+		String toAddress(String hostName) throws Exception;
+	}
+
+	private static class Entry {
+		private final String value;
+		private final long expiresAt;
+
+		private Entry(String value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+}
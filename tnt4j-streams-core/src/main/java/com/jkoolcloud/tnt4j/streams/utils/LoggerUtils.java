@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.Properties;
+import java.util.function.Supplier;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -236,4 +237,222 @@ public class LoggerUtils {
 					"com.jkoolcloud.tnt4j.sink.impl.slf4j.SLF4JEventSinkFactory");
 		}
 	}
+
+	/**
+	 * Checks if logger has provided level enabled.
+	 *
+	 * @param logger
+	 *            logger to check
+	 * @param level
+	 *            logging level to check
+	 * @return {@code true} if logger is not {@code null} and has provided level enabled, {@code false} - otherwise
+	 */
+	public static boolean isSet(EventSink logger, OpLevel level) {
+		return logger != null && logger.isSet(level);
+	}
+
+	/**
+	 * Logs resource bundle defined message. Message is logged only if logger has provided level enabled, and
+	 * resource bundle is resolved only then.
+	 * <p>
+	 * Unlike {@link EventSink#log(OpLevel, java.util.ResourceBundle, String, Object...)}, fixed arguments count
+	 * variants of this method do not allocate message arguments array and do not resolve resource bundle when level is
+	 * not enabled, so these are intended to be used on per activity item/field processing paths. Use
+	 * {@link #lazyToString(Object)} or {@link #lazy(Supplier)} to defer expensive message argument evaluation until
+	 * message gets actually logged.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key);
+		}
+	}
+
+	/**
+	 * Logs resource bundle defined message having one argument.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 * @param arg1
+	 *            message argument
+	 *
+	 * @see #log(EventSink, OpLevel, String, String)
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key, Object arg1) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key, arg1);
+		}
+	}
+
+	/**
+	 * Logs resource bundle defined message having two arguments.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 * @param arg1
+	 *            first message argument
+	 * @param arg2
+	 *            second message argument
+	 *
+	 * @see #log(EventSink, OpLevel, String, String)
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key, Object arg1,
+			Object arg2) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Logs resource bundle defined message having three arguments.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 * @param arg1
+	 *            first message argument
+	 * @param arg2
+	 *            second message argument
+	 * @param arg3
+	 *            third message argument
+	 *
+	 * @see #log(EventSink, OpLevel, String, String)
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key, Object arg1, Object arg2,
+			Object arg3) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key, arg1, arg2, arg3);
+		}
+	}
+
+	/**
+	 * Logs resource bundle defined message having four arguments.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 * @param arg1
+	 *            first message argument
+	 * @param arg2
+	 *            second message argument
+	 * @param arg3
+	 *            third message argument
+	 * @param arg4
+	 *            fourth message argument
+	 *
+	 * @see #log(EventSink, OpLevel, String, String)
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key, Object arg1, Object arg2,
+			Object arg3, Object arg4) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key, arg1, arg2, arg3, arg4);
+		}
+	}
+
+	/**
+	 * Logs resource bundle defined message having five arguments.
+	 *
+	 * @param logger
+	 *            logger to log message
+	 * @param level
+	 *            message logging level
+	 * @param bundleName
+	 *            resource bundle name
+	 * @param key
+	 *            message resource key
+	 * @param arg1
+	 *            first message argument
+	 * @param arg2
+	 *            second message argument
+	 * @param arg3
+	 *            third message argument
+	 * @param arg4
+	 *            fourth message argument
+	 * @param arg5
+	 *            fifth message argument
+	 *
+	 * @see #log(EventSink, OpLevel, String, String)
+	 */
+	public static void log(EventSink logger, OpLevel level, String bundleName, String key, Object arg1, Object arg2,
+			Object arg3, Object arg4, Object arg5) {
+		if (isSet(logger, level)) {
+			logger.log(level, StreamsResources.getBundle(bundleName), key, arg1, arg2, arg3, arg4, arg5);
+		}
+	}
+
+	/**
+	 * Wraps provided value to be converted to string using {@link Utils#toString(Object)} only when message having
+	 * this argument gets actually logged.
+	 *
+	 * @param value
+	 *            message argument value
+	 * @return lazily stringified message argument
+	 */
+	public static Object lazyToString(Object value) {
+		return value == null ? null : new LazyArg(value, null);
+	}
+
+	/**
+	 * Wraps provided supplier to be evaluated only when message having this argument gets actually logged.
+	 *
+	 * @param supplier
+	 *            message argument value supplier
+	 * @return lazily evaluated message argument
+	 */
+	public static Object lazy(Supplier<?> supplier) {
+		return new LazyArg(null, supplier);
+	}
+
+	/**
+	 * Lazily evaluated log message argument. Argument value is resolved on first {@link #toString()} call, made when
+	 * logger formats the message.
+	 */
+	private static final class LazyArg {
+		private final Object value;
+		private final Supplier<?> supplier;
+		private String str;
+
+		private LazyArg(Object value, Supplier<?> supplier) {
+			this.value = value;
+			this.supplier = supplier;
+		}
+
+		@Override
+		public String toString() {
+			if (str == null) {
+				str = Utils.toString(supplier == null ? value : supplier.get());
+			}
+			return str;
+		}
+	}
 }
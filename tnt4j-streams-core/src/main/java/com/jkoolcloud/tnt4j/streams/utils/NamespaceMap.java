@@ -17,6 +17,9 @@
 package com.jkoolcloud.tnt4j.streams.utils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -32,8 +35,9 @@ import org.apache.commons.collections4.CollectionUtils;
 public final class NamespaceMap implements NamespaceContext {
 	private static final List<String> EMPTY_NS_LIST = Collections.singletonList(XMLConstants.DEFAULT_NS_PREFIX);
 
-	private final Map<String, String> mapNS = new HashMap<>(10);
-	private final Map<String, Set<String>> mapURI = new HashMap<>(10);
+	private final Map<String, String> mapNS = new ConcurrentHashMap<>(10);
+	private final Map<String, Set<String>> mapURI = new ConcurrentHashMap<>(10);
+	private final AtomicInteger version = new AtomicInteger();
 
 	/**
 	 * Constructs a new namespaces map.
@@ -42,7 +46,8 @@ public final class NamespaceMap implements NamespaceContext {
 	}
 
 	/**
-	 * Sets mapping of namespace prefix to namespace URI.
+	 * Sets mapping of namespace prefix to namespace URI. {@code null} URI (e.g., namespace undeclaration
+	 * {@code xmlns=""}) is mapped as {@link XMLConstants#NULL_NS_URI}.
 	 *
 	 * @param prefix
 	 *            prefix to put into mapping
@@ -50,8 +55,13 @@ public final class NamespaceMap implements NamespaceContext {
 	 *            uri to put into mapping
 	 */
 	public String setPrefixUriMapping(String prefix, String uri) {
-		mapURI(prefix, uri);
-		return mapNS.put(prefix, uri);
+		String nsUri = toNsURI(uri);
+		mapURI(prefix, nsUri);
+		String prevUri = mapNS.put(prefix, nsUri);
+		if (!Objects.equals(nsUri, prevUri)) {
+			version.incrementAndGet();
+		}
+		return prevUri;
 	}
 
 	/**
@@ -90,20 +100,31 @@ public final class NamespaceMap implements NamespaceContext {
 	 *            map containing namespace prefix to namespace URI mappings
 	 */
 	public void addPrefixUriMappings(Map<String, String> nsMap) {
-		mapNS.putAll(nsMap);
-
 		for (Map.Entry<String, String> nsms : nsMap.entrySet()) {
-			mapURI(nsms.getKey(), nsms.getValue());
+			String nsUri = toNsURI(nsms.getValue());
+			mapNS.put(nsms.getKey(), nsUri);
+			mapURI(nsms.getKey(), nsUri);
 		}
+		version.incrementAndGet();
 	}
 
 	private void mapURI(String prefix, String uri) {
-		Set<String> prefixList = mapURI.get(uri);
-		if (prefixList == null) {
-			prefixList = new LinkedHashSet<>(5);
-			mapURI.put(uri, prefixList);
-		}
-		prefixList.add(prefix);
+		mapURI.computeIfAbsent(uri, k -> new CopyOnWriteArraySet<>()).add(prefix);
+	}
+
+	private static String toNsURI(String uri) {
+		return uri == null ? XMLConstants.NULL_NS_URI : uri;
+	}
+
+	/**
+	 * Returns namespace mappings version number. Version number changes every time namespace prefix gets mapped to
+	 * other URI, so it can be used to check if objects depending on these mappings (e.g. compiled XPath expressions)
+	 * are still valid.
+	 *
+	 * @return namespace mappings version number
+	 */
+	public int getVersion() {
+		return version.get();
 	}
 
 	@Override
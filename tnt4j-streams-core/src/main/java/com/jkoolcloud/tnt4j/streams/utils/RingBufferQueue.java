@@ -0,0 +1,403 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded lock-free multi-producer/multi-consumer ring buffer implementing {@link BlockingQueue} interface.
+ * <p>
+ * Adding and taking items does not take any lock: every ring slot has a sequence number marking whether slot is free
+ * for producer or filled for consumer, and producers/consumers claim slots by CAS'ing tail/head positions. Blocking
+ * operations ({@link #put(Object)}, {@link #take()} and timed {@link #offer(Object, long, TimeUnit)},
+ * {@link #poll(long, TimeUnit)}) wait using defined {@link WaitStrategy}.
+ * <p>
+ * Removal of arbitrary item ({@link #remove(Object)}, {@link Iterator#remove()}) is supported by marking ring slot
+ * as removed, so consumers skip it. Because of that, {@link #size()} is an estimate that may include removed and not
+ * yet consumed slots.
+ *
+ * @param <E>
+ *            the type of elements held in this queue
+ *
+ * @version $Revision: 1 $
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+	private static final Object REMOVED = new Object();
+	private static final int SPIN_TRIES = 100;
+	private static final long MAX_BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final int capacity;
+	private final AtomicReferenceArray<Object> buffer;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	private final WaitStrategy waitStrategy;
+	private final ReentrantLock waitLock = new ReentrantLock();
+	private final Condition notEmpty = waitLock.newCondition();
+	private final Condition notFull = waitLock.newCondition();
+	private final AtomicInteger waitingConsumers = new AtomicInteger();
+	private final AtomicInteger waitingProducers = new AtomicInteger();
+
+	/**
+	 * Constructs a new RingBufferQueue using {@link WaitStrategy#BLOCKING} wait strategy.
+	 *
+	 * @param capacity
+	 *            the capacity of this queue
+	 */
+	public RingBufferQueue(int capacity) {
+		this(capacity, WaitStrategy.BLOCKING);
+	}
+
+	/**
+	 * Constructs a new RingBufferQueue.
+	 *
+	 * @param capacity
+	 *            the capacity of this queue
+	 * @param waitStrategy
+	 *            strategy used to wait for queue to get not empty/not full
+	 *
+	 * @throws IllegalArgumentException
+	 *             if {@code capacity} is less than {@code 1}
+	 */
+	public RingBufferQueue(int capacity, WaitStrategy waitStrategy) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "RingBufferQueue.illegal.capacity", capacity));
+		}
+		this.capacity = capacity;
+		this.waitStrategy = waitStrategy == null ? WaitStrategy.BLOCKING : waitStrategy;
+		this.buffer = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	private int index(long pos) {
+		return (int) (pos % capacity);
+	}
+
+	@Override
+	public boolean offer(E e) {
+		Objects.requireNonNull(e);
+
+		while (true) {
+			long pos = tail.get();
+			int idx = index(pos);
+			long dif = sequences.get(idx) - pos;
+			if (dif == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					buffer.set(idx, e);
+					sequences.set(idx, pos + 1);
+					signalWaiting(waitingConsumers, notEmpty);
+					return true;
+				}
+			} else if (dif < 0) {
+				return false; // slot is not yet released by consumer - queue is full
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		while (true) {
+			long pos = head.get();
+			int idx = index(pos);
+			long dif = sequences.get(idx) - (pos + 1);
+			if (dif == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					Object e = buffer.getAndSet(idx, null);
+					sequences.set(idx, pos + capacity);
+					signalWaiting(waitingProducers, notFull);
+					if (e != REMOVED) {
+						return (E) e;
+					}
+				}
+			} else if (dif < 0) {
+				return null; // slot is not yet filled by producer - queue is empty
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		long h = head.get();
+		long t = tail.get();
+		for (long pos = h; pos < t && pos < h + capacity; pos++) {
+			Object e = buffer.get(index(pos));
+			if (e != null && e != REMOVED) {
+				return (E) e;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void put(E e) throws InterruptedException {
+		for (int i = 0; !offer(e); i++) {
+			await(waitingProducers, notFull, Long.MAX_VALUE, i);
+		}
+	}
+
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		if (offer(e)) {
+			return true;
+		}
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (int i = 0;; i++) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			await(waitingProducers, notFull, remaining, i);
+			if (offer(e)) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		E e;
+		for (int i = 0; (e = poll()) == null; i++) {
+			await(waitingConsumers, notEmpty, Long.MAX_VALUE, i);
+		}
+		return e;
+	}
+
+	@Override
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		E e = poll();
+		if (e != null) {
+			return e;
+		}
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (int i = 0;; i++) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return null;
+			}
+			await(waitingConsumers, notEmpty, remaining, i);
+			if ((e = poll()) != null) {
+				return e;
+			}
+		}
+	}
+
+	private void await(AtomicInteger waiters, Condition condition, long remainingNanos, int iteration)
+			throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+
+		switch (waitStrategy) {
+		case SPINNING:
+			break;
+		case YIELDING:
+			if (iteration >= SPIN_TRIES) {
+				Thread.yield();
+			}
+			break;
+		case BLOCKING:
+		default:
+			waitLock.lockInterruptibly();
+			waiters.incrementAndGet();
+			try {
+				// re-check under lock, producer/consumer might have changed state before we registered as waiter
+				if (condition == notEmpty ? isEmpty() : remainingCapacity() == 0) {
+					condition.awaitNanos(Math.min(remainingNanos, MAX_BLOCK_NANOS));
+				}
+			} finally {
+				waiters.decrementAndGet();
+				waitLock.unlock();
+			}
+			break;
+		}
+	}
+
+	private void signalWaiting(AtomicInteger waiters, Condition condition) {
+		if (waitStrategy == WaitStrategy.BLOCKING && waiters.get() > 0) {
+			waitLock.lock();
+			try {
+				condition.signalAll();
+			} finally {
+				waitLock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return capacity - size();
+	}
+
+	@Override
+	public int size() {
+		while (true) {
+			long h = head.get();
+			long t = tail.get();
+			if (h == head.get()) {
+				return (int) Math.max(0, Math.min(capacity, t - h));
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head.get() >= tail.get();
+	}
+
+	/**
+	 * Returns maximal capacity of this queue.
+	 *
+	 * @return queue capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o == null) {
+			return false;
+		}
+		long h = head.get();
+		long t = tail.get();
+		for (long pos = h; pos < t; pos++) {
+			int idx = index(pos);
+			Object e = buffer.get(idx);
+			if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(idx, e, REMOVED)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null) {
+		}
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements) {
+		Objects.requireNonNull(c);
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		int n = 0;
+		E e;
+		while (n < maxElements && (e = poll()) != null) {
+			c.add(e);
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Returns weakly consistent iterator over queue items. Iterator does not throw
+	 * {@link java.util.ConcurrentModificationException} and reflects queue items available at the moment of iterator
+	 * creation, some of them may be consumed by the time iterator returns them.
+	 *
+	 * @return iterator over queue items
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	private class Itr implements Iterator<E> {
+		private final List<Object> items = new ArrayList<>();
+		private final List<Integer> indexes = new ArrayList<>();
+		private int cursor = 0;
+		private int lastRet = -1;
+
+		Itr() {
+			long h = head.get();
+			long t = tail.get();
+			for (long pos = h; pos < t && pos < h + capacity; pos++) {
+				int idx = index(pos);
+				Object e = buffer.get(idx);
+				if (e != null && e != REMOVED) {
+					items.add(e);
+					indexes.add(idx);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return cursor < items.size();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastRet = cursor++;
+			return (E) items.get(lastRet);
+		}
+
+		@Override
+		public void remove() {
+			if (lastRet < 0) {
+				throw new IllegalStateException();
+			}
+			buffer.compareAndSet(indexes.get(lastRet), items.get(lastRet), REMOVED);
+			lastRet = -1;
+		}
+	}
+
+	/**
+	 * Strategies to wait for ring buffer to get available items to consume, or available space to add new items.
+	 */
+	public enum WaitStrategy {
+		/**
+		 * Waiting thread parks until notified by opposite side (producer/consumer). Notifying takes a lock only when
+		 * there are waiting threads. Lowest CPU use, highest hand-off latency.
+		 */
+		BLOCKING,
+		/**
+		 * Waiting thread busy-spins re-checking ring buffer state. Lowest hand-off latency, but keeps CPU core busy.
+		 */
+		SPINNING,
+		/**
+		 * Waiting thread spins for a while and then yields CPU between ring buffer state re-checks. Compromise between
+		 * {@link #BLOCKING} and {@link #SPINNING}.
+		 */
+		YIELDING
+	}
+}
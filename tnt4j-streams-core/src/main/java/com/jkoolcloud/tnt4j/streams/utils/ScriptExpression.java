@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.Map;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+
+/**
+ * Script expression compiled once and ready for repetitive evaluation using different variable bindings.
+ * <p>
+ * Depending on expression language and code, expression is evaluated:
+ * <ul>
+ * <li>by {@link javax.script.CompiledScript} produced by JSR-223 scripting engine - same way as
+ * {@link com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileScript(String, String)} does</li>
+ * <li>by per thread instance of compiled {@link groovy.lang.Script} class - Groovy scripts skip JSR-223 engine script
+ * instance creation for every evaluation</li>
+ * <li>by tree of Java lambdas - simple Groovy expressions (variables, literals, comparison, boolean and arithmetic
+ * operators) are evaluated without running any script at all</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils#compileExpression(String, String)
+ */
+public abstract class ScriptExpression {
+	private final String lang;
+	private final String code;
+
+	/**
+	 * Constructs a new ScriptExpression.
+	 *
+	 * @param lang
+	 *            script expression language
+	 * @param code
+	 *            script expression code
+	 */
+	protected ScriptExpression(String lang, String code) {
+		this.lang = lang;
+		this.code = code;
+	}
+
+	/**
+	 * Returns script expression language.
+	 *
+	 * @return script expression language
+	 */
+	public String getLanguage() {
+		return lang;
+	}
+
+	/**
+	 * Returns script expression code.
+	 *
+	 * @return script expression code
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	/**
+	 * Checks whether this expression is evaluated without running script.
+	 *
+	 * @return {@code true} if expression is evaluated by Java lambdas, {@code false} - otherwise
+	 */
+	public boolean isFastPath() {
+		return false;
+	}
+
+	/**
+	 * Evaluates expression using provided variable bindings.
+	 *
+	 * @param bindings
+	 *            expression variable bindings map
+	 * @return expression evaluation result
+	 *
+	 * @throws ScriptException
+	 *             if expression evaluation fails
+	 */
+	public abstract Object eval(Map<String, Object> bindings) throws ScriptException;
+
+	@Override
+	public String toString() {
+		return "'" + lang + ":" + code + "'"; // NON-NLS
+	}
+
+	/**
+	 * Script expression evaluated by JSR-223 engine compiled script.
+	 */
+	static class CompiledScriptExpression extends ScriptExpression {
+		private final CompiledScript script;
+
+		CompiledScriptExpression(String lang, String code, CompiledScript script) {
+			super(lang, code);
+			this.script = script;
+		}
+
+		@Override
+		public Object eval(Map<String, Object> bindings) throws ScriptException {
+			return script.eval(new SimpleBindings(bindings));
+		}
+	}
+
+	/**
+	 * Groovy expression evaluated by per thread instance of compiled {@link groovy.lang.Script} class. Script instance
+	 * is not thread safe since it holds variables binding, so every thread gets own instance and binds evaluation
+	 * variables right before running it.
+	 */
+	static class GroovyScriptExpression extends ScriptExpression {
+		private final ThreadLocal<Script> threadScript;
+
+		GroovyScriptExpression(String code, Class<?> scriptClass) {
+			super(StreamsScriptingUtils.GROOVY_LANG, code);
+			this.threadScript = ThreadLocal.withInitial(() -> InvokerHelper.createScript(scriptClass, new Binding()));
+		}
+
+		@Override
+		public Object eval(Map<String, Object> bindings) throws ScriptException {
+			Script script = threadScript.get();
+			script.setBinding(new Binding(bindings));
+			try {
+				return script.run();
+			} catch (Exception exc) {
+				throw new ScriptException(exc);
+			} finally {
+				// do not keep references to evaluated values
+				script.setBinding(null);
+			}
+		}
+	}
+
+	/**
+	 * Groovy expression evaluated by Java lambdas tree, built by
+	 * {@link com.jkoolcloud.tnt4j.streams.utils.SimpleGroovyExpressionParser}.
+	 */
+	static class FastPathExpression extends ScriptExpression {
+		private final SimpleGroovyExpressionParser.Evaluator evaluator;
+
+		FastPathExpression(String code, SimpleGroovyExpressionParser.Evaluator evaluator) {
+			super(StreamsScriptingUtils.GROOVY_LANG, code);
+			this.evaluator = evaluator;
+		}
+
+		@Override
+		public boolean isFastPath() {
+			return true;
+		}
+
+		@Override
+		public Object eval(Map<String, Object> bindings) throws ScriptException {
+			try {
+				return evaluator.eval(bindings);
+			} catch (Exception exc) {
+				throw new ScriptException(exc);
+			}
+		}
+	}
+}
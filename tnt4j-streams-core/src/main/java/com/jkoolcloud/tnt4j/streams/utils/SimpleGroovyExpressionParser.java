@@ -0,0 +1,392 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.codehaus.groovy.runtime.ScriptBytecodeAdapter;
+import org.codehaus.groovy.runtime.typehandling.DefaultTypeTransformation;
+
+import groovy.lang.MissingPropertyException;
+import groovy.lang.Script;
+
+/**
+ * Parser turning simple Groovy expressions into tree of Java lambdas.
+ * <p>
+ * Parser handles only small subset of Groovy syntax:
+ * <ul>
+ * <li>variables: {@code $name}</li>
+ * <li>literals: decimal numbers, strings without escapes and interpolation, {@code true}, {@code false},
+ * {@code null}</li>
+ * <li>operators: {@code || && == != < <= > >= + - * / % !}, unary {@code -} and parentheses</li>
+ * </ul>
+ * Operators are evaluated by the same Groovy runtime methods compiled Groovy script code calls, so evaluation results
+ * are same as running script. Any other expression (method calls, property access, statements, etc.) is not parsed
+ * and shall be evaluated as script.
+ *
+ * @version $Revision: 1 $
+ */
+final class SimpleGroovyExpressionParser {
+
+	private final String expression;
+	private final List<Token> tokens = new ArrayList<>();
+	private int pos;
+
+	private SimpleGroovyExpressionParser(String expression) {
+		this.expression = expression;
+	}
+
+	/**
+	 * Parses provided Groovy expression into lambdas tree.
+	 *
+	 * @param expression
+	 *            Groovy expression code
+	 * @return expression evaluator, or {@code null} if expression is not supported by this parser
+	 */
+	static Evaluator parse(String expression) {
+		if (expression == null) {
+			return null;
+		}
+
+		SimpleGroovyExpressionParser parser = new SimpleGroovyExpressionParser(expression);
+		if (!parser.tokenize()) {
+			return null;
+		}
+
+		Evaluator evaluator = parser.parseOr();
+		return evaluator != null && parser.pos == parser.tokens.size() ? evaluator : null;
+	}
+
+	private boolean tokenize() {
+		int i = 0;
+		int len = expression.length();
+		while (i < len) {
+			char ch = expression.charAt(i);
+			if (ch == ' ' || ch == '\t') {
+				i++;
+			} else if (ch == '$') {
+				int end = i + 1;
+				while (end < len && isIdentifierPart(expression.charAt(end))) {
+					end++;
+				}
+				if (end == i + 1) {
+					return false;
+				}
+				tokens.add(new Token(TokenType.VARIABLE, expression.substring(i, end)));
+				i = end;
+			} else if (Character.isDigit(ch)) {
+				i = tokenizeNumber(i);
+				if (i < 0) {
+					return false;
+				}
+			} else if (ch == '\'' || ch == '"') {
+				int end = expression.indexOf(ch, i + 1);
+				if (end < 0) {
+					return false;
+				}
+				String str = expression.substring(i + 1, end);
+				// escapes, interpolated (GString) and multi-line strings are left for script
+				if (str.indexOf('\\') >= 0 || (ch == '"' && str.indexOf('$') >= 0) || str.indexOf('\n') >= 0
+						|| str.indexOf('\r') >= 0 || (end + 1 < len && expression.charAt(end + 1) == ch)) {
+					return false;
+				}
+				tokens.add(new Token(TokenType.LITERAL, str));
+				i = end + 1;
+			} else if (isIdentifierPart(ch)) {
+				int end = i;
+				while (end < len && isIdentifierPart(expression.charAt(end))) {
+					end++;
+				}
+				String word = expression.substring(i, end);
+				switch (word) {
+				case "true": // NON-NLS
+					tokens.add(new Token(TokenType.LITERAL, Boolean.TRUE));
+					break;
+				case "false": // NON-NLS
+					tokens.add(new Token(TokenType.LITERAL, Boolean.FALSE));
+					break;
+				case "null": // NON-NLS
+					tokens.add(new Token(TokenType.LITERAL, null));
+					break;
+				default:
+					return false;
+				}
+				i = end;
+			} else {
+				String op = matchOperator(i);
+				if (op == null) {
+					return false;
+				}
+				tokens.add(new Token(TokenType.OPERATOR, op));
+				i += op.length();
+			}
+		}
+
+		return !tokens.isEmpty();
+	}
+
+	private int tokenizeNumber(int start) {
+		int len = expression.length();
+		int end = start;
+		while (end < len && Character.isDigit(expression.charAt(end))) {
+			end++;
+		}
+		boolean decimal = false;
+		if (end + 1 < len && expression.charAt(end) == '.' && Character.isDigit(expression.charAt(end + 1))) {
+			decimal = true;
+			end++;
+			while (end < len && Character.isDigit(expression.charAt(end))) {
+				end++;
+			}
+		}
+		// octal/hex/binary literals, type suffixes, exponents and method calls on literals are left for script
+		if (end < len && (isIdentifierPart(expression.charAt(end)) || expression.charAt(end) == '.')) {
+			return -1;
+		}
+		String num = expression.substring(start, end);
+		if (num.length() > 1 && num.charAt(0) == '0' && num.charAt(1) != '.') {
+			return -1;
+		}
+
+		tokens.add(new Token(TokenType.LITERAL, decimal ? new BigDecimal(num) : toIntegralNumber(num)));
+		return end;
+	}
+
+	private static Number toIntegralNumber(String num) {
+		BigInteger value = new BigInteger(num);
+		if (value.bitLength() < 32) {
+			return value.intValue();
+		}
+		if (value.bitLength() < 64) {
+			return value.longValue();
+		}
+		return value;
+	}
+
+	private static final String[] OPERATORS = { "||", "&&", "==", "!=", "<=", ">=", "<", ">", "+", "-", "*", "/", "%", // NON-NLS
+			"!", "(", ")" }; // NON-NLS
+
+	private String matchOperator(int idx) {
+		// Groovy increment/decrement operators
+		if (expression.startsWith("--", idx) || expression.startsWith("++", idx)) { // NON-NLS
+			return null;
+		}
+		// other operators (e.g. '===', '<=>', '=~', '**', '<<') are tokenized as unsupported character or operators
+		// sequence making parsing to fail
+		for (String op : OPERATORS) {
+			if (expression.startsWith(op, idx)) {
+				return op;
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isIdentifierPart(char ch) {
+		return ch == '_' || (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9');
+	}
+
+	private Token peek() {
+		return pos < tokens.size() ? tokens.get(pos) : null;
+	}
+
+	private boolean acceptOperator(String op) {
+		Token t = peek();
+		if (t != null && t.type == TokenType.OPERATOR && op.equals(t.value)) {
+			pos++;
+			return true;
+		}
+		return false;
+	}
+
+	private String acceptOperator(String... ops) {
+		for (String op : ops) {
+			if (acceptOperator(op)) {
+				return op;
+			}
+		}
+		return null;
+	}
+
+	private Evaluator parseOr() {
+		Evaluator left = parseAnd();
+		while (left != null && acceptOperator("||")) { // NON-NLS
+			Evaluator l = left;
+			Evaluator r = parseAnd();
+			if (r == null) {
+				return null;
+			}
+			left = vars -> DefaultTypeTransformation.castToBoolean(l.eval(vars))
+					|| DefaultTypeTransformation.castToBoolean(r.eval(vars));
+		}
+		return left;
+	}
+
+	private Evaluator parseAnd() {
+		Evaluator left = parseEquality();
+		while (left != null && acceptOperator("&&")) { // NON-NLS
+			Evaluator l = left;
+			Evaluator r = parseEquality();
+			if (r == null) {
+				return null;
+			}
+			left = vars -> DefaultTypeTransformation.castToBoolean(l.eval(vars))
+					&& DefaultTypeTransformation.castToBoolean(r.eval(vars));
+		}
+		return left;
+	}
+
+	private Evaluator parseEquality() {
+		Evaluator l = parseRelational();
+		String op = l == null ? null : acceptOperator("==", "!="); // NON-NLS
+		if (op == null) {
+			return l;
+		}
+		Evaluator r = parseRelational();
+		if (r == null) {
+			return null;
+		}
+		if ("==".equals(op)) { // NON-NLS
+			return vars -> ScriptBytecodeAdapter.compareEqual(l.eval(vars), r.eval(vars));
+		}
+		return vars -> ScriptBytecodeAdapter.compareNotEqual(l.eval(vars), r.eval(vars));
+	}
+
+	private Evaluator parseRelational() {
+		Evaluator l = parseAdditive();
+		String op = l == null ? null : acceptOperator("<=", ">=", "<", ">"); // NON-NLS
+		if (op == null) {
+			return l;
+		}
+		Evaluator r = parseAdditive();
+		if (r == null) {
+			return null;
+		}
+		switch (op) {
+		case "<=": // NON-NLS
+			return vars -> ScriptBytecodeAdapter.compareLessThanEqual(l.eval(vars), r.eval(vars));
+		case ">=": // NON-NLS
+			return vars -> ScriptBytecodeAdapter.compareGreaterThanEqual(l.eval(vars), r.eval(vars));
+		case "<": // NON-NLS
+			return vars -> ScriptBytecodeAdapter.compareLessThan(l.eval(vars), r.eval(vars));
+		default:
+			return vars -> ScriptBytecodeAdapter.compareGreaterThan(l.eval(vars), r.eval(vars));
+		}
+	}
+
+	private Evaluator parseAdditive() {
+		Evaluator left = parseMultiplicative();
+		String op;
+		while (left != null && (op = acceptOperator("+", "-")) != null) { // NON-NLS
+			left = binaryMethod(left, "+".equals(op) ? "plus" : "minus", parseMultiplicative()); // NON-NLS
+		}
+		return left;
+	}
+
+	private Evaluator parseMultiplicative() {
+		Evaluator left = parseUnary();
+		String op;
+		while (left != null && (op = acceptOperator("*", "/", "%")) != null) { // NON-NLS
+			left = binaryMethod(left, "*".equals(op) ? "multiply" : "/".equals(op) ? "div" : "mod", parseUnary()); // NON-NLS
+		}
+		return left;
+	}
+
+	private static Evaluator binaryMethod(Evaluator l, String method, Evaluator r) {
+		if (r == null) {
+			return null;
+		}
+		return vars -> InvokerHelper.invokeMethod(l.eval(vars), method, new Object[] { r.eval(vars) });
+	}
+
+	private Evaluator parseUnary() {
+		if (acceptOperator("!")) { // NON-NLS
+			Evaluator e = parseUnary();
+			return e == null ? null : vars -> !DefaultTypeTransformation.castToBoolean(e.eval(vars));
+		}
+		if (acceptOperator("-")) { // NON-NLS
+			Evaluator e = parseUnary();
+			return e == null ? null : vars -> InvokerHelper.unaryMinus(e.eval(vars));
+		}
+		return parsePrimary();
+	}
+
+	private Evaluator parsePrimary() {
+		Token t = peek();
+		if (t == null) {
+			return null;
+		}
+		switch (t.type) {
+		case VARIABLE:
+			pos++;
+			String name = (String) t.value;
+			return vars -> {
+				Object value = vars.get(name);
+				if (value == null && !vars.containsKey(name)) {
+					throw new MissingPropertyException(name, Script.class);
+				}
+				return value;
+			};
+		case LITERAL:
+			pos++;
+			Object value = t.value;
+			return vars -> value;
+		default:
+			if (acceptOperator("(")) { // NON-NLS
+				Evaluator e = parseOr();
+				return e != null && acceptOperator(")") ? e : null; // NON-NLS
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Simple expression evaluator.
+	 */
+	@FunctionalInterface
+	interface Evaluator {
+		/**
+		 * Evaluates expression using provided variable bindings.
+		 *
+		 * @param vars
+		 *            expression variable bindings map
+		 * @return evaluation result
+		 * @throws Exception
+		 *             if evaluation fails
+		 */
+		Object eval(Map<String, ?> vars) throws Exception;
+	}
+
+	private enum TokenType {
+		VARIABLE, LITERAL, OPERATOR
+	}
+
+	private static class Token {
+		private final TokenType type;
+		private final Object value;
+
+		private Token(TokenType type, Object value) {
+			this.type = type;
+			this.value = value;
+		}
+	}
+}
@@ -17,17 +17,20 @@
 package com.jkoolcloud.tnt4j.streams.utils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
@@ -36,9 +39,12 @@ import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.UsecTimestamp;
 import com.jkoolcloud.tnt4j.sink.EventSink;
@@ -52,6 +58,13 @@ import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
  * activity entity) values. If defined, default entry value can be static value, or dynamic functional expression
  * {@code "now()"} evaluating current timestamp.
  * <p>
+ * Cache entry can be bound to named cache shard. Every shard has its own values cache having own max. capacity and
+ * entries expiration duration, so e.g. many short living correlation entries do not evict long living ones. Entries
+ * not bound to any shard are stored in default shard. Named shards are scoped by stream: values cached by
+ * different streams are stored in separate instances of same named shard, so streams do not evict each other's
+ * entries. Entry key and value patterns are compiled into literal and variable segments once, and activity entity field
+ * referenced by multiple patterns is resolved once per activity entity.
+ * <p>
  * Streams cache supports the following configuration properties:
  * <ul>
  * <li>MaxSize - max. capacity of stream resolved values cache. Default value - {@code 100}. (Optional)</li>
@@ -59,13 +72,20 @@ import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
  * (Optional)</li>
  * <li>Persisted - flag indicating cache contents has to be persisted to file on close and loaded on initialization.
  * Default value - {@code false}. (Optional)</li>
- * <li>FileName - defines file name to persist cache entries as XML. Default value - {@code "./persistedCache.xml"}.
- * (Optional)</li>
+ * <li>PersistenceFormat - defines cache entries persistence format: {@code XML} - all cache entries are marshaled to
+ * XML file, {@code BINARY} - changed cache entries are appended to binary journal file and persisted entries are
+ * loaded lazily on first lookup. Default value - {@code XML}. (Optional)</li>
+ * <li>FileName - defines file name to persist cache entries. Default value - {@code "./persistedCache.xml"} for
+ * {@code XML} and {@code "./persistedCache.bin"} for {@code BINARY} persistence format. (Optional)</li>
  * <li>PersistingPeriod - cache persisting period in seconds. Value {@code <= 0} disables periodic persisting. Default
  * value - {@code 0}. (Optional)</li>
+ * <li>ShardName.MaxSize - max. capacity of named cache shard values cache. Default value - cache {@code MaxSize}
+ * property value. (Optional)</li>
+ * <li>ShardName.ExpireDuration - named cache shard values cache entries expiration duration in minutes. Default value -
+ * cache {@code ExpireDuration} property value. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 3 $
+ * @version $Revision: 5 $
  */
 public final class StreamsCache {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(StreamsCache.class);
@@ -73,23 +93,110 @@ public final class StreamsCache {
 	private static final long DEFAULT_CACHE_MAX_SIZE = 100;
 	private static final long DEFAULT_CACHE_EXPIRE_IN_MINUTES = 10;
 	private static final String DEFAULT_FILE_NAME = "./persistedCache.xml"; // NON-NLS
+	private static final String DEFAULT_BINARY_FILE_NAME = "./persistedCache.bin"; // NON-NLS
+	private static final String BINARY_FORMAT = "BINARY"; // NON-NLS
+	private static final String DEFAULT_SHARD = ""; // NON-NLS
 
 	private static final String PARSER_NAME_VAR = "${ParserName}"; // NON-NLS
+	private static final String SHARD_PROPERTY_DELIM = "."; // NON-NLS
+	private static final String STREAM_SCOPE_DELIM = "::"; // NON-NLS
+	private static final int MAX_PATTERN_TEMPLATES = 256;
 
 	private static Cache<String, CacheValue> valuesCache;
+	private static final Map<String, Cache<String, CacheValue>> shardCaches = new ConcurrentHashMap<>();
+	private static final Map<String, Long> shardProperties = new ConcurrentHashMap<>();
+	private static final Map<String, PatternTemplate> patternTemplates = new ConcurrentHashMap<>();
 	private static Map<String, CacheEntry> cacheEntries = new HashMap<>(5);
 	private static AtomicInteger referencesCount = new AtomicInteger();
 
 	private static long maxSize = DEFAULT_CACHE_MAX_SIZE;
 	private static long expireDuration = DEFAULT_CACHE_EXPIRE_IN_MINUTES;
 	private static boolean persistenceOn = false;
-	private static String fileName = DEFAULT_FILE_NAME;
+	private static String fileName = null;
+	private static boolean binaryFormat = false;
+
+	private static CacheJournal journal;
+	private static final Map<String, Set<String>> dirtyKeys = new ConcurrentHashMap<>();
+	private static final Object PERSIST_LOCK = new Object();
 
 	private static ScheduledExecutorService periodicPersistingScheduler = null;
 	private static long persistingPeriodInSeconds;
 
-	private static Cache<String, CacheValue> buildCache(long cSize, long duration) {
-		return CacheBuilder.newBuilder().maximumSize(cSize).expireAfterAccess(duration, TimeUnit.MINUTES).build();
+	private static Cache<String, CacheValue> buildCache(long cSize, long duration, String shard) {
+		return CacheBuilder.newBuilder().maximumSize(cSize).expireAfterAccess(duration, TimeUnit.MINUTES).recordStats()
+				.<String, CacheValue> removalListener(n -> {
+					if (n.getCause() != RemovalCause.REPLACED) {
+						markDirty(shard, n.getKey());
+					}
+				}).build();
+	}
+
+	private static void markDirty(String shard, String key) {
+		if (journal != null) {
+			dirtyKeys.computeIfAbsent(shard, s -> ConcurrentHashMap.newKeySet()).add(key);
+		}
+	}
+
+	private static void put(String shard, String key, CacheValue value) {
+		getCache(shard).put(key, value);
+		markDirty(StringUtils.isEmpty(shard) ? DEFAULT_SHARD : shard, key);
+	}
+
+	private static CacheValue getCacheValue(String shard, String key) {
+		Cache<String, CacheValue> cache = getCache(shard);
+		CacheValue value = cache.getIfPresent(key);
+		CacheJournal cJournal = journal;
+		if (value == null && cJournal != null) {
+			value = cJournal.load(StringUtils.isEmpty(shard) ? DEFAULT_SHARD : shard, key);
+			if (value != null) {
+				CacheValue prevValue = cache.asMap().putIfAbsent(key, value);
+				if (prevValue != null) {
+					value = prevValue;
+				}
+			}
+		}
+		return value;
+	}
+
+	private static String getFileName() {
+		return fileName != null ? fileName : binaryFormat ? DEFAULT_BINARY_FILE_NAME : DEFAULT_FILE_NAME;
+	}
+
+	private static Cache<String, CacheValue> getCache(String shard) {
+		if (StringUtils.isEmpty(shard)) {
+			return valuesCache;
+		}
+
+		return shardCaches.computeIfAbsent(shard, sName -> buildCache(getShardMaxSize(sName),
+				getShardProperty(sName, CacheProperties.PROP_EXPIRE_DURATION, expireDuration), sName));
+	}
+
+	private static long getShardMaxSize(String shard) {
+		return getShardProperty(shard, CacheProperties.PROP_MAX_SIZE, maxSize);
+	}
+
+	private static long getShardProperty(String shard, String name, long defaultValue) {
+		int sIdx = shard.lastIndexOf(STREAM_SCOPE_DELIM);
+		String shardName = sIdx < 0 ? shard : shard.substring(sIdx + STREAM_SCOPE_DELIM.length());
+		Long value = shardProperties.get(shardPropertyKey(shardName, name));
+		return value == null ? defaultValue : value;
+	}
+
+	private static String shardPropertyKey(String shard, String name) {
+		return shard + SHARD_PROPERTY_DELIM + name.toLowerCase();
+	}
+
+	/**
+	 * Makes name of named cache shard instance used by provided stream.
+	 *
+	 * @param streamName
+	 *            stream name, {@code null} - if shard is not bound to stream
+	 * @param shard
+	 *            cache shard name
+	 * @return name of stream scoped cache shard, or {@code shard} if {@code streamName} or {@code shard} is empty
+	 */
+	static String scopeShard(String streamName, String shard) {
+		return StringUtils.isAnyEmpty(streamName, shard) ? shard : streamName + STREAM_SCOPE_DELIM + shard;
 	}
 
 	/**
@@ -105,12 +212,18 @@ public final class StreamsCache {
 			for (Map.Entry<String, String> prop : props) {
 				String name = prop.getKey();
 				String value = prop.getValue();
-				if (CacheProperties.PROP_MAX_SIZE.equalsIgnoreCase(name)) {
+				if (isShardProperty(name)) {
+					int sdIdx = name.lastIndexOf(SHARD_PROPERTY_DELIM);
+					shardProperties.put(shardPropertyKey(name.substring(0, sdIdx), name.substring(sdIdx + 1)),
+							Long.parseLong(value));
+				} else if (CacheProperties.PROP_MAX_SIZE.equalsIgnoreCase(name)) {
 					maxSize = Long.parseLong(value);
 				} else if (CacheProperties.PROP_EXPIRE_DURATION.equalsIgnoreCase(name)) {
 					expireDuration = Long.parseLong(value);
 				} else if (CacheProperties.PROP_PERSISTED.equalsIgnoreCase(name)) {
 					persistenceOn = Utils.toBoolean(value);
+				} else if (CacheProperties.PROP_PERSISTENCE_FORMAT.equalsIgnoreCase(name)) {
+					binaryFormat = BINARY_FORMAT.equalsIgnoreCase(value);
 				} else if (CacheProperties.PROP_PERSISTED_FILE_NAME.equalsIgnoreCase(name)) {
 					fileName = value;
 				} else if (CacheProperties.PROP_PERSISTING_PERIOD.equalsIgnoreCase(name)) {
@@ -122,11 +235,23 @@ public final class StreamsCache {
 		initialize();
 	}
 
+	private static boolean isShardProperty(String name) {
+		int sdIdx = name.lastIndexOf(SHARD_PROPERTY_DELIM);
+		if (sdIdx <= 0) {
+			return false;
+		}
+		String propName = name.substring(sdIdx + 1);
+		return CacheProperties.PROP_MAX_SIZE.equalsIgnoreCase(propName)
+				|| CacheProperties.PROP_EXPIRE_DURATION.equalsIgnoreCase(propName);
+	}
+
 	/**
 	 * Initializes cache setting maximum cache size and cache entries expiration duration.
 	 */
 	public static void initialize() {
-		valuesCache = buildCache(maxSize, expireDuration);
+		valuesCache = buildCache(maxSize, expireDuration, DEFAULT_SHARD);
+		shardCaches.clear();
+		dirtyKeys.clear();
 
 		if (persistenceOn) {
 			loadPersisted();
@@ -138,7 +263,7 @@ public final class StreamsCache {
 				@Override
 				public void run() {
 					if (valuesCache != null) {
-						persist(valuesCache.asMap());
+						persist();
 					}
 				}
 			}, persistingPeriodInSeconds, persistingPeriodInSeconds, TimeUnit.SECONDS);
@@ -155,7 +280,8 @@ public final class StreamsCache {
 	}
 
 	/**
-	 * Fills in cache entries patterns with activity entity fields values and puts filled in entries to cache.
+	 * Fills in cache entries patterns with activity entity fields values and puts filled in entries to cache. Activity
+	 * entity field referenced by multiple patterns is resolved once.
 	 *
 	 * @param ai
 	 *            activity entity to be used to fill in patterns data
@@ -163,17 +289,34 @@ public final class StreamsCache {
 	 *            parser name
 	 */
 	public static void cacheValues(ActivityInfo ai, String parserName) {
+		cacheValues(ai, parserName, null);
+	}
+
+	/**
+	 * Fills in cache entries patterns with activity entity fields values and puts filled in entries to cache. Values
+	 * of entries bound to named cache shard are put to shard instance used by provided stream.
+	 *
+	 * @param ai
+	 *            activity entity to be used to fill in patterns data
+	 * @param parserName
+	 *            parser name
+	 * @param streamName
+	 *            name of stream activity entity was parsed for, {@code null} - if shards are not bound to stream
+	 */
+	public static void cacheValues(ActivityInfo ai, String parserName, String streamName) {
 		if (!isInitialized()) {
 			// valuesCache = buildCache(maxSize, expireDuration);
 			return;
 		}
 
+		Map<String, Object> resolvedVars = new HashMap<>();
 		for (CacheEntry cacheEntry : cacheEntries.values()) {
-			String resolvedFieldKey = fillInKeyPattern(cacheEntry.getKey(), ai, parserName);
-			Object resolvedFieldValue = fillInValuePattern(cacheEntry.getValue(), ai, parserName);
+			String resolvedFieldKey = cacheEntry.keyTemplate.fillIn(ai, parserName, resolvedVars);
+			Object resolvedFieldValue = cacheEntry.valueTemplate.fillInValue(ai, parserName, resolvedVars);
 
 			if (resolvedFieldKey != null && resolvedFieldValue != null) {
-				valuesCache.put(resolvedFieldKey, new CacheValue(resolvedFieldValue, cacheEntry.isTransient()));
+				put(scopeShard(streamName, cacheEntry.getShard()), resolvedFieldKey,
+						new CacheValue(resolvedFieldValue, cacheEntry.isTransient()));
 			}
 		}
 	}
@@ -190,36 +333,19 @@ public final class StreamsCache {
 	 * @return pattern string filled in with data values
 	 */
 	public static String fillInKeyPattern(String pattern, ActivityInfo ai, String parserName) {
-		List<String> vars = new ArrayList<>();
-		Utils.resolveCfgVariables(vars, pattern);
-
-		return fillInPattern(pattern, vars, ai, parserName);
-	}
-
-	private static Object fillInValuePattern(String pattern, ActivityInfo ai, String parserName) {
-		List<String> vars = new ArrayList<>();
-		Utils.resolveCfgVariables(vars, pattern);
-
-		return vars.size() == 1 ? ai.getFieldValue(vars.get(0)) : fillInPattern(pattern, vars, ai, parserName);
-	}
-
-	private static String fillInPattern(String pattern, List<String> vars, ActivityInfo ai, String parserName) {
-		String filledInValue = pattern;
-
-		for (String var : vars) {
-			Object fieldValue;
-			if (var.equals(PARSER_NAME_VAR)) {
-				fieldValue = parserName;
-			} else {
-				fieldValue = ai.getFieldValue(var);
-			}
+		if (pattern == null) {
+			return null;
+		}
 
-			if (fieldValue != null) {
-				filledInValue = filledInValue.replace(var, Utils.toString(fieldValue));
+		PatternTemplate template = patternTemplates.get(pattern);
+		if (template == null) {
+			template = new PatternTemplate(pattern);
+			if (patternTemplates.size() < MAX_PATTERN_TEMPLATES) {
+				patternTemplates.put(pattern, template);
 			}
 		}
 
-		return filledInValue;
+		return template.fillIn(ai, parserName, null);
 	}
 
 	/**
@@ -235,11 +361,31 @@ public final class StreamsCache {
 	 *         {@code null} if there is no such entry defined
 	 */
 	public static Object getValue(ActivityInfo ai, String entryIdStr, String parserName) {
+		return getValue(ai, entryIdStr, parserName, null);
+	}
+
+	/**
+	 * Resolves cache stored value identified by cache entry id. Values of entries bound to named cache shard are
+	 * resolved from shard instance used by provided stream.
+	 *
+	 * @param ai
+	 *            activity entity to be used to fill in patterns data
+	 * @param entryIdStr
+	 *            cache entity pattern identifier string
+	 * @param parserName
+	 *            parser name
+	 * @param streamName
+	 *            name of stream activity entity was parsed for, {@code null} - if shards are not bound to stream
+	 * @return resolved cached value, {@code default entry value} if there is no data in cache for entry, or
+	 *         {@code null} if there is no such entry defined
+	 */
+	public static Object getValue(ActivityInfo ai, String entryIdStr, String parserName, String streamName) {
 		CacheEntry cacheEntry = cacheEntries.get(entryIdStr);
 		if (cacheEntry != null) {
-			String cacheKey = fillInKeyPattern(cacheEntry.getKey(), ai, parserName);
+			String cacheKey = cacheEntry.keyTemplate.fillIn(ai, parserName, null);
 			if (cacheKey != null) {
-				CacheValue value = valuesCache == null ? null : valuesCache.getIfPresent(cacheKey);
+				CacheValue value = valuesCache == null ? null
+						: getCacheValue(scopeShard(streamName, cacheEntry.getShard()), cacheKey);
 				return value == null ? evaluateValue(cacheEntry.getDefaultValue()) : value.value();
 			} else {
 				return evaluateValue(cacheEntry.getDefaultValue());
@@ -264,7 +410,7 @@ public final class StreamsCache {
 	}
 
 	/**
-	 * Resolves cache stored value identified by cache entry key.
+	 * Resolves cache stored value identified by cache entry key. Default shard is checked first, then named shards.
 	 *
 	 * @param cacheKey
 	 *            cache entry key
@@ -272,8 +418,24 @@ public final class StreamsCache {
 	 *         {@code null} if there is no such entry defined
 	 */
 	public static Object getValue(String cacheKey) {
-		CacheValue value = valuesCache == null ? null : valuesCache.getIfPresent(cacheKey);
+		CacheValue value = valuesCache == null ? null : getCacheValue(DEFAULT_SHARD, cacheKey);
 		if (value == null) {
+			for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+				value = shardCache.getIfPresent(cacheKey);
+				if (value != null) {
+					return value.value();
+				}
+			}
+			CacheJournal cJournal = journal;
+			if (cJournal != null && cJournal.hasIndexed()) {
+				for (String shard : cJournal.getShards()) {
+					value = DEFAULT_SHARD.equals(shard) ? null : getCacheValue(shard, cacheKey);
+					if (value != null) {
+						return value.value();
+					}
+				}
+			}
+
 			CacheEntry cacheEntry = cacheEntries.get(cacheKey);
 			if (cacheEntry != null) {
 				String cValue = cacheEntry.getValue();
@@ -308,42 +470,79 @@ public final class StreamsCache {
 
 		if (valuesCache != null) {
 			if (persistenceOn) {
-				persist(valuesCache.asMap());
+				persist();
 			}
 			valuesCache.invalidateAll();
 		}
+		for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+			shardCache.invalidateAll();
+		}
+		shardCaches.clear();
+		shardProperties.clear();
 		cacheEntries.clear();
+		patternTemplates.clear();
+		closeJournal();
 	}
 
 	/**
-	 * Cleans all cache stored values.
+	 * Cleans all cache stored values, including persisted ones not loaded yet.
 	 */
 	public static void clearValues() {
 		if (valuesCache != null) {
 			valuesCache.invalidateAll();
 		}
+		for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+			shardCache.invalidateAll();
+		}
+		clearPersisted(null);
 	}
 
 	/**
-	 * Cleans cache stored values for entries having key fragment defined by {@code entryKey}.
+	 * Cleans cache stored values for entries having key fragment defined by {@code entryKey}, including persisted
+	 * ones not loaded yet.
 	 * 
 	 * @param entryKey
 	 *            cache entry key fragment
 	 */
 	public static void clearValues(String entryKey) {
 		if (valuesCache != null) {
-			Map<String, CacheValue> cEntries = valuesCache.asMap();
-			List<String> keyList = new ArrayList<>();
-			for (Map.Entry<String, CacheValue> ce : cEntries.entrySet()) {
-				if (ce.getKey().startsWith(entryKey)) {
-					keyList.add(ce.getKey());
-				}
+			clearValues(valuesCache, entryKey);
+		}
+		for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+			clearValues(shardCache, entryKey);
+		}
+		clearPersisted(entryKey);
+	}
+
+	private static void clearPersisted(String entryKey) {
+		synchronized (PERSIST_LOCK) {
+			CacheJournal cJournal = journal;
+			if (cJournal == null) {
+				return;
 			}
 
-			valuesCache.invalidateAll(keyList);
+			try {
+				cJournal.remove(entryKey);
+			} catch (IOException exc) {
+				Utils.logThrowable(LOGGER, OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"StreamsCache.persisting.failed", exc);
+			}
 		}
 	}
 
+	private static void clearValues(Cache<String, CacheValue> cache, String entryKey) {
+		Map<String, CacheValue> cEntries = cache.asMap();
+		List<String> keyList = new ArrayList<>();
+		for (Map.Entry<String, CacheValue> ce : cEntries.entrySet()) {
+			if (ce.getKey().startsWith(entryKey)) {
+				keyList.add(ce.getKey());
+			}
+		}
+
+		cache.invalidateAll(keyList);
+	}
+
 	/**
 	 * Adds stream-cache reference.
 	 */
@@ -399,32 +598,135 @@ public final class StreamsCache {
 	 */
 	public static CacheEntry addEntry(String entryId, String key, String value, String defaultValue,
 			boolean transientEntry) {
-		return cacheEntries.put(entryId, new CacheEntry(entryId, key, value, defaultValue, transientEntry));
+		return addEntry(entryId, key, value, defaultValue, transientEntry, null);
 	}
 
 	/**
-	 * Returns values cache size.
+	 * Adds cache entry pattern definition to cache entry patterns map.
+	 *
+	 * @param entryId
+	 *            entry identifier
+	 * @param key
+	 *            entry key pattern
+	 * @param value
+	 *            entry value pattern
+	 * @param defaultValue
+	 *            default entry value
+	 * @param transientEntry
+	 *            indicating whether cache entry is transient and should not be persisted
+	 * @param shard
+	 *            name of cache shard to store entry values, {@code null} - to use default shard
+	 * @return previous cache entry instance stored
+	 */
+	public static CacheEntry addEntry(String entryId, String key, String value, String defaultValue,
+			boolean transientEntry, String shard) {
+		return cacheEntries.put(entryId, new CacheEntry(entryId, key, value, defaultValue, transientEntry, shard));
+	}
+
+	/**
+	 * Returns values cache size, including all cache shards.
 	 * 
 	 * @return values cache size
 	 */
 	public static long cacheSize() {
-		return valuesCache == null ? 0 : valuesCache.size();
+		long size = valuesCache == null ? 0 : valuesCache.size();
+		for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+			size += shardCache.size();
+		}
+		return size;
 	}
 
 	/**
-	 * Returns configured max. values cache size.
+	 * Returns configured max. values cache size, including all cache shards.
 	 * 
 	 * @return configured max. values cache size
 	 */
 	public static long cacheMaxSize() {
-		return maxSize;
+		long size = maxSize;
+		for (String shard : shardCaches.keySet()) {
+			size += getShardMaxSize(shard);
+		}
+		return size;
+	}
+
+	/**
+	 * Returns size of named cache shards instances used by provided stream.
+	 *
+	 * @param streamName
+	 *            stream name
+	 * @return stream used cache shards size
+	 */
+	public static long cacheSize(String streamName) {
+		long size = 0;
+		for (Map.Entry<String, Cache<String, CacheValue>> sce : shardCaches.entrySet()) {
+			if (isStreamShard(streamName, sce.getKey())) {
+				size += sce.getValue().size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns configured max. size of named cache shards instances used by provided stream.
+	 *
+	 * @param streamName
+	 *            stream name
+	 * @return configured max. stream used cache shards size
+	 */
+	public static long cacheMaxSize(String streamName) {
+		long size = 0;
+		for (String shard : shardCaches.keySet()) {
+			if (isStreamShard(streamName, shard)) {
+				size += getShardMaxSize(shard);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns statistics of named cache shards instances used by provided stream: hits, misses, evictions, etc.
+	 *
+	 * @param streamName
+	 *            stream name
+	 * @return stream used cache shards statistics
+	 */
+	public static CacheStats cacheStats(String streamName) {
+		CacheStats stats = new CacheStats(0, 0, 0, 0, 0, 0);
+		for (Map.Entry<String, Cache<String, CacheValue>> sce : shardCaches.entrySet()) {
+			if (isStreamShard(streamName, sce.getKey())) {
+				stats = stats.plus(sce.getValue().stats());
+			}
+		}
+		return stats;
+	}
+
+	private static boolean isStreamShard(String streamName, String shard) {
+		return shard.startsWith(streamName + STREAM_SCOPE_DELIM);
+	}
+
+	/**
+	 * Returns values cache statistics: hits, misses, evictions, etc., aggregated over all cache shards.
+	 *
+	 * @return values cache statistics
+	 */
+	public static CacheStats cacheStats() {
+		CacheStats stats = valuesCache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : valuesCache.stats();
+		for (Cache<String, CacheValue> shardCache : shardCaches.values()) {
+			stats = stats.plus(shardCache.stats());
+		}
+		return stats;
 	}
 
 	private static void loadPersisted() {
+		if (binaryFormat) {
+			openJournal();
+			return;
+		}
+
 		try {
 			JAXBContext jc = JAXBContext.newInstance(CacheRoot.class);
 			Unmarshaller unmarshaller = jc.createUnmarshaller();
-			File persistedFile = new File(fileName);
+			File persistedFile = new File(getFileName());
 			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"StreamsCache.loading.file", persistedFile.getAbsolutePath());
 			if (!persistedFile.exists()) {
@@ -435,29 +737,84 @@ public final class StreamsCache {
 
 			CacheRoot root = (CacheRoot) unmarshaller.unmarshal(persistedFile);
 
-			Map<String, CacheValue> mapProperty = root.getEntriesMap();
-			if (MapUtils.isNotEmpty(mapProperty)) {
-				for (Map.Entry<String, CacheValue> entry : mapProperty.entrySet()) {
-					valuesCache.put(entry.getKey(), entry.getValue());
+			int loadedCount = loadPersisted(valuesCache, root.getEntriesMap());
+			if (root.getShards() != null) {
+				for (CacheShardRoot shardRoot : root.getShards()) {
+					loadedCount += loadPersisted(getCache(shardRoot.getName()), shardRoot.getEntriesMap());
 				}
 			}
 			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-					"StreamsCache.loading.done", mapProperty == null ? 0 : mapProperty.size(),
-					persistedFile.getAbsolutePath());
+					"StreamsCache.loading.done", loadedCount, persistedFile.getAbsolutePath());
 		} catch (JAXBException exc) {
 			Utils.logThrowable(LOGGER, OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"StreamsCache.loading.failed", exc);
 		}
 	}
 
-	private static void persist(Map<String, CacheValue> cacheEntries) {
+	private static int loadPersisted(Cache<String, CacheValue> cache, Map<String, CacheValue> mapProperty) {
+		if (MapUtils.isEmpty(mapProperty)) {
+			return 0;
+		}
+
+		for (Map.Entry<String, CacheValue> entry : mapProperty.entrySet()) {
+			cache.put(entry.getKey(), entry.getValue());
+		}
+		return mapProperty.size();
+	}
+
+	private static void openJournal() {
+		closeJournal();
+		File persistedFile = new File(getFileName());
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"StreamsCache.loading.file", persistedFile.getAbsolutePath());
+		CacheJournal cJournal = new CacheJournal(persistedFile);
+		try {
+			long recordsCount = cJournal.open();
+			journal = cJournal;
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"StreamsCache.loading.opened", recordsCount, persistedFile.getAbsolutePath());
+		} catch (IOException exc) {
+			Utils.close(cJournal);
+			Utils.logThrowable(LOGGER, OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"StreamsCache.loading.failed", exc);
+		}
+	}
+
+	private static void closeJournal() {
+		synchronized (PERSIST_LOCK) {
+			if (journal != null) {
+				journal.close();
+				journal = null;
+			}
+			dirtyKeys.clear();
+		}
+	}
+
+	private static void persist() {
+		if (binaryFormat) {
+			persistDirty();
+			return;
+		}
+
 		try {
 			JAXBContext jc = JAXBContext.newInstance(CacheRoot.class);
 			Marshaller marshaller = jc.createMarshaller();
 			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 			CacheRoot root = new CacheRoot();
-			root.setEntriesMap(cacheEntries);
-			File persistedFile = new File(fileName);
+			root.setEntriesMap(valuesCache.asMap());
+			int entriesCount = root.getEntriesMap().size();
+			if (!shardCaches.isEmpty()) {
+				List<CacheShardRoot> shards = new ArrayList<>(shardCaches.size());
+				for (Map.Entry<String, Cache<String, CacheValue>> sce : shardCaches.entrySet()) {
+					CacheShardRoot shardRoot = new CacheShardRoot();
+					shardRoot.setName(sce.getKey());
+					shardRoot.setEntriesMap(sce.getValue().asMap());
+					entriesCount += shardRoot.getEntriesMap().size();
+					shards.add(shardRoot);
+				}
+				root.setShards(shards);
+			}
+			File persistedFile = new File(getFileName());
 			File parentPath = persistedFile.getParentFile();
 			if (parentPath != null) {
 				parentPath.mkdirs();
@@ -466,13 +823,52 @@ public final class StreamsCache {
 					"StreamsCache.persisting.file", persistedFile.getAbsolutePath());
 			marshaller.marshal(root, persistedFile);
 			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-					"StreamsCache.persisting.done", cacheEntries.size(), persistedFile.getAbsolutePath());
+					"StreamsCache.persisting.done", entriesCount, persistedFile.getAbsolutePath());
 		} catch (JAXBException exc) {
 			Utils.logThrowable(LOGGER, OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"StreamsCache.persisting.failed", exc);
 		}
 	}
 
+	private static void persistDirty() {
+		synchronized (PERSIST_LOCK) {
+			CacheJournal cJournal = journal;
+			if (cJournal == null) {
+				return;
+			}
+
+			try {
+				int dirtyCount = 0;
+				for (Map.Entry<String, Set<String>> dke : dirtyKeys.entrySet()) {
+					Map<String, CacheValue> cacheMap = getCache(dke.getKey()).asMap();
+					Iterator<String> keys = dke.getValue().iterator();
+					while (keys.hasNext()) {
+						String key = keys.next();
+						keys.remove();
+						cJournal.append(dke.getKey(), key, cacheMap.get(key));
+						dirtyCount++;
+					}
+				}
+				cJournal.flush();
+
+				if (cJournal.needsCompaction(cacheSize())) {
+					Map<String, Map<String, CacheValue>> liveEntries = new HashMap<>();
+					liveEntries.put(DEFAULT_SHARD, valuesCache.asMap());
+					for (Map.Entry<String, Cache<String, CacheValue>> sce : shardCaches.entrySet()) {
+						liveEntries.put(sce.getKey(), sce.getValue().asMap());
+					}
+					cJournal.compact(liveEntries);
+				}
+				LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"StreamsCache.persisting.done", dirtyCount, getFileName());
+			} catch (IOException exc) {
+				Utils.logThrowable(LOGGER, OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"StreamsCache.persisting.failed", exc);
+			}
+		}
+	}
+
 	/**
 	 * Adds non-transient cache entry for defined key and value.
 	 * 
@@ -500,7 +896,7 @@ public final class StreamsCache {
 			initialize();
 		}
 
-		valuesCache.put(key, new CacheValue(value, transientValue));
+		put(DEFAULT_SHARD, key, new CacheValue(value, transientValue));
 	}
 
 	/**
@@ -512,6 +908,10 @@ public final class StreamsCache {
 		private String value;
 		private Object defaultValue;
 		private boolean transientEntry = false;
+		private String shard;
+
+		private final PatternTemplate keyTemplate;
+		private final PatternTemplate valueTemplate;
 
 		/**
 		 * Constructs new CacheEntry.
@@ -526,7 +926,7 @@ public final class StreamsCache {
 		 *            cache entry default value
 		 */
 		private CacheEntry(String id, String key, String value, String defaultValue) {
-			this(id, key, value, defaultValue, false);
+			this(id, key, value, defaultValue, false, null);
 		}
 
 		/**
@@ -542,13 +942,20 @@ public final class StreamsCache {
 		 *            cache entry default value
 		 * @param transientEntry
 		 *            indicating whether cache entry is transient and should not be persisted
+		 * @param shard
+		 *            name of cache shard to store entry values
 		 */
-		private CacheEntry(String id, String key, String value, Object defaultValue, boolean transientEntry) {
+		private CacheEntry(String id, String key, String value, Object defaultValue, boolean transientEntry,
+				String shard) {
 			this.id = id;
 			this.key = key;
 			this.value = value;
 			this.defaultValue = defaultValue;
 			this.transientEntry = transientEntry;
+			this.shard = StringUtils.trimToNull(shard);
+
+			this.keyTemplate = new PatternTemplate(key);
+			this.valueTemplate = new PatternTemplate(value);
 		}
 
 		/**
@@ -598,6 +1005,15 @@ public final class StreamsCache {
 			return transientEntry;
 		}
 
+		/**
+		 * Returns name of cache shard storing entry values.
+		 *
+		 * @return name of cache shard, or {@code null} if entry values are stored in default shard
+		 */
+		public String getShard() {
+			return shard;
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder sb = new StringBuilder("CacheEntry{"); // NON-NLS
@@ -611,6 +1027,8 @@ public final class StreamsCache {
 			Utils.quote(defaultValue, sb);
 			sb.append(", transient="); // NON-NLS
 			Utils.quote(transientEntry, sb);
+			sb.append(", shard="); // NON-NLS
+			Utils.quote(shard, sb);
 			sb.append('}'); // NON-NLS
 			return sb.toString();
 		}
@@ -715,6 +1133,42 @@ public final class StreamsCache {
 	@XmlRootElement
 	public static class CacheRoot {
 		private SortedMap<String, CacheValue> entriesMap;
+		private List<CacheShardRoot> shards;
+
+		@XmlJavaTypeAdapter(MapAdapter.class)
+		public Map<String, CacheValue> getEntriesMap() {
+			return entriesMap;
+		}
+
+		public void setEntriesMap(Map<String, CacheValue> map) {
+			entriesMap = new TreeMap<>(map);
+		}
+
+		@XmlElement(name = "shard")
+		public List<CacheShardRoot> getShards() {
+			return shards;
+		}
+
+		public void setShards(List<CacheShardRoot> shards) {
+			this.shards = shards;
+		}
+	}
+
+	/**
+	 * Named cache shard element for JAXB cache entries persisting.
+	 */
+	public static class CacheShardRoot {
+		private String name;
+		private SortedMap<String, CacheValue> entriesMap;
+
+		@XmlAttribute
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
 
 		@XmlJavaTypeAdapter(MapAdapter.class)
 		public Map<String, CacheValue> getEntriesMap() {
@@ -726,6 +1180,120 @@ public final class StreamsCache {
 		}
 	}
 
+	/**
+	 * Cache entry key/value pattern compiled into literal and variable segments.
+	 */
+	static class PatternTemplate {
+		private final String pattern;
+		private final String[] segments;
+		private final boolean[] variables;
+		private final String singleVar;
+
+		/**
+		 * Constructs a new PatternTemplate.
+		 *
+		 * @param pattern
+		 *            pattern string to compile
+		 */
+		PatternTemplate(String pattern) {
+			this.pattern = pattern;
+
+			List<String> segmentsList = new ArrayList<>();
+			List<Boolean> variablesList = new ArrayList<>();
+			if (StringUtils.isNotEmpty(pattern)) {
+				Matcher m = Utils.CFG_VAR_PATTERN.matcher(pattern);
+				int pos = 0;
+				while (m.find()) {
+					if (m.start() > pos) {
+						segmentsList.add(pattern.substring(pos, m.start()));
+						variablesList.add(false);
+					}
+					segmentsList.add(m.group());
+					variablesList.add(true);
+					pos = m.end();
+				}
+				if (pos < pattern.length()) {
+					segmentsList.add(pattern.substring(pos));
+					variablesList.add(false);
+				}
+			}
+
+			segments = segmentsList.toArray(new String[0]);
+			variables = new boolean[segments.length];
+			String var = null;
+			int varsCount = 0;
+			for (int i = 0; i < segments.length; i++) {
+				variables[i] = variablesList.get(i);
+				if (variables[i]) {
+					var = segments[i];
+					varsCount++;
+				}
+			}
+			singleVar = varsCount == 1 ? var : null;
+		}
+
+		/**
+		 * Fills in pattern variables with activity entity fields values. Variables having no value are left unchanged.
+		 *
+		 * @param ai
+		 *            activity entity data
+		 * @param parserName
+		 *            parser name
+		 * @param resolvedVars
+		 *            map of already resolved variable values to reuse, or {@code null} if values shall not be reused
+		 * @return pattern string filled in with data values
+		 */
+		String fillIn(ActivityInfo ai, String parserName, Map<String, Object> resolvedVars) {
+			if (pattern == null || segments.length == 0) {
+				return pattern;
+			}
+			if (segments.length == 1 && !variables[0]) {
+				return pattern;
+			}
+
+			StringBuilder sb = new StringBuilder(pattern.length() + 16);
+			for (int i = 0; i < segments.length; i++) {
+				if (variables[i]) {
+					Object fieldValue = segments[i].equals(PARSER_NAME_VAR) ? parserName
+							: resolveVar(ai, segments[i], resolvedVars);
+					sb.append(fieldValue == null ? segments[i] : Utils.toString(fieldValue));
+				} else {
+					sb.append(segments[i]);
+				}
+			}
+
+			return sb.toString();
+		}
+
+		/**
+		 * Fills in value pattern. If pattern has single variable, activity entity field value is returned as is.
+		 *
+		 * @param ai
+		 *            activity entity data
+		 * @param parserName
+		 *            parser name
+		 * @param resolvedVars
+		 *            map of already resolved variable values to reuse, or {@code null} if values shall not be reused
+		 * @return activity entity field value or pattern string filled in with data values
+		 */
+		Object fillInValue(ActivityInfo ai, String parserName, Map<String, Object> resolvedVars) {
+			return singleVar != null ? resolveVar(ai, singleVar, resolvedVars) : fillIn(ai, parserName, resolvedVars);
+		}
+
+		private static Object resolveVar(ActivityInfo ai, String var, Map<String, Object> resolvedVars) {
+			if (resolvedVars == null) {
+				return ai.getFieldValue(var);
+			}
+
+			Object value = resolvedVars.get(var);
+			if (value == null && !resolvedVars.containsKey(var)) {
+				value = ai.getFieldValue(var);
+				resolvedVars.put(var, value);
+			}
+			return value;
+		}
+	}
+
 	// private static class ByteArrayAdapter extends XmlAdapter<String, Byte[]> {
 	//
 	// @Override
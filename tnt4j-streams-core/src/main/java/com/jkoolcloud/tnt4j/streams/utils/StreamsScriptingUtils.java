@@ -16,7 +16,9 @@
 
 package com.jkoolcloud.tnt4j.streams.utils;
 
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +26,7 @@ import javax.script.*;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
@@ -34,7 +37,7 @@ import groovy.lang.GroovyClassLoader;
 /**
  * General scripting utility methods used by TNT4J-Streams.
  * 
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public final class StreamsScriptingUtils {
 	/**
@@ -71,6 +74,7 @@ public final class StreamsScriptingUtils {
 	private static final String IMPORT_PACKAGES_PROP_KEY_SUFFIX = ".scripting.import.packages"; // NON-NLS
 	private static final String IMPORT_CLASSES_PROP_KEY_SUFFIX = ".scripting.import.classes"; // NON-NLS
 
+	private static final Pattern JSR223_VARIABLES_PATTERN = Pattern.compile("\\b(context|out)\\b"); // NON-NLS
 	private static final Pattern FIELD_VALUE_PLACEHOLDER_PATTERN = Pattern.compile("\\$(\\w+\\b)"); // NON-NLS
 	private static final Pattern FIELD_PLACEHOLDER_PATTERN = Pattern.compile("\\{[\\w.^$]+\\}"); // NON-NLS
 
@@ -81,6 +85,9 @@ public final class StreamsScriptingUtils {
 	private static final Set<String> DEFAULT_IMPORT_CLASSES = new HashSet<>();
 
 	private static ScriptEngine GROOVY_SCRIPT_ENGINE;
+	private static final AtomicInteger GROOVY_SCRIPT_COUNTER = new AtomicInteger();
+	private static final boolean FAST_PATH_ENABLED = Utils.getBoolean("com.jkoolcloud.tnt4j.streams.scripting.fast.path", // NON-NLS
+			System.getProperties(), true);
 	private static ScriptEngine JS_SCRIPT_ENGINE;
 
 	static {
@@ -337,11 +344,15 @@ public final class StreamsScriptingUtils {
 	 * @see javax.script.Compilable#compile(String)
 	 */
 	public static CompiledScript compileGroovyScript(String scriptCode) throws ScriptException {
+		return ((Compilable) getGroovyScriptEngine()).compile(scriptCode);
+	}
+
+	private static ScriptEngine getGroovyScriptEngine() {
 		if (GROOVY_SCRIPT_ENGINE == null) {
 			GROOVY_SCRIPT_ENGINE = initGroovyScriptEngine();
 		}
 
-		return ((Compilable) GROOVY_SCRIPT_ENGINE).compile(scriptCode);
+		return GROOVY_SCRIPT_ENGINE;
 	}
 
 	private static ScriptEngine initGroovyScriptEngine() {
@@ -407,6 +418,76 @@ public final class StreamsScriptingUtils {
 		}
 	}
 
+	/**
+	 * Compiles provided script expression code to be ready for repetitive evaluation.
+	 * <p>
+	 * Groovy expression is evaluated same way as script compiled by {@link #compileScript(String, String)}, but:
+	 * <ul>
+	 * <li>simple expressions (variables, literals, comparison, boolean and arithmetic operators) are turned into Java
+	 * lambdas, evaluated without running script. This fast path can be disabled setting system property
+	 * {@code com.jkoolcloud.tnt4j.streams.scripting.fast.path} to {@code false}</li>
+	 * <li>other expressions are compiled into {@link groovy.lang.Script} class, instantiated once per thread instead of
+	 * every evaluation</li>
+	 * </ul>
+	 * Groovy scripts declaring methods or referring JSR-223 engine provided variables {@code context} and {@code out},
+	 * as well as scripts of other languages, are evaluated by JSR-223 engine compiled script.
+	 *
+	 * @param lang
+	 *            script code language
+	 * @param scriptCode
+	 *            script expression code string to compile
+	 * @return compiled script expression
+	 *
+	 * @throws ScriptException
+	 *             if compilation fails or script language is not supported
+	 *
+	 * @see #compileScript(String, String)
+	 */
+	public static ScriptExpression compileExpression(String lang, String scriptCode) throws ScriptException {
+		if (GROOVY_LANG.equalsIgnoreCase(lang)) {
+			return compileGroovyExpression(scriptCode);
+		}
+
+		return new ScriptExpression.CompiledScriptExpression(lang, scriptCode, compileScript(lang, scriptCode));
+	}
+
+	private static ScriptExpression compileGroovyExpression(String scriptCode) throws ScriptException {
+		if (FAST_PATH_ENABLED) {
+			SimpleGroovyExpressionParser.Evaluator evaluator = SimpleGroovyExpressionParser.parse(scriptCode);
+			if (evaluator != null) {
+				return new ScriptExpression.FastPathExpression(scriptCode, evaluator);
+			}
+		}
+
+		Class<?> scriptClass;
+		try {
+			scriptClass = ((GroovyScriptEngineImpl) getGroovyScriptEngine()).getClassLoader().parseClass(scriptCode,
+					"Script" + GROOVY_SCRIPT_COUNTER.incrementAndGet() + ".groovy"); // NON-NLS
+		} catch (CompilationFailedException exc) {
+			throw new ScriptException(exc);
+		}
+
+		// script declared methods are shared by JSR-223 engine over all engine evaluated scripts
+		if (hasDeclaredMethods(scriptClass) || JSR223_VARIABLES_PATTERN.matcher(scriptCode).find()) {
+			return new ScriptExpression.CompiledScriptExpression(GROOVY_LANG, scriptCode,
+					compileGroovyScript(scriptCode));
+		}
+
+		return new ScriptExpression.GroovyScriptExpression(scriptCode, scriptClass);
+	}
+
+	private static boolean hasDeclaredMethods(Class<?> scriptClass) {
+		for (Method m : scriptClass.getDeclaredMethods()) {
+			// skip Groovy compiler generated methods like '$getStaticMetaClass'
+			if (!m.isSynthetic() && m.getName().indexOf('$') < 0
+					&& !StringUtils.equalsAny(m.getName(), "run", "main")) { // NON-NLS
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Checks if provided script expression string {@code expString} containing value reference placeholders (starting
 	 * {@code '$'} symbol) matches valid script expression pattern:
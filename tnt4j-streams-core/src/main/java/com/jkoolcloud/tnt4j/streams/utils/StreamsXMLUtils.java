@@ -52,6 +52,7 @@ public final class StreamsXMLUtils {
 
 	private static NamespaceMap tsContext;
 	private static StreamsFunctionResolver tsFunctionResolver;
+	private static final XPathExpressionCache tsXPathCache = new XPathExpressionCache();
 
 	static {
 		tsContext = new NamespaceMap();
@@ -98,6 +99,18 @@ public final class StreamsXMLUtils {
 		return xPath;
 	}
 
+	/**
+	 * Returns TNT4J-Streams shared compiled XPath expressions cache, using TNT4J-Streams namespace context 'ts:' and
+	 * custom functions resolver.
+	 *
+	 * @return shared compiled XPath expressions cache
+	 *
+	 * @see #getStreamsXPath()
+	 */
+	public static XPathExpressionCache getStreamsXPathCache() {
+		return tsXPathCache;
+	}
+
 	private static class StreamsFunctionResolver implements XPathFunctionResolver {
 		private static Map<String, XPathFunction> fMap = new HashMap<>(2);
 
@@ -84,7 +84,7 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 	 */
 	public static final String VAR_EXP_START_TOKEN = "${"; // NON-NLS
 	private static final String VAR_EXP_END_TOKEN = "}"; // NON-NLS
-	private static final Pattern CFG_VAR_PATTERN = Pattern.compile("\\$\\{[\\w\\^\\[\\]\\=\\:.]+\\}"); // NON-NLS
+	static final Pattern CFG_VAR_PATTERN = Pattern.compile("\\$\\{[\\w\\^\\[\\]\\=\\:.]+\\}"); // NON-NLS
 	private static final Pattern EXPR_VAR_PATTERN = CFG_VAR_PATTERN;
 	private static final int STACK_TRACE_ENTRIES_TO_LOG = Utils.getInt(
 			"com.jkoolcloud.tnt4j.streams.log.stack.trace.depth", // NON-NLS
@@ -645,6 +645,74 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 		return activityData;
 	}
 
+	/**
+	 * Returns index of first occurrence of {@code pattern} bytes sequence within {@code array}, starting the search at
+	 * the specified index.
+	 * <p>
+	 * Search scans for pattern first byte and compares remaining pattern bytes only on first byte match, same way as
+	 * {@link String#indexOf(String, int)} does.
+	 *
+	 * @param array
+	 *            byte array to search
+	 * @param pattern
+	 *            bytes sequence to find
+	 * @param fromIndex
+	 *            the index to start the search from
+	 * @return index of first occurrence of pattern within array, or {@code -1} if pattern is not found
+	 */
+	public static int indexOf(byte[] array, byte[] pattern, int fromIndex) {
+		if (array == null || pattern == null) {
+			return -1;
+		}
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		if (pattern.length == 0) {
+			return fromIndex <= array.length ? fromIndex : -1;
+		}
+
+		byte first = pattern[0];
+		int max = array.length - pattern.length;
+		for (int i = fromIndex; i <= max; i++) {
+			if (array[i] != first) {
+				continue;
+			}
+
+			int k = 1;
+			while (k < pattern.length && array[i + k] == pattern[k]) {
+				k++;
+			}
+			if (k == pattern.length) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Checks whether {@code array} starts with {@code prefix} bytes sequence.
+	 *
+	 * @param array
+	 *            byte array to check
+	 * @param prefix
+	 *            prefix bytes sequence
+	 * @return {@code true} if array starts with prefix bytes, {@code false} - otherwise
+	 */
+	public static boolean startsWith(byte[] array, byte[] prefix) {
+		if (array == null || prefix == null || array.length < prefix.length) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length; i++) {
+			if (array[i] != prefix[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * Makes a new {@link String} by decoding the specified array of bytes using using system default
 	 * {@link java.nio.charset.Charset#defaultCharset()} charset.
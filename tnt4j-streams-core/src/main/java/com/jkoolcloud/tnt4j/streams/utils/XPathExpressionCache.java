@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.*;
+
+/**
+ * Cache of compiled {@link XPathExpression}s.
+ * <p>
+ * Neither {@link XPath} nor compiled {@link XPathExpression} instances are thread safe, so every thread gets own
+ * {@link XPath} instance (decorated with TNT4J-Streams namespace context and custom functions resolver) and own
+ * compiled expressions map. This way expression is compiled once per thread and evaluation runs in parallel without
+ * any locking.
+ * <p>
+ * When cache bound {@link com.jkoolcloud.tnt4j.streams.utils.NamespaceMap} namespace mappings change, thread cached
+ * expressions are dropped and compiled again on demand, since expressions have namespace prefixes resolved at
+ * compilation time.
+ *
+ * @version $Revision: 1 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.utils.StreamsXMLUtils#getStreamsXPath()
+ */
+public class XPathExpressionCache {
+	private final NamespaceMap namespaces;
+
+	private final ThreadLocal<ThreadXPath> threadXPath = ThreadLocal.withInitial(ThreadXPath::new);
+
+	/**
+	 * Constructs a new XPathExpressionCache using TNT4J-Streams default namespace context.
+	 */
+	public XPathExpressionCache() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a new XPathExpressionCache.
+	 *
+	 * @param namespaces
+	 *            namespace context to resolve expressions namespace prefixes, {@code null} - to use TNT4J-Streams
+	 *            default namespace context
+	 */
+	public XPathExpressionCache(NamespaceMap namespaces) {
+		this.namespaces = namespaces;
+	}
+
+	/**
+	 * Returns current thread compiled XPath expression. If expression is not compiled yet, it gets compiled and put
+	 * into current thread expressions cache.
+	 *
+	 * @param expression
+	 *            XPath expression string
+	 * @return current thread compiled XPath expression
+	 * @throws XPathExpressionException
+	 *             if expression can't be compiled
+	 */
+	public XPathExpression getExpression(String expression) throws XPathExpressionException {
+		return threadXPath.get().getExpression(expression);
+	}
+
+	/**
+	 * Compiles XPath expression using current thread {@link XPath} instance, without putting it into cache. Shall be
+	 * used for one-time expressions, e.g. ones having activity values filled in.
+	 *
+	 * @param expression
+	 *            XPath expression string
+	 * @return compiled XPath expression
+	 * @throws XPathExpressionException
+	 *             if expression can't be compiled
+	 */
+	public XPathExpression compile(String expression) throws XPathExpressionException {
+		return threadXPath.get().xPath.compile(expression);
+	}
+
+	/**
+	 * Evaluates cached XPath expression in the specified context and returns result as defined type.
+	 *
+	 * @param expression
+	 *            XPath expression string
+	 * @param item
+	 *            the starting context (a node, for example)
+	 * @param returnType
+	 *            the desired return type
+	 * @param variables
+	 *            expression variables resolver to use for this evaluation, or {@code null} if expression has no
+	 *            variables
+	 * @return result of evaluating expression and converting the result to {@code returnType}
+	 * @throws XPathExpressionException
+	 *             if expression can't be compiled or evaluated
+	 *
+	 * @see XPathExpression#evaluate(Object, javax.xml.namespace.QName)
+	 */
+	public Object evaluate(String expression, Object item, QName returnType, XPathVariableResolver variables)
+			throws XPathExpressionException {
+		ThreadXPath tXPath = threadXPath.get();
+		XPathExpression expr = tXPath.getExpression(expression);
+		XPathVariableResolver prevVariables = tXPath.variables.resolver;
+		tXPath.variables.resolver = variables;
+		try {
+			return expr.evaluate(item, returnType);
+		} finally {
+			tXPath.variables.resolver = prevVariables;
+		}
+	}
+
+	/**
+	 * Evaluates cached XPath expression in the specified context and returns result as string.
+	 *
+	 * @param expression
+	 *            XPath expression string
+	 * @param item
+	 *            the starting context (a node, for example)
+	 * @param variables
+	 *            expression variables resolver to use for this evaluation, or {@code null} if expression has no
+	 *            variables
+	 * @return result of evaluating expression as string
+	 * @throws XPathExpressionException
+	 *             if expression can't be compiled or evaluated
+	 *
+	 * @see #evaluate(String, Object, javax.xml.namespace.QName, javax.xml.xpath.XPathVariableResolver)
+	 */
+	public String evaluate(String expression, Object item, XPathVariableResolver variables)
+			throws XPathExpressionException {
+		return (String) evaluate(expression, item, XPathConstants.STRING, variables);
+	}
+
+	private static int getVersion(NamespaceContext nsContext) {
+		return nsContext instanceof NamespaceMap ? ((NamespaceMap) nsContext).getVersion() : 0;
+	}
+
+	private class ThreadXPath {
+		private final XPath xPath;
+		private final ThreadVariableResolver variables = new ThreadVariableResolver();
+		private final Map<String, XPathExpression> expressions = new HashMap<>();
+		private int nsVersion;
+
+		private ThreadXPath() {
+			xPath = StreamsXMLUtils.getStreamsXPath();
+			if (namespaces != null) {
+				xPath.setNamespaceContext(namespaces);
+			}
+			xPath.setXPathVariableResolver(variables);
+			nsVersion = getVersion(xPath.getNamespaceContext());
+		}
+
+		private XPathExpression getExpression(String expression) throws XPathExpressionException {
+			int version = getVersion(xPath.getNamespaceContext());
+			if (version != nsVersion) {
+				expressions.clear();
+				nsVersion = version;
+			}
+
+			XPathExpression expr = expressions.get(expression);
+			if (expr == null) {
+				expr = xPath.compile(expression);
+				expressions.put(expression, expr);
+			}
+
+			return expr;
+		}
+	}
+
+	/**
+	 * Compiled expressions bind variables resolver at compilation time, so this resolver delegates variables
+	 * resolution to resolver set for particular evaluation.
+	 */
+	private static class ThreadVariableResolver implements XPathVariableResolver {
+		private XPathVariableResolver resolver;
+
+		@Override
+		public Object resolveVariable(QName variableName) {
+			return resolver == null ? null : resolver.resolveVariable(variableName);
+		}
+	}
+}
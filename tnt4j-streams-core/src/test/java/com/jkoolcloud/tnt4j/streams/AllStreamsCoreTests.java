@@ -24,6 +24,7 @@ import com.jkoolcloud.tnt4j.streams.fields.AllFieldsTests;
 import com.jkoolcloud.tnt4j.streams.filters.AllFiltersTests;
 import com.jkoolcloud.tnt4j.streams.inputs.AllInputsTests;
 import com.jkoolcloud.tnt4j.streams.matchers.AllMatchersTests;
+import com.jkoolcloud.tnt4j.streams.outputs.AllOutputsTests;
 import com.jkoolcloud.tnt4j.streams.parsers.AllParsersTests;
 import com.jkoolcloud.tnt4j.streams.preparsers.AllPreparsersTests;
 import com.jkoolcloud.tnt4j.streams.utils.AllUtilsTests;
@@ -35,6 +36,6 @@ import com.jkoolcloud.tnt4j.streams.utils.AllUtilsTests;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ StreamsAgentTest.class, AllConfigureTests.class, AllFieldsTests.class, AllFiltersTests.class,
 		AllInputsTests.class, AllParsersTests.class, AllPreparsersTests.class, AllUtilsTests.class,
-		AllMatchersTests.class })
+		AllMatchersTests.class, AllOutputsTests.class })
 public class AllStreamsCoreTests {
 }
@@ -17,12 +17,14 @@
 package com.jkoolcloud.tnt4j.streams.configure.state;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.LineNumberReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -113,4 +115,44 @@ public class FileStreamStateHandlerTest {
 		fileWritten.delete();
 	}
 
+	@Test
+	public void checkByteOffset() throws Exception {
+		FileStreamStateHandler rwd = new FileStreamStateHandler();
+
+		File testFile = File.createTempFile("offsetTest", ".log"); // NON-NLS
+		testFile.deleteOnExit();
+		String line1 = "first line"; // NON-NLS
+		String line2 = "second line"; // NON-NLS
+		String content = line1 + "\n" + line2 + "\r\nthird line\n"; // NON-NLS
+		Files.write(testFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		long offset = line1.length() + 1 + line2.length() + 2;
+
+		FileAccessState newFAS = new FileAccessState();
+		newFAS.currentFileCrc = rwd.getFileCrc(testFile.toPath());
+		newFAS.currentFileKey = rwd.getFileKey(testFile.toPath());
+		newFAS.currentLineNumber = 2;
+		newFAS.currentByteOffset = offset;
+		newFAS.currentOffsetCrc = rwd.getOffsetCrc(testFile.toPath(), offset);
+		assertNotNull(newFAS.currentOffsetCrc);
+
+		File fileWritten = AbstractFileStreamStateHandler.writeState(newFAS, testFile.getParentFile(),
+				"OffsetStream"); // NON-NLS
+		FileAccessState loadedFAS = AbstractFileStreamStateHandler.loadStateFile(fileWritten.getParent(),
+				"OffsetStream"); // NON-NLS
+		fileWritten.delete();
+		assertEquals(newFAS.currentByteOffset, loadedFAS.currentByteOffset);
+		assertEquals(newFAS.currentOffsetCrc, loadedFAS.currentOffsetCrc);
+		assertEquals(newFAS.currentFileKey, loadedFAS.currentFileKey);
+
+		Path found = rwd.findStreamingFile(loadedFAS, new Path[] { testFile.toPath() });
+		assertEquals(testFile.toPath(), found);
+		assertEquals(offset, rwd.checkOffset(found, loadedFAS));
+
+		loadedFAS.currentByteOffset = offset - 1;
+		assertEquals(-1, rwd.checkOffset(found, loadedFAS));
+		loadedFAS.currentByteOffset = testFile.length() + 1;
+		assertEquals(-1, rwd.checkOffset(found, loadedFAS));
+		loadedFAS.currentByteOffset = null;
+		assertEquals(-1, rwd.checkOffset(found, loadedFAS));
+	}
 }
@@ -249,6 +249,20 @@ public class ActivityInfoTest {
 		assertEquals(value, ai.getFieldValue("TestField"));
 	}
 
+	@Test
+	public void testGetSourceFQN() throws ParseException {
+		ActivityInfo ai = new ActivityInfo();
+		ActivityField af = new ActivityField(StreamFieldType.ApplName.name());
+		af.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, "TestLocator"));
+		ai.applyField(af, "TestApp");
+
+		String pattern = "APPL=${ApplName}#SERVER=${ServerName}#DATACENTER=TestDC";
+		assertEquals("APPL=TestApp#DATACENTER=TestDC", ai.getSourceFQN(pattern));
+		assertEquals("APPL=TestApp#DATACENTER=TestDC", ai.getSourceFQN(pattern));
+
+		assertNull(new ActivityInfo().getSourceFQN("APPL=${ApplName}#SERVER=${ServerName}"));
+	}
+
 	/**
 	 * Test applying field value with array value, should return simplified value
 	 */
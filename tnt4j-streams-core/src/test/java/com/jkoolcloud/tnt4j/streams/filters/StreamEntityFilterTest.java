@@ -9,6 +9,7 @@ import java.text.ParseException;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.streams.fields.*;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
 public class StreamEntityFilterTest {
 
@@ -159,4 +160,33 @@ public class StreamEntityFilterTest {
 		assertTrue(filterResult);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testFilterStarts() throws FilterException {
+		StreamFiltersGroup<Object> filterGroup = new StreamFiltersGroup<>("FilterGroup");
+		DefaultValueFilter filter = new DefaultValueFilter("EXCLUDE", "STARTS", null, "#");
+
+		filterGroup.addFilter(filter);
+		assertTrue(filterGroup.doFilter("# comment line", null));
+		assertFalse(filterGroup.doFilter("data line # with comment", null));
+	}
+
+	@Test
+	public void testFilterBinaryPatterns() throws FilterException {
+		byte[] data = new byte[] { 0x1F, (byte) 0x8B, 0x08, 0x00, 0x7F, 0x00 };
+
+		DefaultValueFilter filter = new DefaultValueFilter("EXCLUDE", "STARTS", "hexBinary", "0x1F8B");
+		assertTrue(filter.doFilter(data, null));
+		filter = new DefaultValueFilter("EXCLUDE", "STARTS", "hexBinary", "0x8B08");
+		assertFalse(filter.doFilter(data, null));
+
+		filter = new DefaultValueFilter("EXCLUDE", "CONTAINS", "hexBinary", "0x087F|0x8B00");
+		assertFalse(filter.doFilter(data, null));
+		filter = new DefaultValueFilter("EXCLUDE", "CONTAINS", "hexBinary", "0x087F|0x007F");
+		assertTrue(filter.doFilter(data, null));
+
+		filter = new DefaultValueFilter("EXCLUDE", "IS", "base64Binary", Utils.base64EncodeStr(data));
+		assertTrue(filter.doFilter(data, null));
+		assertFalse(filter.doFilter(new byte[] { 0x1F, (byte) 0x8B }, null));
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.utils.RingBufferQueue;
 
 /**
  * @author akausinis
@@ -41,6 +43,17 @@ public class AbstractBufferedStreamTest {
 		assertEquals("TEST", abs.getNextItem());
 	}
 
+	@Test
+	public void getNextItemRingBufferTest() throws Exception {
+		abs.setProperty(StreamProperties.PROP_BUFFER_TYPE, "RING_BUFFER"); // NON-NLS
+		abs.setProperty(StreamProperties.PROP_BUFFER_WAIT_STRATEGY, "YIELDING"); // NON-NLS
+		abs.startStream();
+		assertTrue(abs.inputBuffer instanceof RingBufferQueue);
+		abs.setOwnerThread(mock(StreamThread.class));
+		abs.addInputToBuffer("TEST"); // NON-NLS
+		assertEquals("TEST", abs.getNextItem());
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void getNextItemFailOnNullTest() throws Exception {
 		abs.addInputToBuffer(null);
@@ -24,8 +24,9 @@ import org.junit.runners.Suite;
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ AbstractBufferedStreamTest.class, AbstractFileLineStreamTest.class, CharacterStreamTest.class,
-		FileLineStreamTest.class, HttpStreamTest.class, JavaInputStreamTest.class, StreamThreadTest.class,
+@Suite.SuiteClasses({ AbstractBufferedStreamTest.class, AbstractFileLineStreamTest.class, ChannelLineReaderTest.class,
+		CharacterStreamTest.class, FileLineStreamTest.class, HttpStreamTest.class, JavaInputStreamTest.class,
+		LatencyHistogramReservoirTest.class, ParserRoutingIndexTest.class, StreamThreadTest.class,
 		TNTInputStreamTest.class, PipedStreamTest.class, RedirectTNT4JStreamTest.class, ZipLineStreamTest.class })
 public class AllInputsTests {
 }
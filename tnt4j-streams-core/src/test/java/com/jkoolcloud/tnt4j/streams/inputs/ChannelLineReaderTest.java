@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ChannelLineReaderTest {
+
+	@Test
+	public void testReadLines() throws Exception {
+		File file = File.createTempFile("channelLineReader", ".log");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "line1\nline2\r\nline3\rline4".getBytes(StandardCharsets.UTF_8));
+
+		ChannelLineReader reader = new ChannelLineReader(StandardCharsets.UTF_8, 4);
+		try (SeekableByteChannel channel = Files.newByteChannel(file.toPath(), StandardOpenOption.READ)) {
+			assertEquals("line1", reader.readLine(channel, false));
+			assertEquals(6, reader.getPosition());
+			assertEquals("line2", reader.readLine(channel, false));
+			assertEquals("line3", reader.readLine(channel, false));
+			assertEquals(19, reader.getPosition());
+			assertNull(reader.readLine(channel, false));
+			assertTrue(reader.hasPendingLine());
+
+			Files.write(file.toPath(), "_tail\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+			assertEquals("line4_tail", reader.readLine(channel, false));
+			assertEquals(file.length(), reader.getPosition());
+			assertNull(reader.readLine(channel, true));
+
+			channel.position(6);
+			reader.reset(6);
+			assertEquals("line2", reader.readLine(channel, true));
+		}
+	}
+
+	@Test
+	public void testEofTerminatesLine() throws Exception {
+		File file = File.createTempFile("channelLineReader", ".log");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "line1\nline2".getBytes(StandardCharsets.UTF_8));
+
+		ChannelLineReader reader = new ChannelLineReader(StandardCharsets.UTF_8);
+		try (SeekableByteChannel channel = Files.newByteChannel(file.toPath(), StandardOpenOption.READ)) {
+			assertEquals("line1", reader.readLine(channel, true));
+			assertEquals("line2", reader.readLine(channel, true));
+			assertEquals(file.length(), reader.getPosition());
+			assertNull(reader.readLine(channel, true));
+		}
+	}
+
+	@Test
+	public void testPositionCrc() throws Exception {
+		File file = File.createTempFile("channelLineReader", ".log");
+		file.deleteOnExit();
+		String longLine = StringUtils.repeat("0123456789", 40); // NON-NLS
+		byte[] bytes = ("line1\r\n" + longLine + "\nline3\rline4\n").getBytes(StandardCharsets.UTF_8); // NON-NLS
+		Files.write(file.toPath(), bytes);
+
+		ChannelLineReader reader = new ChannelLineReader(StandardCharsets.UTF_8, 16);
+		try (SeekableByteChannel channel = Files.newByteChannel(file.toPath(), StandardOpenOption.READ)) {
+			assertEquals(crc(bytes, 0), reader.getPositionCrc());
+			while (reader.readLine(channel, true) != null) {
+				assertEquals(crc(bytes, reader.getPosition()), reader.getPositionCrc());
+			}
+			assertEquals(bytes.length, reader.getPosition());
+
+			long position = bytes.length - "line3\rline4\n".length(); // NON-NLS
+			reader.reset(position);
+			assertEquals(-1, reader.getPositionCrc());
+
+			reader.reset(channel, position);
+			assertEquals(position, channel.position());
+			assertEquals(crc(bytes, position), reader.getPositionCrc());
+			assertEquals("line3", reader.readLine(channel, true));
+			assertEquals(crc(bytes, reader.getPosition()), reader.getPositionCrc());
+		}
+	}
+
+	private static long crc(byte[] bytes, long position) {
+		int length = (int) Math.min(position, 256);
+		CRC32 crc = new CRC32();
+		crc.update(bytes, (int) position - length, length);
+		return crc.getValue();
+	}
+}
@@ -18,12 +18,25 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 
 import static com.jkoolcloud.tnt4j.streams.TestUtils.testPropertyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -87,4 +100,320 @@ public class FileLineStreamTest {
 		assertEquals("TEST4", fls.getNextItem().toString());
 	}
 
+	@Test
+	public void parallelFilesTest() throws Exception {
+		TestFileList testFiles = new TestFileList(true);
+		Map<String, String> props = new HashMap<>(7);
+		props.put(StreamProperties.PROP_FILENAME, testFiles.getWildcardName());
+		props.put(StreamProperties.PROP_START_FROM_LATEST, String.valueOf(false));
+		props.put(StreamProperties.PROP_FILE_READ_DELAY, String.valueOf(0));
+		props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(false));
+		props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+		props.put(StreamProperties.PROP_PARALLEL_FILE_READERS, String.valueOf(2));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(false));
+		fls.setProperties(props.entrySet());
+		testPropertyList(fls, props.entrySet());
+		fls.startStream();
+
+		// order of lines from different files is not defined
+		Set<String> lines = new HashSet<>();
+		for (int i = 0; i < TestFileList.TEST_FILE_LIST_SIZE; i++) {
+			lines.add(fls.getNextItem().toString());
+		}
+		for (int i = 0; i < TestFileList.TEST_FILE_LIST_SIZE; i++) {
+			assertTrue(lines.contains("TEST" + i)); // NON-NLS
+		}
+
+		fls.cleanup();
+		testFiles.cleanup();
+	}
+
+	@Test
+	public void watchServiceTest() throws Exception {
+		TestFileList testFiles = new TestFileList(true);
+		Map<String, String> props = new HashMap<>(7);
+		props.put(StreamProperties.PROP_FILENAME, testFiles.getWildcardName());
+		props.put(StreamProperties.PROP_START_FROM_LATEST, String.valueOf(false));
+		props.put(StreamProperties.PROP_FILE_READ_DELAY, String.valueOf(60));
+		props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(true));
+		props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+		props.put(StreamProperties.PROP_USE_WATCH_SERVICE, String.valueOf(true));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(false));
+		fls.setProperties(props.entrySet());
+		assertEquals(true, fls.getProperty(StreamProperties.PROP_USE_WATCH_SERVICE));
+		fls.startStream();
+		assertEquals("TEST0", fls.getNextItem().toString());
+		assertEquals("TEST1", fls.getNextItem().toString());
+		assertEquals("TEST2", fls.getNextItem().toString());
+		assertEquals("TEST3", fls.getNextItem().toString());
+
+		// appended lines must be streamed way before next 60 sec. files poll
+		Path lastFile = testFiles.get(testFiles.size() - 1).toPath();
+		long appendTime = System.currentTimeMillis();
+		Files.write(lastFile, "\nTEST5\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND); // NON-NLS
+		assertEquals("TEST4", fls.getNextItem().toString());
+		assertEquals("TEST5", fls.getNextItem().toString());
+		long streamTime = System.currentTimeMillis() - appendTime;
+		assertTrue("Appended lines streamed in " + streamTime + "ms", // NON-NLS
+				streamTime < TimeUnit.SECONDS.toMillis(20));
+
+		fls.cleanup();
+		testFiles.cleanup();
+	}
+
+	@Test
+	public void watchServiceSameModificationTimeTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsWatch"); // NON-NLS
+		Path file = dir.resolve("watched.log"); // NON-NLS
+		writeLines(file, "W", 0, 2); // NON-NLS
+		// simulates coarse modification time resolution: appended file keeps same modification time
+		FileTime modifTime = FileTime.fromMillis(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+		Files.setLastModifiedTime(file, modifTime);
+
+		Map<String, String> props = new HashMap<>(7);
+		props.put(StreamProperties.PROP_FILENAME, dir.toString() + File.separator + "*.log"); // NON-NLS
+		props.put(StreamProperties.PROP_START_FROM_LATEST, String.valueOf(false));
+		props.put(StreamProperties.PROP_FILE_READ_DELAY, String.valueOf(60));
+		props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(true));
+		props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+		props.put(StreamProperties.PROP_USE_WATCH_SERVICE, String.valueOf(true));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(false));
+		fls.setProperties(props.entrySet());
+		fls.startStream();
+		assertEquals("W0000000", fls.getNextItem().toString()); // NON-NLS
+		assertEquals("W0000001", fls.getNextItem().toString()); // NON-NLS
+
+		long appendTime = System.currentTimeMillis();
+		writeLines(file, "W", 2, 1, StandardOpenOption.APPEND); // NON-NLS
+		Files.setLastModifiedTime(file, modifTime);
+		assertEquals("W0000002", fls.getNextItem().toString()); // NON-NLS
+		long streamTime = System.currentTimeMillis() - appendTime;
+		assertTrue("Appended lines streamed in " + streamTime + "ms", // NON-NLS
+				streamTime < TimeUnit.SECONDS.toMillis(20));
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void countFileLinesTest() throws Exception {
+		TestFileList testFiles = new TestFileList(true);
+		Map<String, String> props = new HashMap<>(7);
+		props.put(StreamProperties.PROP_FILENAME, testFiles.getWildcardName());
+		props.put(StreamProperties.PROP_START_FROM_LATEST, String.valueOf(false));
+		props.put(StreamProperties.PROP_FILE_READ_DELAY, String.valueOf(60));
+		props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(true));
+		props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+		props.put(StreamProperties.PROP_COUNT_FILE_LINES, String.valueOf(true));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(false));
+		fls.setProperties(props.entrySet());
+		assertEquals(true, fls.getProperty(StreamProperties.PROP_COUNT_FILE_LINES));
+		fls.startStream();
+
+		long filesSize = 0;
+		for (File file : testFiles) {
+			filesSize += file.length();
+		}
+		assertEquals(filesSize, fls.getTotalBytes());
+		assertEquals("TEST0", fls.getNextItem().toString());
+
+		// lines are counted in background
+		for (int i = 0; i < 100 && fls.getTotalActivities() < 0; i++) {
+			Thread.sleep(50);
+		}
+		assertEquals(TestFileList.TEST_FILE_LIST_SIZE, fls.getTotalActivities());
+
+		fls.cleanup();
+		testFiles.cleanup();
+	}
+
+	@Test
+	public void parallelFilesFairSchedulingTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		int lineLength = 9;
+		int bigLinesCount = 3 * FileLineStream.PARALLEL_READ_CHUNK_SIZE / lineLength + 1;
+		writeLines(dir.resolve("big.log"), "B", 0, bigLinesCount); // NON-NLS
+		writeLines(dir.resolve("small.log"), "S", 0, 10); // NON-NLS
+		startParallelStream(dir, false, 1);
+
+		// files are read by chunks, having most bytes pending file read first
+		int bLines = 0;
+		int sLines = 0;
+		int bLinesBeforeS = -1;
+		Object item;
+		while ((item = fls.getNextItem()) != null) {
+			if (item.toString().startsWith("B")) { // NON-NLS
+				assertEquals(String.format("B%07d", bLines), item.toString()); // NON-NLS
+				bLines++;
+			} else {
+				assertEquals(String.format("S%07d", sLines), item.toString()); // NON-NLS
+				if (sLines == 0) {
+					bLinesBeforeS = bLines;
+				}
+				sLines++;
+			}
+		}
+		assertEquals(bigLinesCount, bLines);
+		assertEquals(10, sLines);
+		int chunkLines = (FileLineStream.PARALLEL_READ_CHUNK_SIZE + lineLength - 1) / lineLength;
+		assertTrue("Lines before small file: " + bLinesBeforeS, // NON-NLS
+				Math.abs(bLinesBeforeS - chunkLines) <= 1);
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void parallelFileRotationTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		Path file = dir.resolve("app.log"); // NON-NLS
+		int linesCount = 300000;
+		writeLines(file, "B", 0, linesCount); // NON-NLS
+		startParallelStream(dir, true, 2);
+
+		// rotate file while it is being read
+		int bLines = 0;
+		for (; bLines < 1000; bLines++) {
+			assertEquals(String.format("B%07d", bLines), fls.getNextItem().toString()); // NON-NLS
+		}
+		Files.move(file, dir.resolve("app-1.log")); // NON-NLS
+		writeLines(file, "N", 0, 5); // NON-NLS
+
+		int nLines = 0;
+		while (bLines < linesCount || nLines < 5) {
+			String line = fls.getNextItem().toString();
+			if (line.startsWith("B")) { // NON-NLS
+				assertEquals(String.format("B%07d", bLines++), line); // NON-NLS
+			} else {
+				assertEquals(String.format("N%07d", nLines++), line); // NON-NLS
+			}
+		}
+
+		// rotated file must not be read again after files list refresh
+		Thread.sleep(2500);
+		writeLines(file, "END", 0, 1, StandardOpenOption.APPEND); // NON-NLS
+		assertEquals("END0000000", fls.getNextItem().toString()); // NON-NLS
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void parallelFileTruncationTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		Path file = dir.resolve("truncated.log"); // NON-NLS
+		writeLines(file, "T", 0, 5); // NON-NLS
+		startParallelStream(dir, true, 1);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(String.format("T%07d", i), fls.getNextItem().toString()); // NON-NLS
+		}
+
+		writeLines(file, "X", 0, 2, StandardOpenOption.TRUNCATE_EXISTING); // NON-NLS
+		assertEquals("X0000000", fls.getNextItem().toString()); // NON-NLS
+		assertEquals("X0000001", fls.getNextItem().toString()); // NON-NLS
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void parallelFileRenameTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		Path file = dir.resolve("a.log"); // NON-NLS
+		writeLines(file, "A", 0, 5); // NON-NLS
+		startParallelStream(dir, true, 1);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(String.format("A%07d", i), fls.getNextItem().toString()); // NON-NLS
+		}
+
+		// renamed file is read further from same position
+		Path renamedFile = dir.resolve("b.log"); // NON-NLS
+		Files.move(file, renamedFile);
+		writeLines(renamedFile, "A", 5, 1, StandardOpenOption.APPEND); // NON-NLS
+		assertEquals("A0000005", fls.getNextItem().toString()); // NON-NLS
+
+		Thread.sleep(2500);
+		writeLines(renamedFile, "END", 0, 1, StandardOpenOption.APPEND); // NON-NLS
+		assertEquals("END0000000", fls.getNextItem().toString()); // NON-NLS
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void parallelFileRemoveTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		Path file = dir.resolve("removed.log"); // NON-NLS
+		writeLines(file, "R", 0, 5); // NON-NLS
+		startParallelStream(dir, true, 1);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(String.format("R%07d", i), fls.getNextItem().toString()); // NON-NLS
+		}
+
+		// rest of removed file is read from opened file
+		writeLines(file, "R", 5, 1, StandardOpenOption.APPEND); // NON-NLS
+		Files.delete(file);
+		assertEquals("R0000005", fls.getNextItem().toString()); // NON-NLS
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	@Test
+	public void parallelFilesLinesCountTest() throws Exception {
+		Path dir = Files.createTempDirectory("flsParallel"); // NON-NLS
+		writeLines(dir.resolve("first.log"), "F", 0, 100); // NON-NLS
+		writeLines(dir.resolve("second.log"), "S", 0, 100); // NON-NLS
+		fls.setProperties(Collections
+				.singletonMap(StreamProperties.PROP_COUNT_FILE_LINES, String.valueOf(true)).entrySet());
+		startParallelStream(dir, true, 1);
+		waitTotalActivities(200);
+
+		// only added file lines are counted
+		writeLines(dir.resolve("third.log"), "T", 0, 50); // NON-NLS
+		waitTotalActivities(250);
+
+		fls.cleanup();
+		deleteDir(dir);
+	}
+
+	private void waitTotalActivities(int count) throws InterruptedException {
+		// lines are counted in background
+		for (int i = 0; i < 100 && fls.getTotalActivities() != count; i++) {
+			Thread.sleep(50);
+		}
+		assertEquals(count, fls.getTotalActivities());
+	}
+
+	private void startParallelStream(Path dir, boolean polling, int readers) throws Exception {
+		Map<String, String> props = new HashMap<>(8);
+		props.put(StreamProperties.PROP_FILENAME, dir.toString() + File.separator + "*.log"); // NON-NLS
+		props.put(StreamProperties.PROP_START_FROM_LATEST, String.valueOf(false));
+		props.put(StreamProperties.PROP_FILE_READ_DELAY, String.valueOf(1));
+		props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(polling));
+		props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+		props.put(StreamProperties.PROP_PARALLEL_FILE_READERS, String.valueOf(readers));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(false));
+		fls.setProperties(props.entrySet());
+		fls.startStream();
+	}
+
+	private static void writeLines(Path file, String prefix, int from, int count, OpenOption... options)
+			throws IOException {
+		OpenOption[] opts = options.length == 0
+				? new OpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING } : options;
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, opts)) {
+			for (int i = from; i < from + count; i++) {
+				writer.write(String.format("%s%07d", prefix, i)); // NON-NLS
+				writer.write('\n');
+			}
+		}
+	}
+
+	private static void deleteDir(Path dir) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			files.forEach(f -> f.toFile().delete());
+		}
+		Files.deleteIfExists(dir);
+	}
 }
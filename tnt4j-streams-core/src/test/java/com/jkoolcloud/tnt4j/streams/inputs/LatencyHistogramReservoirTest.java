@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class LatencyHistogramReservoirTest {
+
+	@Test
+	public void testBuckets() {
+		for (long v : new long[] { 0, 1, 63, 64, 127, 128, 255, 256, 1000, 123456789L, Long.MAX_VALUE }) {
+			int idx = LatencyHistogramReservoir.bucketIndex(v);
+			long low = LatencyHistogramReservoir.bucketLowValue(idx);
+			assertTrue(v + " >= " + low, v >= low);
+			assertTrue(v + " precision", v - low <= Math.max(1, v / 64));
+			assertEquals(idx, LatencyHistogramReservoir.bucketIndex(low));
+		}
+		assertTrue(LatencyHistogramReservoir.bucketIndex(1000) < LatencyHistogramReservoir.bucketIndex(1100));
+	}
+
+	@Test
+	public void testSnapshot() {
+		LatencyHistogramReservoir reservoir = new LatencyHistogramReservoir();
+		for (int i = 1; i <= 1000; i++) {
+			reservoir.update(i * 1000L);
+		}
+
+		Snapshot snapshot = reservoir.getSnapshot();
+		assertEquals(1000, snapshot.size());
+		assertEquals(500000, snapshot.getMedian(), 500000 / 64.0);
+		assertEquals(990000, snapshot.get99thPercentile(), 990000 / 64.0);
+		assertEquals(1000, snapshot.getMin(), 1000 / 64.0);
+		assertEquals(1000000, snapshot.getMax(), 1000000 / 64.0);
+		assertEquals(500500, snapshot.getMean(), 500500 / 64.0);
+		assertTrue(snapshot.getValues().length <= 1024 + 1000);
+	}
+
+	@Test
+	public void testPrecisionAndRange() {
+		LatencyHistogramReservoir reservoir = new LatencyHistogramReservoir(4, 100000, 60, TimeUnit.SECONDS);
+		for (long v : new long[] { 5, 1000, 54321, 10000000L }) {
+			reservoir.update(v);
+		}
+
+		Snapshot snapshot = reservoir.getSnapshot();
+		assertEquals(4, snapshot.size());
+		assertEquals(4, snapshot.getValues().length);
+		assertEquals(5, snapshot.getMin());
+		assertEquals(1000, snapshot.getValues()[1], 1000 / 16.0);
+		assertEquals(54321, snapshot.getValues()[2], 54321 / 16.0);
+		// values greater than highest trackable value are counted in highest bucket
+		assertEquals(100000, snapshot.getMax(), 100000 / 16.0);
+	}
+
+	@Test
+	public void testWindowRotation() throws Exception {
+		LatencyHistogramReservoir reservoir = new LatencyHistogramReservoir(100, TimeUnit.MILLISECONDS);
+		reservoir.update(10);
+		assertEquals(1, reservoir.size());
+
+		Thread.sleep(300);
+		assertEquals(0, reservoir.getSnapshot().size());
+		assertEquals(0, reservoir.getSnapshot().getMax());
+	}
+
+	@Test
+	public void testWindowRotationWithoutReads() throws Exception {
+		LatencyHistogramReservoir reservoir = new LatencyHistogramReservoir(100, TimeUnit.MILLISECONDS);
+		long end = System.currentTimeMillis() + 300;
+		while (System.currentTimeMillis() < end) {
+			reservoir.update(10);
+			Thread.sleep(5);
+		}
+
+		Snapshot snapshot = reservoir.getSnapshot();
+		assertTrue(snapshot.size() > 0);
+		assertEquals(10, snapshot.getMax());
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2018 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ParserRoutingIndexTest {
+
+	private static ParserReference mockRef(Class<?> dataClass, boolean cacheable, String... tags) {
+		ActivityParser parser = mock(ActivityParser.class);
+		when(parser.isDataClassSupportCacheable()).thenReturn(cacheable);
+		when(parser.isDataClassSupported(any())).thenAnswer(inv -> dataClass.isInstance(inv.getArgument(0)));
+		ParserReference ref = new ParserReference(parser);
+		if (tags.length > 0) {
+			ref.setTags(tags);
+		}
+		return ref;
+	}
+
+	@Test
+	public void testRouteByDataClass() {
+		ParserReference strRef = mockRef(String.class, true);
+		ParserReference bytesRef = mockRef(byte[].class, true);
+		ParserReference dynRef = mockRef(String.class, false);
+		ParserRoutingIndex index = new ParserRoutingIndex(Arrays.asList(strRef, bytesRef, dynRef), false);
+
+		ParserRoutingIndex.Route route = index.getRoute("data");
+		assertArrayEquals(new int[] { 0, 2 }, route.getCandidates());
+		assertSame(route, index.getRoute("other data"));
+		verify(strRef.getParser(), times(1)).isDataClassSupported(any());
+
+		route = index.getRoute(new byte[] { 1 });
+		assertArrayEquals(new int[] { 1, 2 }, route.getCandidates());
+		assertTrue(index.isDataClassSupported(1, new byte[] { 1 }));
+		assertFalse(index.isDataClassSupported(2, new byte[] { 1 }));
+	}
+
+	@Test
+	public void testMatchTags() {
+		ParserRoutingIndex index = new ParserRoutingIndex(
+				Arrays.asList(mockRef(String.class, true, "a", "b"), mockRef(String.class, true),
+						mockRef(String.class, true, "b", "c")),
+				false);
+
+		assertNull(index.matchTags(null));
+		assertNull(index.matchTags(new String[0]));
+		assertFalse(index.isUntagged(0));
+		assertTrue(index.isUntagged(1));
+
+		BitSet matched = index.matchTags(new String[] { "c" });
+		assertFalse(matched.get(0));
+		assertTrue(matched.get(2));
+
+		matched = index.matchTags(new String[] { "b", "x" });
+		assertTrue(matched.get(0));
+		assertTrue(matched.get(2));
+
+		assertTrue(index.matchTags(new String[] { "x" }).isEmpty());
+	}
+
+	@Test
+	public void testAdaptiveOrder() {
+		ParserRoutingIndex index = new ParserRoutingIndex(
+				Arrays.asList(mockRef(String.class, true), mockRef(String.class, true), mockRef(String.class, true)),
+				true);
+
+		ParserRoutingIndex.Route route = index.getRoute("data");
+		for (int i = 0; i < ParserRoutingIndex.REORDER_INTERVAL - 1; i++) {
+			route.hit(2);
+		}
+		assertArrayEquals(new int[] { 0, 1, 2 }, route.getCandidates());
+		route.hit(1);
+		assertArrayEquals(new int[] { 2, 1, 0 }, route.getCandidates());
+
+		ParserRoutingIndex staticIndex = new ParserRoutingIndex(
+				Arrays.asList(mockRef(String.class, true), mockRef(String.class, true)), false);
+		route = staticIndex.getRoute("data");
+		for (int i = 0; i < ParserRoutingIndex.REORDER_INTERVAL; i++) {
+			route.hit(1);
+		}
+		assertArrayEquals(new int[] { 0, 1 }, route.getCandidates());
+	}
+}
@@ -24,18 +24,24 @@ import static org.mockito.Mockito.*;
 
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.TestUtils;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.filters.DefaultValueFilter;
+import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
 import com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData;
 import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
@@ -83,6 +89,8 @@ public class TNTInputStreamTest {
 		props.put(StreamProperties.PROP_EXECUTOR_REJECTED_TASK_OFFER_TIMEOUT, String.valueOf(500));
 		props.put(StreamProperties.PROP_EXECUTORS_TERMINATION_TIMEOUT, String.valueOf(500));
 		props.put(StreamProperties.PROP_EXECUTORS_BOUNDED, String.valueOf(true));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_SIZE, String.valueOf(50));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_LINGER, String.valueOf(200));
 		ts.setProperties(props.entrySet());
 		testPropertyList(ts, props.entrySet());
 	}
@@ -123,6 +131,55 @@ public class TNTInputStreamTest {
 		ts.halt(true);
 	}
 
+	@Test
+	public void getBatchedExecutorServiceTest() throws Exception {
+		Map<String, String> props = new HashMap<>(8);
+		props.put(StreamProperties.PROP_HALT_ON_PARSER, String.valueOf(true));
+		props.put(StreamProperties.PROP_EXECUTOR_THREADS_QTY, String.valueOf(5));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(true));
+		props.put(StreamProperties.PROP_EXECUTORS_TERMINATION_TIMEOUT, String.valueOf(500));
+		props.put(StreamProperties.PROP_EXECUTORS_BOUNDED, String.valueOf(true));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_SIZE, String.valueOf(10));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_LINGER, String.valueOf(50));
+		ts.setProperties(props.entrySet());
+		ts.startStream();
+		ts.halt(true);
+	}
+
+	@Test
+	public void batchedItemsProcessingTest() throws Exception {
+		BatchTestStream bts = new BatchTestStream(25);
+		new StreamThread(bts);
+		Map<String, String> props = new HashMap<>(5);
+		props.put(StreamProperties.PROP_EXECUTOR_THREADS_QTY, String.valueOf(3));
+		props.put(StreamProperties.PROP_USE_EXECUTOR_SERVICE, String.valueOf(true));
+		props.put(StreamProperties.PROP_EXECUTORS_TERMINATION_TIMEOUT, String.valueOf(5));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_SIZE, String.valueOf(10));
+		props.put(StreamProperties.PROP_EXECUTOR_BATCH_LINGER, String.valueOf(50));
+		bts.setProperties(props.entrySet());
+		InputStreamListener listener = mock(InputStreamListener.class);
+		bts.addStreamListener(listener);
+
+		bts.run();
+
+		// last not full batch is handed off by linger task, before stream ends
+		assertEquals(25, bts.processedBeforeEnd);
+		assertEquals(25, bts.processed.size());
+		for (int i = 1; i <= 25; i++) {
+			assertTrue(bts.processed.contains("ITEM" + i)); // NON-NLS
+		}
+
+		// every item processing failure is reported with position item was streamed at
+		ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<Object> sources = ArgumentCaptor.forClass(Object.class);
+		verify(listener, times(25)).onStreamEvent(eq(bts), eq(OpLevel.ERROR), messages.capture(), sources.capture());
+		for (int i = 0; i < 25; i++) {
+			String item = String.valueOf(sources.getAllValues().get(i));
+			assertTrue(messages.getAllValues().get(i).contains("position " + item.substring(4) + ":")); // NON-NLS
+		}
+		verify(listener).onFinish(eq(bts), any(TNTInputStreamStatistics.class));
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void runTest() {
 		ts.setOwnerThread(null);
@@ -172,6 +229,28 @@ public class TNTInputStreamTest {
 		verify(parser, times(2)).parse(any(TNTInputStream.class), any());
 	}
 
+	@Test
+	public void testRawDataFilter() throws Exception {
+		ActivityParser parser = mock(ActivityParser.class);
+		when(parser.isDataClassSupported(any())).thenReturn(true);
+		ts.addParser(parser);
+
+		StreamFiltersGroup<Object> filter = new StreamFiltersGroup<>("RawDataFilter"); // NON-NLS
+		filter.addFilter(new DefaultValueFilter("EXCLUDE", "STARTS", null, "#")); // NON-NLS
+		ts.setRawDataFilter(filter);
+
+		StreamItemAccountingListener accountingListener = mock(StreamItemAccountingListener.class);
+		ts.addStreamItemAccountingListener(accountingListener);
+
+		assertTrue(ts.isRawDataFilteredOut("# comment line")); // NON-NLS
+		assertFalse(ts.isRawDataFilteredOut("data line")); // NON-NLS
+
+		ts.processActivityItem("# comment line", new AtomicBoolean()); // NON-NLS
+		verify(parser, never()).parse(any(TNTInputStream.class), any());
+		verify(accountingListener).onItemFiltered();
+		verify(accountingListener).onItemPreFiltered();
+	}
+
 	@Test
 	public void testInputListeners() {
 		InputStreamListener inputStreamListenerMock = mock(InputStreamListener.class);
@@ -279,6 +358,66 @@ public class TNTInputStreamTest {
 
 	}
 
+	@Test
+	public void itemProcessingContextsPerThreadTest() throws Exception {
+		final List<StreamItemProcessingListener.Context<Timer.Context>> returned = Collections
+				.synchronizedList(new ArrayList<>());
+		final List<StreamItemProcessingListener.Context<Timer.Context>> received = Collections
+				.synchronizedList(new ArrayList<>());
+		StreamItemProcessingListener<Timer.Context> listener = new StreamItemProcessingListener<Timer.Context>() {
+			@Override
+			public Context<Timer.Context> beforeNextItem() {
+				return newContext();
+			}
+
+			@Override
+			public void afterNextItem(Context<Timer.Context> context) {
+				received.add(context);
+			}
+
+			@Override
+			public Context<Timer.Context> beforeProcessItem() {
+				return newContext();
+			}
+
+			@Override
+			public void afterProcessItem(Context<Timer.Context> context) {
+				received.add(context);
+			}
+
+			private Context<Timer.Context> newContext() {
+				Context<Timer.Context> context = new Context<>(null);
+				returned.add(context);
+				return context;
+			}
+		};
+		ts.addItemProcessingListener(listener);
+
+		ts.beforeProcessItem();
+		Thread executorThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ts.beforeProcessItem();
+				ts.afterProcessItem();
+			}
+		});
+		executorThread.start();
+		executorThread.join();
+		ts.afterProcessItem();
+		ts.beforeNextItem();
+		ts.beforeProcessItem();
+		ts.afterProcessItem();
+		ts.afterNextItem();
+
+		assertEquals(4, returned.size());
+		assertEquals(Arrays.asList(returned.get(1), returned.get(0), returned.get(3), returned.get(2)), received);
+
+		ts.removeItemProcessingListener(listener);
+		ts.beforeProcessItem();
+		ts.afterProcessItem();
+		assertEquals(4, received.size());
+	}
+
 	private class TestStream extends TNTParseableInputStream<String> {
 		// BlockingQueue<String> buffer = new ArrayBlockingQueue<String>(5);
 		boolean used = false;
@@ -305,6 +444,45 @@ public class TNTInputStreamTest {
 
 	}
 
+	private class BatchTestStream extends TNTParseableInputStream<String> {
+		private final int itemsCount;
+		private int position = 0;
+		private final Set<String> processed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		private volatile int processedBeforeEnd = -1;
+
+		BatchTestStream(int itemsCount) {
+			this.itemsCount = itemsCount;
+		}
+
+		@Override
+		protected EventSink logger() {
+			return LOGGER;
+		}
+
+		@Override
+		public String getNextItem() throws Exception {
+			if (position >= itemsCount) {
+				// lets batch linger time elapse before stream end
+				Thread.sleep(500);
+				processedBeforeEnd = processed.size();
+				return null;
+			}
+			position++;
+			return "ITEM" + position; // NON-NLS
+		}
+
+		@Override
+		public int getActivityPosition() {
+			return position;
+		}
+
+		@Override
+		protected void processActivityItem(String item, AtomicBoolean failureFlag) throws Exception {
+			processed.add(item);
+			throw new Exception(item);
+		}
+	}
+
 	private class TestActivityParser extends ActivityParser {
 
 		protected TestActivityParser() {
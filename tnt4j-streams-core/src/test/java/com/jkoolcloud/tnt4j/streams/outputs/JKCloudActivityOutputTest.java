@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.outputs;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.OutputProperties;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.tracker.Tracker;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class JKCloudActivityOutputTest {
+
+	private TestOutput output;
+
+	@After
+	public void tearDown() {
+		if (output != null) {
+			output.sendGate.countDown();
+			output.stopSenders();
+		}
+	}
+
+	@Test
+	public void testSendersHandOff() throws Exception {
+		output = initOutput(1, 10, 10);
+
+		ActivityInfo ai = new ActivityInfo();
+		output.logItem(ai);
+		output.stopSenders();
+
+		assertEquals(Collections.singletonList(ai), output.sentItems);
+		assertTrue(output.senderNames.get(0).startsWith("JKCloudActivitySender-TestOutput-")); // NON-NLS
+	}
+
+	@Test
+	public void testSendersBackpressure() throws Exception {
+		output = initOutput(1, 1, 1);
+		output.sendGate = new CountDownLatch(1);
+
+		final List<ActivityInfo> items = createItems(3);
+		output.logItem(items.get(0));
+		output.senderBlocked.await(5, TimeUnit.SECONDS); // sender took first item and waits on gate
+		output.logItem(items.get(1)); // fills send queue
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					output.logItem(items.get(2));
+				} catch (Exception exc) {
+				}
+			}
+		});
+		producer.start();
+		producer.join(500);
+		assertTrue("Producer shall block while send queue is full", producer.isAlive()); // NON-NLS
+		assertTrue(output.sentItems.isEmpty());
+
+		output.sendGate.countDown();
+		producer.join(5000);
+		assertFalse(producer.isAlive());
+		output.stopSenders();
+
+		assertEquals(items, output.sentItems);
+	}
+
+	@Test
+	public void testStopSendersDrainsQueue() throws Exception {
+		output = initOutput(2, 100, 5);
+		output.sendGate = new CountDownLatch(1);
+
+		List<ActivityInfo> items = createItems(50);
+		for (ActivityInfo ai : items) {
+			output.logItem(ai);
+		}
+		assertTrue(output.sentItems.size() < items.size());
+
+		output.sendGate.countDown();
+		output.stopSenders();
+
+		assertEquals(items.size(), output.sentItems.size());
+		assertTrue(output.sentItems.containsAll(items));
+	}
+
+	@Test
+	public void testSendersOrdering() throws Exception {
+		output = initOutput(1, 16, 4);
+
+		List<ActivityInfo> items = createItems(200);
+		for (ActivityInfo ai : items) {
+			output.logItem(ai);
+		}
+		output.stopSenders();
+
+		assertEquals(items, output.sentItems);
+		for (String senderName : output.senderNames) {
+			assertTrue(senderName.startsWith("JKCloudActivitySender-")); // NON-NLS
+		}
+	}
+
+	@Test
+	public void testSendFailureReportedToStream() throws Exception {
+		output = initOutput(1, 10, 10);
+		output.failSend = true;
+		TNTInputStream<?, ?> stream = mock(TNTInputStream.class);
+		output.setStream(stream);
+
+		ActivityInfo ai = new ActivityInfo();
+		output.logItem(ai);
+		output.stopSenders();
+
+		verify(stream, times(1)).notifyItemRecordingFailure(same(ai), any(IllegalStateException.class));
+	}
+
+	private static TestOutput initOutput(int threads, int queueSize, int batchSize) throws Exception {
+		TestOutput output = new TestOutput();
+		output.setProperty(OutputProperties.PROP_SENDER_THREADS_QTY, String.valueOf(threads));
+		output.setProperty(OutputProperties.PROP_SENDER_QUEUE_SIZE, String.valueOf(queueSize));
+		output.setProperty(OutputProperties.PROP_SENDER_BATCH_SIZE, String.valueOf(batchSize));
+		output.initialize();
+
+		return output;
+	}
+
+	private static List<ActivityInfo> createItems(int count) {
+		List<ActivityInfo> items = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			items.add(new ActivityInfo());
+		}
+		return items;
+	}
+
+	private static class TestOutput extends JKCloudActivityOutput {
+		private final List<ActivityInfo> sentItems = Collections.synchronizedList(new ArrayList<ActivityInfo>());
+		private final List<String> senderNames = Collections.synchronizedList(new ArrayList<String>());
+		private final CountDownLatch senderBlocked = new CountDownLatch(1);
+		private volatile CountDownLatch sendGate = new CountDownLatch(0);
+		private volatile boolean failSend = false;
+
+		private TestOutput() {
+			super("TestOutput"); // NON-NLS
+		}
+
+		@Override
+		protected void initializeTNT4JConfig() {
+		}
+
+		@Override
+		protected void setupDefaultSource() {
+		}
+
+		@Override
+		protected Tracker getTracker() throws IllegalStateException {
+			throw new IllegalStateException("Tracker is not available in test"); // NON-NLS
+		}
+
+		@Override
+		protected void sendItems(Collection<ActivityInfo> items) {
+			if (failSend) {
+				super.sendItems(items);
+				return;
+			}
+
+			senderBlocked.countDown();
+			try {
+				sendGate.await();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+			if (!items.isEmpty()) {
+				senderNames.add(Thread.currentThread().getName());
+			}
+			sentItems.addAll(items);
+		}
+	}
+}
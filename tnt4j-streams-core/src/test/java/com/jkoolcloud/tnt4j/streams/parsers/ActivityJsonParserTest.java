@@ -29,6 +29,7 @@ import org.mockito.Mockito;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jkoolcloud.tnt4j.streams.TestUtils;
+import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.fields.*;
 import com.jkoolcloud.tnt4j.streams.inputs.AbstractBufferedStream;
@@ -83,6 +84,34 @@ public class ActivityJsonParserTest {
 		assertEquals(ai.getFieldValue(FIELD_NAME), "OK");
 	}
 
+	@Test
+	public void parseStreamingModeTest() throws Exception {
+		String jsonString = "{\"skip\":{\"deep\":[1,2,3]},\"test\":{\"values\":[{\"v\":\"A\"},{\"v\":7}]}," // NON-NLS
+				+ "\"status\":\"finished\",\"nothing\":null}"; // NON-NLS
+		String[][] fields = { { "first", "$.test.values[0].v" }, { "second", "test.values[1].v" }, // NON-NLS
+				{ "values", "$.test.values" }, { "status", "status" }, { "nothing", "$.nothing" }, // NON-NLS
+				{ "missing", "$.test.values[2].v" } }; // NON-NLS
+
+		ActivityJsonParser streamingParser = new ActivityJsonParser();
+		streamingParser.setProperty(ParserProperties.PROP_STREAMING_MODE, String.valueOf(true));
+		for (String[] field : fields) {
+			ActivityField aField = new ActivityField(field[0]);
+			aField.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, field[1]));
+			parser.addField(aField);
+			aField = new ActivityField(field[0]);
+			aField.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, field[1]));
+			streamingParser.addField(aField);
+		}
+
+		ActivityInfo ai = parser.parse(stream, jsonString);
+		ActivityInfo streamedAi = streamingParser.parse(stream, jsonString);
+		assertEquals("A", streamedAi.getFieldValue("first")); // NON-NLS
+		assertEquals(7, streamedAi.getFieldValue("second")); // NON-NLS
+		for (String[] field : fields) {
+			assertEquals(field[0], ai.getFieldValue(field[0]), streamedAi.getFieldValue(field[0]));
+		}
+	}
+
 	@Test
 	public void parseWhenStringIsEmptyTest() throws Exception {
 		String jsonString = "";
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -271,4 +272,36 @@ public class ActivityRegExParserTest extends ActivityParserTestBase<ActivityRegE
 		assertEquals(ai.getFieldValue("test3"), ("10232")); // NON-NLS
 		assertEquals(ai.getFieldValue("test4"), ("006")); // NON-NLS
 	}
+
+	@Test
+	public void parseFindMatchesTest() throws Exception {
+		String[][] fields = { { "test1", "key" }, { "test2", "2.val" }, { "test3", "3.1" }, { "test4", "4.val" } }; // NON-NLS
+		for (String[] field : fields) {
+			ActivityField af = new ActivityField(field[0]);
+			af.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, field[1]));
+			parser.addField(af);
+		}
+		setProperty(parser, ParserProperties.PROP_PATTERN, "(?<key>\\w+)=(?<val>\\d+)"); // NON-NLS
+		setProperty(parser, ParserProperties.PROP_MATCH_STRATEGY, "FIND"); // NON-NLS
+
+		ActivityInfo ai = parser.parse(stream, "a=1, b=22, c=333"); // NON-NLS
+		assertEquals("a", ai.getFieldValue("test1")); // NON-NLS
+		assertEquals("22", ai.getFieldValue("test2")); // NON-NLS
+		assertEquals("c", ai.getFieldValue("test3")); // NON-NLS
+		assertNull(ai.getFieldValue("test4")); // NON-NLS
+
+		// same thread matcher is reused for next activity data
+		ai = parser.parse(stream, "x=9"); // NON-NLS
+		assertEquals("x", ai.getFieldValue("test1")); // NON-NLS
+		assertNull(ai.getFieldValue("test2")); // NON-NLS
+	}
+
+	@Test
+	public void parseNamedGroupsTest() {
+		Map<String, Integer> namedGroups = ActivityRegExParser
+				.parseNamedGroups("(a)(?:b)[(](?<first>c)(?<=d)\\((?<second>(e))"); // NON-NLS
+		assertEquals(2, namedGroups.size());
+		assertEquals(Integer.valueOf(2), namedGroups.get("first")); // NON-NLS
+		assertEquals(Integer.valueOf(3), namedGroups.get("second")); // NON-NLS
+	}
 }
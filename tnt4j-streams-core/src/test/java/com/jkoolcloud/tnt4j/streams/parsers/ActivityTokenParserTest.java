@@ -20,13 +20,22 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.text.ParseException;
+import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringTokenizer;
+import org.apache.commons.text.matcher.StringMatcherFactory;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
+import com.jkoolcloud.tnt4j.streams.filters.ScriptExpressionFilter;
+import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 
 /**
@@ -82,4 +91,149 @@ public class ActivityTokenParserTest extends GenericActivityParserTestBase<Activ
 		Object result = parser.getLocatorValue(locator, makeContext(stream, fields));
 		assertEquals("GOOD", result);
 	}
+
+	@Test
+	public void testParseAfterFieldsChange() throws Exception {
+		TNTInputStream<?, ?> stream = mock(TNTInputStream.class);
+		ActivityField field = new ActivityField(StreamFieldType.EventName.name());
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Index, "1"));
+		parser.addField(field);
+		parser.organizeFields();
+		ActivityInfo ai = parser.parse(stream, "FIRST,SECOND"); // NON-NLS
+		assertEquals("FIRST", ai.getEventName());
+
+		parser.removeField(field);
+		field = new ActivityField(StreamFieldType.EventName.name());
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Index, "2"));
+		parser.addField(field);
+		ai = parser.parse(stream, "FIRST,SECOND"); // NON-NLS
+		assertEquals("SECOND", ai.getEventName());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParseFilteredEarly() throws Exception {
+		TNTInputStream<?, ?> stream = mock(TNTInputStream.class);
+		ActivityField field = new ActivityField(StreamFieldType.ResourceName.name());
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Index, "2"));
+		parser.addField(field);
+		field = new ActivityField(StreamFieldType.EventName.name());
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Index, "1"));
+		parser.addField(field);
+		parser.organizeFields();
+
+		StreamFiltersGroup filters = new StreamFiltersGroup<>("ActivityFilter"); // NON-NLS
+		filters.addFilter(new ScriptExpressionFilter("groovy", "exclude", "${EventName} == 'SKIP'")); // NON-NLS
+		parser.setActivityFilter(filters);
+
+		ActivityInfo ai = parser.parse(stream, "SKIP,RESOURCE"); // NON-NLS
+		assertTrue(ai.isFilteredOut());
+		assertTrue(ai.isFilteredEarly());
+		assertEquals("SKIP", ai.getEventName()); // NON-NLS
+		assertNull(ai.getResourceName());
+
+		ai = parser.parse(stream, "KEEP,RESOURCE"); // NON-NLS
+		assertFalse(ai.isFilteredOut());
+		assertFalse(ai.isFilteredEarly());
+		assertEquals("KEEP", ai.getEventName()); // NON-NLS
+		assertEquals("RESOURCE", ai.getResourceName()); // NON-NLS
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParseFilteredEarlyRequiredField() throws Exception {
+		TNTInputStream<?, ?> stream = mock(TNTInputStream.class);
+		ActivityField field = new ActivityField(StreamFieldType.ResourceName.name());
+		ActivityFieldLocator locator = new ActivityFieldLocator(ActivityFieldLocatorType.Index, "2");
+		locator.setRequired("true"); // NON-NLS
+		field.addLocator(locator);
+		parser.addField(field);
+		field = new ActivityField(StreamFieldType.EventName.name());
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Index, "1"));
+		parser.addField(field);
+		parser.organizeFields();
+
+		StreamFiltersGroup filters = new StreamFiltersGroup<>("ActivityFilter"); // NON-NLS
+		filters.addFilter(new ScriptExpressionFilter("groovy", "exclude", "${EventName} == 'SKIP'")); // NON-NLS
+		parser.setActivityFilter(filters);
+
+		// required value is validated even if activity is filtered out
+		assertNull(parser.parse(stream, "SKIP")); // NON-NLS
+
+		ActivityInfo ai = parser.parse(stream, "SKIP,RESOURCE"); // NON-NLS
+		assertTrue(ai.isFilteredOut());
+		assertFalse(ai.isFilteredEarly());
+		assertEquals("RESOURCE", ai.getResourceName()); // NON-NLS
+	}
+
+	@Test
+	public void testParseDelimitersSameAsUncompiled() throws Exception {
+		assertParsedSameAsUncompiled(",", null, true, "A,B,C", "A,,C,", " A , B ,C", "A;B", ","); // NON-NLS
+		assertParsedSameAsUncompiled(";|", null, true, "A;B|C", "A|;B", ";;;", "A B C"); // NON-NLS
+	}
+
+	@Test
+	public void testParsePatternSameAsUncompiled() throws Exception {
+		assertParsedSameAsUncompiled(",", "\\w+,\\w+", true, "A,B", "A,B,C", "A B", "A,"); // NON-NLS
+		assertParsedSameAsUncompiled(" ", "[A-Z ]+", false, "A B C", "A b C", "A  B"); // NON-NLS
+	}
+
+	@Test
+	public void testParseQuotesSameAsUncompiled() throws Exception {
+		String[] lines = { "\"A\",\"B,C\",D", "\"A\"B,\"\",\"C", "\"\"\"A\"\"\",B" }; // NON-NLS
+		assertParsedSameAsUncompiled(",", null, true, lines); // NON-NLS
+		assertParsedSameAsUncompiled(",", null, false, lines); // NON-NLS
+	}
+
+	/**
+	 * Parses lines using parser compiled fields and compares produced field values to ones resolved using tokens split
+	 * and fields located same way as it was done before fields compilation into extraction plan.
+	 */
+	private void assertParsedSameAsUncompiled(String delim, String pattern, boolean stripQuotes, String... lines)
+			throws Exception {
+		prepare();
+		setProperty(parser, ParserProperties.PROP_FLD_DELIM, delim);
+		if (pattern != null) {
+			setProperty(parser, ParserProperties.PROP_PATTERN, pattern);
+		}
+		setProperty(parser, ParserProperties.PROP_STRIP_QUOTES, stripQuotes);
+		int fieldsCount = 5;
+		for (int i = 1; i <= fieldsCount; i++) {
+			ActivityField field = new ActivityField("F" + i); // NON-NLS
+			ActivityFieldLocator locator = new ActivityFieldLocator(ActivityFieldLocatorType.Index, String.valueOf(i));
+			locator.setEmptyAsNull(true);
+			field.addLocator(locator);
+			parser.addField(field);
+		}
+		parser.organizeFields();
+
+		TNTInputStream<?, ?> stream = mock(TNTInputStream.class);
+		for (String line : lines) {
+			String[] tokens = splitUncompiled(line, delim, pattern, stripQuotes);
+			ActivityInfo ai = parser.parse(stream, line);
+			if (tokens == null) {
+				assertNull(line, ai);
+				continue;
+			}
+			assertNotNull(line, ai);
+			for (int i = 1; i <= fieldsCount; i++) {
+				Object expected = i <= tokens.length ? StringUtils.trimToNull(tokens[i - 1]) : null;
+				assertEquals(line + " F" + i, expected, ai.getFieldValue("F" + i)); // NON-NLS
+			}
+		}
+	}
+
+	private static String[] splitUncompiled(String line, String delim, String pattern, boolean stripQuotes) {
+		if (pattern != null && !Pattern.compile(pattern).matcher(line).matches()) {
+			return null;
+		}
+		StringTokenizer tk = stripQuotes
+				? new StringTokenizer(line, StringMatcherFactory.INSTANCE.charSetMatcher(delim),
+						StringMatcherFactory.INSTANCE.doubleQuoteMatcher())
+				: new StringTokenizer(line, StringMatcherFactory.INSTANCE.charSetMatcher(delim));
+		tk.setIgnoreEmptyTokens(false);
+		String[] tokens = tk.getTokenArray();
+
+		return tokens.length == 0 ? null : tokens;
+	}
 }
@@ -189,6 +189,82 @@ public class ActivityXmlParserTest extends GenericActivityParserTestBase<Activit
 		assertEquals("b", result2.getFieldValue(field2));
 	}
 
+	@Test
+	public void testStreamingModeParse() throws Exception {
+		String data = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" // NON-NLS
+				+ "<root xmlns:foo=\"http://www.foo.org/\">\n" // NON-NLS
+				+ "\t<employees>\n" // NON-NLS
+				+ "\t\t<employee id=\"1\">Johnny Dapp</employee>\n" // NON-NLS
+				+ "\t\t<employee id=\"2\"><![CDATA[Al Pacino]]></employee>\n" // NON-NLS
+				+ "\t</employees>\n" // NON-NLS
+				+ "\t<foo:company id=\"6\">Wipro</foo:company>\n" // NON-NLS
+				+ "\t<elapsed units=\"Seconds\">15</elapsed>\n" // NON-NLS
+				+ "</root>"; // NON-NLS
+
+		ActivityXmlParser domParser = makeStreamingTestParser(false);
+		ActivityXmlParser streamingParser = makeStreamingTestParser(true);
+
+		ActivityInfo domAi = domParser.parse(new TestUtils.SimpleTestStream(), data);
+		ActivityInfo streamingAi = streamingParser.parse(new TestUtils.SimpleTestStream(), data);
+
+		assertArrayEquals(new Object[] { "Johnny Dapp", "Al Pacino" }, // NON-NLS
+				(Object[]) streamingAi.getFieldValue("Employees")); // NON-NLS
+		assertEquals("Wipro", streamingAi.getFieldValue("Company")); // NON-NLS
+		for (String field : new String[] { "Employees", "EmployeeIds", "Company", "CompanyId", "ElapsedTime", // NON-NLS
+				"Missing" }) { // NON-NLS
+			Object domValue = domAi.getFieldValue(field);
+			Object streamingValue = streamingAi.getFieldValue(field);
+			if (domValue instanceof Object[]) {
+				assertArrayEquals(field, (Object[]) domValue, (Object[]) streamingValue);
+			} else {
+				assertEquals(field, domValue, streamingValue);
+			}
+		}
+	}
+
+	@Test
+	public void testStreamingModeDefaultNamespaceUndeclaration() throws Exception {
+		String data = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" // NON-NLS
+				+ "<root xmlns=\"\" xmlns:foo=\"http://www.foo.org/\">\n" // NON-NLS
+				+ "\t<employees>\n" // NON-NLS
+				+ "\t\t<employee id=\"1\">Johnny Dapp</employee>\n" // NON-NLS
+				+ "\t</employees>\n" // NON-NLS
+				+ "\t<foo:company id=\"6\">Wipro</foo:company>\n" // NON-NLS
+				+ "</root>"; // NON-NLS
+
+		ActivityXmlParser domParser = makeStreamingTestParser(false);
+		ActivityXmlParser streamingParser = makeStreamingTestParser(true);
+
+		ActivityInfo domAi = domParser.parse(new TestUtils.SimpleTestStream(), data);
+		ActivityInfo streamingAi = streamingParser.parse(new TestUtils.SimpleTestStream(), data);
+
+		assertEquals("Wipro", streamingAi.getFieldValue("Company")); // NON-NLS
+		assertEquals(domAi.getFieldValue("Employees"), streamingAi.getFieldValue("Employees")); // NON-NLS
+	}
+
+	private static ActivityXmlParser makeStreamingTestParser(boolean streaming) {
+		ActivityXmlParser parser = new ActivityXmlParser();
+		Map<String, String> props = new HashMap<>(1);
+		props.put(ParserProperties.PROP_STREAMING_MODE, String.valueOf(streaming));
+		parser.setProperties(props.entrySet());
+		parser.addField(makeStreamingTestField("Employees", "/root/employees/employee")); // NON-NLS
+		parser.addField(makeStreamingTestField("EmployeeIds", "/root/employees/employee/@id")); // NON-NLS
+		parser.addField(makeStreamingTestField("Company", "/root/foo:company")); // NON-NLS
+		parser.addField(makeStreamingTestField("CompanyId", "/root/foo:company/@id")); // NON-NLS
+		parser.addField(makeStreamingTestField("Missing", "/root/missing")); // NON-NLS
+		ActivityField elapsed = makeStreamingTestField(StreamFieldType.ElapsedTime.name(), "/root/elapsed"); // NON-NLS
+		elapsed.getLocators().get(0).setDataType(ActivityFieldDataType.Number);
+		parser.addField(elapsed);
+
+		return parser;
+	}
+
+	private static ActivityField makeStreamingTestField(String name, String locator) {
+		ActivityField field = new ActivityField(name);
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, locator));
+		return field;
+	}
+
 	@Test
 	public void testNamespaceAwareXpathResolveWithPreparser() throws Exception {
 		NamespaceTestSuite testSuite = new NamespaceTestSuite().invoke();
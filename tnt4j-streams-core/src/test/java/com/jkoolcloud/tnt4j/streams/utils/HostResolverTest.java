@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2018 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class HostResolverTest {
+
+	private static class StubResolver implements HostResolver.Resolver {
+		private final Map<String, String> hosts = new ConcurrentHashMap<>();
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public String toHostName(String address) throws Exception {
+			calls.incrementAndGet();
+			for (Map.Entry<String, String> he : hosts.entrySet()) {
+				if (he.getValue().equals(address)) {
+					return he.getKey();
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String toAddress(String hostName) throws Exception {
+			calls.incrementAndGet();
+			if ("broken".equals(hostName)) {
+				throw new IllegalStateException("Resolver failure");
+			}
+			return hosts.get(hostName);
+		}
+	}
+
+	@Test
+	public void testResolveAndCache() {
+		StubResolver stub = new StubResolver();
+		stub.hosts.put("host1", "10.0.0.1");
+		HostResolver resolver = new HostResolver(stub, 100, TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(1),
+				false);
+
+		assertEquals("host1", resolver.getHostName("10.0.0.1"));
+		assertEquals("host1", resolver.getHostName("10.0.0.1"));
+		// reverse mapping is cached too
+		assertEquals("10.0.0.1", resolver.getAddress("host1"));
+		assertEquals(1, stub.calls.get());
+		assertEquals(1, resolver.getLookupsCount());
+		assertEquals(2, resolver.getHitsCount());
+		assertEquals(1, resolver.getMissesCount());
+
+		assertNull(resolver.getAddress("unknown"));
+		assertNull(resolver.getAddress("unknown"));
+		assertNull(resolver.getAddress("broken"));
+		assertNull(resolver.getAddress("broken"));
+		assertEquals(3, stub.calls.get());
+		assertEquals(2, resolver.getFailedLookupsCount());
+		assertTrue(resolver.getMaxLookupTime() >= resolver.getAverageLookupTime());
+	}
+
+	@Test
+	public void testMaxSize() {
+		StubResolver stub = new StubResolver();
+		HostResolver resolver = new HostResolver(stub, 10, TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(1),
+				false);
+
+		for (int i = 0; i < 100; i++) {
+			resolver.getAddress("host" + i);
+		}
+		assertTrue(resolver.size() <= 10);
+	}
+
+	@Test
+	public void testAsyncLookupAndRefresh() throws Exception {
+		StubResolver stub = new StubResolver();
+		stub.hosts.put("host1", "10.0.0.1");
+		long ttl = 500;
+		HostResolver resolver = new HostResolver(stub, 100, ttl, ttl, true);
+		try {
+			// emit now, enrich later
+			assertNull(resolver.getAddress("host1"));
+			assertEquals("10.0.0.1", waitForAddress(resolver, "host1", "10.0.0.1"));
+
+			// expired entry is returned and refreshed in background
+			Thread.sleep(ttl + 100);
+			stub.hosts.put("host1", "10.0.0.2");
+			assertEquals("10.0.0.1", resolver.getAddress("host1"));
+			assertEquals("10.0.0.2", waitForAddress(resolver, "host1", "10.0.0.2"));
+		} finally {
+			resolver.shutdown();
+		}
+	}
+
+	@Test
+	public void testAsyncLookupAfterShutdown() {
+		StubResolver stub = new StubResolver();
+		stub.hosts.put("host1", "10.0.0.1");
+		HostResolver resolver = new HostResolver(stub, 100, TimeUnit.MINUTES.toMillis(10),
+				TimeUnit.MINUTES.toMillis(1), true);
+		resolver.shutdown();
+
+		// lookups executor is not recreated, so value is resolved synchronously
+		assertEquals("10.0.0.1", resolver.getAddress("host1"));
+		assertEquals(1, resolver.getLookupsCount());
+	}
+
+	private static String waitForAddress(HostResolver resolver, String hostName, String expected)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		String address = resolver.getAddress(hostName);
+		while (!expected.equals(address) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			address = resolver.getAddress(hostName);
+		}
+		return address;
+	}
+}
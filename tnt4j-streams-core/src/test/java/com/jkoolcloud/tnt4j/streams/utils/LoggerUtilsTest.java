@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2018 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class LoggerUtilsTest {
+
+	@Test
+	public void testLogLevelNotSet() {
+		EventSink logger = mock(EventSink.class);
+		when(logger.isSet(any(OpLevel.class))).thenReturn(false);
+
+		LoggerUtils.log(logger, OpLevel.TRACE, StreamsResources.RESOURCE_BUNDLE_NAME, "TestKey", "arg1", "arg2"); // NON-NLS
+
+		verify(logger).isSet(OpLevel.TRACE);
+		verifyNoMoreInteractions(logger);
+	}
+
+	@Test
+	public void testLogLevelSet() {
+		EventSink logger = mock(EventSink.class);
+		when(logger.isSet(OpLevel.DEBUG)).thenReturn(true);
+
+		LoggerUtils.log(logger, OpLevel.DEBUG, StreamsResources.RESOURCE_BUNDLE_NAME, "TestKey", "arg1", "arg2"); // NON-NLS
+
+		verify(logger).log(eq(OpLevel.DEBUG), any(ResourceBundle.class), eq("TestKey"), eq("arg1"), eq("arg2")); // NON-NLS
+	}
+
+	@Test
+	public void testLogNullLogger() {
+		assertFalse(LoggerUtils.isSet(null, OpLevel.FATAL));
+		LoggerUtils.log(null, OpLevel.FATAL, StreamsResources.RESOURCE_BUNDLE_NAME, "TestKey"); // NON-NLS
+	}
+
+	@Test
+	public void testLazyToString() {
+		Object value = new String[] { "a", "b" }; // NON-NLS
+		Object lazyArg = LoggerUtils.lazyToString(value);
+		assertEquals(Utils.toString(value), lazyArg.toString());
+		assertNull(LoggerUtils.lazyToString(null));
+	}
+
+	@Test
+	public void testLazySupplierEvaluatedOnce() {
+		final AtomicInteger calls = new AtomicInteger();
+		Object lazyArg = LoggerUtils.lazy(new Supplier<Object>() {
+			@Override
+			public Object get() {
+				calls.incrementAndGet();
+				return "value"; // NON-NLS
+			}
+		});
+		assertEquals(0, calls.get());
+		assertEquals("value", lazyArg.toString());
+		assertEquals("value", lazyArg.toString());
+		assertEquals(1, calls.get());
+	}
+}
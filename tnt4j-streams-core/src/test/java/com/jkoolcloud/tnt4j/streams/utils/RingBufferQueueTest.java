@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class RingBufferQueueTest {
+
+	@Test
+	public void testOfferPollOrder() {
+		RingBufferQueue<Integer> queue = new RingBufferQueue<>(3);
+		assertTrue(queue.isEmpty());
+		assertTrue(queue.offer(1));
+		assertTrue(queue.offer(2));
+		assertTrue(queue.offer(3));
+		assertFalse(queue.offer(4));
+		assertEquals(3, queue.size());
+		assertEquals(0, queue.remainingCapacity());
+		assertEquals(Integer.valueOf(1), queue.peek());
+		assertEquals(Integer.valueOf(1), queue.poll());
+		assertTrue(queue.offer(4));
+		assertEquals(Integer.valueOf(2), queue.poll());
+		assertEquals(Integer.valueOf(3), queue.poll());
+		assertEquals(Integer.valueOf(4), queue.poll());
+		assertNull(queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testRemoveAndIterate() {
+		RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+		queue.offer("A"); // NON-NLS
+		queue.offer("B"); // NON-NLS
+		queue.offer("C"); // NON-NLS
+		assertTrue(queue.remove("B")); // NON-NLS
+		assertFalse(queue.remove("X")); // NON-NLS
+
+		Iterator<String> it = queue.iterator();
+		assertEquals("A", it.next()); // NON-NLS
+		assertEquals("C", it.next()); // NON-NLS
+		assertFalse(it.hasNext());
+
+		List<String> drained = new ArrayList<>();
+		assertEquals(2, queue.drainTo(drained));
+		assertEquals("A", drained.get(0)); // NON-NLS
+		assertEquals("C", drained.get(1)); // NON-NLS
+		assertNull(queue.poll());
+	}
+
+	@Test(timeout = 5000)
+	public void testTimedPollAndOffer() throws Exception {
+		for (RingBufferQueue.WaitStrategy ws : RingBufferQueue.WaitStrategy.values()) {
+			RingBufferQueue<String> queue = new RingBufferQueue<>(1, ws);
+			assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+			assertTrue(queue.offer("A", 50, TimeUnit.MILLISECONDS)); // NON-NLS
+			assertFalse(queue.offer("B", 50, TimeUnit.MILLISECONDS)); // NON-NLS
+			assertEquals("A", queue.take()); // NON-NLS
+		}
+	}
+
+	@Test(timeout = 20000)
+	public void testMultipleProducersSingleConsumer() throws Exception {
+		int producersCount = 4;
+		int itemsPerProducer = 50000;
+		RingBufferQueue<Long> queue = new RingBufferQueue<>(128);
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < producersCount; p++) {
+			Thread producer = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (long i = 1; i <= itemsPerProducer; i++) {
+							queue.put(i);
+						}
+					} catch (InterruptedException exc) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			producers.add(producer);
+			producer.start();
+		}
+
+		AtomicLong sum = new AtomicLong();
+		for (int i = 0; i < producersCount * itemsPerProducer; i++) {
+			sum.addAndGet(queue.take());
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		long expected = producersCount * ((long) itemsPerProducer * (itemsPerProducer + 1) / 2);
+		assertEquals(expected, sum.get());
+		assertTrue(queue.isEmpty());
+	}
+}
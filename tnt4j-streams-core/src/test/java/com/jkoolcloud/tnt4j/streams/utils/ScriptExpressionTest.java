@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ScriptExpressionTest {
+
+	@Test
+	public void testFastPathSameAsScript() throws Exception {
+		Map<String, Object> vars = new HashMap<>();
+		vars.put("$a", 200); // NON-NLS
+		vars.put("$b", 3L); // NON-NLS
+		vars.put("$c", "ERROR"); // NON-NLS
+		vars.put("$d", null); // NON-NLS
+		vars.put("$e", new BigDecimal("200.0")); // NON-NLS
+
+		String[] expressions = { "$a == 200", "$a != 200 || $c == 'ERROR'", "$a >= 400 && $a < 500", // NON-NLS
+				"$a == $e", "!($d == null)", "$a / $b", "$a % 7 + $b * 2 - 1", "$c + '_' + $a", "-$b + 1.5", // NON-NLS
+				"$d", "$c == \"ERROR\" && !$d", "2147483648 > $a" }; // NON-NLS
+
+		for (String exp : expressions) {
+			ScriptExpression expr = StreamsScriptingUtils.compileExpression(StreamsScriptingUtils.GROOVY_LANG, exp);
+			assertTrue(exp, expr.isFastPath());
+			Object expected = StreamsScriptingUtils.compileScript(StreamsScriptingUtils.GROOVY_LANG, exp)
+					.eval(new SimpleBindings(new HashMap<>(vars)));
+			assertEquals(exp, expected, expr.eval(vars));
+		}
+	}
+
+	@Test
+	public void testScriptExpressions() throws Exception {
+		Map<String, Object> vars = new HashMap<>();
+		vars.put("$c", "ERROR"); // NON-NLS
+
+		String[] expressions = { "$c.startsWith('ERR')", "$c ==~ /E.*R/", "$c.length() == 5 ? 'five' : 'other'", // NON-NLS
+				"0x10 + 1", "'a\\tb'" }; // NON-NLS
+
+		for (String exp : expressions) {
+			ScriptExpression expr = StreamsScriptingUtils.compileExpression(StreamsScriptingUtils.GROOVY_LANG, exp);
+			assertFalse(exp, expr.isFastPath());
+			Object expected = StreamsScriptingUtils.compileScript(StreamsScriptingUtils.GROOVY_LANG, exp)
+					.eval(new SimpleBindings(new HashMap<>(vars)));
+			assertEquals(exp, expected, expr.eval(vars));
+			assertEquals(exp, expected, expr.eval(vars));
+		}
+	}
+
+	@Test(expected = ScriptException.class)
+	public void testMissingVariable() throws Exception {
+		StreamsScriptingUtils.compileExpression(StreamsScriptingUtils.GROOVY_LANG, "$x == 1") // NON-NLS
+				.eval(new HashMap<>());
+	}
+}
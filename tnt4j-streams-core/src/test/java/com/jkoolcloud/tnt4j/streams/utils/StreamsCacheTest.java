@@ -16,6 +16,8 @@
 
 package com.jkoolcloud.tnt4j.streams.utils;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,4 +64,226 @@ public class StreamsCacheTest {
 		Assert.assertArrayEquals((byte[]) StreamsCache.getValue("byteArray"), new byte[] { 2, 2, 2, 2, 2 });
 		Assert.assertTrue(date.compareTo((Date) StreamsCache.getValue("date")) == 0);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void cacheShardsTest() {
+		Map<String, String> props = new HashMap<>();
+		props.put("Persisted", "false");
+		props.put("MaxSize", "100");
+		props.put("corr.MaxSize", "2");
+		StreamsCache.setProperties(props.entrySet());
+
+		StreamsCache.addEntry("name", "name_${id}", "${name}", null, true);
+		StreamsCache.addEntry("corr", "corr_${id}", "${name}", null, true, "corr");
+		for (int i = 0; i < 10; i++) {
+			final int id = i;
+			StreamsCache.cacheValues(new ActivityInfo() {
+				{
+					addActivityProperty("id", id);
+					addActivityProperty("name", "name" + id);
+				}
+			}, "Test Parser");
+		}
+
+		Assert.assertEquals("name0", StreamsCache.getValue("name_0"));
+		Assert.assertNull(StreamsCache.getValue("corr_0"));
+		Assert.assertEquals("name9", StreamsCache.getValue("corr_9"));
+		Assert.assertEquals(12, StreamsCache.cacheSize());
+		Assert.assertEquals(102, StreamsCache.cacheMaxSize());
+		Assert.assertTrue(StreamsCache.cacheStats().evictionCount() >= 8);
+
+		StreamsCache.cleanup();
+	}
+
+	@Test
+	public void cacheStreamShardsTest() {
+		Map<String, String> props = new HashMap<>();
+		props.put("Persisted", "false");
+		props.put("MaxSize", "100");
+		props.put("corr.MaxSize", "2");
+		StreamsCache.setProperties(props.entrySet());
+
+		StreamsCache.addEntry("corr", "corr_${id}", "${name}", null, true, "corr");
+		for (int i = 0; i < 2; i++) {
+			final int id = i;
+			ActivityInfo ai = new ActivityInfo() {
+				{
+					addActivityProperty("id", id);
+					addActivityProperty("name", "name" + id);
+				}
+			};
+			StreamsCache.cacheValues(ai, "Test Parser", "Stream1");
+			StreamsCache.cacheValues(ai, "Test Parser", "Stream2");
+		}
+
+		ActivityInfo ai = new ActivityInfo() {
+			{
+				addActivityProperty("id", 0);
+			}
+		};
+		// streams do not evict each other's shard entries
+		Assert.assertEquals("name0", StreamsCache.getValue(ai, "corr", "Test Parser", "Stream1"));
+		Assert.assertEquals("name0", StreamsCache.getValue(ai, "corr", "Test Parser", "Stream2"));
+		Assert.assertNull(StreamsCache.getValue(ai, "corr", "Test Parser", "Stream3"));
+		Assert.assertEquals(2, StreamsCache.cacheSize("Stream1"));
+		Assert.assertEquals(2, StreamsCache.cacheMaxSize("Stream1"));
+		Assert.assertEquals(0, StreamsCache.cacheStats("Stream1").evictionCount());
+
+		StreamsCache.cleanup();
+	}
+
+	@Test
+	public void fillInKeyPatternTest() {
+		ActivityInfo ai = new ActivityInfo() {
+			{
+				addActivityProperty("a", "A");
+				addActivityProperty("b", 2);
+			}
+		};
+
+		Assert.assertEquals("A_2_P", StreamsCache.fillInKeyPattern("${a}_${b}_${ParserName}", ai, "P"));
+		Assert.assertEquals("A_${c}", StreamsCache.fillInKeyPattern("${a}_${c}", ai, "P"));
+		Assert.assertEquals("const", StreamsCache.fillInKeyPattern("const", ai, "P"));
+		Assert.assertNull(StreamsCache.fillInKeyPattern(null, ai, "P"));
+	}
+
+	@Test
+	public void cacheBinaryPersistingTest() throws Exception {
+		File journalFile = File.createTempFile("streamsCache", ".bin");
+		journalFile.deleteOnExit();
+
+		Map<String, String> props = new HashMap<>();
+		props.put("Persisted", "true");
+		props.put("PersistenceFormat", "BINARY");
+		props.put("FileName", journalFile.getAbsolutePath());
+		StreamsCache.setProperties(props.entrySet());
+
+		StreamsCache.addEntry("string", "string_${id}", "${string}", null);
+		StreamsCache.addEntry("double", "double", "${double}", null, false, "numbers");
+		StreamsCache.addEntry("transient", "transient", "${string}", null, true);
+		StreamsCache.cacheValues(new ActivityInfo() {
+			{
+				addActivityProperty("id", 1);
+				addActivityProperty("string", "value1");
+				addActivityProperty("double", Double.MAX_VALUE);
+			}
+		}, "Test Parser");
+		StreamsCache.addValue("removed", "removedValue");
+		StreamsCache.clearValues("removed");
+
+		StreamsCache.cleanup();
+
+		// simulate crash in the middle of record write
+		try (FileOutputStream fos = new FileOutputStream(journalFile, true)) {
+			fos.write(new byte[] { 0, 0, 0, 100, 1, 2, 3 });
+		}
+		long journalLength = journalFile.length();
+
+		StreamsCache.setProperties(props.entrySet());
+
+		Assert.assertTrue(journalFile.length() < journalLength);
+		Assert.assertEquals(0, StreamsCache.cacheSize());
+		Assert.assertEquals("value1", StreamsCache.getValue("string_1"));
+		Assert.assertEquals(Double.MAX_VALUE, StreamsCache.getValue("double"));
+		Assert.assertNull(StreamsCache.getValue("transient"));
+		Assert.assertNull(StreamsCache.getValue("removed"));
+		Assert.assertEquals(2, StreamsCache.cacheSize());
+
+		StreamsCache.cleanup();
+		props.put("Persisted", "false");
+		props.put("PersistenceFormat", "XML");
+		props.put("FileName", "./persistedCache.xml");
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.cleanup();
+	}
+
+	@Test
+	public void cacheBinaryClearPersistedTest() throws Exception {
+		File journalFile = File.createTempFile("streamsCache", ".bin");
+		journalFile.deleteOnExit();
+
+		Map<String, String> props = new HashMap<>();
+		props.put("Persisted", "true");
+		props.put("PersistenceFormat", "BINARY");
+		props.put("FileName", journalFile.getAbsolutePath());
+		StreamsCache.setProperties(props.entrySet());
+
+		StreamsCache.addValue("cleared_1", "value1");
+		StreamsCache.addValue("cleared_2", "value2");
+		StreamsCache.addValue("kept", "value3");
+		StreamsCache.cleanup();
+
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.clearValues("cleared");
+		Assert.assertNull(StreamsCache.getValue("cleared_1"));
+		Assert.assertEquals("value3", StreamsCache.getValue("kept"));
+		StreamsCache.cleanup();
+
+		StreamsCache.setProperties(props.entrySet());
+		Assert.assertNull(StreamsCache.getValue("cleared_1"));
+		Assert.assertNull(StreamsCache.getValue("cleared_2"));
+		Assert.assertEquals("value3", StreamsCache.getValue("kept"));
+		StreamsCache.cleanup();
+
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.clearValues();
+		StreamsCache.cleanup();
+
+		StreamsCache.setProperties(props.entrySet());
+		Assert.assertNull(StreamsCache.getValue("kept"));
+
+		StreamsCache.cleanup();
+		props.put("Persisted", "false");
+		props.put("PersistenceFormat", "XML");
+		props.put("FileName", "./persistedCache.xml");
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.cleanup();
+	}
+
+	@Test
+	public void cacheBinaryCompactionTest() throws Exception {
+		File journalFile = File.createTempFile("streamsCache", ".bin");
+		journalFile.deleteOnExit();
+
+		Map<String, String> props = new HashMap<>();
+		props.put("Persisted", "true");
+		props.put("PersistenceFormat", "BINARY");
+		props.put("FileName", journalFile.getAbsolutePath());
+		props.put("MaxSize", "5000");
+		StreamsCache.setProperties(props.entrySet());
+
+		StreamsCache.addValue("old_1", "value1");
+		StreamsCache.addValue("old_2", "value2");
+		StreamsCache.cleanup();
+
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.clearValues("old_2");
+		for (int i = 0; i < 2000; i++) {
+			StreamsCache.addValue("key_" + i, "value" + i);
+		}
+		StreamsCache.cleanup();
+		long journalLength = journalFile.length();
+
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.clearValues("key_");
+		StreamsCache.addValue("new_1", "value4");
+		StreamsCache.cleanup(); // journal gets compacted while persisting
+
+		Assert.assertTrue(journalFile.length() < journalLength / 10);
+
+		StreamsCache.setProperties(props.entrySet());
+		Assert.assertEquals(0, StreamsCache.cacheSize());
+		Assert.assertEquals("value1", StreamsCache.getValue("old_1"));
+		Assert.assertNull(StreamsCache.getValue("old_2"));
+		Assert.assertEquals("value4", StreamsCache.getValue("new_1"));
+		Assert.assertNull(StreamsCache.getValue("key_10"));
+
+		StreamsCache.cleanup();
+		props.put("Persisted", "false");
+		props.put("PersistenceFormat", "XML");
+		props.put("FileName", "./persistedCache.xml");
+		props.put("MaxSize", "100");
+		StreamsCache.setProperties(props.entrySet());
+		StreamsCache.cleanup();
+	}
+}
@@ -371,4 +371,20 @@ public class UtilsTest {
 		assertEquals(((Map<?, ?>) mValue).size(), 3);
 	}
 
+	@Test
+	public void testBytesIndexOf() {
+		byte[] data = { 0x01, 0x02, 0x01, 0x02, 0x03, 0x04 };
+		assertEquals(0, Utils.indexOf(data, new byte[] { 0x01, 0x02 }, 0));
+		assertEquals(2, Utils.indexOf(data, new byte[] { 0x01, 0x02 }, 1));
+		assertEquals(2, Utils.indexOf(data, new byte[] { 0x01, 0x02, 0x03 }, 0));
+		assertEquals(5, Utils.indexOf(data, new byte[] { 0x04 }, 0));
+		assertEquals(-1, Utils.indexOf(data, new byte[] { 0x03, 0x04, 0x05 }, 0));
+		assertEquals(-1, Utils.indexOf(data, new byte[] { 0x02, 0x01, 0x03 }, 0));
+		assertEquals(-1, Utils.indexOf(null, new byte[] { 0x01 }, 0));
+
+		assertTrue(Utils.startsWith(data, new byte[] { 0x01, 0x02, 0x01 }));
+		assertFalse(Utils.startsWith(data, new byte[] { 0x02 }));
+		assertFalse(Utils.startsWith(new byte[] { 0x01 }, new byte[] { 0x01, 0x02 }));
+	}
+
 }
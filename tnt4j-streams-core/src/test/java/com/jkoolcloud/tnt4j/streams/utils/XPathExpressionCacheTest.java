@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2019 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPathExpression;
+
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class XPathExpressionCacheTest {
+
+	@Test
+	public void testExpressionCachedPerThread() throws Exception {
+		XPathExpressionCache cache = new XPathExpressionCache(new NamespaceMap());
+		XPathExpression expr = cache.getExpression("1 + 2"); // NON-NLS
+		assertSame(expr, cache.getExpression("1 + 2")); // NON-NLS
+		assertNotSame(expr, cache.compile("1 + 2")); // NON-NLS
+
+		AtomicReference<XPathExpression> otherThreadExpr = new AtomicReference<>();
+		AtomicReference<Exception> otherThreadExc = new AtomicReference<>();
+		Thread t = new Thread(() -> {
+			try {
+				otherThreadExpr.set(cache.getExpression("1 + 2")); // NON-NLS
+			} catch (Exception exc) {
+				otherThreadExc.set(exc);
+			}
+		});
+		t.start();
+		t.join();
+
+		// failure in other thread fails test with original exception
+		if (otherThreadExc.get() != null) {
+			throw otherThreadExc.get();
+		}
+		assertNotNull(otherThreadExpr.get());
+		assertNotSame(expr, otherThreadExpr.get());
+	}
+
+	@Test
+	public void testNamespaceChangeRecompiles() throws Exception {
+		NamespaceMap namespaces = new NamespaceMap();
+		namespaces.setPrefixUriMapping("a", "urn:a"); // NON-NLS
+		XPathExpressionCache cache = new XPathExpressionCache(namespaces);
+		XPathExpression expr = cache.getExpression("/a:root"); // NON-NLS
+
+		namespaces.setPrefixUriMapping("a", "urn:a"); // NON-NLS
+		assertSame(expr, cache.getExpression("/a:root")); // NON-NLS
+
+		namespaces.setPrefixUriMapping("a", "urn:b"); // NON-NLS
+		assertNotSame(expr, cache.getExpression("/a:root")); // NON-NLS
+	}
+
+	@Test
+	public void testEvaluateWithVariables() throws Exception {
+		XPathExpressionCache cache = new XPathExpressionCache();
+		assertEquals("3", cache.evaluate("$x + 1", null, // NON-NLS
+				(QName name) -> "x".equals(name.getLocalPart()) ? 2 : null)); // NON-NLS
+		assertEquals("6", cache.evaluate("$x + 1", null, // NON-NLS
+				(QName name) -> "x".equals(name.getLocalPart()) ? 5 : null)); // NON-NLS
+	}
+}
@@ -17,9 +17,10 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Comparator;
 
@@ -116,23 +117,6 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 		return activityFiles;
 	}
 
-	private static int[] getFilesTotals(FileSystem fs, Path[] activityFiles) {
-		int tbc = 0;
-		int tlc = 0;
-		if (ArrayUtils.isNotEmpty(activityFiles)) {
-			for (Path f : activityFiles) {
-				try {
-					ContentSummary cSummary = fs.getContentSummary(f);
-					tbc += cSummary.getLength();
-					tlc += Utils.countLines(fs.open(f));
-				} catch (IOException exc) {
-				}
-			}
-		}
-
-		return new int[] { tbc, tlc };
-	}
-
 	/**
 	 * HDFS files changes watcher thread. It reads changes from defined HDFS files using last modification timestamp of
 	 * file.
@@ -141,6 +125,13 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 
 		private FileSystem fs;
 
+		private final ChannelLineReader lineReader = new ChannelLineReader(Charset.defaultCharset());
+		/**
+		 * Byte position in file to start reading from, {@code -1} - if position shall be found by skipping
+		 * {@link #lineNumber} lines (when stream state is restored).
+		 */
+		private long filePosition = 0;
+
 		/**
 		 * Constructs a new HdfsFileWatcher.
 		 */
@@ -159,8 +150,7 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 
 		/**
 		 * Initializes files watcher thread. Picks file matching user defined file name to monitor. If user defined to
-		 * start streaming from latest file line, then count of lines in file is calculated to mark latest activity
-		 * position.
+		 * start streaming from latest file line, then file length is used to mark latest activity position.
 		 *
 		 * @param params
 		 *            initialization parameters array
@@ -181,7 +171,7 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 				availableFiles = new Path[] { filePath };
 			}
 
-			updateDataTotals(availableFiles, fs);
+			updateDataTotals(availableFiles);
 
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"FileLineStream.found.files", availableFiles.length, fileName);
@@ -192,18 +182,16 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 				filePath = stateHandler.getFile();
 				lineNumber = stateHandler.getLineNumber();
 				lastReadTime = stateHandler.getReadTime();
+				filePosition = -1;
 			} else {
 				filePath = ArrayUtils.isEmpty(availableFiles) ? null
 						: startFromLatestActivity ? availableFiles[availableFiles.length - 1] : availableFiles[0];
 				lineNumber = 0;
+				filePosition = startFromLatestActivity && filePath != null ? fs.getFileStatus(filePath).getLen() : 0;
 			}
 
 			setFileToRead(filePath);
 
-			if (startFromLatestActivity && fileToRead != null) {
-				lineNumber = Utils.countLines(fs.open(fileToRead));
-			}
-
 			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 					"FileLineStream.stream.file.watcher.initialized", HdfsFileLineStream.this.getName(),
 					filePath.toUri(), lineNumber < 0 ? 0 : lineNumber);
@@ -221,9 +209,10 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 		 * file. If swap can'e be done (no newer readable file) then file reading is skipped until next monitor
 		 * invocation.
 		 * <p>
-		 * When file gets opened for reading reader is rolled to file marked by {@link #lineNumber} attribute. If turns
-		 * out that file got smaller in lines count, then monitor tries to swap to previous file. If no previous
-		 * readable file is available, then reader is reset to first file line.
+		 * When file gets opened for reading, it is positioned to last read byte position (or to line marked by
+		 * {@link #lineNumber} attribute, when stream state is restored). If turns out that file got smaller than read
+		 * position, then monitor tries to swap to previous file. If no previous readable file is available, then
+		 * reading position is reset according to {@code TruncatedFilePolicy}.
 		 * <p>
 		 * Reader reads all file lines until end of file and puts them to changed lines buffer.
 		 */
@@ -286,27 +275,28 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 					}
 				}
 
-				LineNumberReader lnr = null;
+				FSDataInputStream in = null;
 
 				try {
-					lnr = rollToCurrentLine(fs);
+					in = openFileStream(fs);
 				} catch (IOException exc) {
 					Utils.logThrowable(logger(), OpLevel.ERROR,
 							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 							"FileLineStream.error.rolling", exc);
 				}
 
-				prevLineNumber = lnr.getLineNumber();
+				prevLineNumber = lineNumber;
 
-				if (lnr != null) {
+				if (in != null) {
 					try {
-						readNewFileLines(lnr);
+						readNewFileLines(Channels.newChannel(in), lineReader, !isTailingLatestFile());
 					} catch (IOException exc) {
 						Utils.logThrowable(logger(), OpLevel.ERROR,
 								StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.error.reading", exc);
 					} finally {
-						Utils.close(lnr);
+						filePosition = lineReader.getPosition();
+						Utils.close(in);
 					}
 				}
 			} catch (Exception exc) {
@@ -319,10 +309,19 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 					"FileLineStream.changes.read.end", fileToRead.toUri(), lineNumber, lineNumber - prevLineNumber);
 		}
 
-		private LineNumberReader rollToCurrentLine(FileSystem fs) throws Exception {
-			LineNumberReader lnr;
+		/**
+		 * Opens streamed file input stream and positions it to read new file lines.
+		 *
+		 * @param fs
+		 *            file system
+		 * @return streamed file input stream, or {@code null} if file can't be opened
+		 * @throws IOException
+		 *             if I/O error occurs while positioning file input stream
+		 */
+		private FSDataInputStream openFileStream(FileSystem fs) throws IOException {
+			FSDataInputStream in;
 			try {
-				lnr = new LineNumberReader(new InputStreamReader(fs.open(fileToRead)));
+				in = fs.open(fileToRead);
 			} catch (Exception exc) {
 				logger().log(OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 						"FileLineStream.reader.error");
@@ -331,40 +330,58 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 				return null;
 			}
 
-			return skipOldLines(lnr, fs);
-		}
-
-		private LineNumberReader skipOldLines(LineNumberReader lnr, FileSystem fs) throws Exception {
-			boolean skipFail = false;
-			for (int i = 0; i < lineNumber; i++) {
-				if (lnr.readLine() == null) {
+			long fileLength = fs.getFileStatus(fileToRead).getLen();
+			boolean truncated;
+			if (filePosition < 0) {
+				truncated = !skipOldLines(in);
+			} else {
+				truncated = filePosition > fileLength;
+				if (truncated) {
 					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"FileLineStream.file.shorter", lnr.getLineNumber(), lineNumber);
+							"FileLineStream.file.truncated", fileLength, filePosition);
+				}
+			}
+
+			if (truncated) {
+				if (swapToPrevFile(fs)) {
+					Utils.close(in);
 
-					skipFail = true;
-					break;
+					return openFileStream(fs);
 				}
+				resetTruncatedFilePosition(fileLength);
 			}
 
-			if (skipFail) {
-				boolean swapped = swapToPrevFile(fs);
-				if (swapped) {
-					Utils.close(lnr);
+			in.seek(filePosition);
+			lineReader.reset(filePosition);
 
-					return rollToCurrentLine(fs);
-				} else {
-					if (truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.CONTINUE_FROM_LAST.name())) {
-						lineNumber = lnr.getLineNumber();
-					} else {
-						lineNumber = 0;
-						lnr.setLineNumber(lineNumber);
-					}
+			return in;
+		}
+
+		private boolean skipOldLines(FSDataInputStream in) throws IOException {
+			ReadableByteChannel channel = Channels.newChannel(in);
+			lineReader.reset(0);
+			for (int i = 0; i < lineNumber; i++) {
+				if (lineReader.readLine(channel, true) == null) {
 					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"FileLineStream.resetting.reader", lineNumber);
+							"FileLineStream.file.shorter", i, lineNumber);
+
+					return false;
 				}
 			}
+			filePosition = lineReader.getPosition();
 
-			return lnr;
+			return true;
+		}
+
+		private void resetTruncatedFilePosition(long fileLength) {
+			if (truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.CONTINUE_FROM_LAST.name())) {
+				filePosition = fileLength;
+			} else {
+				filePosition = 0;
+				lineNumber = 0;
+			}
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.resetting.reader", lineNumber);
 		}
 
 		private boolean swapToPrevFile(FileSystem fs) {
@@ -377,7 +394,7 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 					Path filePath = new Path(fileUri);
 
 					availableFiles = searchFiles(filePath, fs);
-					updateDataTotals(availableFiles, fs);
+					updateDataTotals(availableFiles);
 
 					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 							"FileLineStream.found.files", availableFiles.length, fileName);
@@ -416,7 +433,7 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 					Path filePath = new Path(fileUri);
 
 					availableFiles = searchFiles(filePath, fs);
-					updateDataTotals(availableFiles, fs);
+					updateDataTotals(availableFiles);
 
 					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 							"FileLineStream.found.files", availableFiles.length, fileName);
@@ -429,6 +446,7 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 					} else {
 						setFileToRead(nextFile);
 						lineNumber = 0;
+						filePosition = 0;
 
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.swapping.to.next", nextFile.toUri());
@@ -483,10 +501,14 @@ public class HdfsFileLineStream extends AbstractFileLineStream<Path> {
 			return fs != null && Utils.matchMask(fs.getPermission().toShort(), 0444);
 		}
 
-		private void updateDataTotals(Path[] activityFiles, FileSystem fs) {
-			int[] totals = getFilesTotals(fs, activityFiles);
-			totalBytesCount = totals[0];
-			totalLinesCount = totals[1];
+		@Override
+		protected long getFileSize(Path file) throws IOException {
+			return fs.getContentSummary(file).getLength();
+		}
+
+		@Override
+		protected int countFileLines(Path file) throws IOException {
+			return Utils.countLines(fs.open(file));
 		}
 
 		/**
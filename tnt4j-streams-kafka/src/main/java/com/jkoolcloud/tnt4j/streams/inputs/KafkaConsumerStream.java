@@ -387,8 +387,7 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 								long lastOffset = partitionRecords.get(partitionRecords.size() - 1).offset();
 								consumer.commitSync(
 										Collections.singletonMap(partition, new OffsetAndMetadata(lastOffset + 1)));
-								logger().log(OpLevel.DEBUG,
-										StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
+								LoggerUtils.log(logger(), OpLevel.DEBUG, KafkaStreamConstants.RESOURCE_BUNDLE_NAME,
 										"KafkaConsumerStream.committing.offset", partition, lastOffset);
 							}
 						}
@@ -410,9 +409,8 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 		 */
 		protected void addRecordsToBuffer(Iterable<? extends ConsumerRecord<?, ?>> records) {
 			for (ConsumerRecord<?, ?> record : records) {
-				String msgData = Utils.toString(record.value());
-				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
-						"KafkaConsumerStream.next.message", msgData);
+				LoggerUtils.log(logger(), OpLevel.DEBUG, KafkaStreamConstants.RESOURCE_BUNDLE_NAME,
+						"KafkaConsumerStream.next.message", LoggerUtils.lazyToString(record.value()));
 
 				addInputToBuffer(record);
 			}
@@ -183,13 +183,44 @@ public class ActivityPCFParser extends GenericActivityParser<PCFContent> {
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
-		Object val = null;
-		String locStr = locator.getLocator();
-		String[] path = Utils.getNodePath(locStr, StreamsConstants.DEFAULT_PATH_DELIM);
-		val = getParamValue(locator, path, cData.getData(), 0, cData);
+		return resolveLocatorValue(locator, compileLocator(locator), cData, formattingNeeded);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Compiled locator is PCF parameters path tokens array.
+	 */
+	@Override
+	protected Object compileLocator(ActivityFieldLocator locator) {
+		return Utils.getNodePath(locator.getLocator(), StreamsConstants.DEFAULT_PATH_DELIM);
+	}
+
+	/**
+	 * Gets field raw data value resolved by locator compiled PCF parameters path.
+	 *
+	 * @param locator
+	 *            activity field locator
+	 * @param compiledLocator
+	 *            PCF parameters path tokens array
+	 * @param cData
+	 *            PCF message parsing context data
+	 * @param formattingNeeded
+	 *            flag to set if value formatting is not needed
+	 * @return raw value resolved by locator, or {@code null} if value is not resolved
+	 *
+	 * @throws ParseException
+	 *             if exception occurs while resolving raw data value
+	 */
+	@Override
+	protected Object resolveLocatorValue(ActivityFieldLocator locator, Object compiledLocator, ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		Object val = getParamValue(locator, (String[]) compiledLocator, cData.getData(), 0, cData);
 
-		logger().log(OpLevel.TRACE, StreamsResources.getBundle(WmqStreamConstants.RESOURCE_BUNDLE_NAME),
-				"ActivityPCFParser.resolved.pcf.value", locStr, toString(val));
+		if (logger().isSet(OpLevel.TRACE)) {
+			logger().log(OpLevel.TRACE, StreamsResources.getBundle(WmqStreamConstants.RESOURCE_BUNDLE_NAME),
+					"ActivityPCFParser.resolved.pcf.value", locator.getLocator(), toString(val));
+		}
 
 		return val;
 	}